@@ -1,15 +1,27 @@
 package com.apicgen;
 
 import com.apicgen.config.CodegenConfig;
+import com.apicgen.diff.SpecDiff;
 import com.apicgen.generator.CodeGenerator;
 import com.apicgen.generator.CodeGeneratorFactory;
 import com.apicgen.model.Api;
 import com.apicgen.model.ApiDefinition;
+import com.apicgen.parser.ParserOptions;
 import com.apicgen.parser.YamlParser;
+import com.apicgen.util.FieldTypeInference;
+import com.apicgen.util.YamlLimitException;
+import com.apicgen.util.YamlLimits;
 import com.apicgen.validator.ApiValidator;
+import com.apicgen.validator.PayloadLimitRules;
+import com.apicgen.validator.PayloadLimits;
+import com.apicgen.validator.RegexSafety;
+import com.apicgen.validator.RegexSafetyRules;
+import com.apicgen.validator.RuleEngine;
+import com.apicgen.validator.RuleReport;
 import com.apicgen.validator.ValidationAnalyzer;
 import com.apicgen.validator.ValidationAnalyzer.AnalysisItem;
 import com.apicgen.validator.ValidationAnalyzer.AnalysisSummary;
+import com.apicgen.validator.ValidationError;
 import com.apicgen.validator.ValidationFixer;
 import com.apicgen.validator.ValidationResult;
 
@@ -34,6 +46,15 @@ import java.util.Map;
  *   -force                             Force overwrite existing files
  *   -analyze                           Analyze missing validation rules
  *   -auto-fix                          Auto-fix missing validations
+ *   -parallelism <n>                   Swagger conversion and validation parallelism (default: 1)
+ *   -split-parse                       Experimental: parse paths/apis chunks concurrently (needs -parallelism > 1)
+ *   -type-dictionary <file>            YAML dictionary for field-name type inference
+ *   -snapshot                          Reuse a binary parse snapshot when the spec is unchanged
+ *   -snapshot-dir <directory>          Snapshot directory (default: next to the spec)
+ *   -diff <old-spec>                   Compare against an older spec, print added/removed/changed operations and exit
+ *   -regex-fuzz <ms>                   Also fuzz validation patterns, flag any match slower than <ms> (DFX-022)
+ *   -payload-limits[=<thresholds>]     Fail on unbounded lists/strings, unpaginated response lists and deep nesting (DFX-023)
+ *   -yaml-limits[=<limits>]            Reject specs over document resource limits (DFX-021, default: unlimited)
  *   -help, --help                      Show this help message
  *
  * Examples:
@@ -41,6 +62,7 @@ import java.util.Map;
  *   java -jar api-codegen.jar api.yaml -output=src/main/java -package=com.example
  *   java -jar api-codegen.jar api.yaml --analyze
  *   java -jar api-codegen.jar api.yaml --auto-fix
+ *   java -jar api-codegen.jar api.yaml --analyze --payload-limits=maxListSize=500,maxStringLength=4096
  *   java -jar api-codegen.jar api.yaml --help
  */
 public class Main {
@@ -78,6 +100,17 @@ public class Main {
         boolean force = false;
         boolean analyze = false;
         boolean autoFix = false;
+        String parallelism = null;
+        boolean splitParse = false;
+        String typeDictionary = null;
+        boolean snapshot = false;
+        String snapshotDir = null;
+        String diffBase = null;
+        String regexFuzz = null;
+        boolean payloadCheck = false;
+        String payloadThresholds = null;
+        boolean yamlLimitCheck = false;
+        String yamlLimitSpec = null;
 
         for (int i = 1; i < args.length; i++) {
             String arg = args[i];
@@ -112,6 +145,52 @@ public class Main {
                 analyze = true;
             } else if (arg.equals("-auto-fix") || arg.equals("--auto-fix")) {
                 autoFix = true;
+            } else if (arg.startsWith("-parallelism=")) {
+                parallelism = arg.substring(13);
+            } else if (arg.equals("-parallelism")) {
+                if (i + 1 < args.length) {
+                    parallelism = args[++i];
+                }
+            } else if (arg.equals("-split-parse") || arg.equals("--split-parse")) {
+                splitParse = true;
+            } else if (arg.startsWith("-type-dictionary=")) {
+                typeDictionary = arg.substring(17);
+            } else if (arg.equals("-type-dictionary")) {
+                if (i + 1 < args.length) {
+                    typeDictionary = args[++i];
+                }
+            } else if (arg.equals("-snapshot") || arg.equals("--snapshot")) {
+                snapshot = true;
+            } else if (arg.startsWith("-snapshot-dir=")) {
+                snapshot = true;
+                snapshotDir = arg.substring(14);
+            } else if (arg.equals("-snapshot-dir")) {
+                if (i + 1 < args.length) {
+                    snapshot = true;
+                    snapshotDir = args[++i];
+                }
+            } else if (arg.startsWith("-regex-fuzz=")) {
+                regexFuzz = arg.substring(12);
+            } else if (arg.equals("-regex-fuzz")) {
+                if (i + 1 < args.length) {
+                    regexFuzz = args[++i];
+                }
+            } else if (arg.equals("-payload-limits") || arg.equals("--payload-limits")) {
+                payloadCheck = true;
+            } else if (arg.startsWith("-payload-limits=") || arg.startsWith("--payload-limits=")) {
+                payloadCheck = true;
+                payloadThresholds = arg.substring(arg.indexOf('=') + 1);
+            } else if (arg.equals("-yaml-limits") || arg.equals("--yaml-limits")) {
+                yamlLimitCheck = true;
+            } else if (arg.startsWith("-yaml-limits=") || arg.startsWith("--yaml-limits=")) {
+                yamlLimitCheck = true;
+                yamlLimitSpec = arg.substring(arg.indexOf('=') + 1);
+            } else if (arg.startsWith("-diff=")) {
+                diffBase = arg.substring(6);
+            } else if (arg.equals("-diff") || arg.equals("--diff")) {
+                if (i + 1 < args.length) {
+                    diffBase = args[++i];
+                }
             }
         }
 
@@ -120,10 +199,60 @@ public class Main {
         System.out.println("========================================\n");
         System.out.println("Input YAML: " + yamlFile.getAbsolutePath());
 
+        PayloadLimits payloadLimits = null;
+        if (payloadCheck) {
+            try {
+                payloadLimits = PayloadLimits.parse(payloadThresholds);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Error: Invalid payload limits: " + e.getMessage());
+                System.exit(1);
+            }
+        }
+
+        long regexFuzzMillis = 0;
+        if (regexFuzz != null) {
+            try {
+                regexFuzzMillis = Long.parseLong(regexFuzz.trim());
+            } catch (NumberFormatException e) {
+                System.err.println("Warning: Invalid regex fuzz budget '" + regexFuzz + "', fuzzing disabled");
+            }
+        }
+
+        ParserOptions parserOptions = ParserOptions.defaults();
+        if (parallelism != null) {
+            try {
+                parserOptions.setParallelism(Integer.parseInt(parallelism.trim()));
+            } catch (NumberFormatException e) {
+                System.err.println("Warning: Invalid parallelism '" + parallelism + "', using default: 1");
+            }
+        }
+        parserOptions.setSplitParse(splitParse);
+        parserOptions.setSnapshot(snapshot);
+        if (yamlLimitCheck) {
+            try {
+                parserOptions.setLimits(YamlLimits.parse(yamlLimitSpec));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Error: Invalid YAML limits: " + e.getMessage());
+                System.exit(1);
+            }
+        }
+        if (snapshotDir != null) {
+            parserOptions.setSnapshotDirectory(validateOutputDir(snapshotDir).toFile());
+        }
+        if (typeDictionary != null) {
+            File dictionaryFile = validateInputPath(typeDictionary);
+            try {
+                parserOptions.setTypeInference(FieldTypeInference.load(dictionaryFile));
+            } catch (IOException e) {
+                System.err.println("Error: Cannot load type dictionary " + dictionaryFile.getAbsolutePath() + ": " + e.getMessage());
+                System.exit(1);
+            }
+        }
+
         // Parse YAML
         ApiDefinition apiDefinition;
         try {
-            apiDefinition = YamlParser.parse(yamlFile);
+            apiDefinition = YamlParser.parse(yamlFile, parserOptions);
         } catch (IOException e) {
             System.err.println("========================================");
             System.err.println("YAML Parse Error:");
@@ -131,12 +260,30 @@ public class Main {
             System.err.println(e.getMessage());
             System.exit(1);
             return;
+        } catch (YamlLimitException e) {
+            System.err.println("========================================");
+            System.err.println("YAML Limit Exceeded (" + YamlLimitException.RULE_CODE + "):");
+            System.err.println("========================================");
+            System.err.println(e.getMessage());
+            System.exit(1);
+            return;
         }
         System.out.println("Parsed " + apiDefinition.getApis().size() + " API(s)\n");
 
+        // Handle diff mode: exit 0 when identical, 1 when the specs differ, 2 on errors
+        if (diffBase != null) {
+            System.exit(runDiff(validateInputPath(diffBase), apiDefinition, parserOptions));
+            return;
+        }
+
         // Handle analyze mode
         if (analyze || autoFix) {
-            runValidationAnalysis(apiDefinition, autoFix, yamlFile);
+            long violations = runValidationAnalysis(apiDefinition, autoFix, yamlFile, parserOptions.getTypeInference(),
+                regexFuzzMillis, payloadLimits, parserOptions.getParallelism());
+            if (violations > 0) {
+                System.err.println("\nPayload limit check failed: " + violations + " " + PayloadLimitRules.RULE_CODE + " issue(s)");
+                System.exit(1);
+            }
             if (autoFix) {
                 return; // Auto-fix already wrote the file and exited
             }
@@ -145,9 +292,15 @@ public class Main {
             }
         }
 
+        // Payload limit gate before generation
+        if (payloadLimits != null && checkPayloadLimits(apiDefinition, payloadLimits, parserOptions.getParallelism()) > 0) {
+            System.exit(1);
+        }
+
         // Validate YAML
         ApiValidator validator = new ApiValidator();
-        ValidationResult validationResult = validator.validate(apiDefinition);
+        validator.setRegexFuzzMillis(regexFuzzMillis);
+        ValidationResult validationResult = validator.validate(apiDefinition, parserOptions.getParallelism());
         if (!validationResult.isValid()) {
             System.err.println("========================================");
             System.err.println("YAML Validation Failed:");
@@ -207,19 +360,44 @@ public class Main {
     }
 
     /**
-     * Run validation analysis
+     * Run validation analysis, returns the number of payload limit issues (DFX-023)
+     *
+     * @param regexFuzzMillis per-match fuzz budget for the DFX-022 regex checks, 0 for static checks only
+     * @param payloadLimits payload limit thresholds, null to skip the DFX-023 rules
      */
-    private static void runValidationAnalysis(ApiDefinition apiDefinition, boolean autoFix, File yamlFile) {
-        ValidationAnalyzer analyzer = new ValidationAnalyzer();
-        AnalysisSummary summary = analyzer.summarize(apiDefinition);
+    private static long runValidationAnalysis(ApiDefinition apiDefinition, boolean autoFix, File yamlFile,
+                                              FieldTypeInference typeInference, long regexFuzzMillis,
+                                              PayloadLimits payloadLimits, int parallelism) {
+        // One traversal yields both the issues and the severity counts
+        RuleEngine engine = new ValidationAnalyzer(typeInference).register(new RuleEngine());
+        new RegexSafetyRules(new RegexSafety(regexFuzzMillis)).register(engine);
+        if (payloadLimits != null) {
+            new PayloadLimitRules(payloadLimits).register(engine);
+        }
+        engine.setParallelism(parallelism);
+        RuleReport report = engine.run(apiDefinition);
+        AnalysisSummary summary = report.summary();
+        long violations = PayloadLimitRules.violations(report);
 
         System.out.println("========================================");
         System.out.println("Validation Analysis");
         System.out.println("========================================\n");
 
+        // Regex safety errors block generation and cannot be auto-fixed; polynomial findings are listed with the issues below
+        List<ValidationError> regexErrors = RegexSafetyRules.errors(report);
+        if (!regexErrors.isEmpty()) {
+            System.out.println("Regex Safety (" + RegexSafety.RULE_CODE + "):");
+            for (ValidationError error : regexErrors) {
+                System.out.println("  [ERROR] " + error.getField() + ": " + error.getMessage() + " - " + error.getSuggestion());
+            }
+            System.out.println();
+        }
+
         if (!summary.hasIssues()) {
-            System.out.println("No validation issues found. Great job!\n");
-            return;
+            if (regexErrors.isEmpty()) {
+                System.out.println("No validation issues found. Great job!\n");
+            }
+            return violations;
         }
 
         // Print summary
@@ -230,8 +408,7 @@ public class Main {
         System.out.println("  Total:    " + summary.getTotalCount());
         System.out.println();
 
-        // Get detailed analysis
-        List<AnalysisItem> issues = analyzer.analyze(apiDefinition);
+        List<AnalysisItem> issues = report.getItems();
 
         // Print issues by severity
         System.out.println("Issues:");
@@ -276,6 +453,57 @@ public class Main {
             System.out.println("  java -jar api-codegen.jar " + yamlFile.getName() + " --auto-fix");
             System.out.println("========================================");
         }
+        return violations;
+    }
+
+    /**
+     * Run only the payload limit rules (DFX-023), returns the number of issues
+     */
+    private static long checkPayloadLimits(ApiDefinition apiDefinition, PayloadLimits payloadLimits, int parallelism) {
+        RuleEngine engine = new PayloadLimitRules(payloadLimits).register(new RuleEngine());
+        engine.setParallelism(parallelism);
+        List<AnalysisItem> issues = engine.run(apiDefinition).getItems();
+        if (issues.isEmpty()) {
+            System.out.println("Payload limit check passed\n");
+            return 0;
+        }
+
+        System.err.println("========================================");
+        System.err.println("Payload Limit Check Failed (" + PayloadLimitRules.RULE_CODE + "):");
+        System.err.println("========================================");
+        for (AnalysisItem issue : issues) {
+            System.err.println("  " + issue);
+        }
+        return issues.size();
+    }
+
+    /**
+     * Compare the parsed spec against an older one, returns the process exit code
+     */
+    private static int runDiff(File baseFile, ApiDefinition current, ParserOptions parserOptions) {
+        if (!baseFile.exists()) {
+            System.err.println("Error: Diff base not found: " + baseFile.getAbsolutePath());
+            return 2;
+        }
+        ApiDefinition base;
+        try {
+            base = YamlParser.parse(baseFile, parserOptions);
+        } catch (IOException | YamlLimitException e) {
+            System.err.println("Error: Cannot parse diff base " + baseFile.getAbsolutePath() + ": " + e.getMessage());
+            return 2;
+        }
+
+        System.out.println("========================================");
+        System.out.println("Spec Diff (" + baseFile.getName() + " -> current)");
+        System.out.println("========================================\n");
+
+        SpecDiff diff = SpecDiff.compare(base, current);
+        if (diff.isEmpty()) {
+            System.out.println("No structural changes.");
+            return 0;
+        }
+        System.out.print(diff.format());
+        return 1;
     }
 
     /**
@@ -303,6 +531,19 @@ public class Main {
               -force                             Force overwrite existing files
               -analyze, --analyze                Analyze missing validation rules
               -auto-fix, --auto-fix              Auto-fix missing validations
+              -parallelism <n>                   Swagger conversion and validation parallelism (default: 1)
+              -split-parse                       Experimental: parse paths/apis chunks concurrently (needs -parallelism > 1)
+              -type-dictionary <file>            YAML dictionary for field-name type inference
+              -snapshot                          Reuse a binary parse snapshot when the spec is unchanged
+              -snapshot-dir <directory>          Snapshot directory (default: next to the spec)
+              -diff <old-spec>                   Compare against an older spec, print added/removed/changed operations and exit
+              -regex-fuzz <ms>                   Also fuzz validation patterns, flag any match slower than <ms> (DFX-022)
+              -payload-limits[=<thresholds>]     Fail on unbounded lists/strings, unpaginated response lists and deep nesting (DFX-023)
+                                                 thresholds: maxListSize, maxStringLength, maxNestedListElements,
+                                                 maxNestingDepth, paginationParameters (e.g. maxListSize=500,paginationParameters=page|limit)
+              -yaml-limits[=<limits>]            Reject specs over document resource limits (DFX-021, default: unlimited)
+                                                 limits: maxDocumentLength, maxAliases, maxNestingDepth, maxOperations,
+                                                 maxFieldsPerClass; bare -yaml-limits uses 16 MB/50/64/10000/1000
               -help, --help                      Show this help message
 
             Examples:
@@ -310,6 +551,12 @@ public class Main {
               java -jar api-codegen.jar api.yaml -output=src/main/java -package=com.example
               java -jar api-codegen.jar api.yaml --analyze
               java -jar api-codegen.jar api.yaml --auto-fix
+              java -jar api-codegen.jar swagger.yaml -parallelism=8
+              java -jar api-codegen.jar swagger.yaml -snapshot -snapshot-dir=.apicgen
+              java -jar api-codegen.jar swagger-v2.yaml -diff swagger-v1.yaml
+              java -jar api-codegen.jar api.yaml -regex-fuzz=50
+              java -jar api-codegen.jar api.yaml --analyze --payload-limits=maxListSize=500,maxStringLength=4096
+              java -jar api-codegen.jar api.yaml -yaml-limits=maxDocumentLength=67108864,maxOperations=20000
               java -jar api-codegen.jar api.yaml --help
             """);
     }
@@ -0,0 +1,200 @@
+package com.apicgen.bridge;
+
+import com.apicgen.model.ApiDefinition;
+import com.apicgen.model.compact.CompactApiDefinition;
+import com.apicgen.parser.ParserOptions;
+import com.apicgen.parser.YamlParser;
+import com.apicgen.util.YamlLimits;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 按内容哈希缓存解析后的 ApiDefinition，供常驻进程（IDEA 插件、浏览器插件后端等）重复分析同一份文档时复用。
+ * <p>
+ * key 为 SHA-256(解析器版本 + 解析选项（类型推断词表、资源上限）+ YAML 字节)，按 LRU 淘汰，同时限制条目数与源文本总字节数。
+ * 缓存保存不可变的紧凑模型（{@link CompactApiDefinition}），每次查找都转回一份新的 ApiDefinition：
+ * 调用方可以修改自己拿到的顶层字段与校验配置而不影响缓存和其他调用方；嵌套字段列表与 {@code SwaggerConverter}
+ * 共享的 $ref 子树一样不可修改。
+ * 线程安全；解析在锁外进行，同一内容并发未命中时可能各自解析一次，以先写入的结果为准。
+ */
+public class ParsedDocumentCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 32;
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<String, CachedDocument> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long totalBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public ParsedDocumentCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * @param maxEntries 最大条目数，小于等于 0 表示不缓存
+     * @param maxBytes   缓存文档的 UTF-8 源文本总字节上限，单个文档超过上限时不缓存
+     */
+    public ParsedDocumentCache(int maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 以 bridge 解析选项（默认资源上限）获取解析结果，见 {@link #parse(String, ParserOptions)}
+     */
+    public ApiDefinition parse(String yamlContent) throws IOException {
+        return parse(yamlContent, bridgeOptions());
+    }
+
+    /**
+     * bridge 处理编辑器中的任意文档，启用默认资源上限（{@link YamlLimits#defaults()}）
+     */
+    static ParserOptions bridgeOptions() {
+        ParserOptions options = ParserOptions.defaults();
+        options.setLimits(YamlLimits.defaults());
+        return options;
+    }
+
+    /**
+     * 获取解析结果，未命中时按 options 完整解析并缓存（缓存需要完整模型，懒加载选项不生效）；
+     * 解析异常原样抛出且不缓存
+     */
+    public ApiDefinition parse(String yamlContent, ParserOptions options) throws IOException {
+        ParserOptions eager = eagerOptions(options);
+        return get(yamlContent, eager, content -> YamlParser.parse(content, eager));
+    }
+
+    private static ParserOptions eagerOptions(ParserOptions options) {
+        ParserOptions eager = ParserOptions.defaults();
+        eager.setTypeInference(options.getTypeInference());
+        eager.setLimits(options.getLimits());
+        eager.setParallelism(options.getParallelism());
+        return eager;
+    }
+
+    /**
+     * 获取解析结果，未命中时调用 loader 解析并缓存；loader 应使用默认解析选项
+     */
+    public ApiDefinition get(String yamlContent, Loader loader) throws IOException {
+        return get(yamlContent, ParserOptions.defaults(), loader);
+    }
+
+    /**
+     * 获取解析结果，未命中时调用 loader 按 options 解析并缓存；options 中影响解析结果的部分参与缓存 key
+     */
+    public ApiDefinition get(String yamlContent, ParserOptions options, Loader loader) throws IOException {
+        if (yamlContent == null) {
+            return loader.load(yamlContent);
+        }
+        byte[] bytes = yamlContent.getBytes(StandardCharsets.UTF_8);
+        String key = contentKey(bytes, options);
+
+        synchronized (this) {
+            CachedDocument cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached.definition().toApiDefinition();
+            }
+            misses++;
+        }
+
+        ApiDefinition loaded = loader.load(yamlContent);
+        if (loaded == null || maxEntries <= 0 || bytes.length > maxBytes) {
+            return loaded;
+        }
+        CompactApiDefinition compact = CompactApiDefinition.of(loaded);
+
+        synchronized (this) {
+            CachedDocument existing = entries.get(key);
+            if (existing != null) {
+                return existing.definition().toApiDefinition();
+            }
+            entries.put(key, new CachedDocument(compact, bytes.length));
+            totalBytes += bytes.length;
+            evictIfNeeded();
+        }
+        // loader 的结果可能仍与其内部状态共享（如 $ref 子树），同样从紧凑模型转回
+        return compact.toApiDefinition();
+    }
+
+    /**
+     * 当前统计信息
+     */
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, entries.size(), totalBytes);
+    }
+
+    /**
+     * 清空缓存，统计计数保留
+     */
+    public synchronized void clear() {
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, CachedDocument>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || totalBytes > maxBytes) && iterator.hasNext()) {
+            CachedDocument eldest = iterator.next().getValue();
+            iterator.remove();
+            totalBytes -= eldest.sizeBytes();
+            evictions++;
+        }
+    }
+
+    static String contentKey(byte[] bytes, ParserOptions options) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(YamlParser.PARSER_VERSION.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(options.getTypeInference().fingerprint().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(options.getLimits()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(bytes);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    /**
+     * 缓存未命中时的解析函数
+     */
+    @FunctionalInterface
+    public interface Loader {
+        ApiDefinition load(String yamlContent) throws IOException;
+    }
+
+    /**
+     * 缓存统计
+     *
+     * @param hits       命中次数
+     * @param misses     未命中次数
+     * @param evictions  淘汰条目数
+     * @param size       当前条目数
+     * @param totalBytes 当前缓存文档的源文本总字节数
+     */
+    public record Stats(long hits, long misses, long evictions, int size, long totalBytes) {
+
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+    }
+
+    private record CachedDocument(CompactApiDefinition definition, int sizeBytes) {
+    }
+}
@@ -0,0 +1,165 @@
+package com.apicgen.bridge;
+
+import com.apicgen.parser.SourcePositionIndex;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.UnaryOperator;
+
+/**
+ * 一次分析/修复中共享的 Swagger 源文本：按行拆分的文本与位置索引只构建一次
+ * <p>
+ * 每次修复通过 {@link #lines()} 取得独立的可编辑行列表；列表记录插入的行，
+ * 位置索引中的原始行号据此换算为当前行号。索引不可用（构建失败）时查询返回 -1，调用方退回逐行扫描。
+ */
+final class SwaggerSource {
+
+    private static final List<String> OPERATION_METHODS = List.of("get", "post", "put", "delete", "patch", "options", "head");
+
+    private final String[] baseLines;
+    private final SourcePositionIndex positions;
+    private final Map<String, String> pathKeys = new HashMap<>();
+    private final Map<String, String> operationIdPathKeys = new HashMap<>();
+
+    private SwaggerSource(String[] baseLines, SourcePositionIndex positions, UnaryOperator<String> pathNormalizer) {
+        this.baseLines = baseLines;
+        this.positions = positions;
+        if (positions == null) {
+            return;
+        }
+        for (String pathKey : positions.keys("/paths")) {
+            pathKeys.putIfAbsent(pathNormalizer.apply(pathKey), pathKey);
+            for (String method : OPERATION_METHODS) {
+                SourcePositionIndex.SourceRange range = positions.find("paths", pathKey, method, "operationId");
+                String operationId = range == null ? null : scalarValue(baseLines[range.startLine() - 1]);
+                if (operationId != null) {
+                    operationIdPathKeys.putIfAbsent(operationId, pathKey);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param pathNormalizer 路径 key 的规范化规则，查找路径时两侧使用同一规则
+     */
+    static SwaggerSource of(String yamlContent, UnaryOperator<String> pathNormalizer) {
+        String[] baseLines = yamlContent.split("\n", -1);
+        SourcePositionIndex positions;
+        try {
+            positions = SourcePositionIndex.of(yamlContent);
+        } catch (IOException | RuntimeException e) {
+            positions = null;
+        }
+        return new SwaggerSource(baseLines, positions, pathNormalizer);
+    }
+
+    /**
+     * 新的可编辑行列表，首次修改时才复制源文本行
+     */
+    Lines lines() {
+        return new Lines();
+    }
+
+    /**
+     * 规范化路径对应的源文本 path key，未找到时返回 null
+     */
+    String pathKey(String normalizedPath) {
+        return pathKeys.get(normalizedPath);
+    }
+
+    /**
+     * operationId 所在 operation 的 path key，未找到时返回 null
+     */
+    String pathKeyByOperationId(String operationId) {
+        return operationIdPathKeys.get(operationId);
+    }
+
+    /**
+     * 节点在源文本中的起始行（从 1 开始），未找到时返回 0
+     */
+    int sourceLine(String... segments) {
+        SourcePositionIndex.SourceRange range = positions == null ? null : positions.find(segments);
+        return range == null ? 0 : range.startLine();
+    }
+
+    private static String scalarValue(String line) {
+        String trimmed = line.trim();
+        int colon = trimmed.indexOf(':');
+        if (colon < 0) {
+            return null;
+        }
+        String value = trimmed.substring(colon + 1).trim();
+        if (value.length() >= 2 && (value.startsWith("\"") && value.endsWith("\"") || value.startsWith("'") && value.endsWith("'"))) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * 可编辑的源文本行，记录插入位置以换算索引中的原始行号
+     */
+    final class Lines extends AbstractList<String> implements RandomAccess {
+
+        private List<String> lines = Arrays.asList(baseLines);
+        private boolean copied;
+        private final List<Integer> insertions = new ArrayList<>();
+
+        /**
+         * 节点 key 所在的当前行下标（从 0 开始），未找到时返回 -1
+         */
+        int lineOf(String... segments) {
+            SourcePositionIndex.SourceRange range = positions == null ? null : positions.find(segments);
+            if (range == null) {
+                return -1;
+            }
+            int line = range.startLine() - 1;
+            for (int insertion : insertions) {
+                if (insertion <= line) {
+                    line++;
+                }
+            }
+            return line < lines.size() ? line : -1;
+        }
+
+        SwaggerSource source() {
+            return SwaggerSource.this;
+        }
+
+        @Override
+        public String get(int index) {
+            return lines.get(index);
+        }
+
+        @Override
+        public int size() {
+            return lines.size();
+        }
+
+        @Override
+        public String set(int index, String element) {
+            ensureCopied();
+            return lines.set(index, element);
+        }
+
+        @Override
+        public void add(int index, String element) {
+            ensureCopied();
+            lines.add(index, element);
+            insertions.add(index);
+            modCount++;
+        }
+
+        private void ensureCopied() {
+            if (!copied) {
+                lines = new ArrayList<>(lines);
+                copied = true;
+            }
+        }
+    }
+}
@@ -1,16 +1,18 @@
 package com.apicgen.bridge;
 
 import com.apicgen.model.ApiDefinition;
-import com.apicgen.parser.YamlParser;
-import com.apicgen.validator.ApiValidator;
+import com.apicgen.validator.IncrementalAnalysis;
+import com.apicgen.validator.RegexSafety;
+import com.apicgen.validator.RuleEngine;
+import com.apicgen.validator.RuleReport;
 import com.apicgen.validator.ValidationAnalyzer;
 import com.apicgen.validator.ValidationError;
 import com.apicgen.validator.ValidationFixer;
-import com.apicgen.validator.ValidationResult;
+import com.apicgen.util.FieldTypeInference;
+import com.apicgen.util.SpecMappers;
 import com.apicgen.util.ValidationConstants;
+import com.apicgen.util.YamlLimitException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -30,15 +32,46 @@ import java.util.regex.Pattern;
  */
 public class UiDocumentService {
 
-    private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
     private static final Pattern API_INDEX_PATTERN = Pattern.compile("^apis\\[(\\d+)](?:\\.(.+))?$");
     private static final Pattern API_NAME_PATTERN = Pattern.compile("^api\\.([^.]+)(?:\\.(.+))?$");
 
+    private final ParsedDocumentCache documentCache;
+    /**
+     * 编辑器每次按键都会重新分析整个文档，未变化的 API 复用上一次的规则结果
+     */
+    private final IncrementalAnalysis analysis =
+        new IncrementalAnalysis(RuleEngine.withDefaultRules(FieldTypeInference.defaults()));
+
+    public UiDocumentService() {
+        this(new ParsedDocumentCache());
+    }
+
+    /**
+     * 使用指定的解析结果缓存，常驻进程中多个服务实例可共享同一缓存
+     */
+    public UiDocumentService(ParsedDocumentCache documentCache) {
+        this.documentCache = documentCache;
+    }
+
+    /**
+     * 解析结果缓存，可用于读取命中/未命中统计
+     */
+    public ParsedDocumentCache getDocumentCache() {
+        return documentCache;
+    }
+
+    /**
+     * 增量分析会话，可用于读取上一次分析复用/重新计算的 API 数
+     */
+    public IncrementalAnalysis getAnalysis() {
+        return analysis;
+    }
+
     public AnalysisResponse analyze(String yamlContent) throws IOException {
         String sourceFormat = detectSourceFormat(yamlContent);
 
         try {
-            ApiDefinition apiDefinition = YamlParser.parse(yamlContent);
+            ApiDefinition apiDefinition = documentCache.parse(yamlContent);
             AnalysisContext context = analyzeInternal(yamlContent, sourceFormat, apiDefinition);
             return new AnalysisResponse(
                 UiBridgeContract.BRIDGE_NAME,
@@ -50,6 +83,30 @@ public class UiDocumentService {
                 context.issues(),
                 context.normalizedYaml()
             );
+        } catch (YamlLimitException e) {
+            return new AnalysisResponse(
+                UiBridgeContract.BRIDGE_NAME,
+                UiBridgeContract.CONTRACT_VERSION,
+                UiBridgeContract.COMMAND_ANALYZE,
+                sourceFormat,
+                sourceFormat,
+                sourceFormat,
+                List.of(
+                    new UiIssue(
+                        "error",
+                        e.getMessage(),
+                        e.getLine(),
+                        "",
+                        "",
+                        YamlLimitException.RULE,
+                        YamlLimitException.RULE_CODE,
+                        buildIssueKey("error", YamlLimitException.RULE, "", "", e.getMessage()),
+                        false,
+                        null
+                    )
+                ),
+                yamlContent
+            );
         } catch (Exception e) {
             return new AnalysisResponse(
                 UiBridgeContract.BRIDGE_NAME,
@@ -81,7 +138,7 @@ public class UiDocumentService {
         String sourceFormat = detectSourceFormat(yamlContent);
 
         try {
-            ApiDefinition apiDefinition = YamlParser.parse(yamlContent);
+            ApiDefinition apiDefinition = documentCache.parse(yamlContent);
             AnalysisContext context = analyzeInternal(yamlContent, sourceFormat, apiDefinition);
 
             Set<String> selectedKeys = new LinkedHashSet<>();
@@ -161,7 +218,7 @@ public class UiDocumentService {
                                                 Set<String> selectedKeys,
                                                 Map<String, UiIssue> issuesByKey,
                                                 Map<String, ValidationAnalyzer.AnalysisItem> analysisItemsByKey) {
-        List<String> lines = new ArrayList<>(Arrays.asList(yamlContent.split("\n", -1)));
+        SwaggerSource.Lines lines = SwaggerSource.of(yamlContent, this::normalizeSwaggerPath).lines();
         int appliedCount = 0;
         for (String key : selectedKeys) {
             UiIssue issue = issuesByKey.get(key);
@@ -189,23 +246,25 @@ public class UiDocumentService {
         return new FixComputation(String.join("\n", lines), appliedCount, "swagger");
     }
 
-    private UiIssue recomputeSwaggerFixability(String yamlContent,
+    private UiIssue recomputeSwaggerFixability(SwaggerSource source,
                                                UiIssue issue,
                                                ValidationAnalyzer.AnalysisItem item) {
         if (issue == null || !issue.fixable() || issue.locator() == null || item == null) {
             return issue;
         }
 
-        List<String> lines = new ArrayList<>(Arrays.asList(yamlContent.split("\n", -1)));
+        SwaggerSource.Lines lines = source.lines();
+        LineBlock sourceBlock = findSwaggerValidationBlock(lines, issue.locator());
+        int line = sourceBlock == null ? issue.line() : sourceBlock.start() + 1;
         boolean fixable = applySwaggerValidationFix(lines, issue.locator(), item);
-        if (fixable == issue.fixable()) {
+        if (fixable == issue.fixable() && line == issue.line()) {
             return issue;
         }
 
         return new UiIssue(
             issue.severity(),
             issue.message(),
-            issue.line(),
+            line,
             issue.api(),
             issue.field(),
             issue.rule(),
@@ -221,26 +280,23 @@ public class UiDocumentService {
         LinkedHashMap<String, ValidationAnalyzer.AnalysisItem> analysisItemsByKey = new LinkedHashMap<>();
         LinkedHashSet<String> normalizationIssueKeys = new LinkedHashSet<>();
 
+        SwaggerSource swaggerSource = null;
         if ("swagger".equals(sourceFormat)) {
-            collectRawSwaggerIssues(yamlContent, issues, normalizationIssueKeys);
+            swaggerSource = SwaggerSource.of(yamlContent, this::normalizeSwaggerPath);
+            collectRawSwaggerIssues(yamlContent, swaggerSource, issues, normalizationIssueKeys);
         }
 
-        ApiValidator apiValidator = new ApiValidator();
-        try {
-            ValidationResult validationResult = apiValidator.validate(apiDefinition);
-            for (ValidationError error : validationResult.getErrors()) {
-                UiIssue issue = toUiIssue(error, apiDefinition, sourceFormat);
-                putPreferredIssue(issues, issue);
-            }
-        } finally {
-            apiValidator.cleanup();
+        // 校验与分析规则共用一次遍历，只对新增或变化的 API 重新执行
+        RuleReport report = analysis.update(apiDefinition);
+        for (ValidationError error : report.getErrors()) {
+            UiIssue issue = toUiIssue(error, apiDefinition, sourceFormat);
+            putPreferredIssue(issues, issue);
         }
 
-        ValidationAnalyzer analyzer = new ValidationAnalyzer();
-        for (ValidationAnalyzer.AnalysisItem item : analyzer.analyze(apiDefinition)) {
+        for (ValidationAnalyzer.AnalysisItem item : report.getItems()) {
             UiIssue issue = toUiIssue(item, apiDefinition, sourceFormat);
             if ("swagger".equals(sourceFormat)) {
-                issue = recomputeSwaggerFixability(yamlContent, issue, item);
+                issue = recomputeSwaggerFixability(swaggerSource, issue, item);
             }
             putPreferredIssue(issues, issue);
             analysisItemsByKey.putIfAbsent(issue.key(), item);
@@ -256,9 +312,10 @@ public class UiDocumentService {
     }
 
     private void collectRawSwaggerIssues(String yamlContent,
+                                         SwaggerSource source,
                                          Map<String, UiIssue> issues,
                                          Set<String> normalizationIssueKeys) throws IOException {
-        JsonNode root = YAML_MAPPER.readTree(yamlContent);
+        JsonNode root = SpecMappers.readTree(yamlContent);
         if (root == null || !root.has("paths") || !root.get("paths").isObject()) {
             return;
         }
@@ -287,7 +344,7 @@ public class UiDocumentService {
                     UiIssue issue = new UiIssue(
                         "error",
                         "路径不能包含重复斜杠: " + fullPath,
-                        0,
+                        source.sourceLine("paths", path),
                         method.toUpperCase(Locale.ROOT) + " " + fullPath,
                         "path",
                         "DFX-001: 路径规范 - 不能包含重复斜杠",
@@ -375,8 +432,8 @@ public class UiDocumentService {
         return path != null && (path.contains("//") || path.contains("\\"));
     }
 
-    private boolean applySwaggerPathFix(List<String> lines, UiLocator locator) {
-        int pathLine = findSwaggerPathLine(lines, locator.path(), 0, lines.size());
+    private boolean applySwaggerPathFix(SwaggerSource.Lines lines, UiLocator locator) {
+        int pathLine = locateSwaggerPathLine(lines, locator.path());
         if (pathLine < 0) {
             return false;
         }
@@ -396,7 +453,7 @@ public class UiDocumentService {
         return true;
     }
 
-    private boolean applySwaggerValidationFix(List<String> lines,
+    private boolean applySwaggerValidationFix(SwaggerSource.Lines lines,
                                               UiLocator locator,
                                               ValidationAnalyzer.AnalysisItem item) {
         // 当缺少类型时，先尝试推断并添加类型行
@@ -521,7 +578,7 @@ public class UiDocumentService {
         };
     }
 
-    private boolean swaggerParameterNeedsManualCompletion(List<String> lines, UiLocator locator) {
+    private boolean swaggerParameterNeedsManualCompletion(SwaggerSource.Lines lines, UiLocator locator) {
         LineBlock operationBlock = findSwaggerOperationBlock(lines, locator);
         if (operationBlock == null) {
             return false;
@@ -546,21 +603,13 @@ public class UiDocumentService {
         if (fieldName == null || fieldName.isBlank()) {
             return "string";
         }
-        String lower = fieldName.toLowerCase();
+        FieldTypeInference typeInference = FieldTypeInference.defaults();
 
         // 模糊字段名，无法确定类型，需要用户手动选择
-        if (lower.matches("^(data|value|input|output|content|field|param|parameter|item|element|object|entity|model|dto|vo|request|response|result|payload|body|text|info|message)$")) {
+        if (typeInference.isAmbiguous(fieldName)) {
             return null; // 无法推断，需要手动处理
         }
-
-        if (lower.matches("^(id|_id)$") || lower.endsWith("id")) return "integer";
-        if (lower.matches("^(price|amount|total|fee|cost|balance|salary|score|rating)$")) return "number";
-        if (lower.matches("^(count|quantity|num|number|age|size|page|pagenum|pageno|pagenumber|pagesize|perpage|limit)$")) return "integer";
-        if (lower.matches("^(is|has|can|should|enable|disable|active|visible|deleted|enabled|disabled|hidden).*")) return "boolean";
-        if (lower.matches("^(createdat|updatedat|deletedat|created_at|updated_at|deleted_at)$")) return "string";
-        if (lower.matches("^(date|birthday|dob|birthdate)$")) return "string";
-
-        return "string";
+        return mapJavaTypeToSwaggerType(typeInference.infer(fieldName));
     }
 
     /**
@@ -583,7 +632,7 @@ public class UiDocumentService {
     /**
      * 为 Swagger parameter 添加 type 行
      */
-    private boolean addSwaggerParameterType(List<String> lines, UiLocator locator, String swaggerType) {
+    private boolean addSwaggerParameterType(SwaggerSource.Lines lines, UiLocator locator, String swaggerType) {
         LineBlock operationBlock = findSwaggerOperationBlock(lines, locator);
         if (operationBlock == null) {
             return false;
@@ -678,7 +727,7 @@ public class UiDocumentService {
         return "Double".equals(fieldType == null ? "" : fieldType.replace("\"", "").trim());
     }
 
-    private LineBlock findSwaggerValidationBlock(List<String> lines, UiLocator locator) {
+    private LineBlock findSwaggerValidationBlock(SwaggerSource.Lines lines, UiLocator locator) {
         LineBlock operationBlock = findSwaggerOperationBlock(lines, locator);
         if (operationBlock == null) {
             return null;
@@ -738,8 +787,22 @@ public class UiDocumentService {
         return null;
     }
 
-    private LineBlock findSwaggerOperationBlock(List<String> lines, UiLocator locator) {
-        int pathLine = findSwaggerPathLine(lines, locator.path(), 0, lines.size());
+    private LineBlock findSwaggerOperationBlock(SwaggerSource.Lines lines, UiLocator locator) {
+        String methodToken = (locator.method() == null ? "" : locator.method().toLowerCase(Locale.ROOT)) + ":";
+        String pathKey = locator.path() == null || locator.path().isBlank()
+            ? null
+            : lines.source().pathKey(normalizeSwaggerPath(locator.path()));
+        if (pathKey == null) {
+            pathKey = lines.source().pathKeyByOperationId(locator.apiName());
+        }
+        if (pathKey != null) {
+            int indexedMethodLine = lines.lineOf("paths", pathKey, methodToken.substring(0, methodToken.length() - 1));
+            if (indexedMethodLine >= 0 && lines.get(indexedMethodLine).trim().equals(methodToken)) {
+                return new LineBlock(indexedMethodLine, findBlockEnd(lines, indexedMethodLine));
+            }
+        }
+
+        int pathLine = locateSwaggerPathLine(lines, locator.path());
         if (pathLine < 0) {
             pathLine = findSwaggerOperationPathByOperationId(lines, locator.apiName());
         }
@@ -748,7 +811,6 @@ public class UiDocumentService {
         }
 
         int pathIndent = indent(lines.get(pathLine));
-        String methodToken = (locator.method() == null ? "" : locator.method().toLowerCase(Locale.ROOT)) + ":";
         int methodLine = -1;
         for (int i = pathLine + 1; i < lines.size(); i++) {
             String line = lines.get(i);
@@ -1024,11 +1086,18 @@ public class UiDocumentService {
         return null;
     }
 
-    private LineBlock findSwaggerReferencedSchemaBlock(List<String> lines, String ref) {
+    private LineBlock findSwaggerReferencedSchemaBlock(SwaggerSource.Lines lines, String ref) {
         if (ref == null || ref.isBlank()) {
             return null;
         }
 
+        LineBlock indexed = ref.startsWith("#/definitions/")
+            ? findIndexedSchemaBlock(lines, extractRefName(ref), "definitions")
+            : findIndexedSchemaBlock(lines, extractRefName(ref), "components", "schemas");
+        if (indexed != null) {
+            return indexed;
+        }
+
         if (ref.startsWith("#/definitions/")) {
             return findNamedSchemaBlock(lines, "definitions", extractRefName(ref));
         }
@@ -1043,6 +1112,22 @@ public class UiDocumentService {
         return null;
     }
 
+    /**
+     * 通过位置索引定位 schema 块，索引未命中或行内容与 schema 名不符时返回 null
+     */
+    private LineBlock findIndexedSchemaBlock(SwaggerSource.Lines lines, String schemaName, String... section) {
+        if (schemaName == null || schemaName.isBlank()) {
+            return null;
+        }
+        String[] segments = Arrays.copyOf(section, section.length + 1);
+        segments[section.length] = schemaName;
+        int schemaLine = lines.lineOf(segments);
+        if (schemaLine < 0 || !schemaName.equals(extractYamlKey(lines.get(schemaLine).trim()))) {
+            return null;
+        }
+        return new LineBlock(schemaLine, findBlockEnd(lines, schemaLine));
+    }
+
     private LineBlock findNamedSchemaBlock(List<String> lines, String sectionName, String schemaName) {
         return findNamedSchemaBlock(lines, sectionName, schemaName, 0, lines.size());
     }
@@ -1129,6 +1214,25 @@ public class UiDocumentService {
         return lastChild + 1;
     }
 
+    /**
+     * 定位 path key 所在行：优先查位置索引并校验行内容，未命中时逐行扫描
+     */
+    private int locateSwaggerPathLine(SwaggerSource.Lines lines, String targetPath) {
+        if (targetPath == null || targetPath.isBlank()) {
+            return -1;
+        }
+        String normalizedTarget = normalizeSwaggerPath(targetPath);
+        String pathKey = lines.source().pathKey(normalizedTarget);
+        if (pathKey != null) {
+            int pathLine = lines.lineOf("paths", pathKey);
+            String key = pathLine < 0 ? null : extractYamlKey(lines.get(pathLine).trim());
+            if (key != null && normalizedTarget.equals(normalizeSwaggerPath(key))) {
+                return pathLine;
+            }
+        }
+        return findSwaggerPathLine(lines, targetPath, 0, lines.size());
+    }
+
     private int findSwaggerPathLine(List<String> lines, String targetPath, int start, int endExclusive) {
         if (targetPath == null || targetPath.isBlank()) {
             return -1;
@@ -1276,7 +1380,8 @@ public class UiDocumentService {
             rule,
             UiBridgeContract.extractRuleCode(rule, message),
             buildIssueKey(severity, rule, api, field, message),
-            true,
+            // 正则安全问题需要人工改写 pattern，不能自动修复
+            message == null || !message.startsWith(RegexSafety.RULE_CODE),
             buildAnalysisLocator(item, apiDefinition, sourceFormat)
         );
     }
@@ -1472,12 +1577,8 @@ public class UiDocumentService {
             return ApiDefinitionLocator.empty(apiName == null ? "" : apiName);
         }
 
-        for (com.apicgen.model.Api api : apiDefinition.getApis()) {
-            if (apiName.equals(api.getName())) {
-                return ApiDefinitionLocator.fromApi(api);
-            }
-        }
-        return ApiDefinitionLocator.empty(apiName);
+        com.apicgen.model.Api api = apiDefinition.index().byName(apiName);
+        return api != null ? ApiDefinitionLocator.fromApi(api) : ApiDefinitionLocator.empty(apiName);
     }
 
     private ApiDefinitionLocator resolveApiByIndex(ApiDefinition apiDefinition, int apiIndex) {
@@ -1531,6 +1632,7 @@ public class UiDocumentService {
         if (message == null) {
             return "建议优化";
         }
+        if (message.startsWith(RegexSafety.RULE_CODE)) return RegexSafety.RULE;
         if (message.contains("路径不能包含重复斜杠")) return "DFX-001: 路径规范 - 不能包含重复斜杠";
         if (message.contains("路径必须以 / 开头")) return "DFX-002: 路径规范 - 必须以 / 开头";
         if (message.contains("必填字段缺少 @NotNull") || message.contains("必填参数") && message.contains("@NotNull")) {
@@ -0,0 +1,133 @@
+package com.apicgen.converter;
+
+import com.apicgen.util.SpecMappers;
+import com.apicgen.util.YamlLimitException;
+import com.apicgen.util.YamlLimits;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 外部 $ref 文件加载器，生命周期为一次转换
+ * <p>
+ * 每个文件只读取一次，解析后的树缓存在内存中；读取完成后立即扫描其中的外部引用并异步预取，
+ * 因此被引用的文件会并行加载。出于安全考虑只允许加载规格文件所在目录树内的本地文件。
+ */
+final class ExternalDocumentLoader {
+
+    private final Path baseDirectory;
+    private final YamlLimits limits;
+    private final Map<Path, CompletableFuture<JsonNode>> documents = new ConcurrentHashMap<>();
+
+    ExternalDocumentLoader(Path baseDirectory, YamlLimits limits) {
+        this.baseDirectory = baseDirectory.toAbsolutePath().normalize();
+        this.limits = limits;
+    }
+
+    /**
+     * 将引用中的文件部分解析为绝对路径；远程引用或无法识别的引用返回 null
+     *
+     * @param document 引用所在文档的路径
+     * @param filePart $ref 中 # 之前的部分
+     */
+    Path resolvePath(Path document, String filePart) {
+        if (filePart.isEmpty() || filePart.contains("://")) {
+            return null;
+        }
+        Path parent = document.toAbsolutePath().normalize().getParent();
+        Path target = (parent == null ? baseDirectory : parent).resolve(filePart).normalize();
+        if (!target.startsWith(baseDirectory)) {
+            throw new RuntimeException("外部引用超出规格文件所在目录: " + filePart);
+        }
+        return target;
+    }
+
+    /**
+     * 获取文件的解析结果，必要时同步等待加载完成
+     */
+    JsonNode get(Path path) {
+        try {
+            return load(path).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() instanceof UncheckedIOException unchecked ? unchecked.getCause() : e.getCause();
+            if (cause instanceof YamlLimitException limitException) {
+                throw limitException;
+            }
+            throw new RuntimeException("无法加载外部引用文件 " + baseDirectory.relativize(path) + ": " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * 扫描文档中的外部引用并异步预取，不等待加载完成
+     */
+    void prefetch(JsonNode root, Path document) {
+        Deque<JsonNode> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            JsonNode node = pending.pop();
+            String ref = RefIndex.refOf(node);
+            if (ref != null && !ref.startsWith("#")) {
+                int hash = ref.indexOf('#');
+                try {
+                    Path target = resolvePath(document, hash < 0 ? ref : ref.substring(0, hash));
+                    if (target != null) {
+                        load(target);
+                    }
+                } catch (RuntimeException e) {
+                    // 非法引用在真正解析到时再报错
+                }
+            }
+            if (node.isContainerNode()) {
+                node.elements().forEachRemaining(pending::push);
+            }
+        }
+    }
+
+    /**
+     * 等待所有预取完成，返回本次转换读取过的全部文件（含读取失败的文件）
+     */
+    Set<Path> loadedDocuments() {
+        Set<Path> seen = new LinkedHashSet<>();
+        while (seen.size() < documents.size()) {
+            for (Map.Entry<Path, CompletableFuture<JsonNode>> entry : List.copyOf(documents.entrySet())) {
+                if (seen.add(entry.getKey())) {
+                    entry.getValue().exceptionally(e -> null).join();
+                }
+            }
+        }
+        return seen;
+    }
+
+    /**
+     * 已加载（含加载中）的文件数
+     */
+    int documentCount() {
+        return documents.size();
+    }
+
+    private CompletableFuture<JsonNode> load(Path path) {
+        return documents.computeIfAbsent(path, p -> CompletableFuture.supplyAsync(() -> read(p), ForkJoinPool.commonPool()));
+    }
+
+    private JsonNode read(Path path) {
+        try {
+            JsonNode root = SpecMappers.readTree(path.toFile(), limits);
+            prefetch(root, path);
+            return root;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.apicgen.converter;
+
+import com.apicgen.model.FieldDefinition;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 单次转换内的 $ref 索引
+ * <p>
+ * 预先登记 definitions 与 components/schemas，其余 JSON Pointer 首次解析后缓存；
+ * 同时按 ref 缓存已转换的字段列表，保证共享的 schema 只转换一次。
+ * 并行转换时多个线程共享同一个索引，展开栈由调用方各自持有。
+ * <p>
+ * 每个实例代表一个文档的视图：主文档的引用 key 为 {@code #/...}，外部文件为 {@code 绝对路径#/...}，
+ * 缓存与已加载文件在同一次转换的所有文档视图之间共享，跨文件循环引用也能通过同一展开栈识别。
+ */
+final class RefIndex {
+
+    private static final JsonNode UNRESOLVED = MissingNode.getInstance();
+
+    private final Shared shared;
+    private final Path document;
+    private final JsonNode root;
+    private final boolean mainDocument;
+
+    RefIndex(JsonNode root) {
+        this(root, null, null);
+    }
+
+    /**
+     * @param documentPath 主文档路径，为 null 时（如字符串输入）不解析外部文件引用
+     * @param loader       外部文件加载器，为 null 时不解析外部文件引用
+     */
+    RefIndex(JsonNode root, Path documentPath, ExternalDocumentLoader loader) {
+        this.shared = new Shared(loader);
+        this.document = documentPath == null ? null : documentPath.toAbsolutePath().normalize();
+        this.root = root;
+        this.mainDocument = true;
+        register("#/definitions/", root == null ? null : root.get("definitions"));
+        JsonNode components = root == null ? null : root.get("components");
+        register("#/components/schemas/", components == null ? null : components.get("schemas"));
+        if (document != null) {
+            shared.scopes.put(document, this);
+            if (loader != null && root != null) {
+                loader.prefetch(root, document);
+            }
+        }
+    }
+
+    private RefIndex(Shared shared, Path document, JsonNode root) {
+        this.shared = shared;
+        this.document = document;
+        this.root = root;
+        this.mainDocument = false;
+    }
+
+    private void register(String prefix, JsonNode container) {
+        if (container == null || !container.isObject()) {
+            return;
+        }
+        Iterator<Map.Entry<String, JsonNode>> entries = container.fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> entry = entries.next();
+            shared.schemas.put(prefix + escape(entry.getKey()), entry.getValue());
+        }
+    }
+
+    /**
+     * 获取节点上的 $ref 值，没有时返回 null
+     */
+    static String refOf(JsonNode node) {
+        JsonNode ref = node == null ? null : node.get("$ref");
+        return ref == null ? null : ref.asText();
+    }
+
+    /**
+     * 解析引用（相对于当前文档），无法解析时返回 null
+     */
+    Target resolve(String ref) {
+        if (ref == null || ref.isBlank() || root == null) {
+            return null;
+        }
+        int hash = ref.indexOf('#');
+        String filePart = hash < 0 ? ref : ref.substring(0, hash);
+        String pointer = hash < 0 ? "" : ref.substring(hash + 1);
+
+        RefIndex scope = this;
+        if (!filePart.isEmpty()) {
+            if (document == null || shared.loader == null) {
+                return null;
+            }
+            Path target = shared.loader.resolvePath(document, filePart);
+            if (target == null) {
+                return null;
+            }
+            scope = shared.scopeFor(target);
+        } else if (!pointer.startsWith("/")) {
+            return null;
+        }
+        if (!pointer.isEmpty() && !pointer.startsWith("/")) {
+            return null;
+        }
+
+        String key = scope.keyOf(pointer);
+        JsonNode resolved = shared.schemas.get(key);
+        if (resolved == null) {
+            resolved = scope.lookup(pointer);
+            shared.schemas.put(key, resolved);
+        }
+        return resolved == UNRESOLVED ? null : new Target(key, resolved, scope);
+    }
+
+    private String keyOf(String pointer) {
+        return mainDocument ? "#" + pointer : document + "#" + pointer;
+    }
+
+    private JsonNode lookup(String pointer) {
+        try {
+            JsonNode node = root.at(JsonPointer.compile(pointer));
+            return node.isMissingNode() ? UNRESOLVED : node;
+        } catch (IllegalArgumentException e) {
+            return UNRESOLVED;
+        }
+    }
+
+    /**
+     * 查找已转换的字段列表
+     * <p>
+     * 仅当该 ref 展开时经过的所有 ref 都不在当前展开栈上时才命中，
+     * 否则循环截断的位置会不同，需要重新转换。命中时返回共享的不可变列表。
+     */
+    List<FieldDefinition> findConverted(String key, Set<String> stack, Set<String> reached) {
+        ConvertedRef converted = shared.convertedFields.get(key);
+        if (converted == null || !Collections.disjoint(converted.reached(), stack)) {
+            return null;
+        }
+        reached.addAll(converted.reached());
+        return converted.fields();
+    }
+
+    /**
+     * 记录转换结果并返回共享的不可变列表；结果依赖外层展开栈时不缓存，原样返回
+     * <p>
+     * 同一 schema 的所有引用处共用这一份字段子树，调用方不得修改其中的字段。
+     */
+    List<FieldDefinition> putConverted(String key, List<FieldDefinition> fields, Set<String> reached, Set<String> stack) {
+        if (!Collections.disjoint(reached, stack)) {
+            return fields;
+        }
+        ConvertedRef converted = new ConvertedRef(List.copyOf(fields), Set.copyOf(reached));
+        ConvertedRef existing = shared.convertedFields.putIfAbsent(key, converted);
+        return (existing != null ? existing : converted).fields();
+    }
+
+    private static String escape(String name) {
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+
+    /**
+     * 解析后的引用
+     *
+     * @param key   规范化的引用 key，用于缓存与循环检测
+     * @param node  引用指向的节点
+     * @param scope 节点所在文档的视图，其中的相对引用需通过它解析
+     */
+    record Target(String key, JsonNode node, RefIndex scope) {
+    }
+
+    /**
+     * 同一次转换中所有文档视图共享的状态
+     */
+    private static final class Shared {
+
+        private final ExternalDocumentLoader loader;
+        private final Map<String, JsonNode> schemas = new ConcurrentHashMap<>();
+        private final Map<String, ConvertedRef> convertedFields = new ConcurrentHashMap<>();
+        private final Map<Path, RefIndex> scopes = new ConcurrentHashMap<>();
+
+        private Shared(ExternalDocumentLoader loader) {
+            this.loader = loader;
+        }
+
+        private RefIndex scopeFor(Path path) {
+            RefIndex scope = scopes.get(path);
+            if (scope == null) {
+                JsonNode documentRoot = loader.get(path);
+                scopes.putIfAbsent(path, new RefIndex(this, path, documentRoot));
+                scope = scopes.get(path);
+            }
+            return scope;
+        }
+    }
+
+    /**
+     * 已转换的 ref：字段列表及展开过程中经过的全部 ref
+     */
+    private record ConvertedRef(List<FieldDefinition> fields, Set<String> reached) {
+    }
+}
@@ -0,0 +1,131 @@
+package com.apicgen.converter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 文档的结构指纹：每个 operation 及其引用到的 schema 的 64 位结构哈希与直接引用
+ * <p>
+ * 计算哈希的同一次遍历中收集 $ref，被引用的 schema 各只计算一次。增量转换时比较两个版本的指纹，
+ * schema 的变化沿引用关系反向传播到所有直接或间接引用它的 operation。只处理文档内引用。
+ */
+final class StructuralFingerprint {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Map<String, Entry> operations = new HashMap<>();
+    private final Map<String, Entry> schemas = new HashMap<>();
+
+    /**
+     * @param operations key 为 "METHOD path"，value 为 operation 节点
+     */
+    StructuralFingerprint(Map<String, JsonNode> operations, RefIndex refs) {
+        Deque<String> pending = new ArrayDeque<>();
+        for (Map.Entry<String, JsonNode> operation : operations.entrySet()) {
+            Entry entry = entryOf(operation.getValue());
+            this.operations.put(operation.getKey(), entry);
+            pending.addAll(entry.refs());
+        }
+        while (!pending.isEmpty()) {
+            String ref = pending.pop();
+            if (schemas.containsKey(ref)) {
+                continue;
+            }
+            RefIndex.Target target = refs.resolve(ref);
+            Entry entry = target == null ? new Entry(0L, Set.of()) : entryOf(target.node());
+            schemas.put(ref, entry);
+            pending.addAll(entry.refs());
+        }
+    }
+
+    /**
+     * 与旧版本比较，返回需要重新转换的 operation key
+     */
+    Set<String> changedOperations(StructuralFingerprint previous) {
+        Map<String, List<String>> dependents = new HashMap<>();
+        Deque<String> changed = new ArrayDeque<>();
+        for (Map.Entry<String, Entry> schema : schemas.entrySet()) {
+            Entry before = previous.schemas.get(schema.getKey());
+            if (before == null || before.hash() != schema.getValue().hash()) {
+                changed.push(schema.getKey());
+            }
+            for (String child : schema.getValue().refs()) {
+                dependents.computeIfAbsent(child, key -> new ArrayList<>()).add(schema.getKey());
+            }
+        }
+        Set<String> dirty = new HashSet<>();
+        while (!changed.isEmpty()) {
+            String ref = changed.pop();
+            if (dirty.add(ref)) {
+                changed.addAll(dependents.getOrDefault(ref, List.of()));
+            }
+        }
+
+        Set<String> result = new HashSet<>();
+        for (Map.Entry<String, Entry> operation : operations.entrySet()) {
+            Entry before = previous.operations.get(operation.getKey());
+            Entry current = operation.getValue();
+            if (before == null || before.hash() != current.hash() || !Collections.disjoint(current.refs(), dirty)) {
+                result.add(operation.getKey());
+            }
+        }
+        return result;
+    }
+
+    private static Entry entryOf(JsonNode node) {
+        Set<String> refs = new HashSet<>();
+        long hash = hash(node, FNV_OFFSET, refs);
+        return new Entry(hash, refs.isEmpty() ? Set.of() : refs);
+    }
+
+    /**
+     * FNV-1a 风格的结构哈希：节点类型、字段名（含顺序）与值都参与计算
+     */
+    private static long hash(JsonNode node, long hash, Set<String> refs) {
+        hash = mix(hash, node.getNodeType().ordinal());
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if ("$ref".equals(field.getKey()) && field.getValue().isTextual()) {
+                    refs.add(field.getValue().asText());
+                }
+                hash = mixString(hash, field.getKey());
+                hash = hash(field.getValue(), hash, refs);
+            }
+            return mix(hash, node.size());
+        }
+        if (node.isArray()) {
+            for (JsonNode element : node) {
+                hash = hash(element, hash, refs);
+            }
+            return mix(hash, node.size());
+        }
+        return node.isNull() ? hash : mixString(hash, node.asText());
+    }
+
+    /**
+     * 使用 String 缓存的 hashCode，避免逐字符计算；长度一并混入以降低碰撞
+     */
+    private static long mixString(long hash, String value) {
+        return mix(mix(hash, value.hashCode()), value.length());
+    }
+
+    private static long mix(long hash, int value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+
+    private record Entry(long hash, Set<String> refs) {
+    }
+}
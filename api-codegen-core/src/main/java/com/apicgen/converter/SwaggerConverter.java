@@ -1,13 +1,21 @@
 package com.apicgen.converter;
 
 import com.apicgen.model.*;
+import com.apicgen.util.CodeGenUtil;
+import com.apicgen.util.FieldTypeInference;
+import com.apicgen.util.SpecMappers;
+import com.apicgen.util.YamlLimits;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.regex.Pattern;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Swagger / OpenAPI 2.0 转换为 ApiDefinition
@@ -15,39 +23,62 @@ import java.util.regex.Pattern;
  */
 public class SwaggerConverter {
 
+    private static final List<String> COMPOSITION_KEYWORDS = List.of("allOf", "oneOf", "anyOf");
+    /**
+     * 产生校验约束的关键字；format 只有 email 产生约束，单独判断
+     */
+    private static final List<String> VALIDATION_KEYWORDS = List.of(
+        "minimum", "maximum", "minLength", "maxLength", "pattern", "minItems", "maxItems", "past", "future");
+
     private String basePackage = "com.apicgen";
-    private final ObjectMapper yamlMapper;
-
-    // Type inference patterns based on field name
-    private static final Pattern ID_PATTERN = Pattern.compile("^(id|Id|ID|_id|_Id|_ID)$", Pattern.CASE_INSENSITIVE);
-    private static final Pattern NAME_PATTERN = Pattern.compile("^(name|Name|NAME)$", Pattern.CASE_INSENSITIVE);
-    private static final Pattern PRICE_PATTERN = Pattern.compile("^(price|Price|amount|Amount|total|Total|fee|Fee|cost|Cost)$", Pattern.CASE_INSENSITIVE);
-    private static final Pattern COUNT_PATTERN = Pattern.compile("^(count|Count|quantity|Quantity|num|Num|number|Number|size|Size)$", Pattern.CASE_INSENSITIVE);
-    private static final Pattern EMAIL_PATTERN = Pattern.compile("^(email|Email|mail|Mail|e_mail|eMail)$", Pattern.CASE_INSENSITIVE);
-    private static final Pattern PHONE_PATTERN = Pattern.compile("^(phone|Phone|mobile|Mobile|tel|Tel|telephone|Telephone)$", Pattern.CASE_INSENSITIVE);
-    private static final Pattern DATE_PATTERN = Pattern.compile("^(date|Date|time|Time|createdAt|updatedAt|deletedAt|created_at|updated_at|deleted_at)$", Pattern.CASE_INSENSITIVE);
-    private static final Pattern BOOLEAN_PATTERN = Pattern.compile("^(is|has|can|should|enable|disable|active|visible|deleted|enabled|disabled|visible|hidden)([A-Z].*)?$", Pattern.CASE_INSENSITIVE);
-    private static final Pattern URL_PATTERN = Pattern.compile("^(url|Url|URL|link|Link|href|Href|uri|Uri|URI)$", Pattern.CASE_INSENSITIVE);
-    private static final Pattern PAGE_PATTERN = Pattern.compile("^(page|Page|pageNum|pageNum|pageNo|pageNo|pageNumber|pageNumber)$", Pattern.CASE_INSENSITIVE);
-    private static final Pattern PAGE_SIZE_PATTERN = Pattern.compile("^(pageSize|pageSize|perPage|perPage|limit|Limit|size|Size)$", Pattern.CASE_INSENSITIVE);
-    private static final Pattern AGE_PATTERN = Pattern.compile("^(age|Age)$", Pattern.CASE_INSENSITIVE);
-    private static final Pattern SCORE_PATTERN = Pattern.compile("^(score|Score|rating|Rating|level|Level|rank|Rank)$", Pattern.CASE_INSENSITIVE);
-    private static final Pattern CODE_PATTERN = Pattern.compile("^(code|Code|codeNo|codeNo|no|No)$", Pattern.CASE_INSENSITIVE);
-
-    public SwaggerConverter() {
-        this.yamlMapper = new ObjectMapper(new YAMLFactory());
-    }
+    private int parallelism = 1;
+    private FieldTypeInference typeInference = FieldTypeInference.defaults();
+    private YamlLimits limits = YamlLimits.unlimited();
+    private volatile List<Path> externalDocuments = List.of();
+    /**
+     * 最近一次增量转换的新文档及其指纹，连续增量转换时作为下一次的旧版本指纹，避免重复计算
+     */
+    private volatile Fingerprinted lastFingerprint;
 
     public void setBasePackage(String basePackage) {
         this.basePackage = basePackage;
     }
 
     /**
-     * 解析 Swagger YAML 内容
+     * 设置转换并行度，小于等于 1 时顺序转换；结果顺序与顺序转换一致
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * 设置无显式类型时按字段名推断类型所用的词表
+     */
+    public void setTypeInference(FieldTypeInference typeInference) {
+        this.typeInference = typeInference;
+    }
+
+    /**
+     * 设置资源上限：读取文档（含外部引用文件）时检查长度、别名与嵌套深度，
+     * 转换时检查 operation 数量、单个类的字段数与 schema 引用的展开深度
+     */
+    public void setLimits(YamlLimits limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * 最近一次转换读取过的外部引用文件（绝对路径），未引用外部文件时为空列表
+     */
+    public List<Path> getExternalDocuments() {
+        return externalDocuments;
+    }
+
+    /**
+     * 解析 Swagger YAML / JSON 内容，按首个非空白字符选择解析器
      */
     public ApiDefinition parse(String swaggerContent) {
         try {
-            JsonNode root = yamlMapper.readTree(swaggerContent);
+            JsonNode root = SpecMappers.readTree(swaggerContent, limits);
             return convert(root);
         } catch (IOException e) {
             throw new RuntimeException("Swagger 解析失败: " + e.getMessage(), e);
@@ -55,14 +86,161 @@ public class SwaggerConverter {
     }
 
     /**
-     * 将 Swagger JSON/YAML 转换为 ApiDefinition
+     * 解析 Swagger YAML 文件，直接从文件构建树，不额外保留整份文本
+     * <p>
+     * 支持引用同目录树下的其他文件（如 {@code ./schemas/order.yaml#/Order}），
+     * 被引用的文件在本次转换中只加载一次。
+     */
+    public ApiDefinition parse(File swaggerFile) {
+        try {
+            JsonNode root = SpecMappers.readTree(swaggerFile, limits);
+            return convert(root, swaggerFile.toPath());
+        } catch (IOException e) {
+            throw new RuntimeException("Swagger 解析失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 以两遍流式方式打开 Swagger 文件：先索引 paths 以外的顶层节点，再逐个路径转换，不构建整份文档的树
+     * <p>
+     * 适用于 paths 远大于 schema 定义的大文件；转换顺序进行，不使用并行度设置。使用完毕后必须关闭。
+     */
+    public SwaggerStreamReader openStream(File swaggerFile) {
+        try {
+            return new SwaggerStreamReader(this, swaggerFile, limits);
+        } catch (IOException e) {
+            throw new RuntimeException("Swagger 解析失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 流式转换 Swagger 文件，按文档顺序将每个 API 交给 consumer，不保留已转换的 API
+     *
+     * @return 转换的 API 数量
+     */
+    public int stream(File swaggerFile, Consumer<Api> consumer) {
+        int count = 0;
+        try (SwaggerStreamReader reader = openStream(swaggerFile)) {
+            while (reader.hasNext()) {
+                consumer.accept(reader.next());
+                count++;
+            }
+            externalDocuments = reader.getExternalDocuments();
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("Swagger 解析失败: " + e.getMessage(), e);
+        }
+        return count;
+    }
+
+    /**
+     * 将 Swagger JSON/YAML 转换为 ApiDefinition，只解析文档内引用
      */
-    @SuppressWarnings("unchecked")
     public ApiDefinition convert(JsonNode root) {
+        return convert(root, null);
+    }
+
+    /**
+     * 将 Swagger JSON/YAML 转换为 ApiDefinition
+     *
+     * @param documentPath 文档所在路径，外部文件引用相对于它解析；为 null 时只解析文档内引用
+     */
+    public ApiDefinition convert(JsonNode root, Path documentPath) {
         ApiDefinition apiDefinition = new ApiDefinition();
-        List<Api> apis = new ArrayList<>();
+        String basePath = resolveBasePath(root);
+        List<OperationTask> tasks = collectOperations(root);
+
+        ExternalDocumentLoader loader = documentPath == null
+            ? null
+            : new ExternalDocumentLoader(documentPath.toAbsolutePath().getParent(), limits);
+        RefIndex refs = loader == null ? new RefIndex(root) : new RefIndex(root, documentPath, loader);
+        List<Api> apis = new ArrayList<>(convertTasks(tasks, refs, basePath));
 
-        // 获取 basePath
+        externalDocuments = loader == null ? List.of() : List.copyOf(loader.loadedDocuments());
+        apiDefinition.setApis(apis);
+        return apiDefinition;
+    }
+
+    /**
+     * 增量转换：只重新转换发生变化的 operation，未变化的 Api 实例直接复用
+     * <p>
+     * operation 节点、路径级注解或其直接/间接引用的 schema 变化时重新转换；
+     * basePath/servers 变化、或 previous 与 previousRoot 的 operation 数量不一致时退化为全量转换。
+     * 与 {@link #convert(JsonNode)} 一样只解析文档内引用。
+     *
+     * @param previousRoot 上一次转换的文档
+     * @param previous     上一次由 previousRoot 转换得到的结果
+     * @param root         新文档
+     */
+    public ApiDefinition convertIncremental(JsonNode previousRoot, ApiDefinition previous, JsonNode root) {
+        if (previousRoot == null || previous == null || previous.getApis() == null) {
+            return convert(root);
+        }
+        String basePath = resolveBasePath(root);
+        List<OperationTask> tasks = collectOperations(root);
+        JsonNode previousPaths = previousRoot.get("paths");
+        if (previousPaths == null || !previousPaths.isObject() || !basePath.equals(resolveBasePath(previousRoot))) {
+            return convert(root);
+        }
+        List<OperationTask> previousTasks = collectOperations(previousRoot);
+        if (previousTasks.size() != previous.getApis().size()) {
+            return convert(root);
+        }
+
+        Map<String, Integer> previousIndex = new HashMap<>();
+        for (int i = 0; i < previousTasks.size(); i++) {
+            previousIndex.put(operationKey(previousTasks.get(i)), i);
+        }
+
+        RefIndex refs = new RefIndex(root);
+        Fingerprinted cached = lastFingerprint;
+        StructuralFingerprint before = cached != null && cached.root() == previousRoot
+            ? cached.fingerprint()
+            : fingerprint(previousTasks, new RefIndex(previousRoot));
+        StructuralFingerprint after = fingerprint(tasks, refs);
+        Set<String> changed = after.changedOperations(before);
+
+        List<Api> apis = new ArrayList<>(tasks.size());
+        List<Integer> changedPositions = new ArrayList<>();
+        List<OperationTask> changedTasks = new ArrayList<>();
+        for (OperationTask task : tasks) {
+            String key = operationKey(task);
+            Integer index = previousIndex.get(key);
+            if (index != null && !changed.contains(key)
+                && Objects.equals(previousTasks.get(index).classAnnotations(), task.classAnnotations())) {
+                apis.add(previous.getApis().get(index));
+            } else {
+                changedPositions.add(apis.size());
+                changedTasks.add(task);
+                apis.add(null);
+            }
+        }
+
+        List<Api> converted = convertTasks(changedTasks, refs, basePath);
+        for (int i = 0; i < converted.size(); i++) {
+            apis.set(changedPositions.get(i), converted.get(i));
+        }
+
+        externalDocuments = List.of();
+        lastFingerprint = new Fingerprinted(root, after);
+        return new ApiDefinition(apis);
+    }
+
+    private static String operationKey(OperationTask task) {
+        return task.method() + " " + task.path();
+    }
+
+    private static StructuralFingerprint fingerprint(List<OperationTask> tasks, RefIndex refs) {
+        Map<String, JsonNode> operations = new HashMap<>();
+        for (OperationTask task : tasks) {
+            operations.put(operationKey(task), task.operation());
+        }
+        return new StructuralFingerprint(operations, refs);
+    }
+
+    /**
+     * 获取 basePath，OpenAPI 3 以第一个 server 的路径为准
+     */
+    String resolveBasePath(JsonNode root) {
         String basePath = "";
         if (root.has("basePath")) {
             basePath = root.get("basePath").asText("");
@@ -76,37 +254,92 @@ public class SwaggerConverter {
                 basePath = extractBasePath(url);
             }
         }
+        return basePath;
+    }
 
-        // 获取 paths
+    /**
+     * 按文档顺序收集所有 operation
+     */
+    private List<OperationTask> collectOperations(JsonNode root) {
         JsonNode paths = root.get("paths");
         if (paths == null || !paths.isObject()) {
             throw new RuntimeException("未找到 paths 定义");
         }
 
+        List<OperationTask> tasks = new ArrayList<>();
         Iterator<String> pathKeys = paths.fieldNames();
         while (pathKeys.hasNext()) {
             String path = pathKeys.next();
-            JsonNode pathItem = paths.get(path);
+            collectOperations(path, paths.get(path), tasks);
+        }
+        return tasks;
+    }
 
-            // 提取路径级别的 x-java-class-annotations
-            List<String> classAnnotations = extractAnnotations(pathItem, "x-java-class-annotations");
+    /**
+     * 收集单个路径下的 operation，追加到 tasks
+     */
+    void collectOperations(String path, JsonNode pathItem, List<OperationTask> tasks) {
+        // 提取路径级别的 x-java-class-annotations
+        List<String> classAnnotations = extractAnnotations(pathItem, "x-java-class-annotations");
+
+        // 处理各种 HTTP 方法
+        for (String method : Arrays.asList("get", "post", "put", "delete", "patch")) {
+            if (pathItem.has(method)) {
+                tasks.add(new OperationTask(path, method.toUpperCase(), pathItem.get(method), pathItem, classAnnotations));
+                limits.check(YamlLimits.Limit.OPERATIONS, tasks.size(), 0);
+            }
+        }
+    }
 
-            // 处理各种 HTTP 方法
-            for (String method : Arrays.asList("get", "post", "put", "delete", "patch")) {
-                if (pathItem.has(method)) {
-                    JsonNode operation = pathItem.get(method);
-                    Api api = convertOperation(path, method.toUpperCase(), operation, pathItem, root, basePath, classAnnotations);
-                    apis.add(api);
-                }
+    /**
+     * 转换一组 operation，结果顺序与任务顺序一致
+     */
+    private List<Api> convertTasks(List<OperationTask> tasks, RefIndex refs, String basePath) {
+        if (parallelism > 1 && tasks.size() > 1) {
+            return convertInParallel(tasks, task -> convertTask(task, refs, basePath));
+        }
+        List<Api> apis = new ArrayList<>(tasks.size());
+        for (OperationTask task : tasks) {
+            apis.add(convertTask(task, refs, basePath));
+        }
+        return apis;
+    }
+
+    Api convertTask(OperationTask task, RefIndex refs, String basePath) {
+        return convertOperation(task.path(), task.method(), task.operation(), task.pathItem(), refs, basePath, task.classAnnotations());
+    }
+
+    /**
+     * 在独立的 ForkJoinPool 中并行转换，按任务顺序收集结果
+     */
+    private List<Api> convertInParallel(List<OperationTask> tasks, Function<OperationTask, Api> converter) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> tasks.parallelStream().map(converter).toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Swagger 转换被中断", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
             }
+            throw new RuntimeException("Swagger 转换失败: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
         }
+    }
 
-        apiDefinition.setApis(apis);
-        return apiDefinition;
+    private record Fingerprinted(JsonNode root, StructuralFingerprint fingerprint) {
+    }
+
+    /**
+     * 待转换的单个 operation
+     */
+    record OperationTask(String path, String method, JsonNode operation, JsonNode pathItem, List<String> classAnnotations) {
     }
 
     @SuppressWarnings("unchecked")
-    private Api convertOperation(String path, String method, JsonNode operation, JsonNode pathItem, JsonNode root, String basePath, List<String> classAnnotations) {
+    private Api convertOperation(String path, String method, JsonNode operation, JsonNode pathItem, RefIndex refs, String basePath, List<String> classAnnotations) {
         Api api = new Api();
 
         // 获取 operationId
@@ -127,13 +360,13 @@ public class SwaggerConverter {
         }
 
         // 转换 Request
-        ClassDefinition requestDef = convertRequest(operation, root);
+        ClassDefinition requestDef = convertRequest(operation, refs);
         if (requestDef != null) {
             api.setRequest(requestDef);
         }
 
         // 转换 Response
-        ClassDefinition responseDef = convertResponse(operation, root);
+        ClassDefinition responseDef = convertResponse(operation, refs);
         if (responseDef != null) {
             api.setResponse(responseDef);
         }
@@ -178,7 +411,7 @@ public class SwaggerConverter {
     }
 
     @SuppressWarnings("unchecked")
-    private ClassDefinition convertRequest(JsonNode operation, JsonNode root) {
+    private ClassDefinition convertRequest(JsonNode operation, RefIndex refs) {
         List<FieldDefinition> fields = new ArrayList<>();
 
         // 处理 parameters
@@ -186,7 +419,7 @@ public class SwaggerConverter {
             for (JsonNode param : operation.get("parameters")) {
                 String paramIn = param.has("in") ? param.get("in").asText("query") : "query";
                 if ("body".equals(paramIn) && param.has("schema")) {
-                    List<FieldDefinition> bodyFields = extractFieldsFromSchema(param.get("schema"), root, param.path("name").asText("body"));
+                    List<FieldDefinition> bodyFields = extractFieldsFromSchema(param.get("schema"), refs, param.path("name").asText("body"));
                     for (FieldDefinition field : bodyFields) {
                         field.setIn("body");
                     }
@@ -200,7 +433,7 @@ public class SwaggerConverter {
                 }
                 if (param.has("schema")) {
                     JsonNode schema = param.get("schema");
-                    field.setType(extractTypeFromSchema(schema, root));
+                    field.setType(extractTypeFromSchema(schema, refs));
                     ValidationConfig validation = extractValidationFromSchema(schema);
                     if (hasValidation(validation)) {
                         field.setValidation(validation);
@@ -214,7 +447,7 @@ public class SwaggerConverter {
                 } else {
                     // Infer type from field name when no explicit type/schema provided
                     String fieldName = param.has("name") ? param.get("name").asText("") : "";
-                    field.setType(inferTypeFromFieldName(fieldName, paramIn));
+                    field.setType(typeInference.infer(fieldName, paramIn));
                 }
                 if (param.has("required")) {
                     field.setRequired(param.get("required").asBoolean(false));
@@ -232,7 +465,7 @@ public class SwaggerConverter {
             JsonNode content = operation.get("requestBody").get("content");
             if (content.has("application/json") && content.get("application/json").has("schema")) {
                 JsonNode schema = content.get("application/json").get("schema");
-                List<FieldDefinition> bodyFields = extractFieldsFromSchema(schema, root, "body");
+                List<FieldDefinition> bodyFields = extractFieldsFromSchema(schema, refs, "body");
                 // 设置 in 为 body
                 for (FieldDefinition field : bodyFields) {
                     field.setIn("body");
@@ -244,6 +477,7 @@ public class SwaggerConverter {
         if (fields.isEmpty()) {
             return null;
         }
+        limits.check(YamlLimits.Limit.FIELDS_PER_CLASS, fields.size(), 0);
 
         ClassDefinition classDef = new ClassDefinition();
         classDef.setClassName("Request");
@@ -252,7 +486,7 @@ public class SwaggerConverter {
     }
 
     @SuppressWarnings("unchecked")
-    private ClassDefinition convertResponse(JsonNode operation, JsonNode root) {
+    private ClassDefinition convertResponse(JsonNode operation, RefIndex refs) {
         List<FieldDefinition> fields = new ArrayList<>();
 
         if (operation.has("responses") && operation.get("responses").isObject()) {
@@ -275,11 +509,11 @@ public class SwaggerConverter {
             }
 
             if (successResponse != null && successResponse.has("schema")) {
-                fields.addAll(extractFieldsFromSchema(successResponse.get("schema"), root, "data"));
+                fields.addAll(extractFieldsFromSchema(successResponse.get("schema"), refs, "data"));
             } else if (successResponse != null && successResponse.has("content")) {
                 JsonNode content = successResponse.get("content");
                 if (content.has("application/json") && content.get("application/json").has("schema")) {
-                    fields.addAll(extractFieldsFromSchema(content.get("application/json").get("schema"), root, "data"));
+                    fields.addAll(extractFieldsFromSchema(content.get("application/json").get("schema"), refs, "data"));
                 }
             }
         }
@@ -293,18 +527,50 @@ public class SwaggerConverter {
             fields.add(field);
         }
 
+        limits.check(YamlLimits.Limit.FIELDS_PER_CLASS, fields.size(), 0);
+
         ClassDefinition classDef = new ClassDefinition();
         classDef.setClassName("Response");
         classDef.setFields(fields);
         return classDef;
     }
 
-    @SuppressWarnings("unchecked")
-    private List<FieldDefinition> extractFieldsFromSchema(JsonNode schema, JsonNode root, String defaultName) {
-        return extractFieldsFromSchema(schema, root, defaultName, new HashSet<>());
+    /**
+     * 请求/响应类的顶层字段：顶层字段对象、校验配置与列表每次新建（调用方会设置 in 等属性，修复器会写入校验），
+     * 嵌套对象的字段子树按 ref 共享且列表不可修改，修改嵌套字段前需先复制
+     */
+    private List<FieldDefinition> extractFieldsFromSchema(JsonNode schema, RefIndex refs, String defaultName) {
+        List<FieldDefinition> fields = extractFieldsFromSchema(schema, refs, defaultName, new HashSet<>(), new HashSet<>());
+        List<FieldDefinition> detached = new ArrayList<>(fields.size());
+        for (FieldDefinition field : fields) {
+            FieldDefinition copy = shallowCopy(field);
+            if (field.getValidation() != null) {
+                copy.setValidation(field.getValidation().copy());
+            }
+            detached.add(copy);
+        }
+        return detached;
     }
 
-    private List<FieldDefinition> extractFieldsFromSchema(JsonNode schema, JsonNode root, String defaultName, Set<String> visitedRefs) {
+    private static FieldDefinition shallowCopy(FieldDefinition field) {
+        FieldDefinition copy = new FieldDefinition();
+        copy.setName(field.getName());
+        copy.setType(field.getType());
+        copy.setRequired(field.isRequired());
+        copy.setDescription(field.getDescription());
+        copy.setValidation(field.getValidation());
+        copy.setFields(field.getFields());
+        copy.setEnumValues(field.getEnumValues());
+        copy.setIn(field.getIn());
+        return copy;
+    }
+
+    /**
+     * @param stack   当前正在展开的 ref，用于截断循环引用
+     * @param reached 收集展开过程中经过的 ref，用于判断转换结果能否复用
+     */
+    private List<FieldDefinition> extractFieldsFromSchema(JsonNode schema, RefIndex refs, String defaultName,
+                                                          Set<String> stack, Set<String> reached) {
         List<FieldDefinition> fields = new ArrayList<>();
 
         if (schema == null) {
@@ -312,15 +578,20 @@ public class SwaggerConverter {
         }
 
         // 处理引用
-        String refValue = getRefValue(schema);
-        if (refValue != null) {
-            if (visitedRefs.contains(refValue)) {
+        RefIndex.Target target = refs.resolve(RefIndex.refOf(schema));
+        if (target != null) {
+            reached.add(target.key());
+            if (stack.contains(target.key())) {
                 return fields;
             }
-            visitedRefs.add(refValue);
-            JsonNode resolvedSchema = resolveRefSchema(refValue, root);
-            if (resolvedSchema != null) {
-                return extractFieldsFromSchema(resolvedSchema, root, defaultName, visitedRefs);
+            return extractFieldsFromRef(target, defaultName, stack, reached);
+        }
+
+        // 处理组合（allOf / oneOf / anyOf）
+        if (isComposedSchema(schema)) {
+            List<FieldDefinition> composedFields = extractComposedFields(schema, refs, stack, reached);
+            if (!composedFields.isEmpty()) {
+                return composedFields;
             }
         }
 
@@ -328,7 +599,7 @@ public class SwaggerConverter {
         if (schema.has("type") && "array".equals(schema.get("type").asText())) {
             FieldDefinition field = new FieldDefinition();
             field.setName(defaultName);
-            field.setType(extractTypeFromSchema(schema, root));
+            field.setType(extractTypeFromSchema(schema, refs));
             ValidationConfig validation = extractValidationFromSchema(schema);
             if (hasValidation(validation)) {
                 field.setValidation(validation);
@@ -338,45 +609,14 @@ public class SwaggerConverter {
         }
 
         // 处理对象类型
-        if (schema.has("properties") && schema.get("properties").isObject()) {
-            Set<String> requiredFields = extractRequiredFields(schema);
-            JsonNode properties = schema.get("properties");
-            Iterator<String> fieldNames = properties.fieldNames();
-            while (fieldNames.hasNext()) {
-                String fieldName = fieldNames.next();
-                JsonNode prop = properties.get(fieldName);
-                FieldDefinition field = new FieldDefinition();
-                field.setName(fieldName);
-                field.setType(extractTypeFromSchema(prop, root, fieldName));
-                ValidationConfig validation = extractValidationFromSchema(prop);
-                if (hasValidation(validation)) {
-                    field.setValidation(validation);
-                }
-                if (prop.has("description")) {
-                    field.setDescription(prop.get("description").asText(""));
-                }
-                if (requiredFields.contains(fieldName) || (prop.has("required") && prop.get("required").isBoolean())) {
-                    field.setRequired(requiredFields.contains(fieldName) || prop.get("required").asBoolean(false));
-                }
-
-                String nestedRefValue = getRefValue(prop);
-                if (nestedRefValue != null) {
-                    JsonNode nestedResolvedSchema = resolveRefSchema(nestedRefValue, root);
-                    if (nestedResolvedSchema != null && nestedResolvedSchema.has("properties")) {
-                        field.setFields(extractFieldsFromSchema(nestedResolvedSchema, root, fieldName, new HashSet<>(visitedRefs)));
-                    }
-                }
-                fields.add(field);
-            }
-
-            if (!fields.isEmpty()) {
-                return fields;
-            }
+        List<FieldDefinition> propertyFields = extractPropertyFields(schema, refs, stack, reached);
+        if (!propertyFields.isEmpty()) {
+            return propertyFields;
         }
 
         FieldDefinition field = new FieldDefinition();
         field.setName(defaultName);
-        field.setType(extractTypeFromSchema(schema, root, defaultName));
+        field.setType(extractTypeFromSchema(schema, refs, defaultName));
         ValidationConfig validation = extractValidationFromSchema(schema);
         if (hasValidation(validation)) {
             field.setValidation(validation);
@@ -385,44 +625,235 @@ public class SwaggerConverter {
         return fields;
     }
 
-    private String getRefValue(JsonNode node) {
-        if (node.has("$ref")) {
-            return node.get("$ref").asText();
+    /**
+     * 转换 schema 的 properties，没有 properties 时返回空列表
+     */
+    private List<FieldDefinition> extractPropertyFields(JsonNode schema, RefIndex refs, Set<String> stack, Set<String> reached) {
+        List<FieldDefinition> fields = new ArrayList<>();
+        if (!schema.has("properties") || !schema.get("properties").isObject()) {
+            return fields;
         }
-        // Jackson 在某些版本可能会把 $ref 解析为不同形式
-        Iterator<String> fieldNames = node.fieldNames();
+
+        Set<String> requiredFields = extractRequiredFields(schema);
+        JsonNode properties = schema.get("properties");
+        limits.check(YamlLimits.Limit.FIELDS_PER_CLASS, properties.size(), 0);
+        Iterator<String> fieldNames = properties.fieldNames();
         while (fieldNames.hasNext()) {
-            String name = fieldNames.next();
-            if (name.contains("ref")) {
-                return node.get(name).asText();
+            String fieldName = fieldNames.next();
+            JsonNode prop = properties.get(fieldName);
+            FieldDefinition field = new FieldDefinition();
+            field.setName(fieldName);
+            field.setType(extractTypeFromSchema(prop, refs, fieldName));
+            ValidationConfig validation = extractValidationFromSchema(prop);
+            if (hasValidation(validation)) {
+                field.setValidation(validation);
+            }
+            if (prop.has("description")) {
+                field.setDescription(prop.get("description").asText(""));
+            }
+            if (requiredFields.contains(fieldName) || (prop.has("required") && prop.get("required").isBoolean())) {
+                field.setRequired(requiredFields.contains(fieldName) || prop.get("required").asBoolean(false));
+            }
+
+            RefIndex.Target nested = refs.resolve(RefIndex.refOf(prop));
+            if (nested != null && isObjectSchema(nested.node())) {
+                reached.add(nested.key());
+                if (!stack.contains(nested.key())) {
+                    field.setFields(extractFieldsFromRef(nested, fieldName, stack, reached));
+                }
+            } else if (nested == null && isComposedSchema(prop)) {
+                List<FieldDefinition> composedFields = extractComposedFields(prop, refs, stack, reached);
+                if (!composedFields.isEmpty()) {
+                    field.setFields(composedFields);
+                }
+            }
+            fields.add(field);
+        }
+        return fields;
+    }
+
+    /**
+     * 展开组合 schema
+     * <p>
+     * allOf 按顺序合并各成员与自身 properties 的字段，同名字段以后出现的为准（必填约束保留）；
+     * oneOf/anyOf 合并为所有候选字段的并集（同名取第一个候选），候选字段均为可选，
+     * 有 discriminator 时补充必填的鉴别字段。引用的成员通过 {@link #extractFieldsFromRef} 按 ref 缓存，
+     * 多层继承链中每个 schema 只展开一次。
+     */
+    private List<FieldDefinition> extractComposedFields(JsonNode schema, RefIndex refs, Set<String> stack, Set<String> reached) {
+        Map<String, FieldDefinition> merged = new LinkedHashMap<>();
+        JsonNode allOf = schema.get("allOf");
+        if (allOf != null && allOf.isArray()) {
+            for (JsonNode member : allOf) {
+                for (FieldDefinition field : extractMemberFields(member, refs, stack, reached)) {
+                    mergeAllOfField(merged, field);
+                }
+            }
+        }
+        for (FieldDefinition field : extractPropertyFields(schema, refs, stack, reached)) {
+            mergeAllOfField(merged, field);
+        }
+
+        for (String keyword : List.of("oneOf", "anyOf")) {
+            JsonNode alternatives = schema.get(keyword);
+            if (alternatives == null || !alternatives.isArray()) {
+                continue;
+            }
+            for (JsonNode member : alternatives) {
+                for (FieldDefinition field : extractMemberFields(member, refs, stack, reached)) {
+                    merged.putIfAbsent(field.getName(), field.isRequired() ? withRequired(field, false) : field);
+                }
+            }
+        }
+
+        String discriminator = discriminatorProperty(schema);
+        if (discriminator != null && !merged.containsKey(discriminator)) {
+            FieldDefinition field = new FieldDefinition();
+            field.setName(discriminator);
+            field.setType("String");
+            merged.put(discriminator, field);
+        }
+
+        Set<String> requiredFields = extractRequiredFields(schema);
+        if (discriminator != null) {
+            requiredFields.add(discriminator);
+        }
+        limits.check(YamlLimits.Limit.FIELDS_PER_CLASS, merged.size(), 0);
+        for (String name : requiredFields) {
+            FieldDefinition field = merged.get(name);
+            if (field != null && !field.isRequired()) {
+                merged.put(name, withRequired(field, true));
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * allOf 的约束同时生效：同名字段以后出现的定义为准，但任一定义必填时仍为必填
+     */
+    private static void mergeAllOfField(Map<String, FieldDefinition> merged, FieldDefinition field) {
+        FieldDefinition previous = merged.get(field.getName());
+        boolean required = previous != null && previous.isRequired() && !field.isRequired();
+        merged.put(field.getName(), required ? withRequired(field, true) : field);
+    }
+
+    /**
+     * 组合成员的字段：引用按 ref 展开（循环引用时跳过），内联成员只取对象结构
+     */
+    private List<FieldDefinition> extractMemberFields(JsonNode member, RefIndex refs, Set<String> stack, Set<String> reached) {
+        RefIndex.Target target = refs.resolve(RefIndex.refOf(member));
+        if (target != null) {
+            reached.add(target.key());
+            if (stack.contains(target.key()) || !isObjectSchema(target.node())) {
+                return List.of();
+            }
+            return extractFieldsFromRef(target, extractRefName(target.key()), stack, reached);
+        }
+        if (isComposedSchema(member)) {
+            return extractComposedFields(member, refs, stack, reached);
+        }
+        return extractPropertyFields(member, refs, stack, reached);
+    }
+
+    /**
+     * discriminator 属性名：OpenAPI 3 为 {@code discriminator.propertyName}，Swagger 2.0 为字符串
+     */
+    private String discriminatorProperty(JsonNode schema) {
+        JsonNode discriminator = schema.get("discriminator");
+        if (discriminator == null) {
+            return null;
+        }
+        String name = discriminator.isTextual() ? discriminator.asText() : discriminator.path("propertyName").asText("");
+        return name.isBlank() ? null : name;
+    }
+
+    private static FieldDefinition withRequired(FieldDefinition field, boolean required) {
+        FieldDefinition copy = shallowCopy(field);
+        copy.setRequired(required);
+        return copy;
+    }
+
+    private static boolean isComposedSchema(JsonNode schema) {
+        for (String keyword : COMPOSITION_KEYWORDS) {
+            JsonNode members = schema.get(keyword);
+            if (members != null && members.isArray() && !members.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 是否是会展开为字段列表的对象 schema（有 properties 或组合）
+     */
+    private static boolean isObjectSchema(JsonNode schema) {
+        JsonNode properties = schema.get("properties");
+        return properties != null && properties.isObject() && !properties.isEmpty() || isComposedSchema(schema);
+    }
+
+    /**
+     * 展开引用的 schema，对象类型的转换结果按 ref 缓存，所有引用处共享同一份不可变字段子树；
+     * 字段类型保留 schema 名，生成器仍可按 schema 生成类。schema 内的引用相对于其所在文档解析
+     */
+    private List<FieldDefinition> extractFieldsFromRef(RefIndex.Target target, String defaultName,
+                                                       Set<String> stack, Set<String> reached) {
+        String ref = target.key();
+        RefIndex refs = target.scope();
+        JsonNode resolvedSchema = target.node();
+        boolean reusable = isObjectSchema(resolvedSchema);
+        if (reusable) {
+            List<FieldDefinition> converted = refs.findConverted(ref, stack, reached);
+            if (converted != null) {
+                return converted;
             }
         }
-        return null;
+
+        // 引用链的展开深度受限，避免超长引用链耗尽调用栈
+        limits.check(YamlLimits.Limit.NESTING_DEPTH, stack.size() + 1L, 0);
+        Set<String> refReached = new HashSet<>();
+        refReached.add(ref);
+        stack.add(ref);
+        List<FieldDefinition> fields = extractFieldsFromSchema(resolvedSchema, refs, defaultName, stack, refReached);
+        stack.remove(ref);
+        reached.addAll(refReached);
+
+        return reusable ? refs.putConverted(ref, fields, refReached, stack) : fields;
+    }
+
+    private String extractTypeFromSchema(JsonNode schema, RefIndex refs) {
+        return extractTypeFromSchema(schema, refs, null);
     }
 
-    private String extractTypeFromSchema(JsonNode schema, JsonNode root) {
-        return extractTypeFromSchema(schema, root, null);
+    private String extractTypeFromSchema(JsonNode schema, RefIndex refs, String fieldName) {
+        return extractTypeFromSchema(schema, refs, fieldName, new HashSet<>());
     }
 
-    private String extractTypeFromSchema(JsonNode schema, JsonNode root, String fieldName) {
+    private String extractTypeFromSchema(JsonNode schema, RefIndex refs, String fieldName, Set<String> resolving) {
         if (schema == null) {
-            return inferTypeFromFieldName(fieldName, null);
+            return typeInference.infer(fieldName);
         }
 
-        // 处理引用
-        String refValue = getRefValue(schema);
+        // 处理引用（循环引用时直接使用引用名）
+        String refValue = RefIndex.refOf(schema);
         if (refValue != null) {
-            JsonNode resolvedSchema = resolveRefSchema(refValue, root);
-            if (resolvedSchema != null && resolvedSchema.has("type")) {
-                return extractTypeFromSchema(resolvedSchema, root, fieldName);
+            RefIndex.Target target = refs.resolve(refValue);
+            if (target != null && target.node().has("type") && resolving.add(target.key())) {
+                limits.check(YamlLimits.Limit.NESTING_DEPTH, resolving.size(), 0);
+                String type = extractTypeFromSchema(target.node(), target.scope(), fieldName, resolving);
+                resolving.remove(target.key());
+                return type;
             }
             return extractRefName(refValue);
         }
 
+        if (!schema.has("type") && isComposedSchema(schema)) {
+            return extractComposedType(schema, refs, fieldName, resolving);
+        }
+
         // 处理数组
         if (schema.has("type") && "array".equals(schema.get("type").asText())) {
             if (schema.has("items")) {
-                String itemType = extractTypeFromSchema(schema.get("items"), root, fieldName);
+                String itemType = extractTypeFromSchema(schema.get("items"), refs, fieldName, resolving);
                 return "List<" + itemType + ">";
             }
             return "List<Object>";
@@ -430,7 +861,7 @@ public class SwaggerConverter {
 
         // 获取类型
         if (!schema.has("type")) {
-            return inferTypeFromFieldName(fieldName, null);
+            return typeInference.infer(fieldName);
         }
 
         String type = schema.get("type").asText("String");
@@ -439,20 +870,50 @@ public class SwaggerConverter {
         return convertJsonType(type, format);
     }
 
-    private JsonNode resolveRefSchema(String ref, JsonNode root) {
-        if (ref == null || ref.isBlank() || root == null || !ref.startsWith("#/")) {
-            return null;
+    /**
+     * 组合 schema 的类型：allOf 只有一个引用成员（其余成员只补充说明）时沿用该引用的类型；
+     * 成员含对象结构时为按字段名生成的嵌套类名；成员均为同一简单类型时为该类型；其余为 Object
+     */
+    private String extractComposedType(JsonNode schema, RefIndex refs, String fieldName, Set<String> resolving) {
+        JsonNode allOf = schema.get("allOf");
+        if (allOf != null && allOf.isArray() && !schema.has("oneOf") && !schema.has("anyOf")) {
+            JsonNode single = null;
+            int refCount = 0;
+            boolean inlineObject = false;
+            for (JsonNode member : allOf) {
+                if (RefIndex.refOf(member) != null) {
+                    single = member;
+                    refCount++;
+                } else if (isObjectSchema(member)) {
+                    inlineObject = true;
+                }
+            }
+            if (refCount == 1 && !inlineObject && !isObjectSchema(schema)) {
+                return extractTypeFromSchema(single, refs, fieldName, resolving);
+            }
         }
 
-        JsonNode current = root;
-        String[] segments = ref.substring(2).split("/");
-        for (String segment : segments) {
-            if (current == null) {
-                return null;
+        String common = null;
+        boolean mixed = false;
+        for (String keyword : COMPOSITION_KEYWORDS) {
+            JsonNode members = schema.get(keyword);
+            if (members == null || !members.isArray()) {
+                continue;
+            }
+            for (JsonNode member : members) {
+                RefIndex.Target target = refs.resolve(RefIndex.refOf(member));
+                JsonNode resolved = target == null ? member : target.node();
+                if (isObjectSchema(resolved)) {
+                    return fieldName == null || fieldName.isBlank() ? "Object" : CodeGenUtil.capitalize(fieldName);
+                }
+                if (resolved.has("type")) {
+                    String type = extractTypeFromSchema(member, refs, fieldName, resolving);
+                    mixed |= common != null && !common.equals(type);
+                    common = type;
+                }
             }
-            current = current.get(segment);
         }
-        return current;
+        return common != null && !mixed ? common : "Object";
     }
 
     private Set<String> extractRequiredFields(JsonNode schema) {
@@ -469,11 +930,14 @@ public class SwaggerConverter {
         return requiredFields;
     }
 
+    /**
+     * 提取 schema 中的校验约束，没有任何约束关键字时返回 null，不为每个属性分配空配置
+     */
     private ValidationConfig extractValidationFromSchema(JsonNode schema) {
-        ValidationConfig validation = new ValidationConfig();
-        if (schema == null) {
-            return validation;
+        if (schema == null || !hasValidationKeyword(schema)) {
+            return null;
         }
+        ValidationConfig validation = new ValidationConfig();
 
         if (schema.has("minimum")) {
             validation.setMin(schema.get("minimum").asDouble());
@@ -490,7 +954,7 @@ public class SwaggerConverter {
         if (schema.has("pattern")) {
             validation.setPattern(schema.get("pattern").asText());
         }
-        if (schema.has("format") && "email".equals(schema.get("format").asText())) {
+        if (isEmailFormat(schema)) {
             validation.setEmail(true);
         }
         if (schema.has("minItems")) {
@@ -509,6 +973,19 @@ public class SwaggerConverter {
         return validation;
     }
 
+    private static boolean hasValidationKeyword(JsonNode schema) {
+        for (String keyword : VALIDATION_KEYWORDS) {
+            if (schema.has(keyword)) {
+                return true;
+            }
+        }
+        return isEmailFormat(schema);
+    }
+
+    private static boolean isEmailFormat(JsonNode schema) {
+        return schema.has("format") && "email".equals(schema.get("format").asText());
+    }
+
     private boolean hasValidation(ValidationConfig validation) {
         if (validation == null) {
             return false;
@@ -558,102 +1035,19 @@ public class SwaggerConverter {
         }
     }
 
-    /**
-     * Infer type from field name when no explicit type is provided.
-     * This helps reduce manual intervention for common naming patterns.
-     */
-    private String inferTypeFromFieldName(String fieldName, String paramIn) {
-        if (fieldName == null || fieldName.isBlank()) {
-            return "String";
-        }
-
-        // ID patterns → Integer or Long (path params usually Long, others Integer)
-        if (ID_PATTERN.matcher(fieldName).matches()) {
-            if ("path".equals(paramIn)) {
-                return "Long";
-            }
-            return "Integer";
-        }
-
-        // Name patterns → String with length validation hint
-        if (NAME_PATTERN.matcher(fieldName).matches()) {
-            return "String";
-        }
-
-        // Price/Amount patterns → Double
-        if (PRICE_PATTERN.matcher(fieldName).matches()) {
-            return "Double";
-        }
-
-        // Count/Quantity patterns → Integer
-        if (COUNT_PATTERN.matcher(fieldName).matches()) {
-            return "Integer";
-        }
-
-        // Age pattern → Integer (0-150 range)
-        if (AGE_PATTERN.matcher(fieldName).matches()) {
-            return "Integer";
-        }
-
-        // Score/Rating patterns → Integer or Double
-        if (SCORE_PATTERN.matcher(fieldName).matches()) {
-            return "Double";
-        }
-
-        // Email patterns → String
-        if (EMAIL_PATTERN.matcher(fieldName).matches()) {
-            return "String";
-        }
-
-        // Phone patterns → String
-        if (PHONE_PATTERN.matcher(fieldName).matches()) {
-            return "String";
-        }
-
-        // Date patterns → LocalDateTime or LocalDate
-        if (DATE_PATTERN.matcher(fieldName).matches()) {
-            String lower = fieldName.toLowerCase();
-            if (lower.contains("created") || lower.contains("updated") || lower.contains("deleted")) {
-                return "LocalDateTime";
-            }
-            return "LocalDate";
-        }
-
-        // Boolean patterns → Boolean
-        if (BOOLEAN_PATTERN.matcher(fieldName).matches()) {
-            return "Boolean";
-        }
-
-        // URL patterns → String
-        if (URL_PATTERN.matcher(fieldName).matches()) {
-            return "String";
-        }
-
-        // Page patterns → Integer
-        if (PAGE_PATTERN.matcher(fieldName).matches()) {
-            return "Integer";
-        }
-
-        // PageSize patterns → Integer
-        if (PAGE_SIZE_PATTERN.matcher(fieldName).matches()) {
-            return "Integer";
-        }
-
-        // Code/No patterns → String
-        if (CODE_PATTERN.matcher(fieldName).matches()) {
-            return "String";
-        }
-
-        // Default to String
-        return "String";
-    }
-
     private String extractRefName(String ref) {
         if (ref == null || ref.isEmpty()) {
             return "";
         }
+        int hash = ref.indexOf('#');
+        if (hash < 0) {
+            // 引用整个外部文件时使用文件名（不含扩展名）
+            String fileName = ref.substring(ref.lastIndexOf('/') + 1);
+            int dot = fileName.indexOf('.');
+            return dot > 0 ? fileName.substring(0, dot) : fileName;
+        }
         int idx = ref.lastIndexOf('/');
-        if (idx >= 0) {
+        if (idx >= hash) {
             return ref.substring(idx + 1);
         }
         return ref;
@@ -0,0 +1,157 @@
+package com.apicgen.converter;
+
+import com.apicgen.model.Api;
+import com.apicgen.util.SpecMappers;
+import com.apicgen.util.YamlLimits;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 两遍流式读取 Swagger/OpenAPI 文件，逐个产出 {@link Api}，不构建整份文档的树
+ * <p>
+ * 第一遍跳过 {@code paths}，只把其余顶层节点（definitions、components、basePath、servers 等）读成树，作为引用索引；
+ * 第二遍定位到 {@code paths}，每次只读取一个路径的子树并转换其中的 operation。
+ * 峰值内存约为 schema 索引加单个路径子树，而非整份文档。结果顺序与 {@link SwaggerConverter#parse(File)} 一致，
+ * 转换总是顺序进行（不使用并行度设置）。引用 {@code #/paths/...} 的 $ref 无法解析。使用完毕后必须 {@link #close()}。
+ */
+public final class SwaggerStreamReader implements Iterator<Api>, Closeable {
+
+    private final SwaggerConverter converter;
+    private final YamlLimits limits;
+    private final ObjectMapper mapper = SpecMappers.json();
+    private final ExternalDocumentLoader loader;
+    private final RefIndex refs;
+    private final String basePath;
+    private final JsonParser parser;
+    private final Deque<Api> pending = new ArrayDeque<>();
+    private int operations;
+    private boolean pathsEnded;
+
+    SwaggerStreamReader(SwaggerConverter converter, File swaggerFile, YamlLimits limits) throws IOException {
+        this.converter = converter;
+        this.limits = limits;
+        Path documentPath = swaggerFile.toPath();
+        JsonNode root = readWithoutPaths(swaggerFile);
+        this.basePath = converter.resolveBasePath(root);
+        this.loader = new ExternalDocumentLoader(documentPath.toAbsolutePath().getParent(), limits);
+        this.refs = new RefIndex(root, documentPath, loader);
+        this.parser = SpecMappers.createParser(swaggerFile, limits);
+        try {
+            positionAtPaths();
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (pending.isEmpty() && !pathsEnded) {
+                readNextPath();
+            }
+        } catch (IOException e) {
+            pathsEnded = true;
+            throw new UncheckedIOException(e);
+        }
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public Api next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return pending.poll();
+    }
+
+    /**
+     * 目前为止读取过的外部引用文件（绝对路径）；全部读取完成后即为完整列表
+     */
+    public List<Path> getExternalDocuments() {
+        return List.copyOf(loader.loadedDocuments());
+    }
+
+    @Override
+    public void close() throws IOException {
+        pathsEnded = true;
+        parser.close();
+    }
+
+    /**
+     * 第一遍：读取除 paths 外的顶层节点
+     */
+    private JsonNode readWithoutPaths(File swaggerFile) throws IOException {
+        try (JsonParser skeleton = SpecMappers.createParser(swaggerFile, limits)) {
+            if (skeleton.nextToken() != JsonToken.START_OBJECT) {
+                throw new RuntimeException("未找到 paths 定义");
+            }
+            ObjectNode root = mapper.createObjectNode();
+            boolean hasPaths = false;
+            while (skeleton.nextToken() == JsonToken.FIELD_NAME) {
+                String name = skeleton.currentName();
+                JsonToken value = skeleton.nextToken();
+                if ("paths".equals(name)) {
+                    hasPaths = value == JsonToken.START_OBJECT;
+                    skeleton.skipChildren();
+                } else {
+                    root.set(name, mapper.readTree(skeleton));
+                }
+            }
+            if (!hasPaths) {
+                throw new RuntimeException("未找到 paths 定义");
+            }
+            return root;
+        }
+    }
+
+    /**
+     * 第二遍：将解析器定位到 paths 对象内部
+     */
+    private void positionAtPaths() throws IOException {
+        parser.nextToken();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            if ("paths".equals(name)) {
+                return;
+            }
+            parser.skipChildren();
+        }
+        throw new RuntimeException("未找到 paths 定义");
+    }
+
+    private void readNextPath() throws IOException {
+        if (parser.nextToken() != JsonToken.FIELD_NAME) {
+            close();
+            return;
+        }
+        String path = parser.currentName();
+        parser.nextToken();
+        JsonNode pathItem = mapper.readTree(parser);
+        if (pathItem == null || !pathItem.isObject()) {
+            return;
+        }
+        List<SwaggerConverter.OperationTask> tasks = new ArrayList<>();
+        converter.collectOperations(path, pathItem, tasks);
+        for (SwaggerConverter.OperationTask task : tasks) {
+            limits.check(YamlLimits.Limit.OPERATIONS, ++operations, 0);
+            pending.add(converter.convertTask(task, refs, basePath));
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.apicgen.diff;
+
+import com.apicgen.model.Api;
+import com.apicgen.model.ApiDefinition;
+import com.apicgen.model.ClassDefinition;
+import com.apicgen.model.FieldDefinition;
+import com.apicgen.model.ModelFingerprints;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 两份规格的结构差异：新增、删除与变化的 operation，以及变化 operation 中新增、删除与变化的字段
+ * <p>
+ * operation 以 "METHOD path" 标识，字段以 request/response 开头的点分路径标识。
+ * 先比较 {@link ModelFingerprints} 指纹，只对指纹不同的 operation 与字段逐层展开，
+ * 共享的 $ref 子树只计算一次指纹，整体近似线性。字段、注解与 operation 的先后顺序不视为差异。
+ */
+public final class SpecDiff {
+
+    /**
+     * 变化类型
+     */
+    public enum Kind {
+        ADDED("+"),
+        REMOVED("-"),
+        CHANGED("~");
+
+        private final String symbol;
+
+        Kind(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+    }
+
+    /**
+     * 单个 operation 的变化
+     *
+     * @param details operation 自身属性（名称、描述、注解等）的变化说明
+     * @param fields  字段变化，新增/删除的 operation 为空
+     */
+    public record OperationChange(String operation, Kind kind, List<String> details, List<FieldChange> fields) {
+    }
+
+    /**
+     * 单个字段的变化
+     *
+     * @param detail 变化说明，如 "type Integer -> Long"；新增/删除时为字段类型
+     */
+    public record FieldChange(String path, Kind kind, String detail) {
+    }
+
+    private final List<OperationChange> changes;
+
+    private SpecDiff(List<OperationChange> changes) {
+        this.changes = List.copyOf(changes);
+    }
+
+    /**
+     * 比较两份规格，结果按旧规格中的顺序列出删除与变化的 operation，再按新规格中的顺序列出新增的 operation
+     */
+    public static SpecDiff compare(ApiDefinition before, ApiDefinition after) {
+        ModelFingerprints fingerprints = new ModelFingerprints();
+        Map<String, Api> oldApis = index(before);
+        Map<String, Api> newApis = index(after);
+
+        List<OperationChange> changes = new ArrayList<>();
+        for (Map.Entry<String, Api> entry : oldApis.entrySet()) {
+            Api current = newApis.get(entry.getKey());
+            if (current == null) {
+                changes.add(new OperationChange(entry.getKey(), Kind.REMOVED, List.of(), List.of()));
+            } else if (fingerprints.of(entry.getValue()) != fingerprints.of(current)) {
+                changes.add(compareApi(entry.getKey(), entry.getValue(), current, fingerprints));
+            }
+        }
+        for (String key : newApis.keySet()) {
+            if (!oldApis.containsKey(key)) {
+                changes.add(new OperationChange(key, Kind.ADDED, List.of(), List.of()));
+            }
+        }
+        return new SpecDiff(changes);
+    }
+
+    public List<OperationChange> getChanges() {
+        return changes;
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    public long count(Kind kind) {
+        return changes.stream().filter(change -> change.kind() == kind).count();
+    }
+
+    /**
+     * 文本报告，每行一个变化，字段变化缩进列在所属 operation 之下
+     */
+    public String format() {
+        StringBuilder report = new StringBuilder();
+        for (OperationChange change : changes) {
+            report.append(change.kind().getSymbol()).append(' ').append(change.operation()).append('\n');
+            for (String detail : change.details()) {
+                report.append("    ").append(detail).append('\n');
+            }
+            for (FieldChange field : change.fields()) {
+                report.append("    ").append(field.kind().getSymbol()).append(' ').append(field.path());
+                if (field.detail() != null && !field.detail().isEmpty()) {
+                    report.append(field.kind() == Kind.CHANGED ? ": " : " (").append(field.detail())
+                        .append(field.kind() == Kind.CHANGED ? "" : ")");
+                }
+                report.append('\n');
+            }
+        }
+        report.append(String.format("%d added, %d removed, %d changed%n",
+            count(Kind.ADDED), count(Kind.REMOVED), count(Kind.CHANGED)));
+        return report.toString();
+    }
+
+    /**
+     * 以 "METHOD path" 索引 API，同一 operation 重复出现时追加序号区分
+     */
+    private static Map<String, Api> index(ApiDefinition definition) {
+        Map<String, Api> index = new LinkedHashMap<>();
+        if (definition == null || definition.getApis() == null) {
+            return index;
+        }
+        for (Api api : definition.getApis()) {
+            if (api == null) {
+                continue;
+            }
+            String key = api.getMethod() + " " + api.getPath();
+            String unique = key;
+            for (int i = 2; index.containsKey(unique); i++) {
+                unique = key + " #" + i;
+            }
+            index.put(unique, api);
+        }
+        return index;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static OperationChange compareApi(String key, Api before, Api after, ModelFingerprints fingerprints) {
+        List<String> details = new ArrayList<>();
+        attribute(details, "name", before.getName(), after.getName());
+        attribute(details, "description", before.getDescription(), after.getDescription());
+        attribute(details, "framework", before.getFramework(), after.getFramework());
+        unorderedAttribute(details, "annotations", before.getAnnotations(), after.getAnnotations());
+        unorderedAttribute(details, "methodAnnotations", before.getMethodAnnotations(), after.getMethodAnnotations());
+        unorderedAttribute(details, "classAnnotations", before.getClassAnnotations(), after.getClassAnnotations());
+
+        List<FieldChange> fields = new ArrayList<>();
+        compareClass("request", before.getRequest(), after.getRequest(), fields, fingerprints);
+        compareClass("response", before.getResponse(), after.getResponse(), fields, fingerprints);
+        return new OperationChange(key, Kind.CHANGED, details, fields);
+    }
+
+    private static void compareClass(String prefix, ClassDefinition before, ClassDefinition after,
+                                     List<FieldChange> changes, ModelFingerprints fingerprints) {
+        if (fingerprints.of(before) == fingerprints.of(after)) {
+            return;
+        }
+        if (before == null || after == null) {
+            changes.add(new FieldChange(prefix, before == null ? Kind.ADDED : Kind.REMOVED,
+                (before == null ? after : before).getClassName()));
+            return;
+        }
+        if (!Objects.equals(before.getClassName(), after.getClassName())) {
+            changes.add(new FieldChange(prefix, Kind.CHANGED, "className " + before.getClassName() + " -> " + after.getClassName()));
+        }
+        compareFields(prefix, nullToEmpty(before.getFields()), nullToEmpty(after.getFields()), changes, fingerprints);
+    }
+
+    private static void compareFields(String prefix, List<FieldDefinition> before, List<FieldDefinition> after,
+                                      List<FieldChange> changes, ModelFingerprints fingerprints) {
+        if (before == after) {
+            return;
+        }
+        Map<String, FieldDefinition> oldFields = indexFields(before);
+        Map<String, FieldDefinition> newFields = indexFields(after);
+        for (Map.Entry<String, FieldDefinition> entry : oldFields.entrySet()) {
+            String path = prefix + "." + entry.getKey();
+            FieldDefinition current = newFields.get(entry.getKey());
+            if (current == null) {
+                changes.add(new FieldChange(path, Kind.REMOVED, entry.getValue().getType()));
+            } else if (fingerprints.of(entry.getValue()) != fingerprints.of(current)) {
+                compareField(path, entry.getValue(), current, changes, fingerprints);
+            }
+        }
+        for (Map.Entry<String, FieldDefinition> entry : newFields.entrySet()) {
+            if (!oldFields.containsKey(entry.getKey())) {
+                changes.add(new FieldChange(prefix + "." + entry.getKey(), Kind.ADDED, entry.getValue().getType()));
+            }
+        }
+    }
+
+    private static void compareField(String path, FieldDefinition before, FieldDefinition after,
+                                     List<FieldChange> changes, ModelFingerprints fingerprints) {
+        List<String> details = new ArrayList<>();
+        attribute(details, "type", before.getType(), after.getType());
+        attribute(details, "required", before.isRequired(), after.isRequired());
+        attribute(details, "description", before.getDescription(), after.getDescription());
+        attribute(details, "in", before.getIn(), after.getIn());
+        if (fingerprints.of(before.getValidation()) != fingerprints.of(after.getValidation())) {
+            details.add("validation " + before.getValidation() + " -> " + after.getValidation());
+        }
+        unorderedAttribute(details, "enum", before.getEnumValues(), after.getEnumValues());
+        if (!details.isEmpty()) {
+            changes.add(new FieldChange(path, Kind.CHANGED, String.join("; ", details)));
+        }
+        compareFields(path, nullToEmpty(before.getFields()), nullToEmpty(after.getFields()), changes, fingerprints);
+    }
+
+    private static Map<String, FieldDefinition> indexFields(List<FieldDefinition> fields) {
+        Map<String, FieldDefinition> index = new LinkedHashMap<>();
+        for (FieldDefinition field : fields) {
+            if (field == null) {
+                continue;
+            }
+            String name = String.valueOf(field.getName());
+            String unique = name;
+            for (int i = 2; index.containsKey(unique); i++) {
+                unique = name + "#" + i;
+            }
+            index.put(unique, field);
+        }
+        return index;
+    }
+
+    private static List<FieldDefinition> nullToEmpty(List<FieldDefinition> fields) {
+        return fields == null ? List.of() : fields;
+    }
+
+    private static void attribute(List<String> details, String name, Object before, Object after) {
+        if (!Objects.equals(before, after)) {
+            details.add(name + " " + before + " -> " + after);
+        }
+    }
+
+    private static void unorderedAttribute(List<String> details, String name, List<?> before, List<?> after) {
+        Set<Object> oldValues = before == null ? null : new HashSet<>(before);
+        Set<Object> newValues = after == null ? null : new HashSet<>(after);
+        if (!Objects.equals(oldValues, newValues)) {
+            details.add(name + " " + before + " -> " + after);
+        }
+    }
+}
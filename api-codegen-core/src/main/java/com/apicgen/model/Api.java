@@ -63,6 +63,13 @@ public class Api {
      */
     private String framework;
 
+    /**
+     * 结构指纹，字段与注解等的先后顺序不影响结果，见 {@link ModelFingerprints}；比较大量节点时应共用一个 {@link ModelFingerprints}
+     */
+    public long fingerprint() {
+        return new ModelFingerprints().of(this);
+    }
+
     /**
      * HTTP 方法枚举
      */
@@ -1,6 +1,12 @@
 package com.apicgen.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,10 +22,53 @@ public class ApiDefinition {
      */
     private List<Api> apis = new ArrayList<>();
 
+    /**
+     * 查找索引，首次使用时构建，见 {@link #index()}
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient volatile ApiIndex index;
+
     public ApiDefinition() {
     }
 
     public ApiDefinition(List<Api> apis) {
         this.apis = apis;
     }
+
+    public void setApis(List<Api> apis) {
+        this.apis = apis;
+        this.index = null;
+    }
+
+    /**
+     * 按名称查找、按路径与方法及路径分组的索引，校验（重复 API、DFX-020）与 UI 桥接共用
+     * <p>
+     * API 列表被替换或增删后自动重建；原地修改 Api 的名称、路径或方法后需先调用 {@link #invalidateIndex()}
+     */
+    public ApiIndex index() {
+        ApiIndex current = index;
+        if (current == null || !current.isCurrent(apis)) {
+            current = new ApiIndex(apis);
+            index = current;
+        }
+        return current;
+    }
+
+    /**
+     * 丢弃已构建的索引，下次调用 {@link #index()} 时重建
+     */
+    public void invalidateIndex() {
+        index = null;
+    }
+
+    /**
+     * 结构指纹，字段与注解等的先后顺序不影响结果，见 {@link ModelFingerprints}；比较大量节点时应共用一个 {@link ModelFingerprints}
+     */
+    public long fingerprint() {
+        return new ModelFingerprints().of(this);
+    }
 }
@@ -0,0 +1,91 @@
+package com.apicgen.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ApiDefinition} 的只读索引：按名称（Swagger 的 operationId）查找，按 "path:method" 与路径分组
+ * <p>
+ * 由 {@link ApiDefinition#index()} 创建并缓存，API 列表被替换或增删后自动重建；
+ * 原地修改 Api 的名称、路径或方法后需调用 {@link ApiDefinition#invalidateIndex()}。
+ * 同名、同 "path:method" 的 API 按列表顺序保存在同一组中，按名称查找返回第一个。
+ */
+public final class ApiIndex {
+
+    private final List<Api> apis;
+    private final int size;
+    private final Map<String, List<Api>> byName = new LinkedHashMap<>();
+    private final Map<String, List<Api>> byOperation = new LinkedHashMap<>();
+    private final Map<String, List<Api>> byPath = new LinkedHashMap<>();
+
+    ApiIndex(List<Api> apis) {
+        this.apis = apis;
+        this.size = apis == null ? 0 : apis.size();
+        if (apis == null) {
+            return;
+        }
+        for (Api api : apis) {
+            if (api == null) {
+                continue;
+            }
+            if (api.getName() != null) {
+                byName.computeIfAbsent(api.getName(), k -> new ArrayList<>(1)).add(api);
+            }
+            byOperation.computeIfAbsent(operationKey(api.getPath(), api.getMethod()), k -> new ArrayList<>(1)).add(api);
+            if (api.getPath() != null) {
+                byPath.computeIfAbsent(api.getPath(), k -> new ArrayList<>(2)).add(api);
+            }
+        }
+    }
+
+    /**
+     * 同一 operation 的索引键，与 ApiValidator 的重复检查一致
+     */
+    public static String operationKey(String path, Api.HttpMethod method) {
+        return path + ":" + method;
+    }
+
+    /**
+     * 按名称查找第一个 API，不存在时返回 null
+     */
+    public Api byName(String name) {
+        List<Api> group = byName.get(name);
+        return group == null ? null : group.get(0);
+    }
+
+    /**
+     * 同一路径与方法下的全部 API（按列表顺序），多于一个即为重复定义
+     */
+    public List<Api> operationGroup(String path, Api.HttpMethod method) {
+        return group(byOperation, operationKey(path, method));
+    }
+
+    /**
+     * 同一路径下的全部 API（按列表顺序）
+     */
+    public List<Api> pathGroup(String path) {
+        return group(byPath, path);
+    }
+
+    /**
+     * 按路径分组，路径按首次出现的顺序排列，路径为 null 的 API 不在其中
+     */
+    public Map<String, List<Api>> pathGroups() {
+        return Collections.unmodifiableMap(byPath);
+    }
+
+    /**
+     * 索引建立后 API 列表未被替换或增删
+     */
+    boolean isCurrent(List<Api> current) {
+        return current == apis && (current == null ? 0 : current.size()) == size;
+    }
+
+    private static List<Api> group(Map<String, List<Api>> index, String key) {
+        List<Api> group = index.get(key);
+        return group == null ? List.of() : Collections.unmodifiableList(group);
+    }
+}
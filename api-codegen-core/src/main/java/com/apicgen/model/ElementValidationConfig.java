@@ -47,4 +47,20 @@ public class ElementValidationConfig {
      * 最大大小（List）
      */
     private Integer maxSize;
+
+    /**
+     * 复制一份可独立修改的元素校验配置
+     */
+    public ElementValidationConfig copy() {
+        ElementValidationConfig copy = new ElementValidationConfig();
+        copy.setMinLength(minLength);
+        copy.setMaxLength(maxLength);
+        copy.setPattern(pattern);
+        copy.setEmail(email);
+        copy.setMin(min);
+        copy.setMax(max);
+        copy.setMinSize(minSize);
+        copy.setMaxSize(maxSize);
+        return copy;
+    }
 }
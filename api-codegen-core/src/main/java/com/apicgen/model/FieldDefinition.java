@@ -1,7 +1,11 @@
 package com.apicgen.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -53,12 +57,26 @@ public class FieldDefinition {
      */
     private String in;
 
+    /**
+     * 解析后的类型描述，随 type 一起更新
+     */
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private TypeRef typeRef;
+
     public FieldDefinition() {
     }
 
     public FieldDefinition(String name, String type) {
         this.name = name;
+        setType(type);
+    }
+
+    public void setType(String type) {
         this.type = type;
+        this.typeRef = TypeRef.of(type);
     }
 
     /**
@@ -66,24 +84,7 @@ public class FieldDefinition {
      */
     @JsonIgnore
     public boolean isPrimitiveType() {
-        if (type == null) {
-            return false;
-        }
-        // 处理带引号的类型，如 "String"
-        String cleanType = type.replace("\"", "").trim();
-        switch (cleanType) {
-            case "String":
-            case "Integer":
-            case "Long":
-            case "Double":
-            case "Boolean":
-            case "LocalDate":
-            case "LocalDateTime":
-            case "Date":
-                return true;
-            default:
-                return false;
-        }
+        return typeRef != null && typeRef.isPrimitive();
     }
 
     /**
@@ -99,12 +100,7 @@ public class FieldDefinition {
      */
     @JsonIgnore
     public boolean isListType() {
-        if (type == null) {
-            return false;
-        }
-        // 处理带引号的类型，如 "List<String>"
-        String cleanType = type.replace("\"", "").trim();
-        return cleanType.startsWith("List<");
+        return typeRef != null && typeRef.isList();
     }
 
     /**
@@ -112,11 +108,7 @@ public class FieldDefinition {
      */
     @JsonIgnore
     public boolean isNestedListType() {
-        if (!isListType()) {
-            return false;
-        }
-        String innerType = getGenericType();
-        return innerType != null && innerType.startsWith("List<");
+        return typeRef != null && typeRef.isNestedList();
     }
 
     /**
@@ -124,15 +116,7 @@ public class FieldDefinition {
      */
     @JsonIgnore
     public String getGenericType() {
-        if (type == null || !type.contains("<")) {
-            return null;
-        }
-        int start = type.indexOf("<");
-        int end = type.lastIndexOf(">");
-        if (start >= 0 && end > start) {
-            return type.substring(start + 1, end);
-        }
-        return null;
+        return typeRef == null ? null : typeRef.getGenericType();
     }
 
     /**
@@ -0,0 +1,233 @@
+package com.apicgen.model;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * 模型的结构指纹（64 位），自底向上计算，每个节点在本实例内只计算一次
+ * <p>
+ * 字段、注解、枚举值与 API 的先后顺序不参与计算（按多重集合合并），其余属性（名称、类型、必填、描述、
+ * 校验约束、参数位置、路径、方法等）都参与计算；结构相同的模型指纹相同，与对象是否共享无关。
+ * 缓存按对象标识保存，SwaggerConverter 共享的 $ref 子树只计算一次，整体近似线性。
+ * 缓存不会感知模型的修改，模型修改后需使用新实例。非线程安全。
+ * <p>
+ * 以 {@code new ModelFingerprints(true)} 创建时上述列表按顺序合并，先后顺序不同的模型指纹不同，
+ * 用于结果依赖顺序的场景（如增量分析按字段下标定位问题）。
+ */
+public final class ModelFingerprints {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long NULL_HASH = 0x9e3779b97f4a7c15L;
+
+    private static final long API_DEFINITION = 1;
+    private static final long API = 2;
+    private static final long CLASS = 3;
+    private static final long FIELD = 4;
+    private static final long VALIDATION = 5;
+    private static final long ELEMENT_VALIDATION = 6;
+
+    private final Map<Object, Long> cache = new IdentityHashMap<>();
+    private final boolean ordered;
+
+    public ModelFingerprints() {
+        this(false);
+    }
+
+    /**
+     * @param ordered 为 true 时 API、字段、注解与枚举值的先后顺序参与计算
+     */
+    public ModelFingerprints(boolean ordered) {
+        this.ordered = ordered;
+    }
+
+    public long of(ApiDefinition apiDefinition) {
+        if (apiDefinition == null) {
+            return NULL_HASH;
+        }
+        return cached(apiDefinition, () -> combine(API_DEFINITION, unordered(apiDefinition.getApis())));
+    }
+
+    /**
+     * 懒加载的 Api 会先构建请求/响应定义
+     */
+    @SuppressWarnings("deprecation")
+    public long of(Api api) {
+        if (api == null) {
+            return NULL_HASH;
+        }
+        return cached(api, () -> {
+            long hash = API;
+            hash = combine(hash, string(api.getName()));
+            hash = combine(hash, string(api.getPath()));
+            hash = combine(hash, api.getMethod() == null ? NULL_HASH : string(api.getMethod().name()));
+            hash = combine(hash, string(api.getDescription()));
+            hash = combine(hash, of(api.getRequest()));
+            hash = combine(hash, of(api.getResponse()));
+            hash = combine(hash, unorderedValues(api.getAnnotations()));
+            hash = combine(hash, unorderedValues(api.getMethodAnnotations()));
+            hash = combine(hash, unorderedValues(api.getClassAnnotations()));
+            return combine(hash, string(api.getFramework()));
+        });
+    }
+
+    public long of(ClassDefinition classDefinition) {
+        if (classDefinition == null) {
+            return NULL_HASH;
+        }
+        return cached(classDefinition, () -> combine(combine(CLASS, string(classDefinition.getClassName())),
+            fields(classDefinition.getFields())));
+    }
+
+    /**
+     * 字段本身不缓存（重新计算只涉及自身属性），嵌套字段列表按标识缓存
+     */
+    public long of(FieldDefinition field) {
+        if (field == null) {
+            return NULL_HASH;
+        }
+        long hash = FIELD;
+        hash = combine(hash, string(field.getName()));
+        hash = combine(hash, string(field.getType()));
+        hash = combine(hash, field.isRequired() ? 1 : 0);
+        hash = combine(hash, string(field.getDescription()));
+        hash = combine(hash, of(field.getValidation()));
+        hash = combine(hash, fields(field.getFields()));
+        hash = combine(hash, unorderedValues(field.getEnumValues()));
+        return combine(hash, string(field.getIn()));
+    }
+
+    public long of(ValidationConfig validation) {
+        if (validation == null) {
+            return NULL_HASH;
+        }
+        long hash = VALIDATION;
+        hash = combine(hash, value(validation.getMinLength()));
+        hash = combine(hash, value(validation.getMaxLength()));
+        hash = combine(hash, string(validation.getPattern()));
+        hash = combine(hash, value(validation.getEmail()));
+        hash = combine(hash, value(validation.getMin()));
+        hash = combine(hash, value(validation.getMax()));
+        hash = combine(hash, value(validation.getPast()));
+        hash = combine(hash, value(validation.getFuture()));
+        hash = combine(hash, value(validation.getMinSize()));
+        hash = combine(hash, value(validation.getMaxSize()));
+        return combine(hash, of(validation.getElementValidation()));
+    }
+
+    private long of(ElementValidationConfig validation) {
+        if (validation == null) {
+            return NULL_HASH;
+        }
+        long hash = ELEMENT_VALIDATION;
+        hash = combine(hash, value(validation.getMinLength()));
+        hash = combine(hash, value(validation.getMaxLength()));
+        hash = combine(hash, string(validation.getPattern()));
+        hash = combine(hash, value(validation.getEmail()));
+        hash = combine(hash, value(validation.getMin()));
+        hash = combine(hash, value(validation.getMax()));
+        hash = combine(hash, value(validation.getMinSize()));
+        return combine(hash, value(validation.getMaxSize()));
+    }
+
+    /**
+     * 字段列表按标识缓存，共享的嵌套字段列表只合并一次
+     */
+    private long fields(List<FieldDefinition> fields) {
+        if (fields == null) {
+            return NULL_HASH;
+        }
+        return cached(fields, () -> {
+            long sum = 0;
+            for (FieldDefinition field : fields) {
+                sum = merge(sum, of(field));
+            }
+            return combine(sum, fields.size());
+        });
+    }
+
+    private long unordered(List<Api> apis) {
+        if (apis == null) {
+            return NULL_HASH;
+        }
+        long sum = 0;
+        for (Api api : apis) {
+            sum = merge(sum, of(api));
+        }
+        return combine(sum, apis.size());
+    }
+
+    private long unorderedValues(List<?> values) {
+        if (values == null) {
+            return NULL_HASH;
+        }
+        long sum = 0;
+        for (Object value : values) {
+            sum = merge(sum, value == null ? NULL_HASH : string(value.toString()));
+        }
+        return combine(sum, values.size());
+    }
+
+    /**
+     * 合并列表元素：默认按多重集合求和，与顺序无关；ordered 时按顺序链式合并
+     */
+    private long merge(long sum, long element) {
+        return ordered ? combine(sum, element) : sum + fmix(element);
+    }
+
+    private long cached(Object node, LongSupplier compute) {
+        Long cached = cache.get(node);
+        if (cached != null) {
+            return cached;
+        }
+        long hash = compute.getAsLong();
+        cache.put(node, hash);
+        return hash;
+    }
+
+    private static long value(Object value) {
+        if (value == null) {
+            return NULL_HASH;
+        }
+        if (value instanceof Double d) {
+            return Double.doubleToLongBits(d);
+        }
+        if (value instanceof Boolean b) {
+            return b ? 1 : 2;
+        }
+        return ((Number) value).longValue();
+    }
+
+    /**
+     * 逐字符的 64 位 FNV-1a，不依赖 32 位的 String.hashCode
+     */
+    private static long string(String value) {
+        if (value == null) {
+            return NULL_HASH;
+        }
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long combine(long hash, long value) {
+        return fmix(hash * 31 + value);
+    }
+
+    /**
+     * MurmurHash3 的 64 位终结函数
+     */
+    private static long fmix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,192 @@
+package com.apicgen.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 字段类型描述（不可变）
+ * <p>
+ * 由类型字符串解析一次得到，支持 {@code List<List<T>>}、{@code Map<K, V>} 与自定义对象类型。
+ * 相同的类型字符串通过全局驻留表共享同一实例，类型判断只读取预先计算好的字段。
+ */
+public final class TypeRef {
+
+    /**
+     * 驻留表上限，超出后新类型仍会解析但不再驻留，避免不可信输入撑大内存
+     */
+    static final int INTERN_LIMIT = 4096;
+
+    private static final Map<String, TypeRef> INTERNED = new ConcurrentHashMap<>();
+
+    private static final Set<String> PRIMITIVE_TYPES = Set.of(
+            "String", "Integer", "Long", "Double", "Boolean", "LocalDate", "LocalDateTime", "Date");
+
+    /**
+     * 类型分类
+     */
+    public enum Kind {
+        PRIMITIVE,
+        LIST,
+        MAP,
+        OBJECT
+    }
+
+    private final String raw;
+    private final String name;
+    private final String baseName;
+    private final Kind kind;
+    private final List<TypeRef> arguments;
+    private final String genericType;
+    private final boolean nestedList;
+
+    private TypeRef(String raw) {
+        this.raw = raw;
+        // 处理带引号的类型，如 "List<String>"
+        this.name = raw.replace("\"", "").trim();
+
+        int open = name.indexOf('<');
+        this.baseName = open < 0 ? name : name.substring(0, open).trim();
+        this.arguments = open >= 0 && name.endsWith(">")
+                ? parseArguments(name.substring(open + 1, name.length() - 1))
+                : List.of();
+
+        if (PRIMITIVE_TYPES.contains(name)) {
+            this.kind = Kind.PRIMITIVE;
+        } else if (name.startsWith("List<")) {
+            this.kind = Kind.LIST;
+        } else if ("Map".equals(baseName) && arguments.size() == 2) {
+            this.kind = Kind.MAP;
+        } else {
+            this.kind = Kind.OBJECT;
+        }
+
+        int start = raw.indexOf('<');
+        int end = raw.lastIndexOf('>');
+        this.genericType = start >= 0 && end > start ? raw.substring(start + 1, end) : null;
+        this.nestedList = kind == Kind.LIST && genericType != null && genericType.startsWith("List<");
+    }
+
+    /**
+     * 获取类型字符串对应的描述，类型为 null 时返回 null
+     */
+    public static TypeRef of(String type) {
+        if (type == null) {
+            return null;
+        }
+        TypeRef typeRef = INTERNED.get(type);
+        if (typeRef != null) {
+            return typeRef;
+        }
+        typeRef = new TypeRef(type);
+        if (INTERNED.size() >= INTERN_LIMIT) {
+            return typeRef;
+        }
+        TypeRef existing = INTERNED.putIfAbsent(type, typeRef);
+        return existing != null ? existing : typeRef;
+    }
+
+    /**
+     * 按顶层逗号拆分泛型参数，嵌套的尖括号内的逗号不拆分
+     */
+    private static List<TypeRef> parseArguments(String inner) {
+        List<TypeRef> result = new ArrayList<>(2);
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < inner.length(); i++) {
+            char c = inner.charAt(i);
+            if (c == '<') {
+                depth++;
+            } else if (c == '>') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                addArgument(result, inner.substring(start, i));
+                start = i + 1;
+            }
+        }
+        addArgument(result, inner.substring(start));
+        return List.copyOf(result);
+    }
+
+    private static void addArgument(List<TypeRef> result, String argument) {
+        String trimmed = argument.trim();
+        if (!trimmed.isEmpty()) {
+            result.add(of(trimmed));
+        }
+    }
+
+    /**
+     * 原始类型字符串
+     */
+    public String getRaw() {
+        return raw;
+    }
+
+    /**
+     * 去掉引号和首尾空格后的类型字符串
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 不含泛型参数的类型名，如 {@code List}、{@code Map}、{@code Order}
+     */
+    public String getBaseName() {
+        return baseName;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * 泛型参数，没有时为空列表
+     */
+    public List<TypeRef> getArguments() {
+        return arguments;
+    }
+
+    /**
+     * 最外层尖括号内的泛型类型字符串，没有泛型时返回 null
+     */
+    public String getGenericType() {
+        return genericType;
+    }
+
+    public boolean isPrimitive() {
+        return kind == Kind.PRIMITIVE;
+    }
+
+    public boolean isList() {
+        return kind == Kind.LIST;
+    }
+
+    public boolean isMap() {
+        return kind == Kind.MAP;
+    }
+
+    /**
+     * 是否是嵌套列表（如 List<List<T>>）
+     */
+    public boolean isNestedList() {
+        return nestedList;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof TypeRef other && raw.equals(other.raw);
+    }
+
+    @Override
+    public int hashCode() {
+        return raw.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return raw;
+    }
+}
@@ -62,4 +62,23 @@ public class ValidationConfig {
      * 元素校验（List 的元素类型校验）
      */
     private ElementValidationConfig elementValidation;
+
+    /**
+     * 复制一份可独立修改的校验配置（含元素校验）
+     */
+    public ValidationConfig copy() {
+        ValidationConfig copy = new ValidationConfig();
+        copy.setMinLength(minLength);
+        copy.setMaxLength(maxLength);
+        copy.setPattern(pattern);
+        copy.setEmail(email);
+        copy.setMin(min);
+        copy.setMax(max);
+        copy.setPast(past);
+        copy.setFuture(future);
+        copy.setMinSize(minSize);
+        copy.setMaxSize(maxSize);
+        copy.setElementValidation(elementValidation == null ? null : elementValidation.copy());
+        return copy;
+    }
 }
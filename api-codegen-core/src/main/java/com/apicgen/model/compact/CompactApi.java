@@ -0,0 +1,37 @@
+package com.apicgen.model.compact;
+
+import com.apicgen.model.Api;
+
+import java.util.List;
+
+/**
+ * 不可变的 API 定义，对应 {@link Api}
+ * <p>
+ * 由懒加载的 {@link Api} 创建时会先构建请求/响应定义。
+ *
+ * @param annotations 已废弃的方法注解列表，对应 {@link Api#getAnnotations()}
+ */
+public record CompactApi(String name, String path, Api.HttpMethod method, String description,
+                         CompactClass request, CompactClass response, List<String> annotations,
+                         List<String> methodAnnotations, List<String> classAnnotations, String framework) {
+
+    public CompactApi {
+        name = StringPool.intern(name);
+        path = StringPool.intern(path);
+        framework = StringPool.intern(framework);
+        annotations = CompactLists.internAll(annotations);
+        methodAnnotations = CompactLists.internAll(methodAnnotations);
+        classAnnotations = CompactLists.internAll(classAnnotations);
+    }
+
+    public static CompactApi of(Api api) {
+        return new ModelAdapter().compact(api);
+    }
+
+    /**
+     * 转换为可变的 API 定义
+     */
+    public Api toApi() {
+        return new ModelAdapter().bean(this);
+    }
+}
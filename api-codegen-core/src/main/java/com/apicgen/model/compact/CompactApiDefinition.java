@@ -0,0 +1,30 @@
+package com.apicgen.model.compact;
+
+import com.apicgen.model.ApiDefinition;
+
+import java.util.List;
+
+/**
+ * 不可变、紧凑的 API 定义集合，对应 {@link ApiDefinition}
+ * <p>
+ * 适合长期持有大规格文件的解析结果（如常驻进程的缓存）：字符串驻留、约束使用基本类型加哨兵值、
+ * 空约束共享同一实例、列表按元素个数分配且不可修改。转换在两个方向上都保留嵌套字段列表的共享，
+ * 同一 schema 的字段被多个 operation 引用时只保存一份。需要修改或交给生成器时用 {@link #toApiDefinition()} 转回。
+ */
+public record CompactApiDefinition(List<CompactApi> apis) {
+
+    public CompactApiDefinition {
+        apis = CompactLists.copyOf(apis);
+    }
+
+    public static CompactApiDefinition of(ApiDefinition apiDefinition) {
+        return new ModelAdapter().compact(apiDefinition);
+    }
+
+    /**
+     * 转换为可变的 API 定义集合，apis 列表可修改
+     */
+    public ApiDefinition toApiDefinition() {
+        return new ModelAdapter().bean(this);
+    }
+}
@@ -0,0 +1,29 @@
+package com.apicgen.model.compact;
+
+import com.apicgen.model.ClassDefinition;
+
+import java.util.List;
+
+/**
+ * 不可变的类定义，对应 {@link ClassDefinition}
+ *
+ * @param fields 字段列表，未配置时为 null
+ */
+public record CompactClass(String className, List<CompactField> fields) {
+
+    public CompactClass {
+        className = StringPool.intern(className);
+        fields = CompactLists.copyOf(fields);
+    }
+
+    public static CompactClass of(ClassDefinition classDefinition) {
+        return new ModelAdapter().compact(classDefinition);
+    }
+
+    /**
+     * 转换为可变的类定义，顶层字段列表可修改
+     */
+    public ClassDefinition toClassDefinition() {
+        return new ModelAdapter().bean(this);
+    }
+}
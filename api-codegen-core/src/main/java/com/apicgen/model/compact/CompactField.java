@@ -0,0 +1,48 @@
+package com.apicgen.model.compact;
+
+import com.apicgen.model.FieldDefinition;
+import com.apicgen.model.TypeRef;
+
+import java.util.List;
+
+/**
+ * 不可变的字段定义，对应 {@link FieldDefinition}
+ * <p>
+ * 名称、类型与参数位置经过驻留；嵌套字段与枚举值为不可变列表，已是不可变列表时直接共享。
+ *
+ * @param validation 校验约束，未配置时为 null
+ * @param fields     嵌套对象字段，未配置时为 null
+ * @param enumValues 枚举值，未配置时为 null
+ */
+public record CompactField(String name, String type, boolean required, String description, Constraints validation,
+                           List<CompactField> fields, List<Object> enumValues, String in) {
+
+    public CompactField {
+        name = StringPool.intern(name);
+        type = StringPool.intern(type);
+        in = StringPool.intern(in);
+        fields = CompactLists.copyOf(fields);
+        enumValues = CompactLists.copyOf(enumValues);
+    }
+
+    /**
+     * 由字段定义创建，共享的嵌套字段列表只转换一次
+     */
+    public static CompactField of(FieldDefinition field) {
+        return new ModelAdapter().compact(field);
+    }
+
+    /**
+     * 转换为可变的字段定义
+     */
+    public FieldDefinition toFieldDefinition() {
+        return new ModelAdapter().bean(this);
+    }
+
+    /**
+     * 解析后的类型描述（全局驻留，不额外占用字段）
+     */
+    public TypeRef typeRef() {
+        return TypeRef.of(type);
+    }
+}
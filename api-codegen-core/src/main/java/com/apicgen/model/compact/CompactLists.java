@@ -0,0 +1,45 @@
+package com.apicgen.model.compact;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * 紧凑模型使用的不可变列表：长度与元素个数一致，空列表共享 {@link List#of()}
+ */
+final class CompactLists {
+
+    private static final Set<Class<?>> IMMUTABLE = Set.copyOf(List.of(List.of().getClass(), List.of(1).getClass(), Stream.of(1).toList().getClass()));
+
+    private CompactLists() {
+    }
+
+    /**
+     * 复制为不可变列表（允许 null 元素），已是不可变列表时原样返回以保留共享；list 为 null 时返回 null
+     */
+    static <T> List<T> copyOf(List<T> list) {
+        if (list == null) {
+            return null;
+        }
+        if (list.isEmpty()) {
+            return List.of();
+        }
+        if (IMMUTABLE.contains(list.getClass())) {
+            return list;
+        }
+        return list.stream().toList();
+    }
+
+    /**
+     * 复制字符串列表并驻留每个元素
+     */
+    static List<String> internAll(List<String> list) {
+        if (list == null) {
+            return null;
+        }
+        if (list.isEmpty()) {
+            return List.of();
+        }
+        return list.stream().map(StringPool::intern).toList();
+    }
+}
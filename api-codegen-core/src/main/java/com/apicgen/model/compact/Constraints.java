@@ -0,0 +1,246 @@
+package com.apicgen.model.compact;
+
+import com.apicgen.model.ElementValidationConfig;
+import com.apicgen.model.ValidationConfig;
+
+import java.util.Objects;
+
+/**
+ * 不可变的校验约束，对应 {@link ValidationConfig} / {@link ElementValidationConfig}
+ * <p>
+ * 数值使用基本类型加哨兵值表示未设置：整数为 {@link #UNSET}，小数为 NaN；三个布尔约束（email/past/future）
+ * 的“未设置/true/false”压缩到一个字节的位标志中。所有字段都未设置的约束共享 {@link #NONE}。
+ * 哨兵值本身（{@code Integer.MIN_VALUE}、NaN）不能作为约束值表示。
+ */
+public final class Constraints {
+
+    /**
+     * 整数约束未设置
+     */
+    public static final int UNSET = Integer.MIN_VALUE;
+
+    /**
+     * 没有任何约束的共享实例
+     */
+    public static final Constraints NONE = new Constraints(UNSET, UNSET, null, (byte) 0, Double.NaN, Double.NaN, UNSET, UNSET, null);
+
+    private static final int EMAIL = 0;
+    private static final int PAST = 2;
+    private static final int FUTURE = 4;
+
+    private final int minLength;
+    private final int maxLength;
+    private final String pattern;
+    private final byte flags;
+    private final double min;
+    private final double max;
+    private final int minSize;
+    private final int maxSize;
+    private final Constraints element;
+
+    private Constraints(int minLength, int maxLength, String pattern, byte flags, double min, double max,
+                        int minSize, int maxSize, Constraints element) {
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.pattern = StringPool.intern(pattern);
+        this.flags = flags;
+        this.min = min;
+        this.max = max;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.element = element;
+    }
+
+    /**
+     * 由校验配置创建，validation 为 null 时返回 null，没有任何约束时返回 {@link #NONE}
+     */
+    public static Constraints of(ValidationConfig validation) {
+        if (validation == null) {
+            return null;
+        }
+        byte flags = (byte) (flag(validation.getEmail(), EMAIL) | flag(validation.getPast(), PAST) | flag(validation.getFuture(), FUTURE));
+        return create(unbox(validation.getMinLength()), unbox(validation.getMaxLength()), validation.getPattern(), flags,
+            unbox(validation.getMin()), unbox(validation.getMax()), unbox(validation.getMinSize()), unbox(validation.getMaxSize()),
+            of(validation.getElementValidation()));
+    }
+
+    /**
+     * 由 List 元素校验配置创建，validation 为 null 时返回 null，没有任何约束时返回 {@link #NONE}
+     */
+    public static Constraints of(ElementValidationConfig validation) {
+        if (validation == null) {
+            return null;
+        }
+        return create(unbox(validation.getMinLength()), unbox(validation.getMaxLength()), validation.getPattern(),
+            (byte) flag(validation.getEmail(), EMAIL), unbox(validation.getMin()), unbox(validation.getMax()),
+            unbox(validation.getMinSize()), unbox(validation.getMaxSize()), null);
+    }
+
+    private static Constraints create(int minLength, int maxLength, String pattern, byte flags, double min, double max,
+                                      int minSize, int maxSize, Constraints element) {
+        if (minLength == UNSET && maxLength == UNSET && pattern == null && flags == 0 && Double.isNaN(min) && Double.isNaN(max)
+            && minSize == UNSET && maxSize == UNSET && element == null) {
+            return NONE;
+        }
+        return new Constraints(minLength, maxLength, pattern, flags, min, max, minSize, maxSize, element);
+    }
+
+    /**
+     * 转换为可变的校验配置，字段级约束使用
+     */
+    public ValidationConfig toValidationConfig() {
+        ValidationConfig validation = new ValidationConfig();
+        validation.setMinLength(box(minLength));
+        validation.setMaxLength(box(maxLength));
+        validation.setPattern(pattern);
+        validation.setEmail(bool(EMAIL));
+        validation.setMin(box(min));
+        validation.setMax(box(max));
+        validation.setPast(bool(PAST));
+        validation.setFuture(bool(FUTURE));
+        validation.setMinSize(box(minSize));
+        validation.setMaxSize(box(maxSize));
+        validation.setElementValidation(element == null ? null : element.toElementValidationConfig());
+        return validation;
+    }
+
+    /**
+     * 转换为可变的 List 元素校验配置
+     */
+    public ElementValidationConfig toElementValidationConfig() {
+        ElementValidationConfig validation = new ElementValidationConfig();
+        validation.setMinLength(box(minLength));
+        validation.setMaxLength(box(maxLength));
+        validation.setPattern(pattern);
+        validation.setEmail(bool(EMAIL));
+        validation.setMin(box(min));
+        validation.setMax(box(max));
+        validation.setMinSize(box(minSize));
+        validation.setMaxSize(box(maxSize));
+        return validation;
+    }
+
+    public boolean isEmpty() {
+        return this == NONE;
+    }
+
+    /**
+     * 最小长度，未设置时为 {@link #UNSET}
+     */
+    public int minLength() {
+        return minLength;
+    }
+
+    /**
+     * 最大长度，未设置时为 {@link #UNSET}
+     */
+    public int maxLength() {
+        return maxLength;
+    }
+
+    public String pattern() {
+        return pattern;
+    }
+
+    public boolean isEmail() {
+        return Boolean.TRUE.equals(bool(EMAIL));
+    }
+
+    /**
+     * 最小值，未设置时为 NaN
+     */
+    public double min() {
+        return min;
+    }
+
+    /**
+     * 最大值，未设置时为 NaN
+     */
+    public double max() {
+        return max;
+    }
+
+    public boolean isPast() {
+        return Boolean.TRUE.equals(bool(PAST));
+    }
+
+    public boolean isFuture() {
+        return Boolean.TRUE.equals(bool(FUTURE));
+    }
+
+    /**
+     * 最小大小，未设置时为 {@link #UNSET}
+     */
+    public int minSize() {
+        return minSize;
+    }
+
+    /**
+     * 最大大小，未设置时为 {@link #UNSET}
+     */
+    public int maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * List 元素约束，未设置时为 null
+     */
+    public Constraints element() {
+        return element;
+    }
+
+    /**
+     * 每个布尔约束占两位：低位表示已设置，高位为取值
+     */
+    private static int flag(Boolean value, int shift) {
+        if (value == null) {
+            return 0;
+        }
+        return (value ? 0b11 : 0b01) << shift;
+    }
+
+    private Boolean bool(int shift) {
+        int bits = flags >> shift & 0b11;
+        return bits == 0 ? null : bits == 0b11;
+    }
+
+    private static int unbox(Integer value) {
+        return value == null ? UNSET : value;
+    }
+
+    private static double unbox(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+
+    private static Integer box(int value) {
+        return value == UNSET ? null : value;
+    }
+
+    private static Double box(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Constraints that)) {
+            return false;
+        }
+        return minLength == that.minLength && maxLength == that.maxLength && flags == that.flags
+            && Double.compare(min, that.min) == 0 && Double.compare(max, that.max) == 0
+            && minSize == that.minSize && maxSize == that.maxSize
+            && Objects.equals(pattern, that.pattern) && Objects.equals(element, that.element);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(minLength, maxLength, pattern, flags, min, max, minSize, maxSize, element);
+    }
+
+    @Override
+    public String toString() {
+        return "Constraints" + toValidationConfig().toString().substring("ValidationConfig".length());
+    }
+}
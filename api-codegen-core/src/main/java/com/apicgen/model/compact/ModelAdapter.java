@@ -0,0 +1,253 @@
+package com.apicgen.model.compact;
+
+import com.apicgen.model.Api;
+import com.apicgen.model.ApiDefinition;
+import com.apicgen.model.ClassDefinition;
+import com.apicgen.model.FieldDefinition;
+import com.apicgen.model.ValidationConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 可变模型与紧凑模型之间的单次转换
+ * <p>
+ * 转为紧凑模型时按对象标识缓存已转换的字段与字段列表，并对值相等的约束、字段与字段列表去重（如同一 schema 在多个
+ * operation 中展开出的顶层字段副本只保留一份）。转回可变模型时，类的顶层字段及其列表、校验配置都是新的可修改对象；
+ * 嵌套字段列表按标识共享，与 {@code SwaggerConverter} 共享的 $ref 子树一样不可修改。
+ * 非线程安全，每次转换使用新实例。
+ */
+final class ModelAdapter {
+
+    private final Map<FieldDefinition, CompactField> compactFields = new IdentityHashMap<>();
+    private final Map<List<FieldDefinition>, List<CompactField>> compactLists = new IdentityHashMap<>();
+    private final Map<CompactField, FieldDefinition> beanFields = new IdentityHashMap<>();
+    private final Map<List<CompactField>, List<FieldDefinition>> beanLists = new IdentityHashMap<>();
+    private final Map<ValidationConfig, Constraints> constraints = new IdentityHashMap<>();
+    private final Map<Object, Constraints> canonicalConstraints = new HashMap<>();
+    private final Map<FieldKey, CompactField> canonicalFields = new HashMap<>();
+    private final Map<ListKey, List<CompactField>> canonicalLists = new HashMap<>();
+
+    CompactApiDefinition compact(ApiDefinition apiDefinition) {
+        if (apiDefinition == null) {
+            return null;
+        }
+        List<Api> apis = apiDefinition.getApis();
+        if (apis == null) {
+            return new CompactApiDefinition(null);
+        }
+        List<CompactApi> compactApis = new ArrayList<>(apis.size());
+        for (Api api : apis) {
+            compactApis.add(compact(api));
+        }
+        return new CompactApiDefinition(compactApis);
+    }
+
+    CompactApi compact(Api api) {
+        if (api == null) {
+            return null;
+        }
+        return new CompactApi(api.getName(), api.getPath(), api.getMethod(), api.getDescription(),
+            compact(api.getRequest()), compact(api.getResponse()), deprecatedAnnotations(api),
+            api.getMethodAnnotations(), api.getClassAnnotations(), api.getFramework());
+    }
+
+    CompactClass compact(ClassDefinition classDefinition) {
+        if (classDefinition == null) {
+            return null;
+        }
+        return new CompactClass(classDefinition.getClassName(), compactList(classDefinition.getFields()));
+    }
+
+    CompactField compact(FieldDefinition field) {
+        if (field == null) {
+            return null;
+        }
+        CompactField cached = compactFields.get(field);
+        if (cached != null) {
+            return cached;
+        }
+        CompactField built = new CompactField(field.getName(), field.getType(), field.isRequired(),
+            field.getDescription(), compact(field.getValidation()), compactList(field.getFields()), field.getEnumValues(),
+            field.getIn());
+        CompactField compact = canonicalFields.computeIfAbsent(FieldKey.of(built), key -> built);
+        compactFields.put(field, compact);
+        return compact;
+    }
+
+    private Constraints compact(ValidationConfig validation) {
+        if (validation == null) {
+            return null;
+        }
+        return constraints.computeIfAbsent(validation, config -> {
+            Constraints built = Constraints.of(config);
+            return canonicalConstraints.computeIfAbsent(built, key -> built);
+        });
+    }
+
+    private List<CompactField> compactList(List<FieldDefinition> fields) {
+        if (fields == null) {
+            return null;
+        }
+        List<CompactField> cached = compactLists.get(fields);
+        if (cached != null) {
+            return cached;
+        }
+        List<CompactField> built = fields.stream().map(this::compact).toList();
+        List<CompactField> compact = canonicalLists.computeIfAbsent(new ListKey(built), key -> built);
+        compactLists.put(fields, compact);
+        return compact;
+    }
+
+    ApiDefinition bean(CompactApiDefinition compact) {
+        ApiDefinition apiDefinition = new ApiDefinition();
+        if (compact.apis() == null) {
+            apiDefinition.setApis(null);
+            return apiDefinition;
+        }
+        List<Api> apis = new ArrayList<>(compact.apis().size());
+        for (CompactApi api : compact.apis()) {
+            apis.add(api == null ? null : bean(api));
+        }
+        apiDefinition.setApis(apis);
+        return apiDefinition;
+    }
+
+    Api bean(CompactApi compact) {
+        Api api = new Api();
+        api.setName(compact.name());
+        api.setPath(compact.path());
+        api.setMethod(compact.method());
+        api.setDescription(compact.description());
+        api.setRequest(compact.request() == null ? null : bean(compact.request()));
+        api.setResponse(compact.response() == null ? null : bean(compact.response()));
+        setDeprecatedAnnotations(api, mutableCopy(compact.annotations()));
+        api.setMethodAnnotations(mutableCopy(compact.methodAnnotations()));
+        api.setClassAnnotations(mutableCopy(compact.classAnnotations()));
+        api.setFramework(compact.framework());
+        return api;
+    }
+
+    ClassDefinition bean(CompactClass compact) {
+        List<FieldDefinition> fields = null;
+        if (compact.fields() != null) {
+            fields = new ArrayList<>(compact.fields().size());
+            for (CompactField field : compact.fields()) {
+                fields.add(field == null ? null : newBean(field));
+            }
+        }
+        return new ClassDefinition(compact.className(), fields);
+    }
+
+    /**
+     * 嵌套字段按标识共享同一个可变对象
+     */
+    FieldDefinition bean(CompactField compact) {
+        FieldDefinition cached = beanFields.get(compact);
+        if (cached != null) {
+            return cached;
+        }
+        FieldDefinition field = newBean(compact);
+        beanFields.put(compact, field);
+        return field;
+    }
+
+    private FieldDefinition newBean(CompactField compact) {
+        FieldDefinition field = new FieldDefinition(compact.name(), compact.type());
+        field.setRequired(compact.required());
+        field.setDescription(compact.description());
+        field.setValidation(compact.validation() == null ? null : compact.validation().toValidationConfig());
+        field.setFields(beanList(compact.fields()));
+        field.setEnumValues(mutableCopy(compact.enumValues()));
+        field.setIn(compact.in());
+        return field;
+    }
+
+    private List<FieldDefinition> beanList(List<CompactField> fields) {
+        if (fields == null) {
+            return null;
+        }
+        List<FieldDefinition> cached = beanLists.get(fields);
+        if (cached != null) {
+            return cached;
+        }
+        List<FieldDefinition> beans = new ArrayList<>(fields.size());
+        for (CompactField field : fields) {
+            beans.add(field == null ? null : bean(field));
+        }
+        List<FieldDefinition> shared = Collections.unmodifiableList(beans);
+        beanLists.put(fields, shared);
+        return shared;
+    }
+
+    private static <T> List<T> mutableCopy(List<T> list) {
+        return list == null ? null : new ArrayList<>(list);
+    }
+
+    @SuppressWarnings("deprecation")
+    private static List<String> deprecatedAnnotations(Api api) {
+        return api.getAnnotations();
+    }
+
+    @SuppressWarnings("deprecation")
+    private static void setDeprecatedAnnotations(Api api, List<String> annotations) {
+        api.setAnnotations(annotations);
+    }
+
+    /**
+     * 字段去重的 key：子节点（约束、嵌套字段列表）已去重，按标识比较，避免每次都递归计算整棵子树的哈希
+     */
+    private record FieldKey(String name, String type, boolean required, String description, Identity validation,
+                            Identity fields, List<Object> enumValues, String in) {
+
+        static FieldKey of(CompactField field) {
+            return new FieldKey(field.name(), field.type(), field.required(), field.description(),
+                new Identity(field.validation()), new Identity(field.fields()), field.enumValues(), field.in());
+        }
+    }
+
+    /**
+     * 字段列表去重的 key：元素已去重，按标识逐个比较
+     */
+    private record ListKey(List<CompactField> fields) {
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ListKey that) || that.fields.size() != fields.size()) {
+                return false;
+            }
+            for (int i = 0; i < fields.size(); i++) {
+                if (fields.get(i) != that.fields.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 1;
+            for (CompactField field : fields) {
+                hash = 31 * hash + System.identityHashCode(field);
+            }
+            return hash;
+        }
+    }
+
+    private record Identity(Object value) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Identity that && that.value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(value);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.apicgen.model.compact;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 紧凑模型的字符串驻留表：名称、类型、路径、注解等高度重复的字符串共享同一实例
+ * <p>
+ * 与 {@link com.apicgen.model.TypeRef} 一样设置上限，超出后不再驻留，避免不可信输入撑大内存。
+ */
+final class StringPool {
+
+    static final int INTERN_LIMIT = 65_536;
+
+    private static final Map<String, String> POOL = new ConcurrentHashMap<>();
+
+    private StringPool() {
+    }
+
+    static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String pooled = POOL.get(value);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (POOL.size() >= INTERN_LIMIT) {
+            return value;
+        }
+        pooled = POOL.putIfAbsent(value, value);
+        return pooled != null ? pooled : value;
+    }
+}
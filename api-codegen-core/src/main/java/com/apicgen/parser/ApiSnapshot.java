@@ -0,0 +1,601 @@
+package com.apicgen.parser;
+
+import com.apicgen.model.Api;
+import com.apicgen.model.ApiDefinition;
+import com.apicgen.model.ClassDefinition;
+import com.apicgen.model.ElementValidationConfig;
+import com.apicgen.model.FieldDefinition;
+import com.apicgen.model.ValidationConfig;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 解析结果的二进制快照
+ * <p>
+ * 快照保存在规格文件旁（或指定的缓存目录），头部记录 key 与依赖文件哈希：
+ * key 由快照格式版本、工具版本（{@link #TOOL_VERSION}）、{@link YamlParser#PARSER_VERSION}、解析选项（类型推断词表、资源上限）
+ * 与源文件内容计算，快照只在与写入时相同的资源上限下复用（写入时已通过这些上限的检查），
+ * 依赖文件为 Swagger 外部 $ref 引用的文件。任一不一致时快照失效，重新解析 YAML。
+ * <p>
+ * 正文使用变长整数与字符串表编码，重复出现的字段名、类型、描述只写一次。
+ */
+final class ApiSnapshot {
+
+    /**
+     * 快照格式版本，编码方式变化时递增
+     */
+    static final int FORMAT_VERSION = 1;
+
+    static final String FILE_SUFFIX = ".apicgen-snapshot";
+
+    /**
+     * 工具版本：构建时写入的版本号与构建时间，重新构建工具后旧快照即失效；
+     * 未经 Maven 资源过滤（如 IDE 直接编译）时为 {@code dev}，此时只依赖 {@link YamlParser#PARSER_VERSION}
+     */
+    static final String TOOL_VERSION = loadToolVersion();
+
+    private static final int MAGIC = 0x41434753; // "ACGS"
+
+    private static final int VALUE_NULL = 0;
+    private static final int VALUE_STRING = 1;
+    private static final int VALUE_INT = 2;
+    private static final int VALUE_LONG = 3;
+    private static final int VALUE_DOUBLE = 4;
+    private static final int VALUE_BOOLEAN = 5;
+    private static final int VALUE_BIG_INTEGER = 6;
+    private static final int VALUE_BIG_DECIMAL = 7;
+
+    private static final Api.HttpMethod[] METHODS = Api.HttpMethod.values();
+
+    private ApiSnapshot() {
+    }
+
+    /**
+     * 快照文件位置：未指定缓存目录时放在规格文件旁
+     */
+    static Path locate(File sourceFile, File snapshotDirectory) {
+        Path source = sourceFile.toPath().toAbsolutePath().normalize();
+        if (snapshotDirectory == null) {
+            return source.resolveSibling(source.getFileName() + FILE_SUFFIX);
+        }
+        // 缓存目录可能被多个规格文件共享，文件名带上源路径的哈希避免冲突
+        String pathHash = sha256(source.toString().getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+        return snapshotDirectory.toPath().resolve(source.getFileName() + "-" + pathHash + FILE_SUFFIX);
+    }
+
+    /**
+     * 计算快照 key
+     */
+    static String key(byte[] source, ParserOptions options) {
+        return key(source, options, TOOL_VERSION);
+    }
+
+    static String key(byte[] source, ParserOptions options, String toolVersion) {
+        MessageDigest digest = keyDigest(options, toolVersion);
+        digest.update(source);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * 按源文件计算快照 key，流式读取文件内容，不把整个文件读入内存
+     */
+    static String key(Path source, ParserOptions options) throws IOException {
+        MessageDigest digest = keyDigest(options, TOOL_VERSION);
+        update(digest, source);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest keyDigest(ParserOptions options, String toolVersion) {
+        MessageDigest digest = newDigest();
+        digest.update(("apicgen-snapshot:" + FORMAT_VERSION + ":" + toolVersion + ":" + YamlParser.PARSER_VERSION + ":"
+                + options.getTypeInference().fingerprint() + ":" + options.getLimits() + "\n").getBytes(StandardCharsets.UTF_8));
+        return digest;
+    }
+
+    private static void update(MessageDigest digest, Path file) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+    }
+
+    private static String loadToolVersion() {
+        Properties properties = new Properties();
+        try (InputStream in = ApiSnapshot.class.getResourceAsStream("/apicgen-build.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            return "dev";
+        }
+        String version = properties.getProperty("version", "");
+        String timestamp = properties.getProperty("timestamp", "");
+        if (version.isEmpty() || version.contains("${")) {
+            return "dev";
+        }
+        return timestamp.isEmpty() || timestamp.contains("${") ? version : version + "@" + timestamp;
+    }
+
+    /**
+     * 读取快照，文件不存在、已损坏或已失效时返回 null
+     */
+    static ApiDefinition read(Path snapshot, String expectedKey) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot)))) {
+            return read(in, expectedKey);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            // 损坏的快照视为失效，重新解析后会被覆盖
+            return null;
+        }
+    }
+
+    static ApiDefinition read(InputStream input, String expectedKey) throws IOException {
+        DataInputStream in = input instanceof DataInputStream data ? data : new DataInputStream(input);
+        if (in.readInt() != MAGIC || in.readUnsignedByte() != FORMAT_VERSION || !expectedKey.equals(in.readUTF())) {
+            return null;
+        }
+        int dependencyCount = readVarInt(in);
+        for (int i = 0; i < dependencyCount; i++) {
+            Path dependency = Path.of(in.readUTF());
+            String hash = in.readUTF();
+            if (!hash.equals(hashOf(dependency))) {
+                return null;
+            }
+        }
+        return new Reader(in).readDefinition();
+    }
+
+    /**
+     * 写入快照：先写临时文件再替换，并发运行时不会读到写了一半的快照
+     */
+    static void write(Path snapshot, String key, List<Path> dependencies, ApiDefinition apiDefinition) throws IOException {
+        Path directory = snapshot.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, snapshot.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                write(out, key, dependencies, apiDefinition);
+            }
+            try {
+                Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    static void write(OutputStream output, String key, List<Path> dependencies, ApiDefinition apiDefinition) throws IOException {
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeUTF(key);
+        writeVarInt(out, dependencies.size());
+        for (Path dependency : dependencies) {
+            Path absolute = dependency.toAbsolutePath().normalize();
+            out.writeUTF(absolute.toString());
+            out.writeUTF(hashOf(absolute));
+        }
+        new Writer(out).writeDefinition(apiDefinition);
+        out.flush();
+    }
+
+    /**
+     * 依赖文件的内容哈希，文件不存在时为空字符串
+     */
+    private static String hashOf(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return "";
+        }
+        MessageDigest digest = newDigest();
+        update(digest, file);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String sha256(byte[] content) {
+        return HexFormat.of().formatHex(newDigest().digest(content));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("快照已损坏：变长整数过长");
+    }
+
+    /**
+     * 正文编码
+     * <p>
+     * 字符串：0 表示 null，1 表示新字符串（随后是 UTF-8 字节），n ≥ 2 表示字符串表中第 n-2 项；
+     * 列表：0 表示 null，否则为长度 + 1；可空数值前有一个存在标记字节。
+     */
+    private static final class Writer {
+
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        private Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        private void writeDefinition(ApiDefinition definition) throws IOException {
+            List<Api> apis = definition.getApis();
+            writeListSize(apis);
+            if (apis != null) {
+                for (Api api : apis) {
+                    writeApi(api);
+                }
+            }
+        }
+
+        @SuppressWarnings("deprecation")
+        private void writeApi(Api api) throws IOException {
+            writeString(api.getName());
+            writeString(api.getPath());
+            writeVarInt(out, api.getMethod() == null ? 0 : api.getMethod().ordinal() + 1);
+            writeString(api.getDescription());
+            writeClass(api.getRequest());
+            writeClass(api.getResponse());
+            writeStrings(api.getAnnotations());
+            writeStrings(api.getMethodAnnotations());
+            writeStrings(api.getClassAnnotations());
+            writeString(api.getFramework());
+        }
+
+        private void writeClass(ClassDefinition classDefinition) throws IOException {
+            out.writeBoolean(classDefinition != null);
+            if (classDefinition != null) {
+                writeString(classDefinition.getClassName());
+                writeFields(classDefinition.getFields());
+            }
+        }
+
+        private void writeFields(List<FieldDefinition> fields) throws IOException {
+            writeListSize(fields);
+            if (fields == null) {
+                return;
+            }
+            for (FieldDefinition field : fields) {
+                writeString(field.getName());
+                writeString(field.getType());
+                out.writeBoolean(field.isRequired());
+                writeString(field.getDescription());
+                writeValidation(field.getValidation());
+                writeFields(field.getFields());
+                writeValues(field.getEnumValues());
+                writeString(field.getIn());
+            }
+        }
+
+        private void writeValidation(ValidationConfig validation) throws IOException {
+            out.writeBoolean(validation != null);
+            if (validation == null) {
+                return;
+            }
+            writeInteger(validation.getMinLength());
+            writeInteger(validation.getMaxLength());
+            writeString(validation.getPattern());
+            writeBoolean(validation.getEmail());
+            writeDouble(validation.getMin());
+            writeDouble(validation.getMax());
+            writeBoolean(validation.getPast());
+            writeBoolean(validation.getFuture());
+            writeInteger(validation.getMinSize());
+            writeInteger(validation.getMaxSize());
+
+            ElementValidationConfig element = validation.getElementValidation();
+            out.writeBoolean(element != null);
+            if (element != null) {
+                writeInteger(element.getMinLength());
+                writeInteger(element.getMaxLength());
+                writeString(element.getPattern());
+                writeBoolean(element.getEmail());
+                writeDouble(element.getMin());
+                writeDouble(element.getMax());
+                writeInteger(element.getMinSize());
+                writeInteger(element.getMaxSize());
+            }
+        }
+
+        private void writeValues(List<Object> values) throws IOException {
+            writeListSize(values);
+            if (values == null) {
+                return;
+            }
+            for (Object value : values) {
+                if (value == null) {
+                    out.writeByte(VALUE_NULL);
+                } else if (value instanceof String text) {
+                    out.writeByte(VALUE_STRING);
+                    writeString(text);
+                } else if (value instanceof Integer number) {
+                    out.writeByte(VALUE_INT);
+                    out.writeInt(number);
+                } else if (value instanceof Long number) {
+                    out.writeByte(VALUE_LONG);
+                    out.writeLong(number);
+                } else if (value instanceof Double number) {
+                    out.writeByte(VALUE_DOUBLE);
+                    out.writeDouble(number);
+                } else if (value instanceof Boolean flag) {
+                    out.writeByte(VALUE_BOOLEAN);
+                    out.writeBoolean(flag);
+                } else if (value instanceof BigInteger number) {
+                    out.writeByte(VALUE_BIG_INTEGER);
+                    writeString(number.toString());
+                } else if (value instanceof BigDecimal number) {
+                    out.writeByte(VALUE_BIG_DECIMAL);
+                    writeString(number.toString());
+                } else {
+                    throw new IOException("快照不支持的枚举值类型: " + value.getClass().getName());
+                }
+            }
+        }
+
+        private void writeStrings(List<String> values) throws IOException {
+            writeListSize(values);
+            if (values != null) {
+                for (String value : values) {
+                    writeString(value);
+                }
+            }
+        }
+
+        private void writeListSize(List<?> list) throws IOException {
+            writeVarInt(out, list == null ? 0 : list.size() + 1);
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                writeVarInt(out, 0);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index != null) {
+                writeVarInt(out, index + 2);
+                return;
+            }
+            strings.put(value, strings.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, 1);
+            writeVarInt(out, bytes.length);
+            out.write(bytes);
+        }
+
+        private void writeInteger(Integer value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                out.writeInt(value);
+            }
+        }
+
+        private void writeDouble(Double value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                out.writeDouble(value);
+            }
+        }
+
+        private void writeBoolean(Boolean value) throws IOException {
+            out.writeByte(value == null ? 0 : value ? 2 : 1);
+        }
+    }
+
+    /**
+     * 正文解码，与 {@link Writer} 对应
+     */
+    private static final class Reader {
+
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+
+        private Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        private ApiDefinition readDefinition() throws IOException {
+            int size = readListSize();
+            List<Api> apis = size < 0 ? null : new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                apis.add(readApi());
+            }
+            return new ApiDefinition(apis);
+        }
+
+        @SuppressWarnings("deprecation")
+        private Api readApi() throws IOException {
+            Api api = new Api();
+            api.setName(readString());
+            api.setPath(readString());
+            int method = readVarInt(in);
+            api.setMethod(method == 0 ? null : METHODS[method - 1]);
+            api.setDescription(readString());
+            api.setRequest(readClass());
+            api.setResponse(readClass());
+            api.setAnnotations(readStrings());
+            api.setMethodAnnotations(readStrings());
+            api.setClassAnnotations(readStrings());
+            api.setFramework(readString());
+            return api;
+        }
+
+        private ClassDefinition readClass() throws IOException {
+            if (!in.readBoolean()) {
+                return null;
+            }
+            String className = readString();
+            return new ClassDefinition(className, readFields());
+        }
+
+        private List<FieldDefinition> readFields() throws IOException {
+            int size = readListSize();
+            if (size < 0) {
+                return null;
+            }
+            List<FieldDefinition> fields = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                FieldDefinition field = new FieldDefinition();
+                field.setName(readString());
+                field.setType(readString());
+                field.setRequired(in.readBoolean());
+                field.setDescription(readString());
+                field.setValidation(readValidation());
+                field.setFields(readFields());
+                field.setEnumValues(readValues());
+                field.setIn(readString());
+                fields.add(field);
+            }
+            return fields;
+        }
+
+        private ValidationConfig readValidation() throws IOException {
+            if (!in.readBoolean()) {
+                return null;
+            }
+            ValidationConfig validation = new ValidationConfig();
+            validation.setMinLength(readInteger());
+            validation.setMaxLength(readInteger());
+            validation.setPattern(readString());
+            validation.setEmail(readBoolean());
+            validation.setMin(readDouble());
+            validation.setMax(readDouble());
+            validation.setPast(readBoolean());
+            validation.setFuture(readBoolean());
+            validation.setMinSize(readInteger());
+            validation.setMaxSize(readInteger());
+
+            if (in.readBoolean()) {
+                ElementValidationConfig element = new ElementValidationConfig();
+                element.setMinLength(readInteger());
+                element.setMaxLength(readInteger());
+                element.setPattern(readString());
+                element.setEmail(readBoolean());
+                element.setMin(readDouble());
+                element.setMax(readDouble());
+                element.setMinSize(readInteger());
+                element.setMaxSize(readInteger());
+                validation.setElementValidation(element);
+            }
+            return validation;
+        }
+
+        private List<Object> readValues() throws IOException {
+            int size = readListSize();
+            if (size < 0) {
+                return null;
+            }
+            List<Object> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                int tag = in.readUnsignedByte();
+                values.add(switch (tag) {
+                    case VALUE_NULL -> null;
+                    case VALUE_STRING -> readString();
+                    case VALUE_INT -> in.readInt();
+                    case VALUE_LONG -> in.readLong();
+                    case VALUE_DOUBLE -> in.readDouble();
+                    case VALUE_BOOLEAN -> in.readBoolean();
+                    case VALUE_BIG_INTEGER -> new BigInteger(readString());
+                    case VALUE_BIG_DECIMAL -> new BigDecimal(readString());
+                    default -> throw new IOException("快照已损坏：未知的枚举值类型 " + tag);
+                });
+            }
+            return values;
+        }
+
+        private List<String> readStrings() throws IOException {
+            int size = readListSize();
+            if (size < 0) {
+                return null;
+            }
+            List<String> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(readString());
+            }
+            return values;
+        }
+
+        /**
+         * 列表长度，null 列表返回 -1
+         */
+        private int readListSize() throws IOException {
+            return readVarInt(in) - 1;
+        }
+
+        private String readString() throws IOException {
+            int marker = readVarInt(in);
+            if (marker == 0) {
+                return null;
+            }
+            if (marker >= 2) {
+                return strings.get(marker - 2);
+            }
+            byte[] bytes = new byte[readVarInt(in)];
+            in.readFully(bytes);
+            String value = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(value);
+            return value;
+        }
+
+        private Integer readInteger() throws IOException {
+            return in.readBoolean() ? in.readInt() : null;
+        }
+
+        private Double readDouble() throws IOException {
+            return in.readBoolean() ? in.readDouble() : null;
+        }
+
+        private Boolean readBoolean() throws IOException {
+            int value = in.readUnsignedByte();
+            return value == 0 ? null : value == 2;
+        }
+    }
+}
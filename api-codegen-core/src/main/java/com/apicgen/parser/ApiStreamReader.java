@@ -0,0 +1,186 @@
+package com.apicgen.parser;
+
+import com.apicgen.converter.SwaggerStreamReader;
+import com.apicgen.model.Api;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 按需逐个读取 {@link Api} 的迭代器
+ * <p>
+ * 自定义格式下直接基于 Jackson token 流，每次只绑定 {@code apis[]} 中的一个元素，
+ * 调用方可以处理超出堆预算的大文件。使用完毕后必须 {@link #close()}。
+ */
+public abstract class ApiStreamReader implements Iterator<Api>, Closeable {
+
+    private Api next;
+    private boolean finished;
+
+    /**
+     * 读取下一个 API，没有更多元素时返回 null
+     */
+    protected abstract Api fetchNext() throws IOException;
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+        try {
+            next = fetchNext();
+        } catch (IOException e) {
+            finished = true;
+            throw new UncheckedIOException(e);
+        }
+        if (next == null) {
+            finished = true;
+        }
+        return next != null;
+    }
+
+    @Override
+    public Api next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Api current = next;
+        next = null;
+        return current;
+    }
+
+    /**
+     * 转为顺序 Stream，关闭 Stream 时同时关闭底层解析器
+     */
+    public Stream<Api> stream() {
+        Spliterator<Api> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * 基于已完成转换的 API 列表构造迭代器（用于 Swagger/OpenAPI 格式）
+     */
+    static ApiStreamReader of(List<Api> apis) {
+        Iterator<Api> iterator = apis.iterator();
+        return new ApiStreamReader() {
+            @Override
+            protected Api fetchNext() {
+                return iterator.hasNext() ? iterator.next() : null;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    /**
+     * 基于 Swagger/OpenAPI 两遍流式读取器构造迭代器，按路径逐个转换
+     */
+    static ApiStreamReader of(SwaggerStreamReader reader) {
+        return new ApiStreamReader() {
+            @Override
+            protected Api fetchNext() {
+                return reader.hasNext() ? reader.next() : null;
+            }
+
+            @Override
+            public void close() throws IOException {
+                reader.close();
+            }
+        };
+    }
+
+    /**
+     * 基于自定义格式的 token 流构造迭代器，构造时会将解析器定位到 {@code apis} 数组内部
+     *
+     * @throws IOException apis 字段缺失或不是数组时抛出
+     */
+    static ApiStreamReader forCustomFormat(JsonParser parser, ObjectMapper mapper, String source) throws IOException {
+        try {
+            positionAtApisArray(parser);
+        } catch (IOException e) {
+            parser.close();
+            throw e;
+        }
+        return new TokenStreamReader(parser, mapper, source);
+    }
+
+    private static void positionAtApisArray(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Failed to parse YAML: result is null");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("apis".equals(name)) {
+                if (value == JsonToken.START_ARRAY) {
+                    return;
+                }
+                throw new IOException("Failed to parse YAML: apis field is null");
+            }
+            parser.skipChildren();
+        }
+        throw new IOException("Failed to parse YAML: apis field is null");
+    }
+
+    private static final class TokenStreamReader extends ApiStreamReader {
+
+        private final JsonParser parser;
+        private final ObjectMapper mapper;
+        private final String source;
+        private boolean arrayEnded;
+
+        private TokenStreamReader(JsonParser parser, ObjectMapper mapper, String source) {
+            this.parser = parser;
+            this.mapper = mapper;
+            this.source = source;
+        }
+
+        @Override
+        protected Api fetchNext() throws IOException {
+            while (!arrayEnded) {
+                JsonToken token = parser.nextToken();
+                if (token == null || token == JsonToken.END_ARRAY) {
+                    arrayEnded = true;
+                    return null;
+                }
+                if (token == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                try {
+                    return mapper.readValue(parser, Api.class);
+                } catch (InvalidFormatException e) {
+                    throw new IOException(YamlParser.parseInvalidFormatException(e, source), e);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+}
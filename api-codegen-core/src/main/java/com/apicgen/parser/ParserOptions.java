@@ -0,0 +1,53 @@
+package com.apicgen.parser;
+
+import com.apicgen.util.FieldTypeInference;
+import com.apicgen.util.YamlLimits;
+import lombok.Data;
+
+import java.io.File;
+
+/**
+ * YAML 解析选项
+ */
+@Data
+public class ParserOptions {
+
+    /**
+     * Swagger/OpenAPI 转换的并行度，小于等于 1 时顺序转换
+     */
+    private int parallelism = 1;
+
+    /**
+     * 无显式类型的字段按字段名推断类型所用的词表
+     */
+    private FieldTypeInference typeInference = FieldTypeInference.defaults();
+
+    /**
+     * 是否使用二进制解析快照：源文件与解析选项未变化时直接读取快照，跳过 YAML 解析
+     */
+    private boolean snapshot = false;
+
+    /**
+     * 快照目录，为 null 时快照放在规格文件旁
+     */
+    private File snapshotDirectory;
+
+    /**
+     * 实验性：按缩进把顶层 paths/apis 切成片段并发解析（需 parallelism 大于 1，仅对文件生效）；
+     * 流风格、锚点等无法安全切分的文档自动退回顺序解析，结果与顺序解析一致
+     */
+    private boolean splitParse = false;
+
+    /**
+     * 文档资源上限（长度、别名、嵌套深度、operation 数量、单个类的字段数），默认不限制；
+     * 处理不可信输入的常驻进程（如 bridge）应使用 {@link YamlLimits#defaults()}
+     */
+    private YamlLimits limits = YamlLimits.unlimited();
+
+    /**
+     * 默认选项（顺序转换）
+     */
+    public static ParserOptions defaults() {
+        return new ParserOptions();
+    }
+}
@@ -0,0 +1,160 @@
+package com.apicgen.parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 源文档位置索引：JSON Pointer（如 {@code /paths/~1users/get}）到源文本行列范围的映射
+ * <p>
+ * 单次流式读取 YAML/JSON 的 token 构建，不生成树；对象成员从 key 所在位置开始，数组元素从元素首个 token 开始，
+ * 结束位置为值内最后一个标量的结束处。行列均从 1 开始，与编辑器一致。
+ * 定位问题时按 api/参数/schema/属性的 pointer 直接查表，无需逐行扫描源文本。
+ */
+public final class SourcePositionIndex {
+
+    private static final JsonFactory YAML_FACTORY = new YAMLFactory();
+
+    private final Map<String, SourceRange> ranges;
+    private final Map<String, List<String>> keys;
+
+    private SourcePositionIndex(Map<String, SourceRange> ranges, Map<String, List<String>> keys) {
+        this.ranges = ranges;
+        this.keys = keys;
+    }
+
+    /**
+     * 读取 YAML（JSON 是 YAML 的子集）源文本构建索引
+     */
+    public static SourcePositionIndex of(String content) throws IOException {
+        Map<String, SourceRange> ranges = new HashMap<>();
+        Map<String, List<String>> keys = new HashMap<>();
+        try (JsonParser parser = YAML_FACTORY.createParser(content)) {
+            Deque<Frame> stack = new ArrayDeque<>();
+            JsonLocation lastEnd = null;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                Frame frame = stack.peek();
+                if (token == JsonToken.FIELD_NAME) {
+                    String key = parser.currentName();
+                    frame.pendingPointer = frame.pointer + "/" + escape(key);
+                    frame.pendingStart = parser.currentTokenLocation();
+                    frame.keys.add(key);
+                    continue;
+                }
+                if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                    stack.pop();
+                    JsonLocation end = lastEnd == null ? parser.currentLocation() : lastEnd;
+                    ranges.put(frame.pointer, range(frame.start, end));
+                    if (token == JsonToken.END_OBJECT) {
+                        keys.put(frame.pointer, List.copyOf(frame.keys));
+                    }
+                    continue;
+                }
+
+                String pointer;
+                JsonLocation start;
+                if (frame == null) {
+                    pointer = "";
+                    start = parser.currentTokenLocation();
+                } else if (frame.array) {
+                    pointer = frame.pointer + "/" + frame.nextIndex++;
+                    start = parser.currentTokenLocation();
+                } else {
+                    pointer = frame.pendingPointer;
+                    start = frame.pendingStart;
+                }
+
+                if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                    stack.push(new Frame(pointer, start, token == JsonToken.START_ARRAY));
+                } else {
+                    lastEnd = parser.currentLocation();
+                    ranges.put(pointer, range(start, lastEnd));
+                }
+            }
+        }
+        return new SourcePositionIndex(ranges, keys);
+    }
+
+    /**
+     * 按 JSON Pointer 查找位置，不存在时返回 null
+     */
+    public SourceRange get(String pointer) {
+        return ranges.get(pointer);
+    }
+
+    /**
+     * 按路径分段查找位置，分段按 JSON Pointer 规则转义（{@code ~} → {@code ~0}，{@code /} → {@code ~1}）
+     */
+    public SourceRange find(String... segments) {
+        return ranges.get(pointer(segments));
+    }
+
+    /**
+     * 对象节点的 key（源文本顺序），节点不存在或不是对象时返回空列表
+     */
+    public List<String> keys(String pointer) {
+        return keys.getOrDefault(pointer, List.of());
+    }
+
+    /**
+     * 已记录位置的节点数
+     */
+    public int size() {
+        return ranges.size();
+    }
+
+    /**
+     * 由路径分段拼接 JSON Pointer
+     */
+    public static String pointer(String... segments) {
+        StringBuilder sb = new StringBuilder();
+        for (String segment : segments) {
+            sb.append('/').append(escape(segment));
+        }
+        return sb.toString();
+    }
+
+    private static String escape(String segment) {
+        if (segment.indexOf('~') < 0 && segment.indexOf('/') < 0) {
+            return segment;
+        }
+        return segment.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static SourceRange range(JsonLocation start, JsonLocation end) {
+        return new SourceRange(start.getLineNr(), start.getColumnNr(), end.getLineNr(), end.getColumnNr());
+    }
+
+    /**
+     * 源文本范围，行列从 1 开始
+     */
+    public record SourceRange(int startLine, int startColumn, int endLine, int endColumn) {
+    }
+
+    private static final class Frame {
+        private final String pointer;
+        private final JsonLocation start;
+        private final boolean array;
+        private final List<String> keys = new ArrayList<>();
+        private int nextIndex;
+        private String pendingPointer;
+        private JsonLocation pendingStart;
+
+        private Frame(String pointer, JsonLocation start, boolean array) {
+            this.pointer = pointer;
+            this.start = start;
+            this.array = array;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.apicgen.parser;
+
+import com.apicgen.converter.SwaggerConverter;
+import com.apicgen.model.Api;
+import com.apicgen.model.ApiDefinition;
+import com.apicgen.util.SpecMappers;
+import com.apicgen.util.YamlLimits;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * 实验性的分片并行解析：按缩进预扫描原始文本，把顶层 {@code paths:}（Swagger/OpenAPI）或 {@code apis:}（自定义格式）
+ * 切成若干可独立解析的片段并发解析，其余顶层节点（components、definitions 等）单独解析一次，再按原顺序合并。
+ * <p>
+ * 切分只在块风格 YAML 上进行。以下情况返回 null，由调用方退回顺序解析：
+ * JSON 或流风格的分段、锚点/别名（可能跨片段）、指令与多文档标记、tab 缩进、复杂 key、
+ * 分段子项缩进不一致，以及任一片段解析失败（顺序解析会给出带正确行号的错误）。
+ */
+final class SplitYamlParser {
+
+    private static final Logger LOGGER = Logger.getLogger(SplitYamlParser.class.getName());
+
+    /**
+     * 每个线程分到的片段数，片段略多于线程数以平衡各片段大小差异
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * 可能的锚点（{@code &name}）或别名（{@code *name}）；引号内的误判只会导致退回顺序解析
+     */
+    private static final Pattern ANCHOR_OR_ALIAS = Pattern.compile("(^|[\\s\\[{,])[&*][^\\s,\\[\\]{}]");
+
+    private SplitYamlParser() {
+    }
+
+    /**
+     * 分片并行解析 Swagger/OpenAPI 文档，切分失败时返回 null
+     *
+     * @param documentPath 文档所在路径，外部文件引用相对于它解析
+     */
+    static ApiDefinition parseSwagger(String content, Path documentPath, SwaggerConverter converter, ParserOptions options) {
+        Split split = split(content, "paths", options.getParallelism());
+        if (split == null) {
+            return null;
+        }
+        YamlLimits limits = options.getLimits();
+        List<JsonNode> trees = parseAll(split, options.getParallelism(), text -> readTree(text, limits));
+        if (trees == null) {
+            return null;
+        }
+        JsonNode skeleton = trees.get(0);
+        if (!(skeleton instanceof ObjectNode root)) {
+            return null;
+        }
+        ObjectNode paths = root.objectNode();
+        for (JsonNode chunk : trees.subList(1, trees.size())) {
+            if (!(chunk.get("paths") instanceof ObjectNode chunkPaths)) {
+                return null;
+            }
+            paths.setAll(chunkPaths);
+        }
+        root.set("paths", paths);
+        return converter.convert(root, documentPath);
+    }
+
+    /**
+     * 分片并行解析自定义格式文档，切分失败时返回 null
+     */
+    static ApiDefinition parseCustom(String content, ParserOptions options) {
+        Split split = split(content, "apis", options.getParallelism());
+        if (split == null) {
+            return null;
+        }
+        YamlLimits limits = options.getLimits();
+        List<ApiDefinition> parts = parseAll(split, options.getParallelism(), text -> readDefinition(text, limits));
+        if (parts == null || parts.stream().anyMatch(part -> part == null || part.getApis() == null)) {
+            return null;
+        }
+        ApiDefinition apiDefinition = parts.get(0);
+        List<Api> apis = new ArrayList<>();
+        for (ApiDefinition part : parts.subList(1, parts.size())) {
+            apis.addAll(part.getApis());
+        }
+        apiDefinition.setApis(apis);
+        return apiDefinition;
+    }
+
+    /**
+     * 在独立的 ForkJoinPool 中并行解析骨架与各片段，结果顺序与输入一致（骨架在首位）；任一片段失败时返回 null
+     */
+    private static <T> List<T> parseAll(Split split, int parallelism, Function<String, T> parser) {
+        List<String> texts = new ArrayList<>(split.chunks().size() + 1);
+        texts.add(split.skeleton());
+        texts.addAll(split.chunks());
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> texts.parallelStream().map(parser).toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("YAML 分片解析被中断", e);
+        } catch (ExecutionException e) {
+            LOGGER.info("分片解析失败，退回顺序解析: " + e.getCause().getMessage());
+            return null;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static JsonNode readTree(String text, YamlLimits limits) {
+        try {
+            return SpecMappers.readTree(text, limits);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ApiDefinition readDefinition(String text, YamlLimits limits) {
+        try {
+            return SpecMappers.readValue(text, ApiDefinition.class, limits);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 按缩进切分指定的顶层分段，无法安全切分时返回 null
+     *
+     * @param section 顶层 key（paths 或 apis）
+     */
+    static Split split(String content, String section, int parallelism) {
+        if (parallelism <= 1 || SpecMappers.isJson(content)) {
+            return null;
+        }
+        String[] lines = (content.startsWith("\uFEFF") ? content.substring(1) : content).split("\n", -1);
+        boolean sequence = "apis".equals(section);
+
+        int header = -1;
+        int end = lines.length;
+        int childIndent = -1;
+        boolean seenContent = false;
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < lines.length; i++) {
+            String line = stripCarriageReturn(lines[i]);
+            if (line.startsWith("%") || line.startsWith("...") || line.startsWith("\t")
+                || ANCHOR_OR_ALIAS.matcher(line).find()) {
+                return null;
+            }
+            if (isBlankOrComment(line)) {
+                continue;
+            }
+            if (line.startsWith("---")) {
+                if (seenContent) {
+                    return null;
+                }
+                continue;
+            }
+            seenContent = true;
+            int indent = indentOf(line);
+            boolean inSection = header >= 0 && end == lines.length;
+            if (inSection && (indent > 0 || sequence && isSequenceItem(line))) {
+                if (childIndent < 0) {
+                    childIndent = indent;
+                }
+                if (indent < childIndent) {
+                    return null;
+                }
+                if (indent == childIndent) {
+                    String item = line.substring(indent);
+                    if (item.startsWith("?") || sequence != isSequenceItem(item)) {
+                        return null;
+                    }
+                    items.add(i);
+                }
+                continue;
+            }
+            if (inSection) {
+                end = i;
+            }
+            if (indent == 0 && isKey(line, section)) {
+                if (header >= 0 || !isBlockHeader(line)) {
+                    // 重复的分段或流风格（如 paths: {}）
+                    return null;
+                }
+                header = i;
+            }
+        }
+        if (header < 0 || items.size() < 2) {
+            return null;
+        }
+        return new Split(skeleton(lines, header, end, section, sequence), chunks(lines, header, items, end, parallelism));
+    }
+
+    /**
+     * 分段以外的内容，分段本身替换为空集合以保留其余顶层节点的校验
+     */
+    private static String skeleton(String[] lines, int header, int end, String section, boolean sequence) {
+        StringBuilder skeleton = new StringBuilder();
+        appendLines(skeleton, lines, 0, header);
+        skeleton.append(section).append(sequence ? ": []\n" : ": {}\n");
+        appendLines(skeleton, lines, end, lines.length);
+        return skeleton.toString();
+    }
+
+    /**
+     * 按行数把子项分组成大致均匀的片段，每个片段都带上分段 key 以便独立解析
+     */
+    private static List<String> chunks(String[] lines, int header, List<Integer> items, int end, int parallelism) {
+        int chunkCount = Math.min(items.size(), parallelism * CHUNKS_PER_THREAD);
+        int target = Math.max(1, (end - items.get(0)) / chunkCount);
+        String headerLine = stripCarriageReturn(lines[header]) + "\n";
+        List<String> chunks = new ArrayList<>(chunkCount);
+        int start = items.get(0);
+        for (int k = 1; k <= items.size(); k++) {
+            int next = k < items.size() ? items.get(k) : end;
+            if (next - start >= target || k == items.size()) {
+                StringBuilder chunk = new StringBuilder(headerLine);
+                appendLines(chunk, lines, start, next);
+                chunks.add(chunk.toString());
+                start = next;
+            }
+        }
+        return chunks;
+    }
+
+    private static void appendLines(StringBuilder target, String[] lines, int from, int to) {
+        for (int i = from; i < to; i++) {
+            target.append(lines[i]).append('\n');
+        }
+    }
+
+    private static String stripCarriageReturn(String line) {
+        return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+    }
+
+    private static boolean isBlankOrComment(String line) {
+        String trimmed = line.strip();
+        return trimmed.isEmpty() || trimmed.startsWith("#");
+    }
+
+    private static int indentOf(String line) {
+        int indent = 0;
+        while (indent < line.length() && line.charAt(indent) == ' ') {
+            indent++;
+        }
+        return indent;
+    }
+
+    private static boolean isSequenceItem(String line) {
+        return line.equals("-") || line.startsWith("- ");
+    }
+
+    private static boolean isKey(String line, String key) {
+        for (String candidate : List.of(key, "\"" + key + "\"", "'" + key + "'")) {
+            if (line.startsWith(candidate) && line.substring(candidate.length()).stripLeading().startsWith(":")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 分段 key 之后没有内联值（只允许注释），子项在后续行以块风格给出
+     */
+    private static boolean isBlockHeader(String line) {
+        String rest = line.substring(line.indexOf(':') + 1).strip();
+        return rest.isEmpty() || rest.startsWith("#");
+    }
+
+    /**
+     * 切分结果：骨架（分段以外的内容）与按原顺序排列的片段
+     */
+    record Split(String skeleton, List<String> chunks) {
+    }
+}
@@ -1,46 +1,133 @@
 package com.apicgen.parser;
 
 import com.apicgen.converter.SwaggerConverter;
+import com.apicgen.model.Api;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.apicgen.model.ApiDefinition;
+import com.apicgen.model.ClassDefinition;
+import com.apicgen.model.FieldDefinition;
+import com.apicgen.util.SpecMappers;
+import com.apicgen.util.YamlLimits;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 /**
  * YAML 解析器 - 支持自定义格式和 Swagger/OpenAPI
+ * <p>
+ * JSON 内容（首个非空白字符为 <code>{</code> 或 <code>[</code>）使用 JSON 解析器读取，见 {@link SpecMappers}。
  */
 public class YamlParser {
 
     private static final Logger LOGGER = Logger.getLogger(YamlParser.class.getName());
-    private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
+
+    /**
+     * 解析器版本，解析结果的结构或语义发生变化时递增（用于解析结果缓存的 key）
+     */
+    public static final String PARSER_VERSION = "2";
+
+    /**
+     * 格式嗅探时最多检查的顶层 key 数量
+     */
+    private static final int SNIFF_KEY_LIMIT = 8;
+
+    /**
+     * 源文件格式
+     */
+    enum SourceFormat {
+        CUSTOM,
+        SWAGGER,
+        UNKNOWN
+    }
 
     /**
      * 解析 YAML 文件 - 自动检测格式
      */
     public static ApiDefinition parse(File yamlFile) throws IOException {
+        return parse(yamlFile, ParserOptions.defaults());
+    }
+
+    /**
+     * 解析 YAML 文件 - 自动检测格式，使用指定的解析选项
+     */
+    public static ApiDefinition parse(File yamlFile, ParserOptions options) throws IOException {
         if (yamlFile == null) {
             throw new IllegalArgumentException("YAML file cannot be null");
         }
+        if (options.isSnapshot()) {
+            return parseWithSnapshot(yamlFile, options);
+        }
+        return parseFile(yamlFile, options, new ArrayList<>());
+    }
+
+    /**
+     * 优先读取有效的二进制快照，未命中时解析 YAML 并写入快照；快照读写失败不影响解析结果
+     * <p>
+     * 文档长度在计算 key 之前检查；其余上限由 key 保证：快照只在与写入时相同的上限下复用
+     */
+    private static ApiDefinition parseWithSnapshot(File yamlFile, ParserOptions options) throws IOException {
+        Path source = yamlFile.toPath();
+        long size = Files.size(source);
+        options.getLimits().check(YamlLimits.Limit.DOCUMENT_LENGTH, size, 0);
+        FileTime modified = Files.getLastModifiedTime(source);
+        String key = ApiSnapshot.key(source, options);
+        Path snapshot = ApiSnapshot.locate(yamlFile, options.getSnapshotDirectory());
+        ApiDefinition cached = ApiSnapshot.read(snapshot, key);
+        if (cached != null) {
+            LOGGER.info("使用解析快照: " + snapshot + "，共 " + cached.getApis().size() + " 个 API");
+            return cached;
+        }
+
+        List<Path> dependencies = new ArrayList<>();
+        ApiDefinition apiDefinition = parseFile(yamlFile, options, dependencies);
+        // 解析期间源文件被修改时不写快照，避免内容与 key 不一致
+        if (size == Files.size(source) && modified.equals(Files.getLastModifiedTime(source))) {
+            try {
+                ApiSnapshot.write(snapshot, key, dependencies, apiDefinition);
+            } catch (IOException e) {
+                LOGGER.warning("写入解析快照失败: " + snapshot + ": " + e.getMessage());
+            }
+        }
+        return apiDefinition;
+    }
 
+    /**
+     * @param dependencies 收集解析过程中读取的其他文件（Swagger 外部 $ref）
+     */
+    private static ApiDefinition parseFile(File yamlFile, ParserOptions options, List<Path> dependencies) throws IOException {
         LOGGER.info("解析 YAML 文件: " + yamlFile.getAbsolutePath());
+        YamlLimits limits = options.getLimits();
+        limits.check(YamlLimits.Limit.DOCUMENT_LENGTH, Files.size(yamlFile.toPath()), 0);
         try {
-            // 读取内容检测格式
-            String content = Files.readString(yamlFile.toPath());
+            if (options.isSplitParse() && options.getParallelism() > 1) {
+                ApiDefinition apiDefinition = parseSplit(yamlFile, options, dependencies);
+                if (apiDefinition != null) {
+                    return apiDefinition;
+                }
+                LOGGER.info("无法安全切分，退回顺序解析");
+            }
 
             // 检测是否是 Swagger/OpenAPI 格式
-            if (isSwaggerFormat(content)) {
+            if (isSwaggerFile(yamlFile)) {
                 LOGGER.info("检测到 Swagger/OpenAPI 格式，自动转换...");
-                SwaggerConverter converter = new SwaggerConverter();
-                return converter.parse(content);
+                SwaggerConverter converter = newSwaggerConverter(options);
+                ApiDefinition apiDefinition = converter.parse(yamlFile);
+                dependencies.addAll(converter.getExternalDocuments());
+                return apiDefinition;
             }
 
             // 使用自定义格式解析
-            ApiDefinition apiDefinition = YAML_MAPPER.readValue(yamlFile, ApiDefinition.class);
+            ApiDefinition apiDefinition = SpecMappers.readValue(yamlFile, ApiDefinition.class, limits);
 
             // Validate the parsed result
             if (apiDefinition == null) {
@@ -49,6 +136,7 @@ public class YamlParser {
             if (apiDefinition.getApis() == null) {
                 throw new IOException("Failed to parse YAML: apis field is null");
             }
+            checkLimits(apiDefinition, limits);
 
             LOGGER.info("解析成功，共 " + apiDefinition.getApis().size() + " 个 API");
             return apiDefinition;
@@ -58,25 +146,55 @@ public class YamlParser {
         }
     }
 
+    /**
+     * 分片并行解析，无法安全切分时返回 null
+     */
+    private static ApiDefinition parseSplit(File yamlFile, ParserOptions options, List<Path> dependencies) throws IOException {
+        String content = Files.readString(yamlFile.toPath());
+        if (isSwaggerContent(content)) {
+            LOGGER.info("检测到 Swagger/OpenAPI 格式，分片并行解析...");
+            SwaggerConverter converter = newSwaggerConverter(options);
+            ApiDefinition apiDefinition = SplitYamlParser.parseSwagger(content, yamlFile.toPath(), converter, options);
+            if (apiDefinition != null) {
+                dependencies.addAll(converter.getExternalDocuments());
+            }
+            return apiDefinition;
+        }
+        ApiDefinition apiDefinition = SplitYamlParser.parseCustom(content, options);
+        if (apiDefinition != null) {
+            checkLimits(apiDefinition, options.getLimits());
+            LOGGER.info("分片并行解析成功，共 " + apiDefinition.getApis().size() + " 个 API");
+        }
+        return apiDefinition;
+    }
+
     /**
      * 解析 YAML 字符串 - 自动检测格式
      */
     public static ApiDefinition parse(String yamlContent) throws IOException {
+        return parse(yamlContent, ParserOptions.defaults());
+    }
+
+    /**
+     * 解析 YAML 字符串 - 自动检测格式，使用指定的解析选项
+     */
+    public static ApiDefinition parse(String yamlContent, ParserOptions options) throws IOException {
         if (yamlContent == null || yamlContent.isBlank()) {
             throw new IllegalArgumentException("YAML content cannot be null or empty");
         }
 
         LOGGER.info("解析 YAML 内容");
+        YamlLimits limits = options.getLimits();
+        limits.check(YamlLimits.Limit.DOCUMENT_LENGTH, yamlContent.length(), 0);
 
         // 检测是否是 Swagger/OpenAPI 格式
-        if (isSwaggerFormat(yamlContent)) {
+        if (isSwaggerContent(yamlContent)) {
             LOGGER.info("检测到 Swagger/OpenAPI 格式，自动转换...");
-            SwaggerConverter converter = new SwaggerConverter();
-            return converter.parse(yamlContent);
+            return newSwaggerConverter(options).parse(yamlContent);
         }
 
         try {
-            ApiDefinition apiDefinition = YAML_MAPPER.readValue(yamlContent, ApiDefinition.class);
+            ApiDefinition apiDefinition = SpecMappers.readValue(yamlContent, ApiDefinition.class, limits);
 
             // Validate the parsed result
             if (apiDefinition == null) {
@@ -85,6 +203,7 @@ public class YamlParser {
             if (apiDefinition.getApis() == null) {
                 throw new IOException("Failed to parse YAML: apis field is null");
             }
+            checkLimits(apiDefinition, limits);
 
             LOGGER.info("解析成功，共 " + apiDefinition.getApis().size() + " 个 API");
             return apiDefinition;
@@ -94,7 +213,150 @@ public class YamlParser {
     }
 
     /**
-     * 检测是否是 Swagger/OpenAPI 格式
+     * 以流方式逐个读取 API，调用方负责关闭返回的迭代器
+     * <p>
+     * 自定义格式只在内存中保留当前元素；Swagger/OpenAPI 格式由 {@link SwaggerConverter#openStream(File)} 两遍流式读取，
+     * 先索引 paths 以外的顶层节点（schema 定义等），再逐个路径转换，不构建整份文档的树。
+     */
+    public static ApiStreamReader iterate(File yamlFile) throws IOException {
+        return iterate(yamlFile, ParserOptions.defaults());
+    }
+
+    /**
+     * 以流方式逐个读取 API，使用指定的解析选项
+     */
+    public static ApiStreamReader iterate(File yamlFile, ParserOptions options) throws IOException {
+        if (yamlFile == null) {
+            throw new IllegalArgumentException("YAML file cannot be null");
+        }
+
+        LOGGER.info("流式解析 YAML 文件: " + yamlFile.getAbsolutePath());
+        if (isSwaggerFile(yamlFile)) {
+            LOGGER.info("检测到 Swagger/OpenAPI 格式，自动转换...");
+            return ApiStreamReader.of(newSwaggerConverter(options).openStream(yamlFile));
+        }
+        ObjectMapper mapper = SpecMappers.forFile(yamlFile);
+        JsonParser parser = SpecMappers.createParser(yamlFile, options.getLimits());
+        return ApiStreamReader.forCustomFormat(parser, mapper, yamlFile.getAbsolutePath());
+    }
+
+    /**
+     * 以 Stream 方式逐个读取 API，需在 try-with-resources 中使用以释放文件句柄
+     */
+    public static Stream<Api> stream(File yamlFile) throws IOException {
+        return stream(yamlFile, ParserOptions.defaults());
+    }
+
+    /**
+     * 以 Stream 方式逐个读取 API，使用指定的解析选项（资源上限、类型推断词表等）
+     */
+    public static Stream<Api> stream(File yamlFile, ParserOptions options) throws IOException {
+        return iterate(yamlFile, options).stream();
+    }
+
+    private static SwaggerConverter newSwaggerConverter(ParserOptions options) {
+        SwaggerConverter converter = new SwaggerConverter();
+        converter.setParallelism(options.getParallelism());
+        converter.setTypeInference(options.getTypeInference());
+        converter.setLimits(options.getLimits());
+        return converter;
+    }
+
+    /**
+     * 自定义格式绑定完成后检查 API 数量与各类的字段数（嵌套深度已在读取时检查）
+     */
+    private static void checkLimits(ApiDefinition apiDefinition, YamlLimits limits) {
+        limits.check(YamlLimits.Limit.OPERATIONS, apiDefinition.getApis().size(), 0);
+        for (Api api : apiDefinition.getApis()) {
+            if (api != null) {
+                checkFieldLimits(api.getRequest(), limits);
+                checkFieldLimits(api.getResponse(), limits);
+            }
+        }
+    }
+
+    private static void checkFieldLimits(ClassDefinition classDefinition, YamlLimits limits) {
+        if (classDefinition != null) {
+            checkFieldLimits(classDefinition.getFields(), limits);
+        }
+    }
+
+    private static void checkFieldLimits(List<FieldDefinition> fields, YamlLimits limits) {
+        if (fields == null) {
+            return;
+        }
+        limits.check(YamlLimits.Limit.FIELDS_PER_CLASS, fields.size(), 0);
+        for (FieldDefinition field : fields) {
+            if (field != null) {
+                checkFieldLimits(field.getFields(), limits);
+            }
+        }
+    }
+
+    /**
+     * 检测文件是否是 Swagger/OpenAPI 格式，优先按顶层 key 嗅探，无法判断时回退到全文检测
+     */
+    private static boolean isSwaggerFile(File yamlFile) throws IOException {
+        SourceFormat format;
+        try (JsonParser parser = SpecMappers.factoryFor(yamlFile).createParser(yamlFile)) {
+            format = sniffFormat(parser);
+        } catch (IOException e) {
+            format = SourceFormat.UNKNOWN;
+        }
+        if (format != SourceFormat.UNKNOWN) {
+            return format == SourceFormat.SWAGGER;
+        }
+        return isSwaggerFormat(Files.readString(yamlFile.toPath()));
+    }
+
+    /**
+     * 检测字符串是否是 Swagger/OpenAPI 格式
+     */
+    private static boolean isSwaggerContent(String content) {
+        SourceFormat format;
+        try (JsonParser parser = SpecMappers.factoryFor(content).createParser(content)) {
+            format = sniffFormat(parser);
+        } catch (IOException e) {
+            format = SourceFormat.UNKNOWN;
+        }
+        if (format != SourceFormat.UNKNOWN) {
+            return format == SourceFormat.SWAGGER;
+        }
+        return isSwaggerFormat(content);
+    }
+
+    /**
+     * 根据前几个顶层 key 判断格式，只消费 token，不构建树
+     */
+    static SourceFormat sniffFormat(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return SourceFormat.UNKNOWN;
+        }
+        boolean hasInfo = false;
+        boolean hasPaths = false;
+        int inspected = 0;
+        while (inspected < SNIFF_KEY_LIMIT && parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.currentName();
+            if ("swagger".equalsIgnoreCase(key) || "openapi".equalsIgnoreCase(key)) {
+                return SourceFormat.SWAGGER;
+            }
+            if ("apis".equals(key)) {
+                return SourceFormat.CUSTOM;
+            }
+            hasInfo |= "info".equalsIgnoreCase(key);
+            hasPaths |= "paths".equalsIgnoreCase(key);
+            if (hasInfo && hasPaths) {
+                return SourceFormat.SWAGGER;
+            }
+            parser.nextToken();
+            parser.skipChildren();
+            inspected++;
+        }
+        return SourceFormat.UNKNOWN;
+    }
+
+    /**
+     * 检测是否是 Swagger/OpenAPI 格式（全文检测）
      */
     private static boolean isSwaggerFormat(String content) {
         if (content == null) {
@@ -111,7 +373,7 @@ public class YamlParser {
     /**
      * 解析 InvalidFormatException，生成友好的错误信息
      */
-    private static String parseInvalidFormatException(InvalidFormatException e, String filePath) {
+    static String parseInvalidFormatException(InvalidFormatException e, String filePath) {
         StringBuilder sb = new StringBuilder();
         sb.append("YAML 格式错误\n\n");
         sb.append("文件: ").append(filePath).append("\n");
@@ -0,0 +1,306 @@
+package com.apicgen.util;
+
+import lombok.Data;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 根据字段名推断类型（无显式 type/schema 时使用）
+ * <p>
+ * 单次遍历字段名得到规范化名称（小写、去掉 {@code _}/{@code -}）及首尾驼峰/下划线分词，
+ * 依次查找：路径参数专用词表 → 完整名称词表 → 名称开头表 → 首个分词前缀表 → 末尾分词后缀表，均未命中时为 String。
+ * <p>
+ * 内置词表与早期 SwaggerConverter 的正则链推断结果一致（转换结果决定生成的方法签名）：{@code id} 在路径参数中为 Long、
+ * 其余为 Integer，{@code userId} 等不推断；{@code is}/{@code has} 等按名称开头匹配，{@code issue} 也视为 Boolean。
+ * 按分词的前缀/后缀规则（{@code xxxId}、{@code xxxTime}、{@code xxxCount} 等）是可选词典 {@code docs/type-dictionary-tokens.yaml}，
+ * 需要时通过 {@code -type-dictionary} / {@code typeDictionary} 启用。
+ * 实例不可变，可在多线程间共享；用户词典通过 {@link #load(File)} 或 {@link #with(Dictionary)} 合并到默认词表之上。
+ */
+public final class FieldTypeInference {
+
+    /**
+     * 推断失败时的默认类型
+     */
+    public static final String DEFAULT_TYPE = "String";
+
+    private static final FieldTypeInference DEFAULTS = new FieldTypeInference(defaultDictionary());
+
+    private final Map<String, String> pathNames;
+    private final Map<String, String> names;
+    private final Map<String, String> startsWith;
+    private final Map<String, String> prefixes;
+    private final Map<String, String> suffixes;
+    private final Set<String> ambiguous;
+
+    private FieldTypeInference(Dictionary dictionary) {
+        this.pathNames = normalizeKeys(dictionary.getPathNames());
+        this.names = normalizeKeys(dictionary.getNames());
+        this.startsWith = normalizeKeys(dictionary.getStartsWith());
+        this.prefixes = normalizeKeys(dictionary.getPrefixes());
+        this.suffixes = normalizeKeys(dictionary.getSuffixes());
+        Set<String> ambiguousNames = new HashSet<>();
+        if (dictionary.getAmbiguous() != null) {
+            for (String name : dictionary.getAmbiguous()) {
+                ambiguousNames.add(normalize(name));
+            }
+        }
+        this.ambiguous = Set.copyOf(ambiguousNames);
+    }
+
+    /**
+     * 内置词表
+     */
+    public static FieldTypeInference defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * 从 YAML / JSON 文件加载用户词典，与内置词表合并（同名条目以用户词典为准）
+     */
+    public static FieldTypeInference load(File dictionaryFile) throws IOException {
+        Dictionary dictionary = SpecMappers.readValue(dictionaryFile, Dictionary.class);
+        if (dictionary == null) {
+            throw new IOException("类型推断词典为空: " + dictionaryFile.getAbsolutePath());
+        }
+        return DEFAULTS.with(dictionary);
+    }
+
+    /**
+     * 在当前词表之上合并词典，返回新实例；词典中值为空的条目删除当前词表中的同名条目
+     */
+    public FieldTypeInference with(Dictionary overrides) {
+        Dictionary merged = new Dictionary();
+        merged.setPathNames(merge(pathNames, overrides.getPathNames()));
+        merged.setNames(merge(names, overrides.getNames()));
+        merged.setStartsWith(merge(startsWith, overrides.getStartsWith()));
+        merged.setPrefixes(merge(prefixes, overrides.getPrefixes()));
+        merged.setSuffixes(merge(suffixes, overrides.getSuffixes()));
+        Set<String> mergedAmbiguous = new HashSet<>(ambiguous);
+        if (overrides.getAmbiguous() != null) {
+            mergedAmbiguous.addAll(overrides.getAmbiguous());
+        }
+        merged.setAmbiguous(List.copyOf(mergedAmbiguous));
+        return new FieldTypeInference(merged);
+    }
+
+    /**
+     * 推断字段类型
+     */
+    public String infer(String fieldName) {
+        return infer(fieldName, null);
+    }
+
+    /**
+     * 推断字段类型
+     *
+     * @param paramIn 参数位置（path/query/...），路径参数优先使用路径参数词表
+     */
+    public String infer(String fieldName, String paramIn) {
+        if (fieldName == null || fieldName.isBlank()) {
+            return DEFAULT_TYPE;
+        }
+        Tokens tokens = tokenize(fieldName);
+
+        String type = null;
+        if ("path".equals(paramIn)) {
+            type = pathNames.get(tokens.normalized());
+        }
+        if (type == null) {
+            type = names.get(tokens.normalized());
+        }
+        if (type == null) {
+            type = matchStartsWith(tokens.normalized());
+        }
+        if (type == null) {
+            type = prefixes.get(tokens.first());
+        }
+        if (type == null && tokens.count() > 1) {
+            type = suffixes.get(tokens.last());
+        }
+        return type == null ? DEFAULT_TYPE : type;
+    }
+
+    /**
+     * 名称开头匹配：开头之后为结尾或英文字母（不要求分词边界），多个开头匹配时取最长的
+     */
+    private String matchStartsWith(String normalized) {
+        String type = null;
+        int matched = 0;
+        for (Map.Entry<String, String> entry : startsWith.entrySet()) {
+            String head = entry.getKey();
+            if (head.length() > matched && normalized.startsWith(head)
+                    && (normalized.length() == head.length() || isAsciiLetter(normalized.charAt(head.length())))) {
+                type = entry.getValue();
+                matched = head.length();
+            }
+        }
+        return type;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    /**
+     * 是否是含义模糊、无法可靠推断类型的字段名（如 data、value）
+     */
+    public boolean isAmbiguous(String fieldName) {
+        return fieldName != null && ambiguous.contains(normalize(fieldName));
+    }
+
+    /**
+     * 词表内容的规范化描述，词表相同的实例返回相同的值（用于解析结果缓存的 key）
+     */
+    public String fingerprint() {
+        return "pathNames=" + new TreeMap<>(pathNames)
+                + ";names=" + new TreeMap<>(names)
+                + ";startsWith=" + new TreeMap<>(startsWith)
+                + ";prefixes=" + new TreeMap<>(prefixes)
+                + ";suffixes=" + new TreeMap<>(suffixes)
+                + ";ambiguous=" + new TreeSet<>(ambiguous);
+    }
+
+    /**
+     * 单次遍历：规范化名称并记录首尾分词
+     */
+    private static Tokens tokenize(String fieldName) {
+        StringBuilder normalized = new StringBuilder(fieldName.length());
+        int firstEnd = -1;
+        int lastStart = 0;
+        int count = 0;
+        boolean inToken = false;
+        char previous = 0;
+        for (int i = 0; i < fieldName.length(); i++) {
+            char c = fieldName.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                inToken = false;
+                previous = c;
+                continue;
+            }
+            boolean camelBoundary = Character.isUpperCase(c)
+                    && (Character.isLowerCase(previous) || Character.isDigit(previous));
+            if (!inToken || camelBoundary) {
+                if (count == 1 && firstEnd < 0) {
+                    firstEnd = normalized.length();
+                }
+                lastStart = normalized.length();
+                count++;
+                inToken = true;
+            }
+            normalized.append(Character.toLowerCase(c));
+            previous = c;
+        }
+        String value = normalized.toString();
+        String first = firstEnd < 0 ? value : value.substring(0, firstEnd);
+        return new Tokens(value, first, value.substring(lastStart), count);
+    }
+
+    private static String normalize(String name) {
+        return tokenize(name).normalized();
+    }
+
+    private static Map<String, String> normalizeKeys(Map<String, String> source) {
+        Map<String, String> result = new HashMap<>();
+        if (source != null) {
+            source.forEach((key, value) -> result.put(normalize(key), value));
+        }
+        return Map.copyOf(result);
+    }
+
+    private static Map<String, String> merge(Map<String, String> base, Map<String, String> overrides) {
+        Map<String, String> merged = new LinkedHashMap<>(base);
+        if (overrides != null) {
+            overrides.forEach((key, value) -> {
+                if (value == null || value.isBlank()) {
+                    merged.remove(normalize(key));
+                } else {
+                    merged.put(normalize(key), value);
+                }
+            });
+        }
+        return merged;
+    }
+
+    /**
+     * 与早期 SwaggerConverter 正则链一致的内置词表
+     */
+    private static Dictionary defaultDictionary() {
+        Dictionary dictionary = new Dictionary();
+
+        Map<String, String> names = new LinkedHashMap<>();
+        put(names, "Integer", "id");
+        put(names, "String", "name");
+        put(names, "Double", "price", "amount", "total", "fee", "cost");
+        put(names, "Integer", "count", "quantity", "num", "number", "size", "age");
+        put(names, "Double", "score", "rating", "level", "rank");
+        put(names, "String", "email", "mail", "e_mail");
+        put(names, "String", "phone", "mobile", "tel", "telephone");
+        put(names, "LocalDate", "date", "time");
+        put(names, "LocalDateTime", "createdAt", "updatedAt", "deletedAt");
+        put(names, "String", "url", "link", "href", "uri");
+        put(names, "Integer", "page", "pageNum", "pageNo", "pageNumber");
+        put(names, "Integer", "pageSize", "perPage", "limit");
+        put(names, "String", "code", "codeNo", "no");
+        dictionary.setNames(names);
+
+        Map<String, String> pathNames = new LinkedHashMap<>();
+        put(pathNames, "Long", "id");
+        dictionary.setPathNames(pathNames);
+
+        Map<String, String> startsWith = new LinkedHashMap<>();
+        put(startsWith, "Boolean", "is", "has", "can", "should", "enable", "disable");
+        put(startsWith, "Boolean", "active", "visible", "deleted", "enabled", "disabled", "hidden");
+        dictionary.setStartsWith(startsWith);
+
+        dictionary.setAmbiguous(List.of("data", "value", "input", "output", "content", "field", "param", "parameter",
+                "item", "element", "object", "entity", "model", "dto", "vo", "request", "response", "result",
+                "payload", "body", "text", "info", "message"));
+        return dictionary;
+    }
+
+    private static void put(Map<String, String> table, String type, String... keys) {
+        for (String key : keys) {
+            table.put(key, type);
+        }
+    }
+
+    /**
+     * 类型推断词典，对应用户词典 YAML 文件：
+     * <pre>
+     * names:        # 完整字段名
+     *   sku: String
+     * pathNames:    # 仅路径参数
+     *   id: Long
+     * startsWith:   # 名称开头，不要求分词边界，如 isbn 中的 is；值为空（~）删除内置条目
+     *   is: ~
+     * prefixes:     # 首个分词，如 isActive 中的 is
+     *   allow: Boolean
+     * suffixes:     # 末尾分词，如 orderId 中的 id
+     *   ts: LocalDateTime
+     * ambiguous:    # 无法推断类型的字段名
+     *   - payload
+     * </pre>
+     * 字段名不区分大小写，忽略 {@code _} 与 {@code -}。
+     */
+    @Data
+    public static class Dictionary {
+        private Map<String, String> names;
+        private Map<String, String> pathNames;
+        private Map<String, String> startsWith;
+        private Map<String, String> prefixes;
+        private Map<String, String> suffixes;
+        private List<String> ambiguous;
+    }
+
+    private record Tokens(String normalized, String first, String last, int count) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.apicgen.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.dataformat.yaml.YAMLParser;
+
+import java.io.IOException;
+
+/**
+ * 逐个 token 检查嵌套深度与别名引用次数的解析器，超限时在当前位置停止读取
+ * <p>
+ * 构建树或绑定对象都经由 {@link #nextToken()} 读取，因此超限文档不会被完整读入内存。
+ * {@link #skipChildren()} 跳过的内容不做检查（跳过的部分不会被构建）。
+ */
+final class LimitedJsonParser extends JsonParserDelegate {
+
+    private final YamlLimits limits;
+    private int depth;
+    private int aliases;
+
+    LimitedJsonParser(JsonParser delegate, YamlLimits limits) {
+        super(delegate);
+        this.limits = limits;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        JsonToken token = delegate.nextToken();
+        if (token == null) {
+            return null;
+        }
+        if (token.isStructStart()) {
+            limits.check(YamlLimits.Limit.NESTING_DEPTH, ++depth, line());
+        } else if (token.isStructEnd()) {
+            depth--;
+        }
+        if (delegate instanceof YAMLParser yaml && yaml.isCurrentAlias()) {
+            limits.check(YamlLimits.Limit.ALIASES, ++aliases, line());
+        }
+        return token;
+    }
+
+    @Override
+    public JsonToken nextValue() throws IOException {
+        JsonToken token = nextToken();
+        return token == JsonToken.FIELD_NAME ? nextToken() : token;
+    }
+
+    @Override
+    public JsonParser skipChildren() throws IOException {
+        JsonToken token = delegate.currentToken();
+        if (token != null && token.isStructStart()) {
+            delegate.skipChildren();
+            depth--;
+        }
+        return this;
+    }
+
+    private int line() {
+        return delegate.currentTokenLocation().getLineNr();
+    }
+}
@@ -0,0 +1,242 @@
+package com.apicgen.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLParser;
+import org.yaml.snakeyaml.LoaderOptions;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+/**
+ * 规格文件共享的 JSON / YAML ObjectMapper，按内容首个非空白字符选择解析器
+ * <p>
+ * 首个非空白字符（跳过 UTF-8 BOM）为 <code>{</code> 或 <code>[</code> 时按 JSON 解析，否则按 YAML 解析。
+ * JSON 是 YAML 的子集，但 JSON 解析器不经过 SnakeYAML 的事件层，读取同一份规格明显更快。
+ * 以 <code>{</code> 开头的 YAML 流式写法（含注释、未加引号的 key 等）JSON 解析失败时回退到 YAML 解析。
+ * ObjectMapper 配置完成后线程安全，全局共享，不必在每个转换器中重复创建。
+ * 读取方法均经过 {@link YamlLimits} 检查，未指定时使用默认上限。
+ */
+public final class SpecMappers {
+
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    // builder 不会沿用 new YAMLFactory() 默认开启的 EMPTY_STRING_AS_NULL，需显式开启以保持空值语义
+    private static final ObjectMapper YAML_MAPPER = new ObjectMapper(YAMLFactory.builder()
+        .loaderOptions(loaderOptions())
+        .enable(YAMLParser.Feature.EMPTY_STRING_AS_NULL)
+        .build());
+
+    private static final int UTF8_BOM_LENGTH = 3;
+
+    private SpecMappers() {
+    }
+
+    /**
+     * 文档长度由 {@link YamlLimits} 控制，不再受 SnakeYAML 默认 3M 字符上限的约束
+     */
+    private static LoaderOptions loaderOptions() {
+        LoaderOptions options = new LoaderOptions();
+        options.setCodePointLimit(Integer.MAX_VALUE);
+        return options;
+    }
+
+    /**
+     * 共享的 JSON ObjectMapper
+     */
+    public static ObjectMapper json() {
+        return JSON_MAPPER;
+    }
+
+    /**
+     * 共享的 YAML ObjectMapper
+     */
+    public static ObjectMapper yaml() {
+        return YAML_MAPPER;
+    }
+
+    /**
+     * 内容对应的 ObjectMapper
+     */
+    public static ObjectMapper forContent(String content) {
+        return isJson(content) ? JSON_MAPPER : YAML_MAPPER;
+    }
+
+    /**
+     * 文件内容对应的 ObjectMapper，只读取到首个非空白字节
+     */
+    public static ObjectMapper forFile(File file) throws IOException {
+        return isJson(file) ? JSON_MAPPER : YAML_MAPPER;
+    }
+
+    /**
+     * 内容对应的解析器工厂，用于只读取 token 的场景（如格式嗅探）
+     */
+    public static JsonFactory factoryFor(String content) {
+        return forContent(content).getFactory();
+    }
+
+    /**
+     * 文件内容对应的解析器工厂
+     */
+    public static JsonFactory factoryFor(File file) throws IOException {
+        return forFile(file).getFactory();
+    }
+
+    /**
+     * 按内容格式解析为树，使用默认资源上限
+     */
+    public static JsonNode readTree(String content) throws IOException {
+        return readTree(content, YamlLimits.defaults());
+    }
+
+    /**
+     * 按内容格式解析为树，读取过程中检查资源上限
+     */
+    public static JsonNode readTree(String content, YamlLimits limits) throws IOException {
+        limits.check(YamlLimits.Limit.DOCUMENT_LENGTH, content.length(), 0);
+        if (!isJson(content)) {
+            return readTree(YAML_MAPPER, YAML_MAPPER.getFactory().createParser(content), limits);
+        }
+        try {
+            return readTree(JSON_MAPPER, JSON_MAPPER.getFactory().createParser(content), limits);
+        } catch (StreamReadException e) {
+            return readTree(YAML_MAPPER, YAML_MAPPER.getFactory().createParser(content), limits);
+        }
+    }
+
+    /**
+     * 按文件内容格式解析为树，使用默认资源上限
+     */
+    public static JsonNode readTree(File file) throws IOException {
+        return readTree(file, YamlLimits.defaults());
+    }
+
+    /**
+     * 按文件内容格式解析为树，读取过程中检查资源上限
+     */
+    public static JsonNode readTree(File file, YamlLimits limits) throws IOException {
+        limits.check(YamlLimits.Limit.DOCUMENT_LENGTH, Files.size(file.toPath()), 0);
+        if (!isJson(file)) {
+            return readTree(YAML_MAPPER, YAML_MAPPER.getFactory().createParser(file), limits);
+        }
+        try {
+            return readTree(JSON_MAPPER, JSON_MAPPER.getFactory().createParser(file), limits);
+        } catch (StreamReadException e) {
+            return readTree(YAML_MAPPER, YAML_MAPPER.getFactory().createParser(file), limits);
+        }
+    }
+
+    /**
+     * 按内容格式绑定为指定类型，使用默认资源上限
+     */
+    public static <T> T readValue(String content, Class<T> type) throws IOException {
+        return readValue(content, type, YamlLimits.defaults());
+    }
+
+    /**
+     * 按内容格式绑定为指定类型，读取过程中检查资源上限
+     */
+    public static <T> T readValue(String content, Class<T> type, YamlLimits limits) throws IOException {
+        limits.check(YamlLimits.Limit.DOCUMENT_LENGTH, content.length(), 0);
+        if (!isJson(content)) {
+            return readValue(YAML_MAPPER, YAML_MAPPER.getFactory().createParser(content), type, limits);
+        }
+        try {
+            return readValue(JSON_MAPPER, JSON_MAPPER.getFactory().createParser(content), type, limits);
+        } catch (StreamReadException e) {
+            return readValue(YAML_MAPPER, YAML_MAPPER.getFactory().createParser(content), type, limits);
+        }
+    }
+
+    /**
+     * 按文件内容格式绑定为指定类型，使用默认资源上限
+     */
+    public static <T> T readValue(File file, Class<T> type) throws IOException {
+        return readValue(file, type, YamlLimits.defaults());
+    }
+
+    /**
+     * 按文件内容格式绑定为指定类型，读取过程中检查资源上限
+     */
+    public static <T> T readValue(File file, Class<T> type, YamlLimits limits) throws IOException {
+        limits.check(YamlLimits.Limit.DOCUMENT_LENGTH, Files.size(file.toPath()), 0);
+        if (!isJson(file)) {
+            return readValue(YAML_MAPPER, YAML_MAPPER.getFactory().createParser(file), type, limits);
+        }
+        try {
+            return readValue(JSON_MAPPER, JSON_MAPPER.getFactory().createParser(file), type, limits);
+        } catch (StreamReadException e) {
+            return readValue(YAML_MAPPER, YAML_MAPPER.getFactory().createParser(file), type, limits);
+        }
+    }
+
+    /**
+     * 按文件内容格式创建逐个 token 检查资源上限的解析器，调用方负责关闭
+     */
+    public static JsonParser createParser(File file, YamlLimits limits) throws IOException {
+        limits.check(YamlLimits.Limit.DOCUMENT_LENGTH, Files.size(file.toPath()), 0);
+        return new LimitedJsonParser(factoryFor(file).createParser(file), limits);
+    }
+
+    private static JsonNode readTree(ObjectMapper mapper, JsonParser parser, YamlLimits limits) throws IOException {
+        try (JsonParser limited = new LimitedJsonParser(parser, limits)) {
+            JsonNode root = mapper.readTree(limited);
+            return root == null ? MissingNode.getInstance() : root;
+        }
+    }
+
+    private static <T> T readValue(ObjectMapper mapper, JsonParser parser, Class<T> type, YamlLimits limits) throws IOException {
+        try (JsonParser limited = new LimitedJsonParser(parser, limits)) {
+            return mapper.readValue(limited, type);
+        } catch (JsonMappingException e) {
+            // 绑定过程中抛出的运行时异常会被包装，超限异常需原样抛出
+            if (e.getCause() instanceof YamlLimitException limitException) {
+                throw limitException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 首个非空白字符（跳过 BOM）是否为 <code>{</code> 或 <code>[</code>
+     */
+    public static boolean isJson(CharSequence content) {
+        int length = content.length();
+        int i = length > 0 && content.charAt(0) == '\uFEFF' ? 1 : 0;
+        for (; i < length; i++) {
+            char c = content.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == '{' || c == '[';
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 文件首个非空白字节（跳过 UTF-8 BOM）是否为 <code>{</code> 或 <code>[</code>
+     */
+    public static boolean isJson(File file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+            in.mark(UTF8_BOM_LENGTH);
+            if (in.read() != 0xEF || in.read() != 0xBB || in.read() != 0xBF) {
+                in.reset();
+            }
+            int b;
+            while ((b = in.read()) >= 0) {
+                if (!Character.isWhitespace(b)) {
+                    return b == '{' || b == '[';
+                }
+            }
+            return false;
+        }
+    }
+}
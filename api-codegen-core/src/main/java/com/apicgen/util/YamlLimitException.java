@@ -0,0 +1,54 @@
+package com.apicgen.util;
+
+/**
+ * 文档超出 {@link YamlLimits} 中的资源上限
+ * <p>
+ * 携带规则编码、超限的资源、用量与上限，调用方可直接转换为 DFX 问题而不必解析消息文本。
+ */
+public class YamlLimitException extends RuntimeException {
+
+    /**
+     * 资源超限的规则编码
+     */
+    public static final String RULE_CODE = "DFX-021";
+
+    /**
+     * 资源超限的规则描述
+     */
+    public static final String RULE = RULE_CODE + ": 资源上限 - 文档超出解析限制";
+
+    private final YamlLimits.Limit limit;
+    private final long actual;
+    private final long max;
+    private final int line;
+
+    public YamlLimitException(YamlLimits.Limit limit, long actual, long max, int line) {
+        super(limit.getDescription() + "超出上限 " + max + "（实际 " + actual + "）" + (line > 0 ? "，位置: 第 " + line + " 行" : ""));
+        this.limit = limit;
+        this.actual = actual;
+        this.max = max;
+        this.line = line;
+    }
+
+    public YamlLimits.Limit getLimit() {
+        return limit;
+    }
+
+    /**
+     * 检测到超限时的用量；流式检查在第一次超限时即停止，因此通常为上限加一
+     */
+    public long getActual() {
+        return actual;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * 超限位置所在行（从 1 开始），未知时为 0
+     */
+    public int getLine() {
+        return line;
+    }
+}
@@ -0,0 +1,145 @@
+package com.apicgen.util;
+
+import lombok.Data;
+
+/**
+ * 规格文档的资源上限，防止单个异常文档耗尽内存或栈（常驻的 bridge 进程尤其需要）
+ * <p>
+ * 文档长度在读取前检查，别名数量与嵌套深度在流式读取 token 时检查，超限立即停止读取；
+ * operation 数量、单个类的字段数与 schema 引用的展开深度在 Swagger/OpenAPI 转换时检查。
+ * 超限时抛出 {@link YamlLimitException}。上限小于等于 0 表示不限制。
+ * <p>
+ * {@link #defaults()} 面向常驻 bridge 进程处理的编辑器文档；命令行与 Maven 插件处理的是可信的规格文件（可达数十 MB、上万个
+ * operation），{@code ParserOptions} 默认不限制，需要时通过 {@code -yaml-limits} / {@code yamlLimits} 开启。
+ */
+@Data
+public class YamlLimits {
+
+    /**
+     * 文档长度上限（字符数，读取文件时按字节数计）
+     */
+    private long maxDocumentLength = 16L * 1024 * 1024;
+
+    /**
+     * 别名（{@code *anchor}）引用次数上限
+     */
+    private int maxAliases = 50;
+
+    /**
+     * 嵌套深度上限：文档中对象/数组的嵌套层数，以及转换时 schema 引用链的展开层数
+     */
+    private int maxNestingDepth = 64;
+
+    /**
+     * operation 数量上限
+     */
+    private int maxOperations = 10_000;
+
+    /**
+     * 单个请求/响应类或对象 schema 的字段数上限
+     */
+    private int maxFieldsPerClass = 1_000;
+
+    /**
+     * 默认上限（bridge 使用）
+     */
+    public static YamlLimits defaults() {
+        return new YamlLimits();
+    }
+
+    /**
+     * 不限制任何资源（仅用于可信输入，如基准测试）
+     */
+    public static YamlLimits unlimited() {
+        YamlLimits limits = new YamlLimits();
+        limits.setMaxDocumentLength(0);
+        limits.setMaxAliases(0);
+        limits.setMaxNestingDepth(0);
+        limits.setMaxOperations(0);
+        limits.setMaxFieldsPerClass(0);
+        return limits;
+    }
+
+    /**
+     * 解析命令行形式的上限，如 {@code maxDocumentLength=67108864,maxOperations=20000}；
+     * 未出现的上限保持默认值（{@link #defaults()}），空串返回默认上限
+     *
+     * @throws IllegalArgumentException 上限名未知或数值无效
+     */
+    public static YamlLimits parse(String spec) {
+        YamlLimits limits = defaults();
+        if (spec == null || spec.isBlank()) {
+            return limits;
+        }
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int eq = entry.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("文档资源上限格式应为 名称=值: " + entry.trim());
+            }
+            String name = entry.substring(0, eq).trim();
+            String value = entry.substring(eq + 1).trim();
+            try {
+                switch (name) {
+                    case "maxDocumentLength" -> limits.setMaxDocumentLength(Long.parseLong(value));
+                    case "maxAliases" -> limits.setMaxAliases(Integer.parseInt(value));
+                    case "maxNestingDepth" -> limits.setMaxNestingDepth(Integer.parseInt(value));
+                    case "maxOperations" -> limits.setMaxOperations(Integer.parseInt(value));
+                    case "maxFieldsPerClass" -> limits.setMaxFieldsPerClass(Integer.parseInt(value));
+                    default -> throw new IllegalArgumentException("未知的文档资源上限: " + name);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("文档资源上限 " + name + " 不是有效的整数: " + value);
+            }
+        }
+        return limits;
+    }
+
+    /**
+     * 指定资源的上限
+     */
+    public long max(Limit limit) {
+        return switch (limit) {
+            case DOCUMENT_LENGTH -> maxDocumentLength;
+            case ALIASES -> maxAliases;
+            case NESTING_DEPTH -> maxNestingDepth;
+            case OPERATIONS -> maxOperations;
+            case FIELDS_PER_CLASS -> maxFieldsPerClass;
+        };
+    }
+
+    /**
+     * 检查资源用量，超过上限时抛出 {@link YamlLimitException}
+     *
+     * @param line 超限位置所在行（从 1 开始），未知时为 0
+     */
+    public void check(Limit limit, long actual, int line) {
+        long max = max(limit);
+        if (max > 0 && actual > max) {
+            throw new YamlLimitException(limit, actual, max, line);
+        }
+    }
+
+    /**
+     * 受限制的资源
+     */
+    public enum Limit {
+        DOCUMENT_LENGTH("文档长度"),
+        ALIASES("别名引用次数"),
+        NESTING_DEPTH("嵌套深度"),
+        OPERATIONS("operation 数量"),
+        FIELDS_PER_CLASS("单个类的字段数");
+
+        private final String description;
+
+        Limit(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+}
@@ -7,64 +7,103 @@ import java.util.*;
 
 /**
  * YAML 校验器
+ * <p>
+ * 校验规则注册到 {@link RuleEngine} 执行，可与 {@link ValidationAnalyzer} 的规则共用一次遍历；
+ * 字段与约束规则只检查 request/response 的顶层字段；pattern 的正则安全检查（DFX-022）覆盖全部字段，见 {@link RegexSafetyRules}，
+ * 其中多项式级回溯只作为分析结果报告，不计入校验错误。
  */
 public class ApiValidator {
 
-    // Use ThreadLocal for thread safety
-    private final ThreadLocal<List<ValidationError>> errors = ThreadLocal.withInitial(ArrayList::new);
+    private long regexFuzzMillis;
+
+    public long getRegexFuzzMillis() {
+        return regexFuzzMillis;
+    }
+
+    /**
+     * 大于 0 时对每个 pattern 做限时模糊测试，单次匹配超过该毫秒数即报告 DFX-022；默认 0 只做静态检测
+     */
+    public void setRegexFuzzMillis(long regexFuzzMillis) {
+        this.regexFuzzMillis = regexFuzzMillis;
+    }
 
     /**
      * 校验 API 定义
      */
     public ValidationResult validate(ApiDefinition apiDefinition) {
-        errors.get().clear();
+        return validate(apiDefinition, 1);
+    }
 
+    /**
+     * 校验 API 定义，parallelism 大于 1 时按 API 并行校验，错误顺序与顺序校验一致；
+     * 同名 API 与注解一致性等跨 API 检查在并行之前执行
+     */
+    public ValidationResult validate(ApiDefinition apiDefinition, int parallelism) {
+        RuleEngine engine = register(new RuleEngine());
+        engine.setParallelism(parallelism);
+        return engine.run(apiDefinition).toValidationResult();
+    }
+
+    /**
+     * 把校验规则注册到规则引擎
+     */
+    public RuleEngine register(RuleEngine engine) {
+        engine.onDefinition(this::checkDefinition)
+            .onApi(this::validateApi)
+            .onClass(this::validateClassDefinition)
+            .onField(this::validateField)
+            .onValidation(this::validateConstraints);
+        return new RegexSafetyRules(new RegexSafety(regexFuzzMillis)).register(engine);
+    }
+
+    /**
+     * 原先用于清理线程本地的错误列表，错误现在保存在每次校验的结果中，无需清理
+     */
+    @Deprecated
+    public void cleanup() {
+    }
+
+    /**
+     * 检查 API 定义整体：非空、同名 API 与注解位置一致性
+     */
+    private void checkDefinition(ApiDefinition apiDefinition, RuleContext context) {
         if (apiDefinition == null) {
-            errors.get().add(new ValidationError("api", "API 定义不能为空"));
-            return new ValidationResult(false, errors.get());
+            context.report(new ValidationError("api", "API 定义不能为空"));
+            return;
         }
 
         List<Api> apis = apiDefinition.getApis();
         if (apis == null || apis.isEmpty()) {
-            errors.get().add(new ValidationError("apis", "API 列表不能为空"));
-            return new ValidationResult(false, errors.get());
+            context.report(new ValidationError("apis", "API 列表不能为空"));
+            return;
         }
 
+        ApiIndex index = apiDefinition.index();
+
         // 检查同名 API
-        checkDuplicateApi(apis);
+        checkDuplicateApi(apis, index, context);
 
         // 检查注解位置一致性
-        checkAnnotationConsistency(apis);
-
-        // 校验每个 API
-        for (int i = 0; i < apis.size(); i++) {
-            validateApi(apis.get(i), "apis[" + i + "]");
-        }
-
-        return new ValidationResult(errors.get().isEmpty(), errors.get());
+        checkAnnotationConsistency(index, context);
     }
 
     /**
-     * Clean up ThreadLocal after use
+     * 检查同名 API，与同一 path:method 下的前一个 API 比较
      */
-    public void cleanup() {
-        errors.remove();
-    }
-
-    /**
-     * 检查同名 API
-     */
-    private void checkDuplicateApi(List<Api> apis) {
-        Map<String, Api> apiMap = new HashMap<>();
+    private void checkDuplicateApi(List<Api> apis, ApiIndex index, RuleContext context) {
         for (Api api : apis) {
-            String key = api.getPath() + ":" + api.getMethod();
-            if (apiMap.containsKey(key)) {
-                errors.get().add(new ValidationError(
+            List<Api> group = index.operationGroup(api.getPath(), api.getMethod());
+            int position = 0;
+            while (position < group.size() && group.get(position) != api) {
+                position++;
+            }
+            if (position > 0 && position < group.size()) {
+                String key = ApiIndex.operationKey(api.getPath(), api.getMethod());
+                context.report(new ValidationError(
                     "api." + api.getName(),
-                    "API " + key + " 与 " + apiMap.get(key).getName() + " 重复"
+                    "API " + key + " 与 " + group.get(position - 1).getName() + " 重复"
                 ));
             }
-            apiMap.put(key, api);
         }
     }
 
@@ -72,18 +111,9 @@ public class ApiValidator {
      * 检查注解位置一致性
      * DFX-020: 检查同一路径下的类注解是否一致
      */
-    private void checkAnnotationConsistency(List<Api> apis) {
+    private void checkAnnotationConsistency(ApiIndex index, RuleContext context) {
         // 按路径分组，检查类注解是否一致
-        Map<String, List<Api>> pathApis = new HashMap<>();
-        for (Api api : apis) {
-            String path = api.getPath();
-            if (path != null) {
-                pathApis.computeIfAbsent(path, k -> new ArrayList<>()).add(api);
-            }
-        }
-
-        // 检查每个路径下的类注解一致性
-        for (Map.Entry<String, List<Api>> entry : pathApis.entrySet()) {
+        for (Map.Entry<String, List<Api>> entry : index.pathGroups().entrySet()) {
             List<Api> pathApiList = entry.getValue();
             if (pathApiList.size() > 1) {
                 // 多个API在同一个路径下，检查类注解
@@ -95,7 +125,7 @@ public class ApiValidator {
                     } else if (classAnnotations != null) {
                         // 比较注解是否一致
                         if (!areListsEqual(expectedAnnotations, classAnnotations)) {
-                            errors.get().add(new ValidationError(
+                            context.report(new ValidationError(
                                 "api." + api.getName() + ".classAnnotations",
                                 "DFX-020: 同一路径 " + entry.getKey() + " 下的类注解不一致",
                                 classAnnotations.toString(),
@@ -121,9 +151,10 @@ public class ApiValidator {
     /**
      * 校验单个 API
      */
-    private void validateApi(Api api, String prefix) {
+    private void validateApi(Api api, RuleContext context) {
+        String prefix = context.apiPath();
         if (api.getName() == null || api.getName().isBlank()) {
-            errors.get().add(new ValidationError(
+            context.report(new ValidationError(
                 prefix + ".name",
                 "API 名称不能为空",
                 null,
@@ -132,14 +163,14 @@ public class ApiValidator {
         }
 
         if (api.getPath() == null || api.getPath().isBlank()) {
-            errors.get().add(new ValidationError(
+            context.report(new ValidationError(
                 prefix + ".path",
                 "API 路径不能为空",
                 null,
                 "API 路径是必需的，例如: /api/users"
             ));
         } else if (!api.getPath().startsWith("/")) {
-            errors.get().add(new ValidationError(
+            context.report(new ValidationError(
                 prefix + ".path",
                 "API 路径必须以 / 开头",
                 api.getPath(),
@@ -148,69 +179,65 @@ public class ApiValidator {
         }
 
         if (api.getMethod() == null) {
-            errors.get().add(new ValidationError(
+            context.report(new ValidationError(
                 prefix + ".method",
                 "HTTP 方法不能为空",
                 null,
                 "HTTP 方法必须是以下之一: GET, POST, PUT, DELETE, PATCH"
             ));
         }
-
-        // 校验 Request
-        if (api.getRequest() != null) {
-            validateClassDefinition(api.getRequest(), prefix + ".request");
-        }
-
-        // 校验 Response
-        if (api.getResponse() != null) {
-            validateClassDefinition(api.getResponse(), prefix + ".response");
-        }
     }
 
     /**
      * 校验类定义
      */
-    private void validateClassDefinition(ClassDefinition classDef, String prefix) {
+    private void validateClassDefinition(ClassDefinition classDef, RuleContext context) {
         if (classDef.getClassName() == null || classDef.getClassName().isBlank()) {
-            errors.get().add(new ValidationError(prefix + ".className", "类名不能为空"));
-        }
-
-        if (classDef.getFields() != null) {
-            for (int i = 0; i < classDef.getFields().size(); i++) {
-                FieldDefinition field = classDef.getFields().get(i);
-                validateField(field, prefix + ".fields[" + i + "]");
-            }
+            context.report(new ValidationError(context.classPath() + ".className", "类名不能为空"));
         }
     }
 
     /**
-     * 校验字段
+     * 校验顶层字段
      */
-    private void validateField(FieldDefinition field, String prefix) {
+    private void validateField(FieldDefinition field, RuleContext context) {
+        if (context.depth() > 0) {
+            return;
+        }
         if (field.getName() == null || field.getName().isBlank()) {
-            errors.get().add(new ValidationError(prefix + ".name", "字段名不能为空"));
+            context.report(new ValidationError(context.fieldPath() + ".name", "字段名不能为空"));
         }
 
         if (field.getType() == null || field.getType().isBlank()) {
-            errors.get().add(new ValidationError(prefix + ".type", "字段类型不能为空"));
+            context.report(new ValidationError(context.fieldPath() + ".type", "字段类型不能为空"));
             // 类型为空时，跳过需要type的后续校验
             return;
         }
 
         // 检查循环引用
         if (CodeGenUtil.hasCircularReference(field)) {
-            errors.get().add(new ValidationError(prefix, "字段 " + field.getName() + " 存在循环引用"));
+            context.report(new ValidationError(context.fieldPath(), "字段 " + field.getName() + " 存在循环引用"));
+        }
+    }
+
+    /**
+     * 校验顶层字段的约束：验证规则与枚举值；字段类型为空时跳过
+     */
+    private void validateConstraints(ValidationConfig validation, RuleContext context) {
+        FieldDefinition field = context.field();
+        if (context.depth() > 0 || field.getType() == null || field.getType().isBlank()) {
+            return;
         }
 
         // 校验验证规则
-        if (field.getValidation() != null) {
-            validateValidation(field.getValidation(), field.getType(), prefix + ".validation");
+        if (validation != null) {
+            validateValidation(validation, field.getType(), context);
         }
 
         // 校验枚举值
         if (field.isEnumType()) {
             if (field.getEnumValues() == null || field.getEnumValues().isEmpty()) {
-                errors.get().add(new ValidationError(prefix + ".enumValues", "枚举类型必须指定 enumValues"));
+                context.report(new ValidationError(context.fieldPath() + ".enumValues", "枚举类型必须指定 enumValues"));
             }
         }
     }
@@ -218,7 +245,7 @@ public class ApiValidator {
     /**
      * 校验验证规则
      */
-    private void validateValidation(ValidationConfig validation, String fieldType, String prefix) {
+    private void validateValidation(ValidationConfig validation, String fieldType, RuleContext context) {
         if (fieldType == null) {
             return; // 类型为null时跳过校验
         }
@@ -226,39 +253,39 @@ public class ApiValidator {
         // String 类型的校验
         if ("String".equals(fieldType) || fieldType.startsWith("String")) {
             if (validation.getMinLength() != null && validation.getMinLength() < 0) {
-                errors.get().add(new ValidationError(prefix + ".minLength", "minLength 不能小于 0"));
+                context.report(new ValidationError(context.fieldPath() + ".validation.minLength", "minLength 不能小于 0"));
             }
             if (validation.getMaxLength() != null && validation.getMaxLength() < 0) {
-                errors.get().add(new ValidationError(prefix + ".maxLength", "maxLength 不能小于 0"));
+                context.report(new ValidationError(context.fieldPath() + ".validation.maxLength", "maxLength 不能小于 0"));
             }
             if (validation.getMinLength() != null && validation.getMaxLength() != null
                 && validation.getMinLength() > validation.getMaxLength()) {
-                errors.get().add(new ValidationError(prefix, "minLength 不能大于 maxLength"));
+                context.report(new ValidationError(context.fieldPath() + ".validation", "minLength 不能大于 maxLength"));
             }
         }
 
         // 数值类型的校验
         if (isNumericType(fieldType)) {
             if (validation.getMin() != null && validation.getMin() < 0) {
-                errors.get().add(new ValidationError(prefix + ".min", "min 不能小于 0（DFX 建议）"));
+                context.report(new ValidationError(context.fieldPath() + ".validation.min", "min 不能小于 0（DFX 建议）"));
             }
             if (validation.getMax() != null && validation.getMin() != null
                 && validation.getMax() <= validation.getMin()) {
-                errors.get().add(new ValidationError(prefix, "max 必须大于 min"));
+                context.report(new ValidationError(context.fieldPath() + ".validation", "max 必须大于 min"));
             }
         }
 
         // List 类型的校验
         if (fieldType != null && fieldType.startsWith("List<")) {
             if (validation.getMinSize() != null && validation.getMinSize() < 0) {
-                errors.get().add(new ValidationError(prefix + ".minSize", "minSize 不能小于 0"));
+                context.report(new ValidationError(context.fieldPath() + ".validation.minSize", "minSize 不能小于 0"));
             }
             if (validation.getMaxSize() != null && validation.getMaxSize() <= 0) {
-                errors.get().add(new ValidationError(prefix + ".maxSize", "maxSize 不能小于等于 0（DFX 要求）"));
+                context.report(new ValidationError(context.fieldPath() + ".validation.maxSize", "maxSize 不能小于等于 0（DFX 要求）"));
             }
             if (validation.getMinSize() != null && validation.getMaxSize() != null
                 && validation.getMinSize() > validation.getMaxSize()) {
-                errors.get().add(new ValidationError(prefix, "minSize 不能大于 maxSize"));
+                context.report(new ValidationError(context.fieldPath() + ".validation", "minSize 不能大于 maxSize"));
             }
         }
     }
@@ -0,0 +1,144 @@
+package com.apicgen.validator;
+
+import com.apicgen.model.Api;
+import com.apicgen.model.ApiDefinition;
+import com.apicgen.model.ModelFingerprints;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 增量分析会话：保存上一次每个 API 的规则结果，按 API 内容指纹复用，只对新增或内容变化的 API 重新执行规则
+ * <p>
+ * 每次 {@link #update} 的结果与 {@link RuleEngine#run} 对同一文档的结果一致：
+ * <ul>
+ *   <li>DEFINITION 规则（重复 API、DFX-020 注解一致性等跨 API 的检查）每次都重新执行，
+ *       它们基于 {@link ApiDefinition#index()} 按 API 分组，不遍历字段</li>
+ *   <li>API 及以下的规则按 API 的有序指纹（{@code new ModelFingerprints(true)}）缓存，
+ *       指纹相同即复用上次的校验错误与分析结果；API 在列表中的位置变化时，校验错误的路径改写为新的下标</li>
+ * </ul>
+ * 因此注册到引擎的 API、CLASS、FIELD、VALIDATION 规则只能依赖当前 API 自身的内容。
+ * 复用的校验错误与分析结果对象在多次更新的报告之间共享，调用方不应修改。
+ * 缓存只保留最近一次文档中出现的 API。线程安全，同一时刻只执行一次更新。
+ */
+public class IncrementalAnalysis {
+
+    private final RuleEngine engine;
+    private Map<Long, ApiResult> results = new HashMap<>();
+    private int reused;
+    private int recomputed;
+
+    public IncrementalAnalysis(RuleEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * 分析文档，复用上一次内容未变化的 API 的结果
+     */
+    public synchronized RuleReport update(ApiDefinition apiDefinition) {
+        reused = 0;
+        recomputed = 0;
+        RuleReport report = engine.runDefinition(apiDefinition);
+        if (apiDefinition == null || apiDefinition.getApis() == null) {
+            results = new HashMap<>();
+            return report;
+        }
+
+        ModelFingerprints fingerprints = new ModelFingerprints(true);
+        Map<Long, ApiResult> current = new HashMap<>();
+        List<Api> apis = apiDefinition.getApis();
+        for (int i = 0; i < apis.size(); i++) {
+            Api api = apis.get(i);
+            if (api == null) {
+                continue;
+            }
+            long fingerprint = fingerprints.of(api);
+            ApiResult result = current.get(fingerprint);
+            if (result == null) {
+                result = results.get(fingerprint);
+            }
+            if (result == null) {
+                result = new ApiResult(i, engine.runApi(apiDefinition, i));
+                recomputed++;
+            } else {
+                reused++;
+            }
+            result = result.at(i);
+            current.put(fingerprint, result);
+            report.addAll(result.report);
+        }
+        results = current;
+        return report;
+    }
+
+    /**
+     * 上一次更新中复用结果的 API 数
+     */
+    public synchronized int getReusedCount() {
+        return reused;
+    }
+
+    /**
+     * 上一次更新中重新执行规则的 API 数
+     */
+    public synchronized int getRecomputedCount() {
+        return recomputed;
+    }
+
+    /**
+     * 清空缓存，下一次更新重新分析全部 API
+     */
+    public synchronized void reset() {
+        results = new HashMap<>();
+    }
+
+    /**
+     * 一个 API 的规则结果，校验错误路径记录为相对 {@code apis[n]} 的后缀
+     */
+    private static final class ApiResult {
+
+        private final int index;
+        private final RuleReport report;
+        private final String[] pathSuffixes;
+
+        ApiResult(int index, RuleReport report) {
+            this.index = index;
+            this.report = report;
+            String prefix = "apis[" + index + "]";
+            List<ValidationError> errors = report.getErrors();
+            this.pathSuffixes = new String[errors.size()];
+            for (int i = 0; i < errors.size(); i++) {
+                String field = errors.get(i).getField();
+                pathSuffixes[i] = field != null && field.startsWith(prefix) ? field.substring(prefix.length()) : null;
+            }
+        }
+
+        private ApiResult(int index, RuleReport report, String[] pathSuffixes) {
+            this.index = index;
+            this.report = report;
+            this.pathSuffixes = pathSuffixes;
+        }
+
+        /**
+         * API 位于第 newIndex 个时的结果：位置未变时返回自身，否则改写校验错误路径中的 API 下标
+         */
+        ApiResult at(int newIndex) {
+            if (newIndex == index) {
+                return this;
+            }
+            RuleReport relocated = new RuleReport();
+            List<ValidationError> errors = report.getErrors();
+            for (int i = 0; i < errors.size(); i++) {
+                ValidationError error = errors.get(i);
+                if (pathSuffixes[i] != null) {
+                    error = new ValidationError("apis[" + newIndex + "]" + pathSuffixes[i], error.getMessage(),
+                        error.getActualValue(), error.getSuggestion());
+                }
+                relocated.add(error);
+            }
+            relocated.addItems(report);
+            return new ApiResult(newIndex, relocated, pathSuffixes);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.apicgen.validator;
+
+import com.apicgen.model.ClassDefinition;
+import com.apicgen.model.FieldDefinition;
+import com.apicgen.model.ValidationConfig;
+import com.apicgen.validator.ValidationAnalyzer.AnalysisItem;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * DFX-023 载荷上限规则包：把可能被超大请求或无界响应拖垮服务的定义报告为 ERROR 级分析结果
+ * <p>
+ * 规则（阈值见 {@link PayloadLimits}，阈值关闭的规则不执行）：
+ * <ul>
+ *   <li>请求 List 字段缺少 maxSize，或 maxSize 超过 maxListSize</li>
+ *   <li>请求 String 字段（及 List&lt;String&gt; 的元素）缺少 maxLength，或 maxLength 超过 maxStringLength；
+ *       path/header/cookie 参数受 URL 与请求头长度限制，不检查</li>
+ *   <li>请求中的嵌套列表：List&lt;List&lt;T&gt;&gt; 内层缺少 elementValidation.maxSize，
+ *       或各层 maxSize 的乘积超过 maxNestedListElements（列表元素对象中的列表同样计入）</li>
+ *   <li>响应中最外层的 List 无界（缺少 maxSize 或超过 maxListSize）且请求没有分页参数</li>
+ *   <li>request/response 的对象嵌套超过 maxNestingDepth 层，每个分支只在超限的那一层报告一次</li>
+ * </ul>
+ * 与 {@link ValidationAnalyzer} 的 DFX-004/008 建议不同，这些结果不能自动修复，由 CI 通过
+ * {@code --payload-limits} / {@code payloadLimits} 开启并在存在结果时失败。规则不保存状态，可并行执行。
+ */
+public class PayloadLimitRules {
+
+    public static final String RULE_CODE = "DFX-023";
+
+    public static final String RULE = RULE_CODE + ": 载荷上限 - 集合、字符串与嵌套深度需有上限，返回列表需分页";
+
+    private static final String PREFIX = RULE_CODE + ": 载荷上限 - ";
+
+    private final PayloadLimits limits;
+    private final Set<String> paginationParameters = new HashSet<>();
+
+    public PayloadLimitRules() {
+        this(PayloadLimits.defaults());
+    }
+
+    public PayloadLimitRules(PayloadLimits limits) {
+        this.limits = limits;
+        if (limits.getPaginationParameters() != null) {
+            for (String name : limits.getPaginationParameters()) {
+                paginationParameters.add(name.toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    /**
+     * 把规则注册到规则引擎
+     */
+    public RuleEngine register(RuleEngine engine) {
+        return engine.onField(this::checkField);
+    }
+
+    /**
+     * 报告中 DFX-023 结果的数量
+     */
+    public static long violations(RuleReport report) {
+        return report.getItems().stream()
+            .filter(item -> item.getIssue() != null && item.getIssue().startsWith(RULE_CODE))
+            .count();
+    }
+
+    private void checkField(FieldDefinition field, RuleContext context) {
+        if ("request".equals(context.location())) {
+            if (field.isListType()) {
+                checkRequestList(field, context);
+                checkNestedList(field, context);
+            } else if (isString(field) && !isBoundedParam(field)) {
+                checkStringLength(field.getValidation() == null ? null : field.getValidation().getMaxLength(),
+                    "validation.maxLength", field, context);
+            }
+        } else if ("response".equals(context.location()) && field.isListType()) {
+            checkPagination(field, context);
+        }
+        checkNestingDepth(field, context);
+    }
+
+    private void checkRequestList(FieldDefinition field, RuleContext context) {
+        ValidationConfig validation = field.getValidation();
+        if (limits.getMaxListSize() > 0) {
+            Integer maxSize = validation == null ? null : validation.getMaxSize();
+            if (maxSize == null) {
+                report(context, field, "请求 List 字段缺少 maxSize",
+                    "添加 validation.maxSize（不超过 " + limits.getMaxListSize() + "）");
+            } else if (maxSize > limits.getMaxListSize()) {
+                report(context, field, "请求 List 字段 maxSize 过大（" + maxSize + " > " + limits.getMaxListSize() + "）",
+                    "把 validation.maxSize 降到 " + limits.getMaxListSize() + " 以内，或调整阈值 maxListSize");
+            }
+        }
+        if ("String".equals(field.getGenericType())) {
+            Integer maxLength = validation == null || validation.getElementValidation() == null
+                ? null : validation.getElementValidation().getMaxLength();
+            checkStringLength(maxLength, "validation.elementValidation.maxLength", field, context);
+        }
+    }
+
+    private void checkStringLength(Integer maxLength, String property, FieldDefinition field, RuleContext context) {
+        int limit = limits.getMaxStringLength();
+        if (limit <= 0) {
+            return;
+        }
+        if (maxLength == null) {
+            report(context, field, "请求 String 缺少 maxLength（" + property + "）",
+                "添加 " + property + "（不超过 " + limit + "）");
+        } else if (maxLength > limit) {
+            report(context, field, "请求 String 的 maxLength 过大（" + maxLength + " > " + limit + "）",
+                "把 " + property + " 降到 " + limit + " 以内，或调整阈值 maxStringLength");
+        }
+    }
+
+    /**
+     * 外层列表与当前列表的 maxSize 相乘；缺少 maxSize 的层已由 List 规则报告，不再计算乘积
+     */
+    private void checkNestedList(FieldDefinition field, RuleContext context) {
+        long limit = limits.getMaxNestedListElements();
+        if (limit <= 0) {
+            return;
+        }
+        Integer innerSize = null;
+        if (field.isNestedListType()) {
+            ValidationConfig validation = field.getValidation();
+            innerSize = validation == null || validation.getElementValidation() == null
+                ? null : validation.getElementValidation().getMaxSize();
+            if (innerSize == null) {
+                report(context, field, "嵌套列表内层缺少 maxSize",
+                    "添加 validation.elementValidation.maxSize，使元素总数不超过 " + limit);
+                return;
+            }
+        }
+
+        int dimensions = 0;
+        long product = 1;
+        for (int level = 0; level <= context.depth(); level++) {
+            FieldDefinition list = context.field(level);
+            if (!list.isListType()) {
+                continue;
+            }
+            Integer maxSize = list.getValidation() == null ? null : list.getValidation().getMaxSize();
+            if (maxSize == null) {
+                return;
+            }
+            product = multiply(product, maxSize);
+            dimensions++;
+        }
+        if (innerSize != null) {
+            product = multiply(product, innerSize);
+            dimensions++;
+        }
+        if (dimensions > 1 && product > limit) {
+            report(context, field, "嵌套列表元素总数上限过大（" + product + " > " + limit + "）",
+                "降低各层 maxSize，使乘积不超过 " + limit + "，或调整阈值 maxNestedListElements");
+        }
+    }
+
+    /**
+     * 只检查最外层的响应列表：外层列表有界时，内层列表的数量同样受限
+     */
+    private void checkPagination(FieldDefinition field, RuleContext context) {
+        if (paginationParameters.isEmpty()) {
+            return;
+        }
+        for (int level = 0; level < context.depth(); level++) {
+            if (context.field(level).isListType()) {
+                return;
+            }
+        }
+        Integer maxSize = field.getValidation() == null ? null : field.getValidation().getMaxSize();
+        boolean bounded = maxSize != null && (limits.getMaxListSize() <= 0 || maxSize <= limits.getMaxListSize());
+        if (bounded || hasPaginationParameter(context.api().getRequest())) {
+            return;
+        }
+        report(context, field, "响应 List 字段无上限且请求缺少分页参数",
+            "请求添加分页参数（如 " + String.join("/", limits.getPaginationParameters()) + "），或为响应列表设置 maxSize");
+    }
+
+    /**
+     * 请求的顶层字段或其直接嵌套字段（如分页对象 pageQuery.page）中是否有分页参数
+     */
+    private boolean hasPaginationParameter(ClassDefinition request) {
+        if (request == null || request.getFields() == null) {
+            return false;
+        }
+        for (FieldDefinition field : request.getFields()) {
+            if (field == null) {
+                continue;
+            }
+            if (isPaginationParameter(field)) {
+                return true;
+            }
+            if (field.getFields() != null && !field.isListType()) {
+                for (FieldDefinition nested : field.getFields()) {
+                    if (nested != null && isPaginationParameter(nested)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isPaginationParameter(FieldDefinition field) {
+        return field.getName() != null && paginationParameters.contains(field.getName().toLowerCase(Locale.ROOT));
+    }
+
+    private void checkNestingDepth(FieldDefinition field, RuleContext context) {
+        int limit = limits.getMaxNestingDepth();
+        // 当前字段位于第 depth()+1 层，它的子字段位于第 depth()+2 层
+        if (limit <= 0 || context.depth() + 1 != limit || field.getFields() == null || field.getFields().isEmpty()) {
+            return;
+        }
+        report(context, field, "对象嵌套超过 " + limit + " 层",
+            "拆分或扁平化 " + field.getName() + " 的嵌套结构，或调整阈值 maxNestingDepth");
+    }
+
+    private static boolean isString(FieldDefinition field) {
+        return field.isPrimitiveType() && "String".equals(field.getTypeRef().getName());
+    }
+
+    private static boolean isBoundedParam(FieldDefinition field) {
+        return field.isPathParam() || field.isHeaderParam() || field.isCookieParam();
+    }
+
+    private static long multiply(long product, int size) {
+        try {
+            return Math.multiplyExact(product, Math.max(size, 0));
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static void report(RuleContext context, FieldDefinition field, String issue, String suggestion) {
+        context.report(new AnalysisItem(
+            context.api().getName(), context.location(), context.className(), field.getName(), field.getType(),
+            PREFIX + issue, suggestion, AnalysisItem.Severity.ERROR
+        ));
+    }
+
+    /**
+     * 本规则包使用的阈值
+     */
+    public PayloadLimits getLimits() {
+        return limits;
+    }
+}
@@ -0,0 +1,93 @@
+package com.apicgen.validator;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DFX-023 载荷上限规则包的阈值，见 {@link PayloadLimitRules}
+ * <p>
+ * 数值阈值小于等于 0 时关闭对应规则，分页参数名为空时关闭分页检查。
+ */
+@Data
+public class PayloadLimits {
+
+    /**
+     * List 字段 maxSize 上限：请求 List 缺少 maxSize 或超过该值报错；响应 List 不超过该值时视为有界，无需分页
+     */
+    private int maxListSize = 1_000;
+
+    /**
+     * String 字段 maxLength 上限：请求 String（及 List&lt;String&gt; 元素）缺少 maxLength 或超过该值报错
+     */
+    private int maxStringLength = 65_536;
+
+    /**
+     * 嵌套列表（List&lt;List&lt;T&gt;&gt;，或列表元素对象中的列表）各层 maxSize 乘积的上限
+     */
+    private long maxNestedListElements = 10_000;
+
+    /**
+     * 对象嵌套层数上限，request/response 的直接字段为第 1 层
+     */
+    private int maxNestingDepth = 5;
+
+    /**
+     * 分页参数名（忽略大小写）：响应含无界 List 时，请求需至少有一个这样的字段
+     */
+    private List<String> paginationParameters = new ArrayList<>(List.of(
+        "page", "pageNum", "pageNo", "pageSize", "size", "limit", "offset", "cursor", "pageToken", "nextToken", "marker"));
+
+    /**
+     * 默认阈值
+     */
+    public static PayloadLimits defaults() {
+        return new PayloadLimits();
+    }
+
+    /**
+     * 解析命令行形式的阈值，如 {@code maxListSize=500,maxStringLength=4096,paginationParameters=page|limit}；
+     * 未出现的阈值保持默认，空串返回默认阈值
+     *
+     * @throws IllegalArgumentException 阈值名未知或数值无效
+     */
+    public static PayloadLimits parse(String spec) {
+        PayloadLimits limits = defaults();
+        if (spec == null || spec.isBlank()) {
+            return limits;
+        }
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int eq = entry.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("载荷上限阈值格式应为 名称=值: " + entry.trim());
+            }
+            String name = entry.substring(0, eq).trim();
+            String value = entry.substring(eq + 1).trim();
+            try {
+                switch (name) {
+                    case "maxListSize" -> limits.setMaxListSize(Integer.parseInt(value));
+                    case "maxStringLength" -> limits.setMaxStringLength(Integer.parseInt(value));
+                    case "maxNestedListElements" -> limits.setMaxNestedListElements(Long.parseLong(value));
+                    case "maxNestingDepth" -> limits.setMaxNestingDepth(Integer.parseInt(value));
+                    case "paginationParameters" -> {
+                        List<String> names = new ArrayList<>();
+                        for (String parameter : value.split("\\|")) {
+                            if (!parameter.isBlank()) {
+                                names.add(parameter.trim());
+                            }
+                        }
+                        limits.setPaginationParameters(names);
+                    }
+                    default -> throw new IllegalArgumentException("未知的载荷上限阈值: " + name);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("载荷上限阈值 " + name + " 不是有效的整数: " + value);
+            }
+        }
+        return limits;
+    }
+}
@@ -0,0 +1,1108 @@
+package com.apicgen.validator;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * validation.pattern 的安全检查：编译校验、灾难性回溯的静态检测，以及可选的限时模糊测试
+ * <p>
+ * 生成代码把 pattern 原样放进 {@code @Pattern(regexp = ...)}，Bean Validation 以 {@code matches()} 整串匹配，
+ * 因此只分析会导致回溯次数随输入长度指数或多项式增长的结构：
+ * <ul>
+ *   <li>指数级：无界量词的循环体能以多种方式切分同一段输入，如嵌套量词 {@code (a+)+}、{@code (\w+\s?)*}，
+ *       或分支可匹配相同字符的选择 {@code (\w|\d)+}</li>
+ *   <li>多项式级：相邻（中间只隔可匹配相同字符的元素）的两个无界量词可匹配相同字符，如 {@code \d+\d+}、{@code .*a.*}</li>
+ * </ul>
+ * 占有量词（{@code a++}）、原子组（{@code (?>...)}）与环视中的结构不会回溯，不在检测范围内。
+ * 字符集按 ASCII 逐字符比较，非 ASCII 字符、{@code \p{...}} 与字符类交集按"可能重叠"近似处理，宁可多报；
+ * 大小写不敏感等内联标志不参与比较。模糊测试只在静态检测没有发现问题时执行，用于兜底这类遗漏。
+ * <p>
+ * 结果按 pattern 文本缓存，同一 pattern 在多个字段中只编译、分析一次。线程安全。
+ */
+public final class RegexSafety {
+
+    public static final String RULE_CODE = "DFX-022";
+    public static final String RULE = RULE_CODE + ": 正则安全 - pattern 无法编译或存在灾难性回溯";
+
+    /**
+     * 上界超过该值的计数量词（如 {@code {1,100}}）按无界量词处理
+     */
+    private static final int REPEAT_LIMIT = 10;
+    private static final int UNBOUNDED = -1;
+    private static final int CACHE_LIMIT = 4096;
+
+    private static final int[] FUZZ_LENGTHS = {16, 64, 256, 1024, 4096};
+    private static final String[] FUZZ_SUFFIXES = {"!", "\n", "\u0000", "a", "0", " "};
+    private static final int FUZZ_TARGETS = 8;
+
+    /**
+     * 问题类型
+     */
+    public enum Kind {
+        /**
+         * 无法编译
+         */
+        SYNTAX,
+        /**
+         * 指数级回溯
+         */
+        EXPONENTIAL,
+        /**
+         * 多项式级回溯
+         */
+        POLYNOMIAL,
+        /**
+         * 模糊测试中单次匹配超过时间预算
+         */
+        TIMEOUT
+    }
+
+    /**
+     * 检查结果
+     *
+     * @param kind      问题类型
+     * @param construct 有问题的片段，如 {@code (a+)+}
+     * @param detail    问题描述
+     * @param rewrite   建议改写后的完整 pattern（占有量词或原子组），无法自动改写时为 null
+     */
+    public record Finding(Kind kind, String construct, String detail, String rewrite) {
+    }
+
+    private final long fuzzMillis;
+    private final Map<String, List<Finding>> results = new ConcurrentHashMap<>();
+
+    public RegexSafety() {
+        this(0);
+    }
+
+    /**
+     * @param fuzzMillis 大于 0 时对每个 pattern 构造攻击输入做模糊测试，单次匹配超过该毫秒数即报告
+     */
+    public RegexSafety(long fuzzMillis) {
+        this.fuzzMillis = fuzzMillis;
+    }
+
+    public long getFuzzMillis() {
+        return fuzzMillis;
+    }
+
+    /**
+     * 检查 pattern，没有问题时返回空列表
+     */
+    public List<Finding> check(String regex) {
+        if (regex == null || regex.isEmpty()) {
+            return List.of();
+        }
+        List<Finding> cached = results.get(regex);
+        if (cached != null) {
+            return cached;
+        }
+        List<Finding> findings = analyze(regex);
+        if (results.size() >= CACHE_LIMIT) {
+            results.clear();
+        }
+        results.put(regex, findings);
+        return findings;
+    }
+
+    private List<Finding> analyze(String regex) {
+        Pattern compiled;
+        try {
+            compiled = Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            String reason = e.getDescription() + (e.getIndex() >= 0 ? "（位置 " + e.getIndex() + "）" : "");
+            return List.of(new Finding(Kind.SYNTAX, regex, "无法编译: " + reason, null));
+        }
+
+        Node root;
+        try {
+            root = new Parser(regex).parse();
+        } catch (RuntimeException e) {
+            // 解析器未覆盖的写法不做结构分析，编译已通过
+            return List.of();
+        }
+        Map<String, Finding> findings = new LinkedHashMap<>();
+        new Detector(regex, root, findings).visit(root, false);
+        if (fuzzMillis > 0 && findings.isEmpty()) {
+            Finding timeout = fuzz(compiled, root);
+            if (timeout != null) {
+                findings.put(timeout.construct(), timeout);
+            }
+        }
+        return Collections.unmodifiableList(new ArrayList<>(findings.values()));
+    }
+
+    // ==================== 模糊测试 ====================
+
+    /**
+     * 对每个无界量词构造"重复循环体 + 失配结尾"的输入，长度逐级增加，单次匹配超时即返回
+     */
+    private Finding fuzz(Pattern compiled, Node root) {
+        List<Repeat> targets = new ArrayList<>();
+        collectRepeats(root, targets);
+        for (Repeat target : targets) {
+            lengths:
+            for (int length : FUZZ_LENGTHS) {
+                String attack = render(root, target, length);
+                for (String suffix : FUZZ_SUFFIXES) {
+                    long deadline = System.nanoTime() + fuzzMillis * 1_000_000L;
+                    try {
+                        compiled.matcher(new DeadlineCharSequence(attack + suffix, deadline)).matches();
+                    } catch (DeadlineExceeded e) {
+                        return new Finding(Kind.TIMEOUT, compiled.pattern(),
+                            "模糊测试中长度 " + (attack.length() + 1) + " 的输入匹配超过 " + fuzzMillis + " ms", null);
+                    } catch (StackOverflowError e) {
+                        // 分组循环的递归深度随输入长度线性增长，与回溯无关，不再加长输入
+                        break lengths;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void collectRepeats(Node node, List<Repeat> targets) {
+        if (targets.size() >= FUZZ_TARGETS) {
+            return;
+        }
+        if (node instanceof Repeat repeat) {
+            if (repeat.repeating() && repeat.mode != Mode.POSSESSIVE) {
+                targets.add(repeat);
+            }
+            collectRepeats(repeat.body, targets);
+        } else if (node instanceof Group group) {
+            collectRepeats(group.body, targets);
+        } else if (node instanceof Seq seq) {
+            seq.items.forEach(item -> collectRepeats(item, targets));
+        } else if (node instanceof Alt alt) {
+            alt.branches.forEach(branch -> collectRepeats(branch, targets));
+        }
+    }
+
+    /**
+     * 生成能走到 target 的最短输入，target 的循环体重复 count 次
+     */
+    private static String render(Node root, Repeat target, int count) {
+        StringBuilder out = new StringBuilder();
+        render(root, target, count, out);
+        return out.toString();
+    }
+
+    private static boolean render(Node node, Repeat target, int count, StringBuilder out) {
+        if (node instanceof Chars chars) {
+            out.append(chars.set.sample());
+            return false;
+        }
+        if (node instanceof Seq seq) {
+            boolean found = false;
+            for (Node item : seq.items) {
+                found |= render(item, target, count, out);
+            }
+            return found;
+        }
+        if (node instanceof Alt alt) {
+            for (Node branch : alt.branches) {
+                if (contains(branch, target)) {
+                    return render(branch, target, count, out);
+                }
+            }
+            return render(alt.branches.get(0), target, count, out);
+        }
+        if (node instanceof Group group) {
+            return group.kind != GroupKind.LOOKAROUND && render(group.body, target, count, out);
+        }
+        if (node instanceof Repeat repeat) {
+            int times = repeat == target ? Math.max(count, repeat.min) : repeat.min;
+            boolean found = repeat == target;
+            for (int i = 0; i < times; i++) {
+                found |= render(repeat.body, target, count, out);
+            }
+            return found;
+        }
+        return false;
+    }
+
+    private static boolean contains(Node node, Node target) {
+        if (node == target) {
+            return true;
+        }
+        if (node instanceof Seq seq) {
+            return seq.items.stream().anyMatch(item -> contains(item, target));
+        }
+        if (node instanceof Alt alt) {
+            return alt.branches.stream().anyMatch(branch -> contains(branch, target));
+        }
+        if (node instanceof Group group) {
+            return contains(group.body, target);
+        }
+        return node instanceof Repeat repeat && contains(repeat.body, target);
+    }
+
+    private static final class DeadlineExceeded extends RuntimeException {
+        DeadlineExceeded() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * 匹配过程中每读取一定数量的字符检查一次截止时间，超时即中断匹配
+     */
+    private static final class DeadlineCharSequence implements CharSequence {
+
+        private final String text;
+        private final long deadline;
+        private int reads;
+
+        DeadlineCharSequence(String text, long deadline) {
+            this.text = text;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            if ((++reads & 0x3ff) == 0 && System.nanoTime() > deadline) {
+                throw new DeadlineExceeded();
+            }
+            return text.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return text.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    // ==================== 静态检测 ====================
+
+    private static final class Detector {
+
+        private final String regex;
+        private final Map<String, Finding> findings;
+        private final Map<Node, CharSet> follows = new IdentityHashMap<>();
+
+        Detector(String regex, Node root, Map<String, Finding> findings) {
+            this.regex = regex;
+            this.findings = findings;
+            follows(root, new CharSet(), follows);
+        }
+
+        /**
+         * @param atomic 是否位于原子组、环视或占有量词内（不会回溯）
+         */
+        void visit(Node node, boolean atomic) {
+            if (node instanceof Repeat repeat) {
+                boolean noBacktrack = atomic || repeat.mode == Mode.POSSESSIVE;
+                if (!noBacktrack && repeat.repeating()) {
+                    checkNested(repeat);
+                    checkOverlappingAlternation(repeat);
+                }
+                visit(repeat.body, noBacktrack);
+            } else if (node instanceof Group group) {
+                visit(group.body, atomic || group.kind != GroupKind.CAPTURE && group.kind != GroupKind.NON_CAPTURE);
+            } else if (node instanceof Alt alt) {
+                alt.branches.forEach(branch -> visit(branch, atomic));
+            } else if (node instanceof Seq seq) {
+                if (!atomic) {
+                    checkAdjacent(seq);
+                }
+                seq.items.forEach(item -> visit(item, atomic));
+            }
+        }
+
+        /**
+         * 嵌套量词：循环体末尾（其后均可为空）的内层无界量词能匹配循环体的首字符，
+         * 或循环体开头（其前均可为空）的内层量词能匹配循环体的末字符，同一段输入可在内外两层间任意切分
+         */
+        private void checkNested(Repeat outer) {
+            CharSet bodyFirst = first(outer.body);
+            CharSet bodyLast = last(outer.body);
+            List<Repeat> inner = new ArrayList<>();
+            edgeRepeats(outer.body, true, inner);
+            for (Repeat candidate : inner) {
+                if (first(candidate.body).overlaps(bodyFirst)) {
+                    reportNested(outer, candidate);
+                    return;
+                }
+            }
+            inner.clear();
+            edgeRepeats(outer.body, false, inner);
+            for (Repeat candidate : inner) {
+                if (last(candidate.body).overlaps(bodyLast)) {
+                    reportNested(outer, candidate);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * 只在内层量词之后（同一次循环内以及外层量词之后）不会出现它能匹配的字符时，才建议改为占有量词，
+         * 否则占有量词会吞掉后续元素需要的字符，改变匹配结果
+         */
+        private void reportNested(Repeat outer, Repeat inner) {
+            String construct = source(outer);
+            Map<Node, CharSet> local = new IdentityHashMap<>();
+            follows(outer.body, follows.get(outer), local);
+            String rewrite = first(inner.body).overlaps(local.get(inner)) ? null : possessive(inner);
+            add(new Finding(Kind.EXPONENTIAL, construct,
+                "嵌套量词 " + construct + " 存在指数级回溯风险", rewrite));
+        }
+
+        /**
+         * 无界量词的循环体中，选择的两个分支可匹配相同的输入
+         */
+        private void checkOverlappingAlternation(Repeat repeat) {
+            Node body = unwrap(repeat.body);
+            if (!(body instanceof Alt alt)) {
+                return;
+            }
+            for (int i = 0; i < alt.branches.size(); i++) {
+                for (int j = i + 1; j < alt.branches.size(); j++) {
+                    if (sameInputs(alt.branches.get(i), alt.branches.get(j))) {
+                        String construct = source(repeat);
+                        String rewrite = regex.substring(0, alt.start) + "(?>" + regex.substring(alt.start, alt.end) + ")"
+                            + regex.substring(alt.end);
+                        add(new Finding(Kind.EXPONENTIAL, construct,
+                            "量词 " + construct + " 中的分支 " + regex.substring(alt.branches.get(i).start, alt.branches.get(i).end)
+                                + " 与 " + regex.substring(alt.branches.get(j).start, alt.branches.get(j).end)
+                                + " 可匹配相同字符，存在指数级回溯风险", rewrite));
+                        return;
+                    }
+                }
+            }
+        }
+
+        /**
+         * 相邻的无界量词：二者（以及中间必须匹配的字符）有公共字符时，同一段输入可在两者间任意切分
+         */
+        private void checkAdjacent(Seq seq) {
+            List<Node> items = flatten(seq);
+            for (int i = 0; i < items.size(); i++) {
+                if (!(items.get(i) instanceof Repeat left) || !left.repeating() || left.mode == Mode.POSSESSIVE) {
+                    continue;
+                }
+                CharSet shared = singleChars(left.body);
+                if (shared == null) {
+                    continue;
+                }
+                for (int j = i + 1; j < items.size() && shared != null; j++) {
+                    Node next = items.get(j);
+                    if (next instanceof Repeat right && right.repeating()) {
+                        CharSet rightChars = singleChars(right.body);
+                        if (right.mode != Mode.POSSESSIVE && rightChars != null && rightChars.overlaps(shared)) {
+                            reportAdjacent(left, right, j == i + 1);
+                            break;
+                        }
+                        if (right.min > 0) {
+                            break;
+                        }
+                    } else if (nullable(next)) {
+                        continue;
+                    } else {
+                        CharSet chars = next instanceof Repeat repeat ? singleChars(repeat.body) : singleChars(next);
+                        shared = chars == null ? null : shared.intersect(chars);
+                    }
+                }
+            }
+        }
+
+        private void reportAdjacent(Repeat left, Repeat right, boolean direct) {
+            String construct = regex.substring(left.start, right.end);
+            String rewrite = null;
+            String leftBody = regex.substring(left.start, left.bodyEnd);
+            if (direct && leftBody.equals(regex.substring(right.start, right.bodyEnd))
+                && left.max == UNBOUNDED && right.max == UNBOUNDED) {
+                rewrite = regex.substring(0, left.start) + leftBody + "{" + (left.min + right.min) + ",}"
+                    + regex.substring(right.end);
+            }
+            add(new Finding(Kind.POLYNOMIAL, construct,
+                "相邻量词 " + source(left) + " 与 " + source(right) + " 可匹配相同字符，存在多项式级回溯风险", rewrite));
+        }
+
+        private void add(Finding finding) {
+            findings.putIfAbsent(finding.kind() + ":" + finding.construct(), finding);
+        }
+
+        private String source(Repeat repeat) {
+            return regex.substring(repeat.start, repeat.end);
+        }
+
+        /**
+         * 把内层量词改为占有量词，懒惰量词的 ? 替换为 +
+         */
+        private String possessive(Repeat repeat) {
+            if (repeat.mode == Mode.LAZY) {
+                return regex.substring(0, repeat.end - 1) + "+" + regex.substring(repeat.end);
+            }
+            return regex.substring(0, repeat.end) + "+" + regex.substring(repeat.end);
+        }
+    }
+
+    /**
+     * 记录每个节点匹配结束后可能紧跟的字符；after 为 node 之后可能出现的字符，量词的循环体之后还可能是下一次循环
+     */
+    private static void follows(Node node, CharSet after, Map<Node, CharSet> out) {
+        out.put(node, after);
+        if (node instanceof Seq seq) {
+            CharSet next = after;
+            for (int i = seq.items.size() - 1; i >= 0; i--) {
+                Node item = seq.items.get(i);
+                follows(item, next, out);
+                next = nullable(item) ? first(item).union(next) : first(item);
+            }
+        } else if (node instanceof Alt alt) {
+            alt.branches.forEach(branch -> follows(branch, after, out));
+        } else if (node instanceof Group group) {
+            follows(group.body, group.kind == GroupKind.LOOKAROUND ? CharSet.any() : after, out);
+        } else if (node instanceof Repeat repeat) {
+            follows(repeat.body, repeat.max == 1 ? after : first(repeat.body).union(after), out);
+        }
+    }
+
+    /**
+     * 位于 node 首部（fromStart）或尾部、其前/后均可为空的无界量词，包括其内部同样位置的量词
+     */
+    private static void edgeRepeats(Node node, boolean fromEnd, List<Repeat> out) {
+        if (node instanceof Repeat repeat) {
+            if (repeat.mode == Mode.POSSESSIVE) {
+                return;
+            }
+            if (repeat.repeating() && !nullable(repeat.body)) {
+                out.add(repeat);
+            }
+            edgeRepeats(repeat.body, fromEnd, out);
+        } else if (node instanceof Group group) {
+            if (group.kind == GroupKind.CAPTURE || group.kind == GroupKind.NON_CAPTURE) {
+                edgeRepeats(group.body, fromEnd, out);
+            }
+        } else if (node instanceof Alt alt) {
+            alt.branches.forEach(branch -> edgeRepeats(branch, fromEnd, out));
+        } else if (node instanceof Seq seq) {
+            int size = seq.items.size();
+            for (int k = 0; k < size; k++) {
+                Node item = seq.items.get(fromEnd ? size - 1 - k : k);
+                edgeRepeats(item, fromEnd, out);
+                if (!nullable(item)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 两个分支能否匹配相同的输入：只比较定长的逐字符序列（如 {@code \w|\d}、{@code ab|a[a-z]}）
+     */
+    private static boolean sameInputs(Node a, Node b) {
+        List<CharSet> left = fixedChars(a);
+        List<CharSet> right = fixedChars(b);
+        if (left == null || right == null || left.size() != right.size() || left.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < left.size(); i++) {
+            if (!left.get(i).overlaps(right.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<CharSet> fixedChars(Node node) {
+        node = unwrap(node);
+        if (node instanceof Chars chars) {
+            return List.of(chars.set);
+        }
+        if (node instanceof Seq seq) {
+            List<CharSet> out = new ArrayList<>();
+            for (Node item : seq.items) {
+                List<CharSet> part = fixedChars(item);
+                if (part == null) {
+                    return null;
+                }
+                out.addAll(part);
+            }
+            return out;
+        }
+        if (node instanceof Repeat repeat && repeat.min == repeat.max && repeat.min <= REPEAT_LIMIT) {
+            List<CharSet> part = fixedChars(repeat.body);
+            if (part == null) {
+                return null;
+            }
+            List<CharSet> out = new ArrayList<>();
+            for (int i = 0; i < repeat.min; i++) {
+                out.addAll(part);
+            }
+            return out;
+        }
+        return null;
+    }
+
+    /**
+     * 序列中不带量词的捕获组、非捕获组展开为其中的元素
+     */
+    private static List<Node> flatten(Seq seq) {
+        List<Node> out = new ArrayList<>();
+        for (Node item : seq.items) {
+            Node inner = unwrap(item);
+            if (inner != item && inner instanceof Seq nested) {
+                out.addAll(flatten(nested));
+            } else {
+                out.add(inner);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * 去掉外层的捕获组与非捕获组
+     */
+    private static Node unwrap(Node node) {
+        while (node instanceof Group group && (group.kind == GroupKind.CAPTURE || group.kind == GroupKind.NON_CAPTURE)) {
+            node = group.body;
+        }
+        return node;
+    }
+
+    /**
+     * node 只匹配单个字符时返回其字符集，否则返回 null
+     */
+    private static CharSet singleChars(Node node) {
+        node = unwrap(node);
+        return node instanceof Chars chars ? chars.set : null;
+    }
+
+    private static boolean nullable(Node node) {
+        if (node instanceof Chars) {
+            return false;
+        }
+        if (node instanceof Seq seq) {
+            return seq.items.stream().allMatch(RegexSafety::nullable);
+        }
+        if (node instanceof Alt alt) {
+            return alt.branches.stream().anyMatch(RegexSafety::nullable);
+        }
+        if (node instanceof Group group) {
+            return group.kind == GroupKind.LOOKAROUND || nullable(group.body);
+        }
+        if (node instanceof Repeat repeat) {
+            return repeat.min == 0 || nullable(repeat.body);
+        }
+        return true;
+    }
+
+    private static CharSet first(Node node) {
+        return edgeChars(node, false);
+    }
+
+    private static CharSet last(Node node) {
+        return edgeChars(node, true);
+    }
+
+    /**
+     * 可能出现在 node 匹配结果首部（或尾部）的字符
+     */
+    private static CharSet edgeChars(Node node, boolean fromEnd) {
+        if (node instanceof Chars chars) {
+            return chars.set;
+        }
+        if (node instanceof Backref) {
+            return CharSet.any();
+        }
+        CharSet out = new CharSet();
+        if (node instanceof Seq seq) {
+            int size = seq.items.size();
+            for (int k = 0; k < size; k++) {
+                Node item = seq.items.get(fromEnd ? size - 1 - k : k);
+                out.addAll(edgeChars(item, fromEnd));
+                if (!nullable(item)) {
+                    break;
+                }
+            }
+        } else if (node instanceof Alt alt) {
+            alt.branches.forEach(branch -> out.addAll(edgeChars(branch, fromEnd)));
+        } else if (node instanceof Group group && group.kind != GroupKind.LOOKAROUND) {
+            out.addAll(edgeChars(group.body, fromEnd));
+        } else if (node instanceof Repeat repeat) {
+            out.addAll(edgeChars(repeat.body, fromEnd));
+        }
+        return out;
+    }
+
+    // ==================== 语法树 ====================
+
+    private enum Mode { GREEDY, LAZY, POSSESSIVE }
+
+    private enum GroupKind { CAPTURE, NON_CAPTURE, ATOMIC, LOOKAROUND }
+
+    private abstract static class Node {
+        int start;
+        int end;
+    }
+
+    /**
+     * 单个字符（字面量、字符类、{@code .}、{@code \d} 等）
+     */
+    private static final class Chars extends Node {
+        final CharSet set;
+
+        Chars(CharSet set) {
+            this.set = set;
+        }
+    }
+
+    /**
+     * 锚点、边界与内联标志，不消耗字符
+     */
+    private static final class Empty extends Node {
+    }
+
+    private static final class Backref extends Node {
+    }
+
+    private static final class Seq extends Node {
+        final List<Node> items = new ArrayList<>();
+    }
+
+    private static final class Alt extends Node {
+        final List<Node> branches = new ArrayList<>();
+    }
+
+    private static final class Group extends Node {
+        final GroupKind kind;
+        final Node body;
+
+        Group(GroupKind kind, Node body) {
+            this.kind = kind;
+            this.body = body;
+        }
+    }
+
+    private static final class Repeat extends Node {
+        final Node body;
+        final int min;
+        final int max;
+        final Mode mode;
+        /**
+         * 循环体在源文本中的结束位置（量词之前）
+         */
+        final int bodyEnd;
+
+        Repeat(Node body, int min, int max, Mode mode, int bodyEnd) {
+            this.body = body;
+            this.min = min;
+            this.max = max;
+            this.mode = mode;
+            this.bodyEnd = bodyEnd;
+        }
+
+        boolean repeating() {
+            return max == UNBOUNDED || max > REPEAT_LIMIT;
+        }
+    }
+
+    /**
+     * ASCII 字符逐个记录，其余字符统一记为 other
+     */
+    private static final class CharSet {
+        private static final String SAMPLES = "a0A_-. @x";
+
+        final BitSet ascii = new BitSet(128);
+        boolean other;
+
+        static CharSet of(char c) {
+            CharSet set = new CharSet();
+            set.add(c);
+            return set;
+        }
+
+        static CharSet range(char from, char to) {
+            CharSet set = new CharSet();
+            if (to >= 128) {
+                set.other = true;
+            }
+            if (from < 128) {
+                set.ascii.set(from, Math.min(to, 127) + 1);
+            }
+            return set;
+        }
+
+        static CharSet any() {
+            CharSet set = new CharSet();
+            set.ascii.set(0, 128);
+            set.other = true;
+            return set;
+        }
+
+        static CharSet digits() {
+            return range('0', '9');
+        }
+
+        static CharSet word() {
+            CharSet set = range('a', 'z');
+            set.addAll(range('A', 'Z'));
+            set.addAll(digits());
+            set.add('_');
+            return set;
+        }
+
+        static CharSet spaces() {
+            CharSet set = new CharSet();
+            for (char c : " \t\n\u000B\f\r".toCharArray()) {
+                set.add(c);
+            }
+            return set;
+        }
+
+        void add(char c) {
+            if (c < 128) {
+                ascii.set(c);
+            } else {
+                other = true;
+            }
+        }
+
+        void addAll(CharSet set) {
+            ascii.or(set.ascii);
+            other |= set.other;
+        }
+
+        CharSet negate() {
+            CharSet set = new CharSet();
+            set.ascii.set(0, 128);
+            set.ascii.andNot(ascii);
+            set.other = true;
+            return set;
+        }
+
+        CharSet union(CharSet set) {
+            CharSet out = new CharSet();
+            out.addAll(this);
+            out.addAll(set);
+            return out;
+        }
+
+        CharSet intersect(CharSet set) {
+            CharSet out = new CharSet();
+            out.ascii.or(ascii);
+            out.ascii.and(set.ascii);
+            out.other = other && set.other;
+            return out.isEmpty() ? null : out;
+        }
+
+        boolean overlaps(CharSet set) {
+            return ascii.intersects(set.ascii) || other && set.other;
+        }
+
+        boolean isEmpty() {
+            return ascii.isEmpty() && !other;
+        }
+
+        char sample() {
+            for (char c : SAMPLES.toCharArray()) {
+                if (ascii.get(c)) {
+                    return c;
+                }
+            }
+            int c = ascii.nextSetBit(0);
+            return c >= 0 ? (char) c : 'é';
+        }
+    }
+
+    // ==================== 解析 ====================
+
+    /**
+     * 已通过 Pattern.compile 的 pattern 的宽松解析，只保留分析需要的结构
+     */
+    private static final class Parser {
+
+        private final String regex;
+        private int pos;
+
+        Parser(String regex) {
+            this.regex = regex;
+        }
+
+        Node parse() {
+            return alternation();
+        }
+
+        private Node alternation() {
+            int start = pos;
+            Node first = sequence();
+            if (pos >= regex.length() || regex.charAt(pos) != '|') {
+                return first;
+            }
+            Alt alt = new Alt();
+            alt.branches.add(first);
+            while (pos < regex.length() && regex.charAt(pos) == '|') {
+                pos++;
+                alt.branches.add(sequence());
+            }
+            return span(alt, start);
+        }
+
+        private Node sequence() {
+            int start = pos;
+            Seq seq = new Seq();
+            while (pos < regex.length() && regex.charAt(pos) != '|' && regex.charAt(pos) != ')') {
+                int atomStart = pos;
+                Node atom = atom();
+                if (atom != null) {
+                    seq.items.add(quantifier(span(atom, atomStart)));
+                }
+            }
+            return span(seq, start);
+        }
+
+        private Node quantifier(Node atom) {
+            if (pos >= regex.length()) {
+                return atom;
+            }
+            int bodyEnd = pos;
+            int min;
+            int max;
+            char c = regex.charAt(pos);
+            if (c == '*') {
+                min = 0;
+                max = UNBOUNDED;
+                pos++;
+            } else if (c == '+') {
+                min = 1;
+                max = UNBOUNDED;
+                pos++;
+            } else if (c == '?') {
+                min = 0;
+                max = 1;
+                pos++;
+            } else if (c == '{' && regex.indexOf('}', pos) > 0) {
+                String[] bounds = regex.substring(pos + 1, regex.indexOf('}', pos)).split(",", -1);
+                min = Integer.parseInt(bounds[0].trim());
+                max = bounds.length == 1 ? min : bounds[1].isBlank() ? UNBOUNDED : Integer.parseInt(bounds[1].trim());
+                pos = regex.indexOf('}', pos) + 1;
+            } else {
+                return atom;
+            }
+            Mode mode = Mode.GREEDY;
+            if (pos < regex.length() && regex.charAt(pos) == '?') {
+                mode = Mode.LAZY;
+                pos++;
+            } else if (pos < regex.length() && regex.charAt(pos) == '+') {
+                mode = Mode.POSSESSIVE;
+                pos++;
+            }
+            Repeat repeat = new Repeat(atom, min, max, mode, bodyEnd);
+            repeat.start = atom.start;
+            repeat.end = pos;
+            return repeat;
+        }
+
+        private Node atom() {
+            char c = regex.charAt(pos++);
+            return switch (c) {
+                case '(' -> group();
+                case '[' -> new Chars(charClass());
+                case '.' -> new Chars(CharSet.of('\n').negate().intersect(CharSet.of('\r').negate()));
+                case '^', '$' -> new Empty();
+                case '\\' -> escape();
+                default -> new Chars(CharSet.of(c));
+            };
+        }
+
+        private Node group() {
+            GroupKind kind = GroupKind.CAPTURE;
+            if (regex.startsWith("?", pos)) {
+                pos++;
+                char c = regex.charAt(pos);
+                if (c == ':') {
+                    kind = GroupKind.NON_CAPTURE;
+                    pos++;
+                } else if (c == '>') {
+                    kind = GroupKind.ATOMIC;
+                    pos++;
+                } else if (c == '=' || c == '!') {
+                    kind = GroupKind.LOOKAROUND;
+                    pos++;
+                } else if (regex.startsWith("<=", pos) || regex.startsWith("<!", pos)) {
+                    kind = GroupKind.LOOKAROUND;
+                    pos += 2;
+                } else if (c == '<') {
+                    pos = regex.indexOf('>', pos) + 1;
+                } else {
+                    // 内联标志 (?i) 或 (?i:...)
+                    while (pos < regex.length() && regex.charAt(pos) != ')' && regex.charAt(pos) != ':') {
+                        pos++;
+                    }
+                    if (regex.charAt(pos++) == ')') {
+                        return null;
+                    }
+                    kind = GroupKind.NON_CAPTURE;
+                }
+            }
+            Node body = alternation();
+            pos++;
+            return new Group(kind, body);
+        }
+
+        private Node escape() {
+            char c = regex.charAt(pos);
+            switch (c) {
+                case 'b', 'B', 'A', 'z', 'Z', 'G' -> {
+                    pos++;
+                    return new Empty();
+                }
+                case 'Q' -> {
+                    pos++;
+                    return quoted();
+                }
+                case 'k' -> {
+                    pos = regex.indexOf('>', pos) + 1;
+                    return new Backref();
+                }
+                default -> {
+                    if (c >= '1' && c <= '9') {
+                        while (pos < regex.length() && Character.isDigit(regex.charAt(pos))) {
+                            pos++;
+                        }
+                        return new Backref();
+                    }
+                    return new Chars(escapedChars());
+                }
+            }
+        }
+
+        private Node quoted() {
+            int end = regex.indexOf("\\E", pos);
+            String text = regex.substring(pos, end < 0 ? regex.length() : end);
+            pos = end < 0 ? regex.length() : end + 2;
+            Seq seq = new Seq();
+            for (char c : text.toCharArray()) {
+                seq.items.add(new Chars(CharSet.of(c)));
+            }
+            return seq.items.size() == 1 ? seq.items.get(0) : seq;
+        }
+
+        /**
+         * 反斜杠之后的单字符转义（字符类内外通用），pos 指向反斜杠后的字符
+         */
+        private CharSet escapedChars() {
+            char c = regex.charAt(pos++);
+            return switch (c) {
+                case 'd' -> CharSet.digits();
+                case 'D' -> CharSet.digits().negate();
+                case 'w' -> CharSet.word();
+                case 'W' -> CharSet.word().negate();
+                case 's' -> CharSet.spaces();
+                case 'S' -> CharSet.spaces().negate();
+                case 'p', 'P' -> {
+                    pos = regex.charAt(pos) == '{' ? regex.indexOf('}', pos) + 1 : pos + 1;
+                    yield CharSet.any();
+                }
+                case 't' -> CharSet.of('\t');
+                case 'n' -> CharSet.of('\n');
+                case 'r' -> CharSet.of('\r');
+                case 'f' -> CharSet.of('\f');
+                case 'a' -> CharSet.of('\u0007');
+                case 'e' -> CharSet.of('\u001B');
+                case 'c' -> CharSet.of((char) (regex.charAt(pos++) ^ 64));
+                case 'x' -> {
+                    if (regex.charAt(pos) != '{') {
+                        yield CharSet.of((char) hex(2));
+                    }
+                    int end = regex.indexOf('}', pos);
+                    int value = Integer.parseInt(regex.substring(pos + 1, end), 16);
+                    pos = end + 1;
+                    yield CharSet.of((char) Math.min(value, Character.MAX_VALUE));
+                }
+                case 'u' -> CharSet.of((char) hex(4));
+                case '0' -> {
+                    int value = 0;
+                    for (int i = 0; i < 3 && pos < regex.length() && regex.charAt(pos) >= '0' && regex.charAt(pos) <= '7'; i++) {
+                        value = value * 8 + regex.charAt(pos++) - '0';
+                    }
+                    yield CharSet.of((char) value);
+                }
+                default -> CharSet.of(c);
+            };
+        }
+
+        private int hex(int digits) {
+            int value = Integer.parseInt(regex.substring(pos, pos + digits), 16);
+            pos += digits;
+            return value;
+        }
+
+        /**
+         * 字符类，pos 指向 [ 之后；嵌套类与交集 && 按并集近似
+         */
+        private CharSet charClass() {
+            boolean negated = regex.startsWith("^", pos);
+            if (negated) {
+                pos++;
+            }
+            CharSet set = new CharSet();
+            boolean firstChar = true;
+            while (pos < regex.length()) {
+                char c = regex.charAt(pos);
+                if (c == ']' && !firstChar) {
+                    pos++;
+                    break;
+                }
+                firstChar = false;
+                if (c == '[') {
+                    pos++;
+                    set.addAll(charClass());
+                    continue;
+                }
+                if (regex.startsWith("&&", pos)) {
+                    pos += 2;
+                    continue;
+                }
+                CharSet single;
+                char low;
+                if (c == '\\') {
+                    pos++;
+                    single = escapedChars();
+                    low = single.ascii.cardinality() == 1 && !single.other ? (char) single.ascii.nextSetBit(0) : 0;
+                } else {
+                    pos++;
+                    single = CharSet.of(c);
+                    low = c;
+                }
+                if (low != 0 && pos + 1 < regex.length() && regex.charAt(pos) == '-' && regex.charAt(pos + 1) != ']') {
+                    pos++;
+                    char high = regex.charAt(pos++);
+                    if (high == '\\') {
+                        CharSet escaped = escapedChars();
+                        high = escaped.ascii.isEmpty() ? Character.MAX_VALUE : (char) escaped.ascii.nextSetBit(0);
+                    }
+                    set.addAll(CharSet.range(low, high));
+                } else {
+                    set.addAll(single);
+                }
+            }
+            return negated ? set.negate() : set;
+        }
+
+        private Node span(Node node, int start) {
+            node.start = start;
+            node.end = pos;
+            return node;
+        }
+    }
+}
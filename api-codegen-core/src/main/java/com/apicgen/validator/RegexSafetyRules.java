@@ -0,0 +1,83 @@
+package com.apicgen.validator;
+
+import com.apicgen.model.ValidationConfig;
+import com.apicgen.validator.ValidationAnalyzer.AnalysisItem;
+
+import java.util.List;
+
+/**
+ * DFX-022 正则安全规则：检查字段（包括嵌套字段）的 validation.pattern 与 elementValidation.pattern
+ * <p>
+ * pattern 无法编译、存在指数级回溯结构或模糊测试超时报告为校验错误，会阻止代码生成；
+ * 相邻量词的多项式级回溯只报告为 WARNING 级分析结果，不阻止生成。修复建议给出占有量词或原子组的改写，均不能自动修复。
+ * 由 {@link ApiValidator#register(RuleEngine)} 一并注册；命令行 {@code --analyze} 与插件 analyze 的分析引擎也单独注册本规则。
+ */
+public class RegexSafetyRules {
+
+    private final RegexSafety safety;
+
+    public RegexSafetyRules() {
+        this(new RegexSafety());
+    }
+
+    public RegexSafetyRules(RegexSafety safety) {
+        this.safety = safety;
+    }
+
+    /**
+     * 把规则注册到规则引擎
+     */
+    public RuleEngine register(RuleEngine engine) {
+        return engine.onValidation(this::checkPatterns);
+    }
+
+    /**
+     * 报告中 DFX-022 的校验错误
+     */
+    public static List<ValidationError> errors(RuleReport report) {
+        return report.getErrors().stream()
+            .filter(error -> error.getMessage() != null && error.getMessage().startsWith(RegexSafety.RULE_CODE))
+            .toList();
+    }
+
+    private void checkPatterns(ValidationConfig validation, RuleContext context) {
+        if (validation == null) {
+            return;
+        }
+        checkPattern(validation.getPattern(), ".validation.pattern", context);
+        if (validation.getElementValidation() != null) {
+            checkPattern(validation.getElementValidation().getPattern(), ".validation.elementValidation.pattern", context);
+        }
+    }
+
+    private void checkPattern(String pattern, String suffix, RuleContext context) {
+        for (RegexSafety.Finding finding : safety.check(pattern)) {
+            if (finding.kind() == RegexSafety.Kind.POLYNOMIAL) {
+                context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(),
+                    context.field().getName(), context.field().getType(),
+                    RegexSafety.RULE_CODE + ": 正则安全 - " + suffix.substring(1) + " " + pattern + " 中" + finding.detail(),
+                    suggestion(finding), AnalysisItem.Severity.WARNING
+                ));
+                continue;
+            }
+            context.report(new ValidationError(
+                context.fieldPath() + suffix,
+                RegexSafety.RULE_CODE + ": 正则安全 - " + finding.detail(),
+                pattern,
+                suggestion(finding)
+            ));
+        }
+    }
+
+    private static String suggestion(RegexSafety.Finding finding) {
+        if (finding.rewrite() != null) {
+            return "改写为 " + finding.rewrite() + "（占有量词/原子组不回溯，请确认匹配语义不变）";
+        }
+        return switch (finding.kind()) {
+            case SYNTAX -> "修正正则语法";
+            case POLYNOMIAL -> "合并相邻量词，或让相邻量词匹配的字符互斥（如用 [^x]* 代替 .*）";
+            default -> "去掉嵌套或相互重叠的量词，必要时改用占有量词（如 a++）或原子组（?>...）";
+        };
+    }
+}
@@ -0,0 +1,159 @@
+package com.apicgen.validator;
+
+import com.apicgen.model.Api;
+import com.apicgen.model.ApiDefinition;
+import com.apicgen.model.ClassDefinition;
+import com.apicgen.model.FieldDefinition;
+
+import java.util.Arrays;
+
+/**
+ * 规则执行时的遍历位置与结果收集
+ * <p>
+ * 由 {@link RuleEngine} 在遍历过程中更新，规则只应在 check 调用期间读取；
+ * 路径字符串（如 {@code apis[0].request.fields[1]}）在规则需要时才拼接。
+ */
+public class RuleContext {
+
+    private final ApiDefinition definition;
+    private final RuleReport report;
+
+    private int apiIndex = -1;
+    private Api api;
+    private String location;
+    private ClassDefinition classDefinition;
+
+    private int depth;
+    private int[] fieldIndexes = new int[8];
+    private FieldDefinition[] fields = new FieldDefinition[8];
+    private String[] classNames = new String[8];
+
+    RuleContext(ApiDefinition definition, RuleReport report) {
+        this.definition = definition;
+        this.report = report;
+    }
+
+    public ApiDefinition definition() {
+        return definition;
+    }
+
+    public Api api() {
+        return api;
+    }
+
+    public int apiIndex() {
+        return apiIndex;
+    }
+
+    /**
+     * request 或 response
+     */
+    public String location() {
+        return location;
+    }
+
+    /**
+     * 当前 request/response 的类定义
+     */
+    public ClassDefinition classDefinition() {
+        return classDefinition;
+    }
+
+    /**
+     * 当前字段，FIELD/VALIDATION 规则中有效
+     */
+    public FieldDefinition field() {
+        return fields[depth];
+    }
+
+    /**
+     * 当前字段所在分支第 level 层的字段，level 为 0 到 {@link #depth()}，等于 depth() 时即当前字段
+     */
+    public FieldDefinition field(int level) {
+        if (level < 0 || level > depth) {
+            throw new IndexOutOfBoundsException("字段层级 " + level + " 超出当前深度 " + depth);
+        }
+        return fields[level];
+    }
+
+    /**
+     * 字段嵌套深度，request/response 的直接字段为 0
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * 当前字段所属的类名，嵌套字段为外层类名加字段名，如 {@code UserReq.address}
+     */
+    public String className() {
+        return classNames[depth];
+    }
+
+    /**
+     * 当前 API 的路径，如 {@code apis[0]}
+     */
+    public String apiPath() {
+        return "apis[" + apiIndex + "]";
+    }
+
+    /**
+     * 当前 request/response 的路径，如 {@code apis[0].request}
+     */
+    public String classPath() {
+        return apiPath() + "." + location;
+    }
+
+    /**
+     * 当前字段的路径，如 {@code apis[0].request.fields[1]}，嵌套字段继续追加 {@code .fields[n]}
+     */
+    public String fieldPath() {
+        StringBuilder path = new StringBuilder(classPath());
+        for (int i = 0; i <= depth; i++) {
+            path.append(".fields[").append(fieldIndexes[i]).append(']');
+        }
+        return path.toString();
+    }
+
+    public void report(ValidationError error) {
+        report.add(error);
+    }
+
+    public void report(ValidationAnalyzer.AnalysisItem item) {
+        report.add(item);
+    }
+
+    void enterApi(int index, Api api) {
+        this.apiIndex = index;
+        this.api = api;
+        this.location = null;
+        this.classDefinition = null;
+    }
+
+    void enterClass(String location, ClassDefinition classDefinition) {
+        this.location = location;
+        this.classDefinition = classDefinition;
+        this.depth = 0;
+        this.classNames[0] = classDefinition.getClassName();
+    }
+
+    void enterField(int index, FieldDefinition field) {
+        fieldIndexes[depth] = index;
+        fields[depth] = field;
+    }
+
+    void enterNested(FieldDefinition parent) {
+        if (depth + 1 == fields.length) {
+            fieldIndexes = Arrays.copyOf(fieldIndexes, depth * 2 + 2);
+            fields = Arrays.copyOf(fields, depth * 2 + 2);
+            classNames = Arrays.copyOf(classNames, depth * 2 + 2);
+        }
+        classNames[depth + 1] = classNames[depth] + "." + parent.getName();
+        depth++;
+    }
+
+    void exitNested() {
+        fields[depth] = null;
+        depth--;
+    }
+}
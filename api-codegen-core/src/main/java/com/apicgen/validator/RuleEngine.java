@@ -0,0 +1,259 @@
+package com.apicgen.validator;
+
+import com.apicgen.model.Api;
+import com.apicgen.model.ApiDefinition;
+import com.apicgen.model.ClassDefinition;
+import com.apicgen.model.FieldDefinition;
+import com.apicgen.model.ValidationConfig;
+import com.apicgen.util.FieldTypeInference;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * 单次遍历的规则引擎：规则按节点类型注册，一次遍历 API 定义即可执行全部规则
+ * <p>
+ * 遍历顺序：先执行 DEFINITION 规则，再依次访问每个 API（API 规则）、其 request 与 response
+ * （CLASS 规则）以及其中的字段；字段按先序递归访问嵌套字段，每个字段先执行 FIELD 规则，
+ * 再执行 VALIDATION 规则（字段的约束：校验配置，可能为 null，以及枚举值）。
+ * 同类规则按注册顺序执行。{@link ApiValidator} 与 {@link ValidationAnalyzer} 的规则可以注册到同一个引擎，
+ * 校验错误与分析结果由一次遍历产出，见 {@link #withDefaultRules(FieldTypeInference)}。
+ * <p>
+ * 注册完成后引擎可以重复使用，也可以被多个线程同时调用；每次 {@link #run} 使用独立的上下文与报告。
+ * <p>
+ * 并行度大于 1 时，DEFINITION 规则（跨 API 的重复检查、DFX-020 等）先顺序执行，
+ * 随后 API 按连续区间分片在独立的 ForkJoinPool 中并行遍历，每片使用自己的上下文与报告，
+ * 最后按 API 顺序合并，结果与顺序执行完全一致。此时 API 及以下的规则会被并发调用，必须是线程安全的
+ * （ApiValidator 与 ValidationAnalyzer 的规则不保存状态）。
+ */
+public class RuleEngine {
+
+    /**
+     * 规则作用的节点类型
+     */
+    public enum NodeKind {
+        DEFINITION,
+        API,
+        CLASS,
+        FIELD,
+        VALIDATION
+    }
+
+    /**
+     * 规则：检查一个节点，通过上下文报告问题
+     */
+    @FunctionalInterface
+    public interface Rule<T> {
+        void check(T node, RuleContext context);
+    }
+
+    /**
+     * 每个并行任务至少处理的 API 数，避免为很小的分片创建报告
+     */
+    private static final int MIN_APIS_PER_TASK = 16;
+
+    private final List<Rule<ApiDefinition>> definitionRules = new ArrayList<>();
+    private final List<Rule<Api>> apiRules = new ArrayList<>();
+    private final List<Rule<ClassDefinition>> classRules = new ArrayList<>();
+    private final List<Rule<FieldDefinition>> fieldRules = new ArrayList<>();
+    private final List<Rule<ValidationConfig>> validationRules = new ArrayList<>();
+
+    private int parallelism = 1;
+
+    /**
+     * 注册 ApiValidator 与 ValidationAnalyzer 全部规则的引擎
+     */
+    public static RuleEngine withDefaultRules(FieldTypeInference typeInference) {
+        RuleEngine engine = new RuleEngine();
+        new ApiValidator().register(engine);
+        new ValidationAnalyzer(typeInference).register(engine);
+        return engine;
+    }
+
+    /**
+     * 整个 API 定义的规则，定义为 null 时也会执行；定义或 API 列表为 null 时不再向下遍历
+     */
+    public RuleEngine onDefinition(Rule<ApiDefinition> rule) {
+        definitionRules.add(rule);
+        return this;
+    }
+
+    public RuleEngine onApi(Rule<Api> rule) {
+        apiRules.add(rule);
+        return this;
+    }
+
+    /**
+     * request/response 类定义的规则
+     */
+    public RuleEngine onClass(Rule<ClassDefinition> rule) {
+        classRules.add(rule);
+        return this;
+    }
+
+    /**
+     * 字段规则，包括嵌套字段，{@link RuleContext#depth()} 为 0 时是顶层字段
+     */
+    public RuleEngine onField(Rule<FieldDefinition> rule) {
+        fieldRules.add(rule);
+        return this;
+    }
+
+    /**
+     * 字段约束规则，在同一字段的 FIELD 规则之后执行；校验配置可能为 null，字段见 {@link RuleContext#field()}
+     */
+    public RuleEngine onValidation(Rule<ValidationConfig> rule) {
+        validationRules.add(rule);
+        return this;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * 按 API 并行执行规则的并行度，默认 1（顺序执行）
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int ruleCount(NodeKind kind) {
+        return switch (kind) {
+            case DEFINITION -> definitionRules.size();
+            case API -> apiRules.size();
+            case CLASS -> classRules.size();
+            case FIELD -> fieldRules.size();
+            case VALIDATION -> validationRules.size();
+        };
+    }
+
+    /**
+     * 遍历一次 API 定义，执行全部规则
+     */
+    public RuleReport run(ApiDefinition apiDefinition) {
+        RuleReport report = new RuleReport();
+        RuleContext context = new RuleContext(apiDefinition, report);
+        for (Rule<ApiDefinition> rule : definitionRules) {
+            rule.check(apiDefinition, context);
+        }
+        if (apiDefinition == null || apiDefinition.getApis() == null) {
+            return report;
+        }
+
+        List<Api> apis = apiDefinition.getApis();
+        if (parallelism > 1 && apis.size() >= 2 * MIN_APIS_PER_TASK) {
+            for (RuleReport part : runInParallel(apiDefinition)) {
+                report.addAll(part);
+            }
+        } else {
+            visitApis(apis, 0, apis.size(), context);
+        }
+        return report;
+    }
+
+    /**
+     * 只执行 DEFINITION 规则（跨 API 的检查），供增量分析使用
+     */
+    RuleReport runDefinition(ApiDefinition apiDefinition) {
+        RuleReport report = new RuleReport();
+        RuleContext context = new RuleContext(apiDefinition, report);
+        for (Rule<ApiDefinition> rule : definitionRules) {
+            rule.check(apiDefinition, context);
+        }
+        return report;
+    }
+
+    /**
+     * 只对第 index 个 API 执行 API 及以下的规则，供增量分析使用
+     */
+    RuleReport runApi(ApiDefinition apiDefinition, int index) {
+        RuleReport report = new RuleReport();
+        visitApis(apiDefinition.getApis(), index, index + 1, new RuleContext(apiDefinition, report));
+        return report;
+    }
+
+    /**
+     * 在独立的 ForkJoinPool 中按 API 区间并行遍历，按区间顺序返回各片的报告
+     */
+    private List<RuleReport> runInParallel(ApiDefinition apiDefinition) {
+        List<Api> apis = apiDefinition.getApis();
+        int tasks = Math.min(parallelism * 4, apis.size() / MIN_APIS_PER_TASK);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> IntStream.range(0, tasks).parallel().mapToObj(task -> {
+                RuleReport part = new RuleReport();
+                int from = (int) ((long) apis.size() * task / tasks);
+                int to = (int) ((long) apis.size() * (task + 1) / tasks);
+                visitApis(apis, from, to, new RuleContext(apiDefinition, part));
+                return part;
+            }).toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("规则执行被中断", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("规则执行失败: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void visitApis(List<Api> apis, int from, int to, RuleContext context) {
+        boolean visitClasses = !classRules.isEmpty() || !fieldRules.isEmpty() || !validationRules.isEmpty();
+        for (int i = from; i < to; i++) {
+            Api api = apis.get(i);
+            if (api == null) {
+                continue;
+            }
+            context.enterApi(i, api);
+            for (Rule<Api> rule : apiRules) {
+                rule.check(api, context);
+            }
+            if (visitClasses) {
+                visitClass("request", api.getRequest(), context);
+                visitClass("response", api.getResponse(), context);
+            }
+        }
+    }
+
+    private void visitClass(String location, ClassDefinition classDefinition, RuleContext context) {
+        if (classDefinition == null) {
+            return;
+        }
+        context.enterClass(location, classDefinition);
+        for (Rule<ClassDefinition> rule : classRules) {
+            rule.check(classDefinition, context);
+        }
+        visitFields(classDefinition.getFields(), context);
+    }
+
+    private void visitFields(List<FieldDefinition> fields, RuleContext context) {
+        if (fields == null || fieldRules.isEmpty() && validationRules.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < fields.size(); i++) {
+            FieldDefinition field = fields.get(i);
+            if (field == null) {
+                continue;
+            }
+            context.enterField(i, field);
+            for (Rule<FieldDefinition> rule : fieldRules) {
+                rule.check(field, context);
+            }
+            for (Rule<ValidationConfig> rule : validationRules) {
+                rule.check(field.getValidation(), context);
+            }
+            if (field.getFields() != null && !field.getFields().isEmpty()) {
+                context.enterNested(field);
+                visitFields(field.getFields(), context);
+                context.exitNested();
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.apicgen.validator;
+
+import com.apicgen.validator.ValidationAnalyzer.AnalysisItem;
+import com.apicgen.validator.ValidationAnalyzer.AnalysisSummary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 一次规则遍历的结果：校验错误、分析结果，以及按严重级别的计数（报告时累加，无需再次遍历结果）
+ */
+public class RuleReport {
+
+    private final List<ValidationError> errors = new ArrayList<>();
+    private final List<AnalysisItem> items = new ArrayList<>();
+    private final long[] severityCounts = new long[AnalysisItem.Severity.values().length];
+
+    void add(ValidationError error) {
+        errors.add(error);
+    }
+
+    void add(AnalysisItem item) {
+        items.add(item);
+        severityCounts[item.getSeverity().ordinal()]++;
+    }
+
+    /**
+     * 追加另一份报告（并行执行时的一个分片）的结果
+     */
+    void addAll(RuleReport other) {
+        errors.addAll(other.errors);
+        addItems(other);
+    }
+
+    /**
+     * 只追加另一份报告的分析结果
+     */
+    void addItems(RuleReport other) {
+        items.addAll(other.items);
+        for (int i = 0; i < severityCounts.length; i++) {
+            severityCounts[i] += other.severityCounts[i];
+        }
+    }
+
+    /**
+     * ApiValidator 规则报告的校验错误，按遍历顺序
+     */
+    public List<ValidationError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * ValidationAnalyzer 规则报告的分析结果，按遍历顺序
+     */
+    public List<AnalysisItem> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    public long count(AnalysisItem.Severity severity) {
+        return severityCounts[severity.ordinal()];
+    }
+
+    public AnalysisSummary summary() {
+        return new AnalysisSummary(count(AnalysisItem.Severity.ERROR), count(AnalysisItem.Severity.WARNING),
+            count(AnalysisItem.Severity.INFO), items.size());
+    }
+
+    public ValidationResult toValidationResult() {
+        return new ValidationResult(errors.isEmpty(), new ArrayList<>(errors));
+    }
+}
@@ -1,14 +1,12 @@
 package com.apicgen.validator;
 
-import com.apicgen.model.Api;
 import com.apicgen.model.ApiDefinition;
-import com.apicgen.model.ClassDefinition;
 import com.apicgen.model.FieldDefinition;
 import com.apicgen.model.ValidationConfig;
+import com.apicgen.util.FieldTypeInference;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 校验规则分析器
@@ -16,6 +14,19 @@ import java.util.stream.Collectors;
  */
 public class ValidationAnalyzer {
 
+    private final FieldTypeInference typeInference;
+
+    public ValidationAnalyzer() {
+        this(FieldTypeInference.defaults());
+    }
+
+    /**
+     * @param typeInference 字段缺少类型时用于推断类型的词表
+     */
+    public ValidationAnalyzer(FieldTypeInference typeInference) {
+        this.typeInference = typeInference;
+    }
+
     /**
      * 分析结果项
      */
@@ -73,83 +84,56 @@ public class ValidationAnalyzer {
      * 分析整个 API 定义，返回缺失的校验规则列表
      */
     public List<AnalysisItem> analyze(ApiDefinition apiDefinition) {
-        List<AnalysisItem> items = new ArrayList<>();
-
-        for (Api api : apiDefinition.getApis()) {
-            analyzeApi(api, items);
-        }
-
-        return items;
+        return new ArrayList<>(register(new RuleEngine()).run(apiDefinition).getItems());
     }
 
     /**
-     * 统计问题数量
+     * 统计问题数量；既要结果又要计数时使用 {@link RuleEngine#run} 的 {@link RuleReport}，只遍历一次
      */
     public AnalysisSummary summarize(ApiDefinition apiDefinition) {
-        List<AnalysisItem> items = analyze(apiDefinition);
-        return new AnalysisSummary(
-                items.stream().filter(i -> i.getSeverity() == AnalysisItem.Severity.ERROR).count(),
-                items.stream().filter(i -> i.getSeverity() == AnalysisItem.Severity.WARNING).count(),
-                items.stream().filter(i -> i.getSeverity() == AnalysisItem.Severity.INFO).count(),
-                items.size()
-        );
+        return register(new RuleEngine()).run(apiDefinition).summary();
     }
 
     /**
-     * 分析单个 API
+     * 把分析规则注册到规则引擎：缺失类型推断为字段规则，其余为字段约束规则，嵌套字段同样分析
      */
-    private void analyzeApi(Api api, List<AnalysisItem> items) {
-        String apiName = api.getName();
-
-        // 分析 Request
-        if (api.getRequest() != null) {
-            analyzeClassDefinition(apiName, "request", api.getRequest(), items);
-        }
-
-        // 分析 Response
-        if (api.getResponse() != null) {
-            analyzeClassDefinition(apiName, "response", api.getResponse(), items);
-        }
+    public RuleEngine register(RuleEngine engine) {
+        return engine.onField(this::checkMissingType)
+                .onValidation(this::analyzeConstraints);
     }
 
     /**
-     * 分析类定义
+     * 检查缺失类型 - 尝试推断类型并生成可自动修复的 issue
      */
-    private void analyzeClassDefinition(String apiName, String location, ClassDefinition classDef, List<AnalysisItem> items) {
-        String className = classDef.getClassName();
-
-        for (FieldDefinition field : classDef.getFields()) {
-            analyzeField(apiName, location, className, field, items);
+    private void checkMissingType(FieldDefinition field, RuleContext context) {
+        if (field.getType() == null || field.getType().isBlank()) {
+            String inferredType = typeInference.infer(field.getName());
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), field.getName(), inferredType,
+                    "字段类型缺失，已推断为 " + inferredType,
+                    "设置 type=" + inferredType,
+                    AnalysisItem.Severity.ERROR
+            ));
         }
     }
 
     /**
-     * 分析单个字段
+     * 分析单个字段的校验约束
      */
-    private void analyzeField(String apiName, String location, String className,
-                             FieldDefinition field, List<AnalysisItem> items) {
+    private void analyzeConstraints(ValidationConfig validation, RuleContext context) {
+        FieldDefinition field = context.field();
         String fieldName = field.getName();
         String fieldType = field.getType();
-        ValidationConfig validation = field.getValidation();
-
-        // 0. 检查缺失类型 - 尝试推断类型并生成可自动修复的 issue
+        // 类型为空时仍继续分析其他规则（后续规则用推断类型）
         if (fieldType == null || fieldType.isBlank()) {
-            String inferredType = inferTypeFromFieldName(fieldName);
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, inferredType,
-                    "字段类型缺失，已推断为 " + inferredType,
-                    "设置 type=" + inferredType,
-                    AnalysisItem.Severity.ERROR
-            ));
-            // 类型为空时仍继续分析其他规则（后续规则用推断类型）
-            fieldType = inferredType;
+            fieldType = typeInference.infer(fieldName);
         }
 
         // 1. 检查必填字段是否有 @NotNull/@NotBlank 校验
         if (field.isRequired()) {
             if (validation == null || (!isNotNullValidated(validation) && !isNotBlankValidated(validation))) {
-                items.add(new AnalysisItem(
-                        apiName, location, className, fieldName, fieldType,
+                context.report(new AnalysisItem(
+                        context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                         "必填字段缺少 @NotNull/@NotBlank 校验",
                         "添加 validation.required=true 或 @NotNull 注解",
                         AnalysisItem.Severity.ERROR
@@ -158,10 +142,10 @@ public class ValidationAnalyzer {
         }
 
         // 2. 智能识别：邮箱字段
-        if (isEmailField(fieldName) && field.isPrimitiveType() && "String".equals(getCleanType(fieldType))) {
+        if (isEmailField(fieldName) && field.isPrimitiveType() && "String".equals(field.getTypeRef().getName())) {
             if (validation == null || validation.getEmail() == null) {
-                items.add(new AnalysisItem(
-                        apiName, location, className, fieldName, fieldType,
+                context.report(new AnalysisItem(
+                        context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                         "邮箱字段建议添加 email 校验",
                         "添加 validation.email=true",
                         AnalysisItem.Severity.INFO
@@ -170,10 +154,10 @@ public class ValidationAnalyzer {
         }
 
         // 3. 智能识别：电话字段
-        if (isPhoneField(fieldName) && field.isPrimitiveType() && "String".equals(getCleanType(fieldType))) {
+        if (isPhoneField(fieldName) && field.isPrimitiveType() && "String".equals(field.getTypeRef().getName())) {
             if (validation == null || validation.getPattern() == null) {
-                items.add(new AnalysisItem(
-                        apiName, location, className, fieldName, fieldType,
+                context.report(new AnalysisItem(
+                        context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                         "电话字段建议添加正则校验",
                         "添加 validation.pattern=\"^1[3-9]\\\\d{9}$\" 等",
                         AnalysisItem.Severity.INFO
@@ -184,18 +168,18 @@ public class ValidationAnalyzer {
         // 4. 根据类型检查特定的校验规则
         if (field.isListType()) {
             // List 类型（包括 List<String>, List<Long> 等）
-            analyzeListField(apiName, location, className, fieldName, fieldType, validation, items);
+            analyzeListField(fieldName, fieldType, validation, context);
         } else if (field.isPrimitiveType()) {
             // 基本类型（不包括 List）
-            String cleanType = getCleanType(fieldType);
+            String cleanType = field.getTypeRef().getName();
 
             // 检查是否是路径参数
             if (field.isPathParam()) {
                 if ("Integer".equals(cleanType) || "Long".equals(cleanType) || "Double".equals(cleanType)) {
                     // 路径参数是数值类型
                     if (validation == null || validation.getMin() == null) {
-                        items.add(new AnalysisItem(
-                                apiName, location, className, fieldName, fieldType,
+                        context.report(new AnalysisItem(
+                                context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                                 "路径参数缺少最小值校验",
                                 "建议添加 validation.min=1",
                                 AnalysisItem.Severity.WARNING
@@ -204,8 +188,8 @@ public class ValidationAnalyzer {
                 } else if ("String".equals(cleanType)) {
                     // 路径参数是字符串类型
                     if (validation == null || validation.getMinLength() == null) {
-                        items.add(new AnalysisItem(
-                                apiName, location, className, fieldName, fieldType,
+                        context.report(new AnalysisItem(
+                                context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                                 "路径参数缺少最小长度校验",
                                 "建议添加 validation.minLength=1",
                                 AnalysisItem.Severity.WARNING
@@ -215,35 +199,20 @@ public class ValidationAnalyzer {
             } else {
                 switch (cleanType) {
                     case "String":
-                        analyzeStringField(apiName, location, className, fieldName, fieldType, validation, items);
+                        analyzeStringField(fieldName, fieldType, validation, context);
                         break;
                     case "Integer":
                     case "Long":
                     case "Double":
-                        analyzeNumericField(apiName, location, className, fieldName, fieldType, validation, items);
+                        analyzeNumericField(fieldName, fieldType, validation, context);
                         break;
                     case "LocalDate":
                     case "LocalDateTime":
-                        analyzeDateField(apiName, location, className, fieldName, fieldType, validation, items);
+                        analyzeDateField(fieldName, fieldType, validation, context);
                         break;
                 }
             }
         }
-
-        // 5. 嵌套对象递归分析
-        if (field.getFields() != null && !field.getFields().isEmpty()) {
-            for (FieldDefinition nestedField : field.getFields()) {
-                analyzeField(apiName, location, className + "." + fieldName, nestedField, items);
-            }
-        }
-    }
-
-    /**
-     * 获取清理后的类型字符串（去掉引号和空格）
-     */
-    private String getCleanType(String type) {
-        if (type == null) return null;
-        return type.replace("\"", "").trim();
     }
 
     /**
@@ -265,13 +234,12 @@ public class ValidationAnalyzer {
     /**
      * 分析 String 类型字段
      */
-    private void analyzeStringField(String apiName, String location, String className,
-                                   String fieldName, String fieldType,
-                                   ValidationConfig validation, List<AnalysisItem> items) {
+    private void analyzeStringField(String fieldName, String fieldType,
+                                   ValidationConfig validation, RuleContext context) {
         if (validation == null) {
             // 没有校验配置，建议添加
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "String 字段缺少长度校验",
                     "建议添加 validation.minLength 和 validation.maxLength",
                     AnalysisItem.Severity.WARNING
@@ -281,22 +249,22 @@ public class ValidationAnalyzer {
 
         // 检查 minLength 和 maxLength
         if (validation.getMinLength() == null && validation.getMaxLength() == null) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "String 字段缺少长度校验",
                     "建议添加 validation.minLength 和 validation.maxLength",
                     AnalysisItem.Severity.WARNING
             ));
         } else if (validation.getMinLength() != null && validation.getMaxLength() == null) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "String 字段只有 minLength，缺少 maxLength",
                     "建议添加 validation.maxLength",
                     AnalysisItem.Severity.INFO
             ));
         } else if (validation.getMinLength() == null && validation.getMaxLength() != null) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "String 字段只有 maxLength，缺少 minLength",
                     "建议添加 validation.minLength",
                     AnalysisItem.Severity.INFO
@@ -306,8 +274,8 @@ public class ValidationAnalyzer {
         // 检查 minLength > maxLength
         if (validation.getMinLength() != null && validation.getMaxLength() != null
                 && validation.getMinLength() > validation.getMaxLength()) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "minLength 不能大于 maxLength",
                     "修改 validation.minLength < validation.maxLength",
                     AnalysisItem.Severity.ERROR
@@ -318,8 +286,8 @@ public class ValidationAnalyzer {
         if (validation.getEmail() == null) {
             // 通过字段名判断是否可能是邮箱
             if (fieldName.toLowerCase().contains("email") || fieldName.toLowerCase().contains("mail")) {
-                items.add(new AnalysisItem(
-                        apiName, location, className, fieldName, fieldType,
+                context.report(new AnalysisItem(
+                        context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                         "邮箱字段建议添加 email 校验",
                         "添加 validation.email=true",
                         AnalysisItem.Severity.INFO
@@ -329,8 +297,8 @@ public class ValidationAnalyzer {
 
         // 检查 pattern
         if (validation.getPattern() == null && fieldName.toLowerCase().contains("phone")) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "电话字段建议添加正则校验",
                     "添加 validation.pattern=\"^1[3-9]\\\\d{9}$\" 等",
                     AnalysisItem.Severity.INFO
@@ -341,25 +309,24 @@ public class ValidationAnalyzer {
     /**
      * 分析数字类型字段
      */
-    private void analyzeNumericField(String apiName, String location, String className,
-                                    String fieldName, String fieldType,
-                                    ValidationConfig validation, List<AnalysisItem> items) {
+    private void analyzeNumericField(String fieldName, String fieldType,
+                                    ValidationConfig validation, RuleContext context) {
         // 特殊规则：page/pageNum 字段
         if ("page".equalsIgnoreCase(fieldName) || "pageNum".equalsIgnoreCase(fieldName)) {
-            analyzePageField(apiName, location, className, fieldName, fieldType, validation, items);
+            analyzePageField(fieldName, fieldType, validation, context);
             return;
         }
 
         // 特殊规则：pageSize/limit/size 字段
         if ("pageSize".equalsIgnoreCase(fieldName) || fieldName.toLowerCase().contains("size") || fieldName.toLowerCase().contains("limit")) {
-            analyzePageSizeField(apiName, location, className, fieldName, fieldType, validation, items);
+            analyzePageSizeField(fieldName, fieldType, validation, context);
             return;
         }
 
         if (validation == null) {
             // 没有校验配置
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "数值字段缺少范围校验",
                     "建议添加 validation.min 和 validation.max",
                     AnalysisItem.Severity.WARNING
@@ -369,22 +336,22 @@ public class ValidationAnalyzer {
 
         // 检查 min 和 max
         if (validation.getMin() == null && validation.getMax() == null) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "数值字段缺少范围校验",
                     "建议添加 validation.min 和 validation.max",
                     AnalysisItem.Severity.WARNING
             ));
         } else if (validation.getMin() != null && validation.getMax() == null) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "数值字段只有 min，缺少 max",
                     "建议添加 validation.max",
                     AnalysisItem.Severity.INFO
             ));
         } else if (validation.getMin() == null && validation.getMax() != null) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "数值字段只有 max，缺少 min",
                     "建议添加 validation.min",
                     AnalysisItem.Severity.INFO
@@ -394,8 +361,8 @@ public class ValidationAnalyzer {
         // 检查 min > max
         if (validation.getMin() != null && validation.getMax() != null
                 && validation.getMin() > validation.getMax()) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "min 不能大于 max",
                     "修改 validation.min < validation.max",
                     AnalysisItem.Severity.ERROR
@@ -404,8 +371,8 @@ public class ValidationAnalyzer {
 
         // 检查 min < 0（对于非负数）
         if (validation.getMin() != null && validation.getMin() < 0) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "数值字段 min 建议 >= 0",
                     "对于非负数，validation.min 建议设置为 0",
                     AnalysisItem.Severity.INFO
@@ -416,26 +383,25 @@ public class ValidationAnalyzer {
     /**
      * 分析页码字段（page/pageNum）
      */
-    private void analyzePageField(String apiName, String location, String className,
-                                 String fieldName, String fieldType,
-                                 ValidationConfig validation, List<AnalysisItem> items) {
+    private void analyzePageField(String fieldName, String fieldType,
+                                 ValidationConfig validation, RuleContext context) {
         if (validation == null || validation.getMin() == null || validation.getMax() == null) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "页码字段缺少范围校验",
                     "建议添加 validation.min=1 和 validation.max=2147483647",
                     AnalysisItem.Severity.WARNING
             ));
         } else if (validation.getMin() == null) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "页码字段缺少 min 校验",
                     "建议添加 validation.min=1",
                     AnalysisItem.Severity.INFO
             ));
         } else if (validation.getMax() == null) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "页码字段缺少 max 校验",
                     "建议添加 validation.max=2147483647",
                     AnalysisItem.Severity.INFO
@@ -446,26 +412,25 @@ public class ValidationAnalyzer {
     /**
      * 分析每页数量字段（pageSize/size/limit）
      */
-    private void analyzePageSizeField(String apiName, String location, String className,
-                                     String fieldName, String fieldType,
-                                     ValidationConfig validation, List<AnalysisItem> items) {
+    private void analyzePageSizeField(String fieldName, String fieldType,
+                                     ValidationConfig validation, RuleContext context) {
         if (validation == null || validation.getMin() == null || validation.getMax() == null) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "每页数量字段缺少范围校验",
                     "建议添加 validation.min=1 和 validation.max=100",
                     AnalysisItem.Severity.WARNING
             ));
         } else if (validation.getMin() == null) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "每页数量字段缺少 min 校验",
                     "建议添加 validation.min=1",
                     AnalysisItem.Severity.INFO
             ));
         } else if (validation.getMax() == null) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "每页数量字段缺少 max 校验",
                     "建议添加 validation.max=100",
                     AnalysisItem.Severity.INFO
@@ -476,21 +441,20 @@ public class ValidationAnalyzer {
     /**
      * 分析日期类型字段
      */
-    private void analyzeDateField(String apiName, String location, String className,
-                                 String fieldName, String fieldType,
-                                 ValidationConfig validation, List<AnalysisItem> items) {
+    private void analyzeDateField(String fieldName, String fieldType,
+                                 ValidationConfig validation, RuleContext context) {
         if (validation == null) {
             // 检查字段名判断是生日还是时间
             if (fieldName.toLowerCase().contains("birth") || fieldName.toLowerCase().contains("dob")) {
-                items.add(new AnalysisItem(
-                        apiName, location, className, fieldName, fieldType,
+                context.report(new AnalysisItem(
+                        context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                         "生日字段建议添加 past 校验",
                         "添加 validation.past=true（只能是过去日期）",
                         AnalysisItem.Severity.INFO
                 ));
             } else if (fieldName.toLowerCase().contains("appoint") || fieldName.toLowerCase().contains("schedule")) {
-                items.add(new AnalysisItem(
-                        apiName, location, className, fieldName, fieldType,
+                context.report(new AnalysisItem(
+                        context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                         "预约字段建议添加 future 校验",
                         "添加 validation.future=true（只能是未来日期）",
                         AnalysisItem.Severity.INFO
@@ -502,8 +466,8 @@ public class ValidationAnalyzer {
         // 同时存在 past 和 future
         if (validation.getPast() != null && validation.getPast()
                 && validation.getFuture() != null && validation.getFuture()) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "past 和 future 不能同时为 true",
                     "修改 validation.past 或 validation.future",
                     AnalysisItem.Severity.ERROR
@@ -514,12 +478,11 @@ public class ValidationAnalyzer {
     /**
      * 分析 List 类型字段
      */
-    private void analyzeListField(String apiName, String location, String className,
-                                 String fieldName, String fieldType,
-                                 ValidationConfig validation, List<AnalysisItem> items) {
+    private void analyzeListField(String fieldName, String fieldType,
+                                 ValidationConfig validation, RuleContext context) {
         if (validation == null) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "List 字段缺少大小校验",
                     "建议添加 validation.minSize 和 validation.maxSize",
                     AnalysisItem.Severity.WARNING
@@ -528,22 +491,22 @@ public class ValidationAnalyzer {
         }
 
         if (validation.getMinSize() == null && validation.getMaxSize() == null) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "List 字段缺少大小校验",
                     "建议添加 validation.minSize 和 validation.maxSize",
                     AnalysisItem.Severity.WARNING
             ));
         } else if (validation.getMinSize() != null && validation.getMaxSize() == null) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "List 字段只有 minSize，缺少 maxSize",
                     "建议添加 validation.maxSize",
                     AnalysisItem.Severity.INFO
             ));
         } else if (validation.getMinSize() == null && validation.getMaxSize() != null) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "List 字段只有 maxSize，缺少 minSize",
                     "建议添加 validation.minSize",
                     AnalysisItem.Severity.INFO
@@ -553,8 +516,8 @@ public class ValidationAnalyzer {
         // 检查 minSize > maxSize
         if (validation.getMinSize() != null && validation.getMaxSize() != null
                 && validation.getMinSize() > validation.getMaxSize()) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "minSize 不能大于 maxSize",
                     "修改 validation.minSize < validation.maxSize",
                     AnalysisItem.Severity.ERROR
@@ -563,8 +526,8 @@ public class ValidationAnalyzer {
 
         // 检查 maxSize <= 0
         if (validation.getMaxSize() != null && validation.getMaxSize() <= 0) {
-            items.add(new AnalysisItem(
-                    apiName, location, className, fieldName, fieldType,
+            context.report(new AnalysisItem(
+                    context.api().getName(), context.location(), context.className(), fieldName, fieldType,
                     "maxSize 必须 > 0",
                     "修改 validation.maxSize > 0",
                     AnalysisItem.Severity.ERROR
@@ -601,33 +564,6 @@ public class ValidationAnalyzer {
         return validation.getPattern() != null || Boolean.TRUE.equals(validation.getEmail());
     }
 
-    /**
-     * 根据字段名推断类型（与 SwaggerConverter 中的逻辑保持一致）
-     */
-    private String inferTypeFromFieldName(String fieldName) {
-        if (fieldName == null || fieldName.isBlank()) {
-            return "String";
-        }
-        String lower = fieldName.toLowerCase();
-
-        if (lower.matches("^(id|_id)$") || lower.endsWith("id")) return "Long";
-        if (lower.matches("^(name|username|nickname)$")) return "String";
-        if (lower.matches("^(price|amount|total|fee|cost|balance|salary)$")) return "Double";
-        if (lower.matches("^(count|quantity|num|number|age|size)$")) return "Integer";
-        if (lower.matches("^(page|pagenum|pageno|pagenumber)$")) return "Integer";
-        if (lower.matches("^(pagesize|perpage|limit)$")) return "Integer";
-        if (lower.matches("^(score|rating)$")) return "Double";
-        if (lower.matches("^(email|mail|e_mail)$")) return "String";
-        if (lower.matches("^(phone|mobile|tel|telephone)$")) return "String";
-        if (lower.matches("^(createdat|updatedat|deletedat|created_at|updated_at|deleted_at)$")) return "LocalDateTime";
-        if (lower.matches("^(date|birthday|dob|birthdate)$")) return "LocalDate";
-        if (lower.matches("^(is|has|can|should|enable|disable|active|visible|deleted|enabled|disabled|hidden).*")) return "Boolean";
-        if (lower.matches("^(url|link|href|uri)$")) return "String";
-        if (lower.matches("^(code|orderno|nonumber)$")) return "String";
-
-        return "String";
-    }
-
     /**
      * 分析摘要
      */
@@ -10,7 +10,9 @@ import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 校验规则自动修复器
@@ -34,7 +36,7 @@ public class ValidationFixer {
      * 分析并自动修复，返回修复后的 YAML 内容
      */
     public String fix(ApiDefinition apiDefinition, List<ValidationAnalyzer.AnalysisItem> issues) {
-        // 深拷贝 ApiDefinition 以避免修改原始对象
+        // 先深拷贝再写入：解析结果中的字段子树可能被多个 $ref 引用处共享，不能原地修改
         ApiDefinition fixed = deepCopy(apiDefinition);
 
         // 应用修复
@@ -54,55 +56,52 @@ public class ValidationFixer {
      * 应用修复到 ApiDefinition
      */
     private void applyFixes(ApiDefinition apiDefinition, List<ValidationAnalyzer.AnalysisItem> issues) {
+        // 问题按 API、位置、类名与字段名分组一次，修复每个字段时直接查找，不再逐字段扫描问题列表
+        Map<String, List<ValidationAnalyzer.AnalysisItem>> issuesByField = new HashMap<>();
+        for (ValidationAnalyzer.AnalysisItem issue : issues) {
+            issuesByField.computeIfAbsent(issueKey(issue.getApiName(), issue.getLocation(), issue.getClassName(), issue.getFieldName()),
+                k -> new ArrayList<>()).add(issue);
+        }
         for (Api api : apiDefinition.getApis()) {
-            fixApi(api, issues);
+            fixApi(api, issuesByField);
         }
     }
 
     /**
      * 修复单个 API
      */
-    private void fixApi(Api api, List<ValidationAnalyzer.AnalysisItem> issues) {
-        // 过滤出与当前 API 相关的问题
-        List<ValidationAnalyzer.AnalysisItem> apiIssues = issues.stream()
-                .filter(i -> i.getApiName().equals(api.getName()))
-                .toList();
-
+    private void fixApi(Api api, Map<String, List<ValidationAnalyzer.AnalysisItem>> issuesByField) {
         // 修复 Request
         if (api.getRequest() != null) {
-            fixClassDefinition(api.getRequest(), apiIssues, "request");
+            fixClassDefinition(api.getName(), api.getRequest(), issuesByField, "request");
         }
 
         // 修复 Response
         if (api.getResponse() != null) {
-            fixClassDefinition(api.getResponse(), apiIssues, "response");
+            fixClassDefinition(api.getName(), api.getResponse(), issuesByField, "response");
         }
     }
 
     /**
      * 修复类定义
      */
-    private void fixClassDefinition(ClassDefinition classDef, List<ValidationAnalyzer.AnalysisItem> issues, String location) {
-        List<ValidationAnalyzer.AnalysisItem> classIssues = issues.stream()
-                .filter(i -> location.equals(i.getLocation()) && classDef.getClassName().equals(i.getClassName()))
-                .toList();
-
+    private void fixClassDefinition(String apiName, ClassDefinition classDef,
+                                    Map<String, List<ValidationAnalyzer.AnalysisItem>> issuesByField, String location) {
         for (FieldDefinition field : classDef.getFields()) {
-            fixField(field, classIssues, classDef.getClassName(), location);
+            fixField(field, issuesByField, apiName, classDef.getClassName(), location);
         }
     }
 
     /**
-     * 修复字段
+     * 修复字段；嵌套字段按外层类名加字段名（如 {@code CreateUserReq.address}）查找问题，与分析结果的类名一致
      */
-    private void fixField(FieldDefinition field, List<ValidationAnalyzer.AnalysisItem> issues,
-                         String className, String location) {
+    private void fixField(FieldDefinition field, Map<String, List<ValidationAnalyzer.AnalysisItem>> issuesByField,
+                          String apiName, String className, String location) {
         String fieldName = field.getName();
 
         // 找到与当前字段相关的问题
-        List<ValidationAnalyzer.AnalysisItem> fieldIssues = issues.stream()
-                .filter(i -> fieldName.equals(i.getFieldName()))
-                .toList();
+        List<ValidationAnalyzer.AnalysisItem> fieldIssues = issuesByField.getOrDefault(
+                issueKey(apiName, location, className, fieldName), List.of());
 
         // 先处理类型推断问题（设置字段类型）
         for (ValidationAnalyzer.AnalysisItem issue : fieldIssues) {
@@ -129,11 +128,15 @@ public class ValidationFixer {
         // 递归修复嵌套字段
         if (field.getFields() != null) {
             for (FieldDefinition nestedField : field.getFields()) {
-                fixField(nestedField, issues, className + "." + fieldName, location);
+                fixField(nestedField, issuesByField, apiName, className + "." + fieldName, location);
             }
         }
     }
 
+    private static String issueKey(String apiName, String location, String className, String fieldName) {
+        return apiName + '\u0000' + location + '\u0000' + className + '\u0000' + fieldName;
+    }
+
     /**
      * 应用单个修复
      */
@@ -335,9 +338,10 @@ public class ValidationFixer {
             fieldCopy.setType(field.getType());
             fieldCopy.setRequired(field.isRequired());
             fieldCopy.setDescription(field.getDescription());
+            fieldCopy.setIn(field.getIn());
 
             if (field.getValidation() != null) {
-                fieldCopy.setValidation(deepCopyValidation(field.getValidation()));
+                fieldCopy.setValidation(field.getValidation().copy());
             }
 
             if (field.getFields() != null) {
@@ -352,29 +356,4 @@ public class ValidationFixer {
         }
         return copy;
     }
-
-    /**
-     * 深拷贝 ValidationConfig
-     */
-    private ValidationConfig deepCopyValidation(ValidationConfig original) {
-        ValidationConfig copy = new ValidationConfig();
-        copy.setMinLength(original.getMinLength());
-        copy.setMaxLength(original.getMaxLength());
-        copy.setPattern(original.getPattern());
-        copy.setEmail(original.getEmail());
-        copy.setMin(original.getMin());
-        copy.setMax(original.getMax());
-        copy.setPast(original.getPast());
-        copy.setFuture(original.getFuture());
-        copy.setMinSize(original.getMinSize());
-        copy.setMaxSize(original.getMaxSize());
-
-        if (original.getElementValidation() != null) {
-            copy.setElementValidation(new ElementValidationConfig());
-            copy.getElementValidation().setMinLength(original.getElementValidation().getMinLength());
-            copy.getElementValidation().setMaxLength(original.getElementValidation().getMaxLength());
-        }
-
-        return copy;
-    }
 }
@@ -5,8 +5,12 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -46,4 +50,95 @@ public class MainTest {
         assertTrue(Files.isRegularFile(generatedRequest), "startup example should generate request class");
         assertTrue(Files.isRegularFile(generatedResponse), "startup example should generate response class");
     }
+
+    @Test
+    public void testAnalyzeReportsLimitViolationAsCliError(@TempDir Path dir) throws Exception {
+        // 单个请求类的字段数超过 -yaml-limits 的默认上限 1000，转换时触发 DFX-021；不开启上限时正常解析
+        StringBuilder spec = new StringBuilder("""
+                openapi: 3.0.0
+                info:
+                  title: limits
+                  version: '1'
+                paths:
+                  /items:
+                    post:
+                      operationId: createItem
+                      requestBody:
+                        content:
+                          application/json:
+                            schema:
+                              type: object
+                              properties:
+                """);
+        for (int i = 0; i <= 1000; i++) {
+            spec.append("                f").append(i).append(":\n                  type: string\n");
+        }
+        spec.append("""
+                      responses:
+                        '200':
+                          description: ok
+                """);
+        Path yamlFile = dir.resolve("over-limit.yaml");
+        Files.writeString(yamlFile, spec.toString());
+
+        CliResult result = runCli(yamlFile.toString(), "--analyze", "-yaml-limits");
+        CliResult unlimited = runCli(yamlFile.toString(), "--analyze");
+
+        assertEquals(1, result.exitCode(), result.output());
+        assertTrue(result.output().contains("YAML Limit Exceeded (DFX-021)"), result.output());
+        assertFalse(result.output().contains("Exception in thread"), result.output());
+        assertEquals(0, unlimited.exitCode(), unlimited.output());
+        assertTrue(unlimited.output().contains("Parsed 1 API(s)"), unlimited.output());
+    }
+
+    @Test
+    public void testAnalyzeReportsUnsafePattern(@TempDir Path dir) throws Exception {
+        Path yamlFile = dir.resolve("regex.yaml");
+        Files.writeString(yamlFile, """
+                apis:
+                  - name: createUser
+                    path: /api/users
+                    method: POST
+                    request:
+                      className: CreateUserReq
+                      fields:
+                        - name: code
+                          type: String
+                          validation:
+                            minLength: 1
+                            maxLength: 32
+                            pattern: "(a+)+$"
+                    response:
+                      className: CreateUserRsp
+                      fields:
+                        - name: userId
+                          type: Long
+                """);
+
+        CliResult result = runCli(yamlFile.toString(), "--analyze");
+
+        assertEquals(0, result.exitCode(), result.output());
+        assertTrue(result.output().contains("Regex Safety (DFX-022)"), result.output());
+        assertTrue(result.output().contains("apis[0].request.fields[0].validation.pattern: DFX-022"), result.output());
+        assertTrue(result.output().contains("(a++)+$"), result.output());
+    }
+
+    /**
+     * Run Main in a separate JVM, since it calls System.exit
+     */
+    static CliResult runCli(String... args) throws Exception {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Dstdout.encoding=UTF-8", "-Dstderr.encoding=UTF-8",
+                "-cp", System.getProperty("java.class.path"),
+                Main.class.getName()));
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(process.waitFor(60, TimeUnit.SECONDS), "CLI should finish");
+        return new CliResult(process.exitValue(), output);
+    }
+
+    record CliResult(int exitCode, String output) {
+    }
 }
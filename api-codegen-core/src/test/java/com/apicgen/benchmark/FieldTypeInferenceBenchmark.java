@@ -0,0 +1,142 @@
+package com.apicgen.benchmark;
+
+import com.apicgen.util.FieldTypeInference;
+
+import java.util.regex.Pattern;
+
+/**
+ * 字段名类型推断基准：对比 {@link FieldTypeInference} 与原先逐个正则匹配的实现
+ * <p>
+ * 不属于单元测试，手动运行：
+ * <pre>
+ * mvn -pl api-codegen-core test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.apicgen.benchmark.FieldTypeInferenceBenchmark -Dexec.args="2000000"
+ * </pre>
+ */
+public final class FieldTypeInferenceBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private static final String[] FIELD_NAMES = {
+        "id", "userId", "name", "price", "totalAmount", "count", "email", "phone", "createdAt", "birthday",
+        "isActive", "hasMore", "url", "pageNum", "pageSize", "score", "code", "orderNo", "description", "remark",
+        "status", "type", "address", "startDate", "updateTime", "nickname", "limit", "deleted", "age", "title"
+    };
+
+    private FieldTypeInferenceBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int lookups = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        FieldTypeInference inference = FieldTypeInference.defaults();
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run(lookups, name -> LegacyRegexInference.infer(name, null));
+            run(lookups, name -> inference.infer(name, null));
+        }
+        double regexMillis = measure(lookups, name -> LegacyRegexInference.infer(name, null));
+        double tableMillis = measure(lookups, name -> inference.infer(name, null));
+
+        System.out.printf("lookups=%d names=%d%n", lookups, FIELD_NAMES.length);
+        System.out.printf("%-8s %10s %14s%n", "engine", "avg ms", "lookups/s");
+        System.out.printf("%-8s %10.1f %14.0f%n", "regex", regexMillis, lookups / (regexMillis / 1000.0));
+        System.out.printf("%-8s %10.1f %14.0f%n", "table", tableMillis, lookups / (tableMillis / 1000.0));
+        System.out.printf("speedup %.2fx%n", regexMillis / tableMillis);
+    }
+
+    private static double measure(int lookups, Inference engine) {
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            run(lookups, engine);
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ROUNDS;
+    }
+
+    private static int run(int lookups, Inference engine) {
+        int checksum = 0;
+        for (int i = 0; i < lookups; i++) {
+            checksum += engine.infer(FIELD_NAMES[i % FIELD_NAMES.length]).length();
+        }
+        return checksum;
+    }
+
+    @FunctionalInterface
+    private interface Inference {
+        String infer(String fieldName);
+    }
+
+    /**
+     * 原 SwaggerConverter 中的正则链，仅用于对比
+     */
+    private static final class LegacyRegexInference {
+
+        private static final Pattern ID_PATTERN = Pattern.compile("^(id|Id|ID|_id|_Id|_ID)$", Pattern.CASE_INSENSITIVE);
+        private static final Pattern NAME_PATTERN = Pattern.compile("^(name|Name|NAME)$", Pattern.CASE_INSENSITIVE);
+        private static final Pattern PRICE_PATTERN = Pattern.compile("^(price|Price|amount|Amount|total|Total|fee|Fee|cost|Cost)$", Pattern.CASE_INSENSITIVE);
+        private static final Pattern COUNT_PATTERN = Pattern.compile("^(count|Count|quantity|Quantity|num|Num|number|Number|size|Size)$", Pattern.CASE_INSENSITIVE);
+        private static final Pattern EMAIL_PATTERN = Pattern.compile("^(email|Email|mail|Mail|e_mail|eMail)$", Pattern.CASE_INSENSITIVE);
+        private static final Pattern PHONE_PATTERN = Pattern.compile("^(phone|Phone|mobile|Mobile|tel|Tel|telephone|Telephone)$", Pattern.CASE_INSENSITIVE);
+        private static final Pattern DATE_PATTERN = Pattern.compile("^(date|Date|time|Time|createdAt|updatedAt|deletedAt|created_at|updated_at|deleted_at)$", Pattern.CASE_INSENSITIVE);
+        private static final Pattern BOOLEAN_PATTERN = Pattern.compile("^(is|has|can|should|enable|disable|active|visible|deleted|enabled|disabled|visible|hidden)([A-Z].*)?$", Pattern.CASE_INSENSITIVE);
+        private static final Pattern URL_PATTERN = Pattern.compile("^(url|Url|URL|link|Link|href|Href|uri|Uri|URI)$", Pattern.CASE_INSENSITIVE);
+        private static final Pattern PAGE_PATTERN = Pattern.compile("^(page|Page|pageNum|pageNum|pageNo|pageNo|pageNumber|pageNumber)$", Pattern.CASE_INSENSITIVE);
+        private static final Pattern PAGE_SIZE_PATTERN = Pattern.compile("^(pageSize|pageSize|perPage|perPage|limit|Limit|size|Size)$", Pattern.CASE_INSENSITIVE);
+        private static final Pattern AGE_PATTERN = Pattern.compile("^(age|Age)$", Pattern.CASE_INSENSITIVE);
+        private static final Pattern SCORE_PATTERN = Pattern.compile("^(score|Score|rating|Rating|level|Level|rank|Rank)$", Pattern.CASE_INSENSITIVE);
+        private static final Pattern CODE_PATTERN = Pattern.compile("^(code|Code|codeNo|codeNo|no|No)$", Pattern.CASE_INSENSITIVE);
+
+        private static String infer(String fieldName, String paramIn) {
+            if (fieldName == null || fieldName.isBlank()) {
+                return "String";
+            }
+            if (ID_PATTERN.matcher(fieldName).matches()) {
+                return "path".equals(paramIn) ? "Long" : "Integer";
+            }
+            if (NAME_PATTERN.matcher(fieldName).matches()) {
+                return "String";
+            }
+            if (PRICE_PATTERN.matcher(fieldName).matches()) {
+                return "Double";
+            }
+            if (COUNT_PATTERN.matcher(fieldName).matches()) {
+                return "Integer";
+            }
+            if (AGE_PATTERN.matcher(fieldName).matches()) {
+                return "Integer";
+            }
+            if (SCORE_PATTERN.matcher(fieldName).matches()) {
+                return "Double";
+            }
+            if (EMAIL_PATTERN.matcher(fieldName).matches()) {
+                return "String";
+            }
+            if (PHONE_PATTERN.matcher(fieldName).matches()) {
+                return "String";
+            }
+            if (DATE_PATTERN.matcher(fieldName).matches()) {
+                String lower = fieldName.toLowerCase();
+                if (lower.contains("created") || lower.contains("updated") || lower.contains("deleted")) {
+                    return "LocalDateTime";
+                }
+                return "LocalDate";
+            }
+            if (BOOLEAN_PATTERN.matcher(fieldName).matches()) {
+                return "Boolean";
+            }
+            if (URL_PATTERN.matcher(fieldName).matches()) {
+                return "String";
+            }
+            if (PAGE_PATTERN.matcher(fieldName).matches()) {
+                return "Integer";
+            }
+            if (PAGE_SIZE_PATTERN.matcher(fieldName).matches()) {
+                return "Integer";
+            }
+            if (CODE_PATTERN.matcher(fieldName).matches()) {
+                return "String";
+            }
+            return "String";
+        }
+    }
+}
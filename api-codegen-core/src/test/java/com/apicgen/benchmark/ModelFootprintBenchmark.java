@@ -0,0 +1,86 @@
+package com.apicgen.benchmark;
+
+import com.apicgen.converter.SwaggerConverter;
+import com.apicgen.model.ApiDefinition;
+import com.apicgen.model.compact.CompactApiDefinition;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.yaml.snakeyaml.LoaderOptions;
+
+/**
+ * 转换结果的堆占用基准
+ * <p>
+ * 在 GC 之后比较持有 ApiDefinition 与不持有时的已用堆，近似得到转换结果的保留大小，同时输出单次转换耗时；
+ * 另外给出同一结果转为 {@link CompactApiDefinition} 后的保留大小。
+ * 不属于单元测试，手动运行：
+ * <pre>
+ * mvn -pl api-codegen-core test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.apicgen.benchmark.ModelFootprintBenchmark -Dexec.args="5000 400"
+ * </pre>
+ */
+public final class ModelFootprintBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private ModelFootprintBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int schemas = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+
+        // 大规格文件超过 SnakeYAML 默认的 3M 字符上限
+        LoaderOptions loaderOptions = new LoaderOptions();
+        loaderOptions.setCodePointLimit(Integer.MAX_VALUE);
+        YAMLFactory yamlFactory = YAMLFactory.builder().loaderOptions(loaderOptions).build();
+        JsonNode root = new ObjectMapper(yamlFactory).readTree(SyntheticSpecs.openApi(operations, schemas));
+        SwaggerConverter converter = new SwaggerConverter();
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            converter.convert(root);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            converter.convert(root);
+        }
+        double avgMillis = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ROUNDS;
+
+        ApiDefinition definition = converter.convert(root);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            CompactApiDefinition.of(definition);
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            CompactApiDefinition.of(definition);
+        }
+        double compactMillis = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ROUNDS;
+        definition = null;
+
+        // 先后持有完整模型、紧凑模型、都不持有，以最后一次为基线（驻留表已在预热时填充，计入基线）
+        definition = converter.convert(root);
+        int apis = definition.getApis().size();
+        long withModel = usedHeapAfterGc();
+        CompactApiDefinition compact = CompactApiDefinition.of(definition);
+        definition = null;
+        long withCompact = usedHeapAfterGc();
+        int compactApis = compact.apis().size();
+        compact = null;
+        long baseline = usedHeapAfterGc();
+
+        System.out.printf("operations=%d schemas=%d apis=%d%n", operations, schemas, apis);
+        System.out.printf("convert avg %.1f ms, retained model %.1f MB%n", avgMillis, (withModel - baseline) / 1024.0 / 1024.0);
+        System.out.printf("compact avg %.1f ms, retained compact model %.1f MB (%d)%n",
+            compactMillis, (withCompact - baseline) / 1024.0 / 1024.0, compactApis);
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
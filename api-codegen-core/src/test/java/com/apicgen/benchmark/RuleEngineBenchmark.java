@@ -0,0 +1,86 @@
+package com.apicgen.benchmark;
+
+import com.apicgen.converter.SwaggerConverter;
+import com.apicgen.model.ApiDefinition;
+import com.apicgen.model.FieldDefinition;
+import com.apicgen.util.FieldTypeInference;
+import com.apicgen.util.YamlLimits;
+import com.apicgen.validator.ApiValidator;
+import com.apicgen.validator.IncrementalAnalysis;
+import com.apicgen.validator.RuleEngine;
+import com.apicgen.validator.RuleReport;
+import com.apicgen.validator.ValidationAnalyzer;
+
+import java.util.function.IntSupplier;
+
+/**
+ * 规则引擎基准：分别调用 validate、summarize、analyze（三次遍历）、一次遍历执行全部规则，
+ * 按 API 并行执行全部规则，以及增量分析（每轮修改一个 API 后重新分析整个文档）的耗时。
+ * 并行加速比取决于可用核数，单核机器上只能看到分片与合并的额外开销。
+ * <p>
+ * 不属于单元测试，手动运行：
+ * <pre>
+ * mvn -pl api-codegen-core test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.apicgen.benchmark.RuleEngineBenchmark -Dexec.args="10000 200 8"
+ * </pre>
+ */
+public final class RuleEngineBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private RuleEngineBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int schemas = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        SwaggerConverter converter = new SwaggerConverter();
+        converter.setLimits(YamlLimits.unlimited());
+        ApiDefinition apiDefinition = converter.parse(SyntheticSpecs.openApi(operations, schemas));
+        System.out.printf("operations=%d schemas=%d parallelism=%d cores=%d%n", operations, schemas, parallelism,
+            Runtime.getRuntime().availableProcessors());
+
+        ApiValidator validator = new ApiValidator();
+        ValidationAnalyzer analyzer = new ValidationAnalyzer();
+        measure("separate", () -> validator.validate(apiDefinition).getErrors().size()
+            + (int) analyzer.summarize(apiDefinition).getTotalCount()
+            + analyzer.analyze(apiDefinition).size());
+
+        RuleEngine engine = RuleEngine.withDefaultRules(FieldTypeInference.defaults());
+        measure("single-pass", () -> sink(engine.run(apiDefinition)));
+
+        RuleEngine parallel = RuleEngine.withDefaultRules(FieldTypeInference.defaults());
+        parallel.setParallelism(parallelism);
+        measure("parallel", () -> sink(parallel.run(apiDefinition)));
+
+        IncrementalAnalysis analysis = new IncrementalAnalysis(engine);
+        analysis.update(apiDefinition);
+        int[] edits = {0};
+        measure("incremental", () -> {
+            // 模拟一次按键：修改一个 API 的字段描述
+            FieldDefinition field = apiDefinition.getApis().get(edits[0]++ % operations).getRequest().getFields().get(0);
+            field.setDescription("edit " + edits[0]);
+            return sink(analysis.update(apiDefinition));
+        });
+    }
+
+    private static int sink(RuleReport report) {
+        return report.getErrors().size() + (int) report.summary().getTotalCount() + report.getItems().size();
+    }
+
+    private static void measure(String label, IntSupplier run) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += run.getAsInt();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += run.getAsInt();
+        }
+        double avgMillis = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ROUNDS;
+        System.out.printf("%-12s avg %7.1f ms (%d)%n", label, avgMillis, sink);
+    }
+}
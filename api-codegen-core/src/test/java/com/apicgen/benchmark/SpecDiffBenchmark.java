@@ -0,0 +1,55 @@
+package com.apicgen.benchmark;
+
+import com.apicgen.converter.SwaggerConverter;
+import com.apicgen.diff.SpecDiff;
+import com.apicgen.model.ApiDefinition;
+import com.apicgen.util.YamlLimits;
+
+import java.util.Arrays;
+
+/**
+ * 规格差异基准：不同规模下比较两份仅有一处字段变化的规格，耗时应随 operation 数近似线性增长
+ * <p>
+ * 不属于单元测试，手动运行：
+ * <pre>
+ * mvn -pl api-codegen-core test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.apicgen.benchmark.SpecDiffBenchmark -Dexec.args="2500 5000 10000 20000"
+ * </pre>
+ */
+public final class SpecDiffBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private SpecDiffBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0
+            ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+            : new int[]{2500, 5000, 10000, 20000};
+        for (int operations : sizes) {
+            String spec = SyntheticSpecs.openApi(operations, Math.max(10, operations / 50));
+            ApiDefinition before = converter().parse(spec);
+            ApiDefinition after = converter().parse(spec);
+            after.getApis().get(operations / 2).getResponse().getFields().get(0).setDescription("changed");
+
+            int sink = 0;
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                sink += SpecDiff.compare(before, after).getChanges().size();
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                sink += SpecDiff.compare(before, after).getChanges().size();
+            }
+            double avgMillis = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ROUNDS;
+            System.out.printf("operations=%6d avg %7.1f ms (%d)%n", operations, avgMillis, sink);
+        }
+    }
+
+    private static SwaggerConverter converter() {
+        SwaggerConverter converter = new SwaggerConverter();
+        converter.setLimits(YamlLimits.unlimited());
+        return converter;
+    }
+}
@@ -0,0 +1,69 @@
+package com.apicgen.benchmark;
+
+import com.apicgen.converter.SwaggerConverter;
+import com.apicgen.util.SpecMappers;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.yaml.snakeyaml.LoaderOptions;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 规格读取基准：同一份规格分别以 YAML、JSON 文本读取为树并转换
+ * <p>
+ * 对比三条路径：YAML 文本走 YAML 解析器、JSON 文本走 YAML 解析器（按格式分流前的行为）、
+ * JSON 文本走 JSON 解析器（{@link SpecMappers} 分流后的行为）。不属于单元测试，手动运行：
+ * <pre>
+ * mvn -pl api-codegen-core test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.apicgen.benchmark.SpecIngestionBenchmark -Dexec.args="2000 200"
+ * </pre>
+ */
+public final class SpecIngestionBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private SpecIngestionBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int schemas = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        // 大规格文件超过 SnakeYAML 默认的 3M 字符上限
+        LoaderOptions loaderOptions = new LoaderOptions();
+        loaderOptions.setCodePointLimit(Integer.MAX_VALUE);
+        ObjectMapper yamlMapper = new ObjectMapper(YAMLFactory.builder().loaderOptions(loaderOptions).build());
+        ObjectMapper jsonMapper = SpecMappers.json();
+
+        String yaml = SyntheticSpecs.openApi(operations, schemas);
+        String json = jsonMapper.writeValueAsString(yamlMapper.readTree(yaml));
+        SwaggerConverter converter = new SwaggerConverter();
+
+        System.out.printf("operations=%d schemas=%d yaml=%d KB json=%d KB%n",
+            operations, schemas, yaml.length() / 1024, json.length() / 1024);
+        measure("yaml text, yaml mapper", () -> yamlMapper.readTree(yaml), converter);
+        measure("json text, yaml mapper", () -> yamlMapper.readTree(json), converter);
+        measure("json text, json mapper", () -> jsonMapper.readTree(json), converter);
+    }
+
+    private static void measure(String label, Callable<JsonNode> read, SwaggerConverter converter) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            converter.convert(read.call());
+        }
+
+        long readNanos = 0;
+        long totalNanos = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            JsonNode root = read.call();
+            long parsed = System.nanoTime();
+            converter.convert(root);
+            readNanos += parsed - start;
+            totalNanos += System.nanoTime() - start;
+        }
+        System.out.printf("%-24s read avg %7.1f ms, read+convert avg %7.1f ms%n", label,
+            readNanos / 1_000_000.0 / MEASURED_ROUNDS, totalNanos / 1_000_000.0 / MEASURED_ROUNDS);
+    }
+}
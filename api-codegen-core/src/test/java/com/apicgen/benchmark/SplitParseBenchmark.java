@@ -0,0 +1,67 @@
+package com.apicgen.benchmark;
+
+import com.apicgen.parser.ParserOptions;
+import com.apicgen.parser.YamlParser;
+import com.apicgen.util.YamlLimits;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 分片并行解析基准：同一并行度下顺序解析 YAML 与分片并发解析 YAML 的耗时（两者的转换阶段相同）
+ * <p>
+ * 加速比取决于可用核数，单核机器上只能看到切分与合并的额外开销。
+ * 不属于单元测试，手动运行：
+ * <pre>
+ * mvn -pl api-codegen-core test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.apicgen.benchmark.SplitParseBenchmark -Dexec.args="20000 400 8"
+ * </pre>
+ */
+public final class SplitParseBenchmark {
+
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int MEASURED_ROUNDS = 3;
+
+    private SplitParseBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int schemas = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        Path spec = Files.createTempFile("split-benchmark", ".yaml");
+        try {
+            Files.writeString(spec, SyntheticSpecs.openApi(operations, schemas));
+            System.out.printf("operations=%d schemas=%d parallelism=%d cores=%d size=%d KB%n", operations, schemas,
+                parallelism, Runtime.getRuntime().availableProcessors(), Files.size(spec) / 1024);
+
+            measure("sequential", spec.toFile(), options(parallelism, false));
+            measure("split", spec.toFile(), options(parallelism, true));
+        } finally {
+            Files.deleteIfExists(spec);
+        }
+    }
+
+    private static ParserOptions options(int parallelism, boolean splitParse) {
+        ParserOptions options = ParserOptions.defaults();
+        options.setParallelism(parallelism);
+        options.setSplitParse(splitParse);
+        options.setLimits(YamlLimits.unlimited());
+        return options;
+    }
+
+    private static void measure(String label, File file, ParserOptions options) throws Exception {
+        int sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += YamlParser.parse(file, options).getApis().size();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += YamlParser.parse(file, options).getApis().size();
+        }
+        double avgMillis = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ROUNDS;
+        System.out.printf("%-10s avg %7.1f ms (%d)%n", label, avgMillis, sink);
+    }
+}
@@ -0,0 +1,95 @@
+package com.apicgen.benchmark;
+
+import com.apicgen.converter.SwaggerConverter;
+import com.apicgen.model.Api;
+import com.apicgen.util.YamlLimits;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 流式转换基准：整树转换与两遍流式转换的耗时与堆峰值（流式下每个 API 交给 consumer 后即丢弃）
+ * <p>
+ * 堆峰值取各堆内存池峰值之和，测量前执行 GC 并重置峰值，仅作相对比较。
+ * 不属于单元测试，手动运行：
+ * <pre>
+ * mvn -pl api-codegen-core test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.apicgen.benchmark.StreamingConversionBenchmark -Dexec.args="20000 400"
+ * </pre>
+ */
+public final class StreamingConversionBenchmark {
+
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int MEASURED_ROUNDS = 3;
+
+    private StreamingConversionBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int schemas = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+
+        Path spec = Files.createTempFile("streaming-benchmark", ".yaml");
+        try {
+            Files.writeString(spec, SyntheticSpecs.openApi(operations, schemas));
+            System.out.printf("operations=%d schemas=%d size=%d KB%n", operations, schemas, Files.size(spec) / 1024);
+
+            SwaggerConverter converter = new SwaggerConverter();
+            converter.setLimits(YamlLimits.unlimited());
+            File file = spec.toFile();
+
+            measure("tree", () -> {
+                List<Api> apis = converter.parse(file).getApis();
+                return apis.size();
+            });
+            measure("streaming", () -> converter.stream(file, api -> { }));
+        } finally {
+            Files.deleteIfExists(spec);
+        }
+    }
+
+    private static void measure(String label, Conversion conversion) throws Exception {
+        int sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += conversion.run();
+        }
+        long peak = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            resetPeaks();
+            sink += conversion.run();
+            peak = Math.max(peak, heapPeak());
+        }
+        double avgMillis = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ROUNDS;
+        System.out.printf("%-10s avg %7.1f ms, heap peak %6.1f MB (%d)%n", label, avgMillis, peak / 1024.0 / 1024.0, sink);
+    }
+
+    private static void resetPeaks() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long heapPeak() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    @FunctionalInterface
+    private interface Conversion {
+        int run() throws Exception;
+    }
+}
@@ -0,0 +1,74 @@
+package com.apicgen.benchmark;
+
+import com.apicgen.converter.SwaggerConverter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SwaggerConverter 并行转换基准
+ * <p>
+ * 只计时 {@code convert(JsonNode)}，逐级提高并行度直到可用核数（或第三个参数指定的上限），输出吞吐量与加速比。
+ * 不属于单元测试，手动运行：
+ * <pre>
+ * mvn -pl api-codegen-core test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.apicgen.benchmark.SwaggerConversionBenchmark -Dexec.args="3000 400"
+ * </pre>
+ */
+public final class SwaggerConversionBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private SwaggerConversionBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        int schemas = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int cores = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        JsonNode root = new ObjectMapper(new YAMLFactory()).readTree(SyntheticSpecs.openApi(operations, schemas));
+        System.out.printf("operations=%d schemas=%d maxParallelism=%d availableProcessors=%d%n",
+            operations, schemas, cores, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-12s %12s %14s %9s%n", "parallelism", "avg ms", "ops/s", "speedup");
+
+        List<Integer> levels = parallelismLevels(cores);
+        // 先对所有并行度完成预热，避免 JIT 编译时间计入第一档
+        for (int parallelism : levels) {
+            measure(root, parallelism, WARMUP_ROUNDS);
+        }
+
+        double baseline = 0;
+        for (int parallelism : levels) {
+            double avgMillis = measure(root, parallelism, MEASURED_ROUNDS);
+            if (baseline == 0) {
+                baseline = avgMillis;
+            }
+            System.out.printf("%-12d %12.1f %14.0f %8.2fx%n", parallelism, avgMillis,
+                operations / (avgMillis / 1000.0), baseline / avgMillis);
+        }
+    }
+
+    private static double measure(JsonNode root, int parallelism, int rounds) {
+        SwaggerConverter converter = new SwaggerConverter();
+        converter.setParallelism(parallelism);
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            converter.convert(root);
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / rounds;
+    }
+
+    private static List<Integer> parallelismLevels(int cores) {
+        List<Integer> levels = new ArrayList<>();
+        for (int level = 1; level < cores; level *= 2) {
+            levels.add(level);
+        }
+        levels.add(cores);
+        return levels;
+    }
+}
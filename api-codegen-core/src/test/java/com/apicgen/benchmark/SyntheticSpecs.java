@@ -0,0 +1,61 @@
+package com.apicgen.benchmark;
+
+/**
+ * 基准测试用的合成规格文件
+ * <p>
+ * 生成的 OpenAPI 3.0 文档中，每个 operation 的请求/响应引用一组共享的 components/schemas，
+ * 结构接近平台导出的大规格文件。
+ */
+public final class SyntheticSpecs {
+
+    private SyntheticSpecs() {
+    }
+
+    /**
+     * 生成 OpenAPI 3.0 YAML
+     *
+     * @param operations operation 数量（每个 path 一个 POST）
+     * @param schemas    共享 schema 数量
+     */
+    public static String openApi(int operations, int schemas) {
+        StringBuilder sb = new StringBuilder(operations * 600 + schemas * 500);
+        sb.append("openapi: 3.0.0\n");
+        sb.append("info:\n  title: Synthetic API\n  version: \"1.0\"\n");
+        sb.append("servers:\n  - url: https://example.com/api/v1\n");
+        sb.append("paths:\n");
+        for (int i = 0; i < operations; i++) {
+            int schema = i % schemas;
+            sb.append("  /resources").append(i).append("/{id}:\n");
+            sb.append("    post:\n");
+            sb.append("      operationId: operation").append(i).append('\n');
+            sb.append("      summary: Synthetic operation ").append(i).append('\n');
+            sb.append("      parameters:\n");
+            sb.append("        - name: id\n          in: path\n          required: true\n          schema:\n            type: integer\n            format: int64\n");
+            sb.append("        - name: pageSize\n          in: query\n          schema:\n            type: integer\n            minimum: 1\n            maximum: 100\n");
+            sb.append("      requestBody:\n        content:\n          application/json:\n            schema:\n");
+            sb.append("              $ref: '#/components/schemas/Model").append(schema).append("'\n");
+            sb.append("      responses:\n        200:\n          content:\n            application/json:\n              schema:\n");
+            sb.append("                $ref: '#/components/schemas/Model").append((schema + 1) % schemas).append("'\n");
+        }
+        sb.append("components:\n  schemas:\n");
+        for (int i = 0; i < schemas; i++) {
+            sb.append("    Model").append(i).append(":\n");
+            sb.append("      type: object\n      required: [name, email]\n      properties:\n");
+            sb.append("        name:\n          type: string\n          minLength: 1\n          maxLength: 64\n");
+            sb.append("        email:\n          type: string\n          format: email\n");
+            sb.append("        price:\n          type: number\n          minimum: 0\n");
+            sb.append("        tags:\n          type: array\n          maxItems: 20\n          items:\n            type: string\n");
+            sb.append("        createdAt:\n          type: string\n          format: date-time\n");
+            sb.append("        detail:\n          $ref: '#/components/schemas/Detail").append(i).append("'\n");
+            sb.append("    Detail").append(i).append(":\n");
+            sb.append("      type: object\n      properties:\n");
+            sb.append("        code:\n          type: string\n          pattern: '^[A-Z]{3}$'\n");
+            sb.append("        count:\n          type: integer\n          format: int32\n");
+            sb.append("        audit:\n          $ref: '#/components/schemas/Audit'\n");
+        }
+        sb.append("    Audit:\n      type: object\n      properties:\n");
+        sb.append("        operator:\n          type: string\n");
+        sb.append("        updatedAt:\n          type: string\n          format: date-time\n");
+        return sb.toString();
+    }
+}
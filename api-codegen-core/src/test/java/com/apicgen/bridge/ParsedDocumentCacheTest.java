@@ -0,0 +1,166 @@
+package com.apicgen.bridge;
+
+import com.apicgen.model.Api;
+import com.apicgen.model.ApiDefinition;
+import com.apicgen.model.FieldDefinition;
+import com.apicgen.model.ValidationConfig;
+import com.apicgen.parser.ParserOptions;
+import com.apicgen.parser.YamlParser;
+import com.apicgen.util.FieldTypeInference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParsedDocumentCacheTest {
+
+    private static String customYaml(String apiName) {
+        return """
+            apis:
+              - name: %s
+                path: /api/%s
+                method: POST
+                response:
+                  className: Rsp
+                  fields:
+                    - name: success
+                      type: Boolean
+            """.formatted(apiName, apiName);
+    }
+
+    @Test
+    @DisplayName("should_return_cached_snapshot_for_same_content")
+    void shouldReturnCachedSnapshotForSameContent() throws IOException {
+        ParsedDocumentCache cache = new ParsedDocumentCache();
+        AtomicInteger loads = new AtomicInteger();
+        ParsedDocumentCache.Loader loader = yaml -> {
+            loads.incrementAndGet();
+            return YamlParser.parse(yaml);
+        };
+
+        ApiDefinition first = cache.get(customYaml("createUser"), loader);
+        ApiDefinition second = cache.get(customYaml("createUser"), loader);
+
+        assertNotSame(first, second);
+        assertEquals(first.getApis(), second.getApis());
+        assertEquals(1, loads.get());
+        ParsedDocumentCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.size());
+        assertEquals(0.5, stats.hitRate());
+    }
+
+    @Test
+    @DisplayName("should_isolate_modifications_between_lookups")
+    void shouldIsolateModificationsBetweenLookups() throws IOException {
+        ParsedDocumentCache cache = new ParsedDocumentCache();
+
+        ApiDefinition first = cache.parse(customYaml("createUser"));
+        FieldDefinition success = first.getApis().get(0).getResponse().getFields().get(0);
+        success.setDescription("changed");
+        success.setValidation(new ValidationConfig());
+        first.getApis().get(0).setName("renamed");
+        first.getApis().add(new Api());
+        ApiDefinition second = cache.parse(customYaml("createUser"));
+
+        assertEquals(1, second.getApis().size());
+        assertEquals("createUser", second.getApis().get(0).getName());
+        FieldDefinition cached = second.getApis().get(0).getResponse().getFields().get(0);
+        assertNull(cached.getDescription());
+        assertNull(cached.getValidation());
+        assertEquals(1, cache.stats().hits());
+    }
+
+    @Test
+    @DisplayName("should_key_entries_by_parser_options")
+    void shouldKeyEntriesByParserOptions() throws IOException {
+        ParsedDocumentCache cache = new ParsedDocumentCache();
+        String yamlContent = customYaml("createUser");
+        ParserOptions limited = ParserOptions.defaults();
+        limited.getLimits().setMaxFieldsPerClass(1);
+        ParserOptions inference = ParserOptions.defaults();
+        FieldTypeInference.Dictionary dictionary = new FieldTypeInference.Dictionary();
+        dictionary.setNames(Map.of("success", "String"));
+        inference.setTypeInference(FieldTypeInference.defaults().with(dictionary));
+
+        cache.parse(yamlContent);
+        cache.parse(yamlContent, limited);
+        cache.parse(yamlContent, inference);
+        cache.parse(yamlContent, ParsedDocumentCache.bridgeOptions());
+
+        ParsedDocumentCache.Stats stats = cache.stats();
+        assertEquals(3, stats.misses());
+        assertEquals(1, stats.hits());
+        assertEquals(3, stats.size());
+    }
+
+    @Test
+    @DisplayName("should_evict_least_recently_used_entry_when_entry_limit_exceeded")
+    void shouldEvictLeastRecentlyUsedEntryWhenEntryLimitExceeded() throws IOException {
+        ParsedDocumentCache cache = new ParsedDocumentCache(2, Long.MAX_VALUE);
+
+        cache.parse(customYaml("a"));
+        cache.parse(customYaml("b"));
+        cache.parse(customYaml("a"));
+        cache.parse(customYaml("c"));
+        cache.parse(customYaml("a"));
+        cache.parse(customYaml("b"));
+
+        ParsedDocumentCache.Stats stats = cache.stats();
+        assertEquals(2, stats.hits());
+        assertEquals(4, stats.misses());
+        assertEquals(2, stats.evictions());
+        assertEquals(2, stats.size());
+    }
+
+    @Test
+    @DisplayName("should_evict_by_total_bytes_and_skip_oversized_documents")
+    void shouldEvictByTotalBytesAndSkipOversizedDocuments() throws IOException {
+        int documentBytes = customYaml("a").length();
+        ParsedDocumentCache cache = new ParsedDocumentCache(10, documentBytes * 2L);
+
+        cache.parse(customYaml("a"));
+        cache.parse(customYaml("b"));
+        cache.parse(customYaml("c"));
+        cache.parse(customYaml("a") + "#" + "x".repeat(documentBytes * 2));
+
+        ParsedDocumentCache.Stats stats = cache.stats();
+        assertEquals(2, stats.size());
+        assertEquals(1, stats.evictions());
+        assertTrue(stats.totalBytes() <= documentBytes * 2L);
+    }
+
+    @Test
+    @DisplayName("should_not_cache_parse_failures")
+    void shouldNotCacheParseFailures() {
+        ParsedDocumentCache cache = new ParsedDocumentCache();
+
+        assertThrows(IOException.class, () -> cache.parse("meta: value\n"));
+        assertThrows(IOException.class, () -> cache.parse("meta: value\n"));
+
+        assertEquals(0, cache.stats().size());
+        assertEquals(2, cache.stats().misses());
+    }
+
+    @Test
+    @DisplayName("should_reuse_parsed_document_across_analyze_and_fix")
+    void shouldReuseParsedDocumentAcrossAnalyzeAndFix() throws IOException {
+        UiDocumentService service = new UiDocumentService(new ParsedDocumentCache());
+        String yamlContent = customYaml("createUser");
+
+        service.analyze(yamlContent);
+        UiDocumentService.FixResponse fixed = service.fix(yamlContent, List.of());
+        service.analyze(fixed.fixedYaml());
+
+        ParsedDocumentCache.Stats stats = service.getDocumentCache().stats();
+        int distinctDocuments = fixed.fixedYaml().equals(yamlContent) ? 1 : 2;
+        assertEquals(distinctDocuments, stats.misses());
+        assertEquals(4 - distinctDocuments, stats.hits());
+    }
+}
@@ -82,6 +82,76 @@ class UiDocumentServiceTest {
         assertTrue(response.issues().stream().anyMatch(UiDocumentService.UiIssue::fixable));
     }
 
+    @Test
+    @DisplayName("should_report_unsafe_pattern_as_dfx_022")
+    void shouldReportUnsafePatternAsDfx022() throws IOException {
+        String yamlContent = """
+            apis:
+              - name: createUser
+                path: /api/users
+                method: POST
+                request:
+                  className: CreateUserReq
+                  fields:
+                    - name: username
+                      type: String
+                      validation:
+                        minLength: 1
+                        maxLength: 32
+                        pattern: "^(\\\\w+\\\\s?)*$"
+                response:
+                  className: CreateUserRsp
+                  fields:
+                    - name: success
+                      type: Boolean
+            """;
+
+        UiDocumentService.AnalysisResponse response = service.analyze(yamlContent);
+
+        UiDocumentService.UiIssue issue = response.issues().stream()
+            .filter(candidate -> "DFX-022".equals(candidate.ruleCode()))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("应返回 DFX-022 正则安全问题: " + response.issues()));
+        assertEquals("error", issue.severity());
+        assertTrue(issue.rule().startsWith("DFX-022: 正则安全"), issue.rule());
+        assertEquals("username", issue.locator().fieldName());
+        assertFalse(issue.fixable());
+    }
+
+    @Test
+    @DisplayName("should_report_polynomial_regex_as_unfixable_warning")
+    void shouldReportPolynomialRegexAsUnfixableWarning() throws IOException {
+        String yamlContent = """
+            apis:
+              - name: createUser
+                path: /api/users
+                method: POST
+                request:
+                  className: CreateUserReq
+                  fields:
+                    - name: username
+                      type: String
+                      validation:
+                        minLength: 1
+                        maxLength: 32
+                        pattern: "^.*a.*$"
+                response:
+                  className: CreateUserRsp
+                  fields:
+                    - name: success
+                      type: Boolean
+            """;
+
+        UiDocumentService.AnalysisResponse response = service.analyze(yamlContent);
+
+        UiDocumentService.UiIssue issue = response.issues().stream()
+            .filter(candidate -> "DFX-022".equals(candidate.ruleCode()))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("应返回 DFX-022 正则安全问题: " + response.issues()));
+        assertEquals("warn", issue.severity());
+        assertFalse(issue.fixable());
+    }
+
     @Test
     @DisplayName("should_report_fixable_path_issue_for_swagger_input")
     void shouldReportFixablePathIssueForSwaggerInput() throws IOException {
@@ -120,6 +190,7 @@ class UiDocumentServiceTest {
         assertEquals("//users", pathIssue.locator().path());
         assertEquals("GET", pathIssue.locator().method());
         assertEquals("path", pathIssue.locator().property());
+        assertEquals(6, pathIssue.line(), "问题行号应指向 path key 所在行");
     }
 
     @Test
@@ -160,6 +231,7 @@ class UiDocumentServiceTest {
         assertEquals("Request", rangeIssue.locator().className());
         assertEquals("keyword", rangeIssue.locator().fieldName());
         assertEquals("validation", rangeIssue.locator().property());
+        assertEquals(12, rangeIssue.line(), "问题行号应指向参数 schema 所在行");
     }
 
     @Test
@@ -544,4 +616,39 @@ class UiDocumentServiceTest {
         assertTrue(secondAnalysis.issues().isEmpty() || remainingFixable >= 0,
             "第二轮分析后，要么所有问题都已修复，要么剩余问题根据实际情况决定是否可修复");
     }
+
+    @Test
+    @DisplayName("should_report_limit_issue_instead_of_overflowing_on_long_ref_chain")
+    void shouldReportLimitIssueInsteadOfOverflowingOnLongRefChain() throws IOException {
+        StringBuilder swaggerContent = new StringBuilder("""
+            swagger: "2.0"
+            info:
+              title: Chain API
+              version: "1.0"
+            paths:
+              /nodes:
+                get:
+                  operationId: getNode
+                  responses:
+                    200:
+                      schema:
+                        $ref: '#/definitions/Node0'
+            definitions:
+            """);
+        for (int i = 0; i < 5000; i++) {
+            swaggerContent.append("  Node").append(i).append(":\n")
+                .append("    type: object\n")
+                .append("    properties:\n")
+                .append("      next:\n")
+                .append("        $ref: '#/definitions/Node").append(i + 1).append("'\n");
+        }
+
+        UiDocumentService.AnalysisResponse response = service.analyze(swaggerContent.toString());
+
+        assertEquals(1, response.issues().size());
+        UiDocumentService.UiIssue issue = response.issues().get(0);
+        assertEquals("DFX-021", issue.ruleCode());
+        assertTrue(issue.message().contains("嵌套深度"), issue.message());
+        assertFalse(issue.fixable());
+    }
 }
@@ -1,12 +1,28 @@
 package com.apicgen.converter;
 
+import com.apicgen.benchmark.SyntheticSpecs;
+import com.apicgen.model.Api;
 import com.apicgen.model.ApiDefinition;
+import com.apicgen.model.FieldDefinition;
+import com.apicgen.parser.ParserOptions;
 import com.apicgen.parser.YamlParser;
+import com.apicgen.util.FieldTypeInference;
+import com.apicgen.util.YamlLimitException;
+import com.apicgen.util.YamlLimits;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -19,6 +35,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * - 路径规范化
  * - 参数转换
  * - 复杂嵌套对象
+ * - 外部文件引用
  */
 class SwaggerConverterTest {
 
@@ -214,6 +231,68 @@ class SwaggerConverterTest {
             assertEquals("GET", api.getMethod().name());
         }
 
+        @Test
+        @DisplayName("should_infer_untyped_param_types_like_legacy_converter")
+        void shouldInferUntypedParamTypesLikeLegacyConverter() throws IOException {
+            // Given - 参数没有 schema/type，按字段名推断
+            String openapiContent = untypedParamSpec();
+
+            // When
+            List<FieldDefinition> params = YamlParser.parse(openapiContent).getApis().get(0).getRequest().getFields();
+
+            // Then - 与早期正则链一致
+            assertEquals(List.of("Long", "String", "String", "String", "String", "Boolean", "Boolean", "LocalDate"),
+                params.stream().map(FieldDefinition::getType).toList());
+        }
+
+        @Test
+        @DisplayName("should_infer_untyped_param_types_from_token_dictionary")
+        void shouldInferUntypedParamTypesFromTokenDictionary() throws IOException {
+            // Given
+            ParserOptions options = new ParserOptions();
+            options.setTypeInference(FieldTypeInference.load(new File("../docs/type-dictionary-tokens.yaml")));
+
+            // When
+            List<FieldDefinition> params = YamlParser.parse(untypedParamSpec(), options).getApis().get(0).getRequest().getFields();
+
+            // Then
+            assertEquals(List.of("Long", "Long", "LocalDateTime", "LocalDate", "Integer", "Boolean", "String", "LocalDateTime"),
+                params.stream().map(FieldDefinition::getType).toList());
+        }
+
+        private String untypedParamSpec() {
+            return """
+                openapi: "3.0.0"
+                info:
+                  title: Order API
+                  version: "1.0"
+                paths:
+                  /users/{id}/orders:
+                    get:
+                      operationId: listOrders
+                      parameters:
+                        - name: id
+                          in: path
+                        - name: userId
+                          in: query
+                        - name: startTime
+                          in: query
+                        - name: startDate
+                          in: query
+                        - name: itemCount
+                          in: query
+                        - name: activeFlag
+                          in: query
+                        - name: issue
+                          in: query
+                        - name: time
+                          in: query
+                      responses:
+                        200:
+                          description: Success
+                """;
+        }
+
         @Test
         @DisplayName("should_convert_openapi_30_with_path_params")
         void shouldConvertOpenApi30WithPathParams() throws IOException {
@@ -315,6 +394,48 @@ class SwaggerConverterTest {
             assertEquals(1, tags.getValidation().getMinSize());
             assertEquals(10, tags.getValidation().getMaxSize());
         }
+
+        @Test
+        @DisplayName("should_not_allocate_validation_for_non_email_format")
+        void shouldNotAllocateValidationForNonEmailFormat() throws IOException {
+            // Given - 只有 format 且不是 email 的属性没有校验约束
+            String openapiContent = """
+                openapi: "3.0.0"
+                info:
+                  title: Order API
+                  version: "1.0"
+                paths:
+                  /orders:
+                    post:
+                      operationId: createOrder
+                      requestBody:
+                        content:
+                          application/json:
+                            schema:
+                              type: object
+                              properties:
+                                orderId:
+                                  type: integer
+                                  format: int64
+                                createdAt:
+                                  type: string
+                                  format: date-time
+                                contact:
+                                  type: string
+                                  format: email
+                      responses:
+                        200:
+                          description: Success
+                """;
+
+            // When
+            List<FieldDefinition> fields = YamlParser.parse(openapiContent).getApis().get(0).getRequest().getFields();
+
+            // Then
+            assertNull(fields.get(0).getValidation());
+            assertNull(fields.get(1).getValidation());
+            assertEquals(Boolean.TRUE, fields.get(2).getValidation().getEmail());
+        }
     }
 
     @Nested
@@ -516,4 +637,845 @@ class SwaggerConverterTest {
             assertEquals(4, apiDefinition.getApis().size());
         }
     }
+
+    @Nested
+    @DisplayName("should_resolve_shared_and_cyclic_refs")
+    class ShouldResolveSharedAndCyclicRefs {
+
+        private static final String CYCLIC_SPEC = """
+            swagger: "2.0"
+            info:
+              title: Tree API
+              version: "1.0"
+            paths:
+              /a:
+                post:
+                  operationId: saveA
+                  parameters:
+                    - name: body
+                      in: body
+                      schema:
+                        $ref: '#/definitions/NodeA'
+                  responses:
+                    200:
+                      description: OK
+              /b:
+                post:
+                  operationId: saveB
+                  parameters:
+                    - name: body
+                      in: body
+                      schema:
+                        $ref: '#/definitions/NodeB'
+                  responses:
+                    200:
+                      description: OK
+            definitions:
+              NodeA:
+                type: object
+                properties:
+                  name:
+                    type: string
+                  next:
+                    $ref: '#/definitions/NodeB'
+              NodeB:
+                type: object
+                properties:
+                  code:
+                    type: string
+                  back:
+                    $ref: '#/definitions/NodeA'
+            """;
+
+        @Test
+        @DisplayName("should_cut_self_reference_without_overflow")
+        void shouldCutSelfReferenceWithoutOverflow() throws IOException {
+            // Given
+            String swaggerContent = """
+                swagger: "2.0"
+                info:
+                  title: Category API
+                  version: "1.0"
+                paths:
+                  /categories/{id}:
+                    get:
+                      operationId: getCategory
+                      responses:
+                        200:
+                          schema:
+                            $ref: '#/definitions/Category'
+                definitions:
+                  Category:
+                    type: object
+                    properties:
+                      name:
+                        type: string
+                      parent:
+                        $ref: '#/definitions/Category'
+                """;
+
+            // When
+            ApiDefinition apiDefinition = YamlParser.parse(swaggerContent);
+
+            // Then
+            List<FieldDefinition> fields = apiDefinition.getApis().get(0).getResponse().getFields();
+            assertEquals(2, fields.size());
+            FieldDefinition parent = fields.get(1);
+            assertEquals("parent", parent.getName());
+            assertEquals("Object", parent.getType());
+            assertNull(parent.getFields());
+        }
+
+        @Test
+        @DisplayName("should_share_nested_subtree_of_shared_schema")
+        void shouldShareNestedSubtreeOfSharedSchema() throws IOException {
+            // Given
+            String swaggerContent = """
+                openapi: 3.0.0
+                info:
+                  title: User API
+                  version: "1.0"
+                paths:
+                  /users:
+                    post:
+                      operationId: createUser
+                      requestBody:
+                        content:
+                          application/json:
+                            schema:
+                              $ref: '#/components/schemas/User'
+                      responses:
+                        200:
+                          content:
+                            application/json:
+                              schema:
+                                $ref: '#/components/schemas/User'
+                components:
+                  schemas:
+                    Address:
+                      type: object
+                      properties:
+                        city:
+                          type: string
+                          maxLength: 32
+                    User:
+                      type: object
+                      required: [name]
+                      properties:
+                        name:
+                          type: string
+                        address:
+                          $ref: '#/components/schemas/Address'
+                """;
+
+            // When
+            Api api = YamlParser.parse(swaggerContent).getApis().get(0);
+            List<FieldDefinition> requestFields = api.getRequest().getFields();
+            List<FieldDefinition> responseFields = api.getResponse().getFields();
+
+            // Then
+            assertEquals("body", requestFields.get(0).getIn());
+            assertNull(responseFields.get(0).getIn());
+            assertTrue(responseFields.get(0).isRequired());
+            assertEquals(32, responseFields.get(1).getFields().get(0).getValidation().getMaxLength());
+            assertNotSame(requestFields.get(0), responseFields.get(0));
+            assertSame(requestFields.get(1).getFields(), responseFields.get(1).getFields());
+            assertThrows(UnsupportedOperationException.class,
+                () -> responseFields.get(1).getFields().add(new FieldDefinition()));
+        }
+
+        @Test
+        @DisplayName("should_expand_mutual_refs_independent_of_operation_order")
+        void shouldExpandMutualRefsIndependentOfOperationOrder() throws IOException {
+            // Given
+            String onlyB = CYCLIC_SPEC.replaceAll("(?s)  /a:.*?  /b:", "  /b:");
+
+            // When
+            ApiDefinition both = YamlParser.parse(CYCLIC_SPEC);
+            ApiDefinition single = YamlParser.parse(onlyB);
+
+            // Then
+            assertEquals(2, both.getApis().size());
+            assertEquals(1, single.getApis().size());
+            assertEquals(single.getApis().get(0).getRequest(), both.getApis().get(1).getRequest());
+            FieldDefinition back = both.getApis().get(1).getRequest().getFields().get(1);
+            assertEquals("back", back.getName());
+            FieldDefinition next = back.getFields().get(1);
+            assertEquals("next", next.getName());
+            assertNull(next.getFields());
+        }
+    }
+
+    @Nested
+    @DisplayName("should_convert_in_parallel")
+    class ShouldConvertInParallel {
+
+        @Test
+        @DisplayName("should_produce_same_apis_as_sequential_conversion")
+        void shouldProduceSameApisAsSequentialConversion() throws IOException {
+            // Given
+            String swaggerContent = SyntheticSpecs.openApi(200, 20);
+            ParserOptions options = new ParserOptions();
+            options.setParallelism(4);
+
+            // When
+            ApiDefinition sequential = YamlParser.parse(swaggerContent);
+            ApiDefinition parallel = YamlParser.parse(swaggerContent, options);
+
+            // Then
+            assertEquals(200, parallel.getApis().size());
+            assertEquals("operation0", parallel.getApis().get(0).getName());
+            assertEquals("operation199", parallel.getApis().get(199).getName());
+            assertEquals(sequential, parallel);
+        }
+
+        @Test
+        @DisplayName("should_keep_order_with_malformed_operations")
+        void shouldKeepOrderWithMalformedOperations() {
+            // Given
+            String swaggerContent = """
+                swagger: "2.0"
+                info:
+                  title: Broken API
+                  version: "1.0"
+                paths:
+                  /a:
+                    get:
+                      operationId: getA
+                      responses:
+                        200:
+                          description: OK
+                  /b:
+                    get:
+                      operationId: getB
+                      parameters: "not-a-list"
+                      responses: "not-an-object"
+                """;
+            ParserOptions options = new ParserOptions();
+            options.setParallelism(2);
+
+            // When
+            ApiDefinition apiDefinition = assertDoesNotThrow(() -> YamlParser.parse(swaggerContent, options));
+
+            // Then
+            assertEquals(List.of("getA", "getB"), apiDefinition.getApis().stream().map(Api::getName).toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("should_convert_incrementally")
+    class ShouldConvertIncrementally {
+
+        private static final String SPEC = """
+            swagger: "2.0"
+            info:
+              title: Shop API
+              version: "1.0"
+            basePath: /api
+            paths:
+              /users:
+                get:
+                  operationId: listUsers
+                  responses:
+                    200:
+                      schema:
+                        $ref: '#/definitions/User'
+              /orders:
+                get:
+                  operationId: listOrders
+                  responses:
+                    200:
+                      schema:
+                        $ref: '#/definitions/Order'
+                post:
+                  operationId: createOrder
+                  parameters:
+                    - name: body
+                      in: body
+                      schema:
+                        $ref: '#/definitions/Order'
+                  responses:
+                    200:
+                      description: OK
+            definitions:
+              User:
+                type: object
+                properties:
+                  name:
+                    type: string
+              Order:
+                type: object
+                properties:
+                  item:
+                    $ref: '#/definitions/Item'
+              Item:
+                type: object
+                properties:
+                  sku:
+                    type: string
+            """;
+
+        private final ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
+
+        @Test
+        @DisplayName("should_reuse_all_apis_when_nothing_changed")
+        void shouldReuseAllApisWhenNothingChanged() throws IOException {
+            // Given
+            SwaggerConverter converter = new SwaggerConverter();
+            JsonNode previousRoot = mapper.readTree(SPEC);
+            ApiDefinition previous = converter.convert(previousRoot);
+
+            // When
+            ApiDefinition current = converter.convertIncremental(previousRoot, previous, mapper.readTree(SPEC));
+
+            // Then
+            for (int i = 0; i < previous.getApis().size(); i++) {
+                assertSame(previous.getApis().get(i), current.getApis().get(i));
+            }
+        }
+
+        @Test
+        @DisplayName("should_reconvert_operations_reaching_changed_schema")
+        void shouldReconvertOperationsReachingChangedSchema() throws IOException {
+            // Given
+            SwaggerConverter converter = new SwaggerConverter();
+            JsonNode previousRoot = mapper.readTree(SPEC);
+            ApiDefinition previous = converter.convert(previousRoot);
+            JsonNode root = mapper.readTree(SPEC.replace("sku:", "code:"));
+
+            // When
+            ApiDefinition current = converter.convertIncremental(previousRoot, previous, root);
+
+            // Then
+            assertSame(previous.getApis().get(0), current.getApis().get(0));
+            assertNotSame(previous.getApis().get(1), current.getApis().get(1));
+            assertNotSame(previous.getApis().get(2), current.getApis().get(2));
+            assertEquals(converter.convert(root), current);
+        }
+
+        @Test
+        @DisplayName("should_reconvert_only_changed_operation")
+        void shouldReconvertOnlyChangedOperation() throws IOException {
+            // Given
+            SwaggerConverter converter = new SwaggerConverter();
+            JsonNode previousRoot = mapper.readTree(SPEC);
+            ApiDefinition previous = converter.convert(previousRoot);
+            JsonNode root = mapper.readTree(SPEC.replace("operationId: listUsers", "operationId: findUsers"));
+
+            // When
+            ApiDefinition current = converter.convertIncremental(previousRoot, previous, root);
+
+            // Then
+            assertEquals("findUsers", current.getApis().get(0).getName());
+            assertSame(previous.getApis().get(1), current.getApis().get(1));
+            assertSame(previous.getApis().get(2), current.getApis().get(2));
+        }
+
+        @Test
+        @DisplayName("should_follow_added_and_removed_paths")
+        void shouldFollowAddedAndRemovedPaths() throws IOException {
+            // Given
+            SwaggerConverter converter = new SwaggerConverter();
+            JsonNode previousRoot = mapper.readTree(SPEC);
+            ApiDefinition previous = converter.convert(previousRoot);
+            JsonNode root = mapper.readTree(SPEC.replace("  /users:", "  /accounts:"));
+
+            // When
+            ApiDefinition current = converter.convertIncremental(previousRoot, previous, root);
+
+            // Then
+            assertEquals("/api/accounts", current.getApis().get(0).getPath());
+            assertSame(previous.getApis().get(1), current.getApis().get(1));
+            assertEquals(converter.convert(root), current);
+        }
+
+        @Test
+        @DisplayName("should_fall_back_to_full_conversion_when_base_path_changes")
+        void shouldFallBackToFullConversionWhenBasePathChanges() throws IOException {
+            // Given
+            SwaggerConverter converter = new SwaggerConverter();
+            JsonNode previousRoot = mapper.readTree(SPEC);
+            ApiDefinition previous = converter.convert(previousRoot);
+            JsonNode root = mapper.readTree(SPEC.replace("basePath: /api", "basePath: /v2"));
+
+            // When
+            ApiDefinition current = converter.convertIncremental(previousRoot, previous, root);
+
+            // Then
+            assertEquals("/v2/orders", current.getApis().get(1).getPath());
+            assertNotSame(previous.getApis().get(0), current.getApis().get(0));
+        }
+
+        @Test
+        @DisplayName("should_detect_changes_across_successive_edits")
+        void shouldDetectChangesAcrossSuccessiveEdits() throws IOException {
+            // Given
+            SwaggerConverter converter = new SwaggerConverter();
+            JsonNode first = mapper.readTree(SPEC);
+            ApiDefinition firstResult = converter.convert(first);
+            JsonNode second = mapper.readTree(SPEC.replace("operationId: listUsers", "operationId: findUsers"));
+            ApiDefinition secondResult = converter.convertIncremental(first, firstResult, second);
+            JsonNode third = mapper.readTree(SPEC.replace("operationId: listUsers", "operationId: findUsers")
+                .replace("sku:", "code:"));
+
+            // When
+            ApiDefinition thirdResult = converter.convertIncremental(second, secondResult, third);
+
+            // Then
+            assertSame(secondResult.getApis().get(0), thirdResult.getApis().get(0));
+            assertNotSame(secondResult.getApis().get(1), thirdResult.getApis().get(1));
+            assertEquals(converter.convert(third), thirdResult);
+        }
+    }
+
+    @Nested
+    @DisplayName("should_flatten_composed_schemas")
+    class ShouldFlattenComposedSchemas {
+
+        private static final String SPEC = """
+            openapi: 3.0.0
+            info:
+              title: Pet API
+              version: "1.0"
+            paths:
+              /dogs:
+                post:
+                  operationId: createDog
+                  requestBody:
+                    content:
+                      application/json:
+                        schema:
+                          $ref: '#/components/schemas/Dog'
+                  responses:
+                    200:
+                      content:
+                        application/json:
+                          schema:
+                            type: object
+                            properties:
+                              dog:
+                                allOf:
+                                  - $ref: '#/components/schemas/Dog'
+                                description: created dog
+                              previous:
+                                $ref: '#/components/schemas/Dog'
+                              next:
+                                $ref: '#/components/schemas/Dog'
+              /pets:
+                post:
+                  operationId: createPet
+                  requestBody:
+                    content:
+                      application/json:
+                        schema:
+                          oneOf:
+                            - $ref: '#/components/schemas/Dog'
+                            - $ref: '#/components/schemas/Cat'
+                          discriminator:
+                            propertyName: petType
+                  responses:
+                    200:
+                      description: OK
+            components:
+              schemas:
+                Entity:
+                  type: object
+                  required: [id]
+                  properties:
+                    id:
+                      type: string
+                      maxLength: 32
+                Pet:
+                  allOf:
+                    - $ref: '#/components/schemas/Entity'
+                    - type: object
+                      required: [name]
+                      properties:
+                        name:
+                          type: string
+                Dog:
+                  allOf:
+                    - $ref: '#/components/schemas/Pet'
+                  required: [breed]
+                  properties:
+                    breed:
+                      type: string
+                    name:
+                      type: string
+                      maxLength: 16
+                Cat:
+                  allOf:
+                    - $ref: '#/components/schemas/Pet'
+                    - properties:
+                        lives:
+                          type: integer
+            """;
+
+        @Test
+        @DisplayName("should_flatten_all_of_inheritance_chain")
+        void shouldFlattenAllOfInheritanceChain() throws IOException {
+            // When
+            Api api = YamlParser.parse(SPEC).getApis().get(0);
+            List<FieldDefinition> fields = api.getRequest().getFields();
+
+            // Then
+            assertEquals(List.of("id", "name", "breed"), fields.stream().map(FieldDefinition::getName).toList());
+            assertTrue(fields.get(0).isRequired());
+            assertEquals(32, fields.get(0).getValidation().getMaxLength());
+            assertTrue(fields.get(1).isRequired());
+            assertEquals(16, fields.get(1).getValidation().getMaxLength());
+            assertTrue(fields.get(2).isRequired());
+            assertEquals("body", fields.get(2).getIn());
+        }
+
+        @Test
+        @DisplayName("should_keep_ref_type_for_single_ref_all_of_property")
+        void shouldKeepRefTypeForSingleRefAllOfProperty() throws IOException {
+            // When
+            Api api = YamlParser.parse(SPEC).getApis().get(0);
+            FieldDefinition dog = api.getResponse().getFields().get(0);
+
+            // Then
+            assertEquals("dog", dog.getName());
+            assertEquals("Dog", dog.getType());
+            assertEquals("created dog", dog.getDescription());
+            assertEquals(3, dog.getFields().size());
+        }
+
+        @Test
+        @DisplayName("should_model_one_of_as_optional_union_with_discriminator")
+        void shouldModelOneOfAsOptionalUnionWithDiscriminator() throws IOException {
+            // When
+            Api api = YamlParser.parse(SPEC).getApis().get(1);
+            List<FieldDefinition> fields = api.getRequest().getFields();
+
+            // Then
+            assertEquals(List.of("id", "name", "breed", "lives", "petType"),
+                fields.stream().map(FieldDefinition::getName).toList());
+            assertTrue(fields.stream().limit(4).noneMatch(FieldDefinition::isRequired));
+            assertTrue(fields.get(4).isRequired());
+            assertEquals("String", fields.get(4).getType());
+            assertEquals("Integer", fields.get(3).getType());
+        }
+
+        @Test
+        @DisplayName("should_flatten_shared_hierarchy_once")
+        void shouldFlattenSharedHierarchyOnce() throws IOException {
+            // When
+            Api api = YamlParser.parse(SPEC).getApis().get(0);
+            List<FieldDefinition> responseFields = api.getResponse().getFields();
+
+            // Then
+            assertEquals("previous", responseFields.get(1).getName());
+            assertEquals("Dog", responseFields.get(1).getType());
+            assertSame(responseFields.get(1).getFields(), responseFields.get(2).getFields());
+        }
+    }
+
+    @Nested
+    @DisplayName("should_resolve_external_refs")
+    class ShouldResolveExternalRefs {
+
+        @TempDir
+        Path tempDir;
+
+        @Test
+        @DisplayName("should_resolve_refs_across_files")
+        void shouldResolveRefsAcrossFiles() throws IOException {
+            // Given
+            Files.createDirectories(tempDir.resolve("schemas"));
+            Files.writeString(tempDir.resolve("schemas/order.yaml"), """
+                Order:
+                  type: object
+                  required: [id]
+                  properties:
+                    id:
+                      type: string
+                      maxLength: 32
+                    customer:
+                      $ref: './customer.yaml'
+                    items:
+                      type: array
+                      items:
+                        $ref: '#/OrderItem'
+                OrderItem:
+                  type: object
+                  properties:
+                    sku:
+                      type: string
+                """);
+            Files.writeString(tempDir.resolve("schemas/customer.yaml"), """
+                type: object
+                properties:
+                  email:
+                    type: string
+                    format: email
+                """);
+            File spec = writeSpec("./schemas/order.yaml#/Order");
+
+            // When
+            ApiDefinition apiDefinition = new SwaggerConverter().parse(spec);
+
+            // Then
+            List<FieldDefinition> fields = apiDefinition.getApis().get(0).getResponse().getFields();
+            assertEquals(List.of("id", "customer", "items"), fields.stream().map(FieldDefinition::getName).toList());
+            assertEquals(32, fields.get(0).getValidation().getMaxLength());
+            assertTrue(fields.get(0).isRequired());
+            assertEquals("Object", fields.get(1).getType());
+            assertEquals("email", fields.get(1).getFields().get(0).getName());
+            assertTrue(fields.get(1).getFields().get(0).getValidation().getEmail());
+            assertEquals("List<Object>", fields.get(2).getType());
+        }
+
+        @Test
+        @DisplayName("should_cut_cross_file_cycles")
+        void shouldCutCrossFileCycles() throws IOException {
+            // Given
+            Files.writeString(tempDir.resolve("a.yaml"), """
+                NodeA:
+                  type: object
+                  properties:
+                    name:
+                      type: string
+                    next:
+                      $ref: 'b.yaml#/NodeB'
+                """);
+            Files.writeString(tempDir.resolve("b.yaml"), """
+                NodeB:
+                  type: object
+                  properties:
+                    code:
+                      type: string
+                    back:
+                      $ref: 'a.yaml#/NodeA'
+                """);
+            File spec = writeSpec("a.yaml#/NodeA");
+
+            // When
+            ApiDefinition apiDefinition = assertDoesNotThrow(() -> new SwaggerConverter().parse(spec));
+
+            // Then
+            FieldDefinition next = apiDefinition.getApis().get(0).getResponse().getFields().get(1);
+            assertEquals("next", next.getName());
+            FieldDefinition back = next.getFields().get(1);
+            assertEquals("back", back.getName());
+            assertNull(back.getFields());
+        }
+
+        @Test
+        @DisplayName("should_reject_refs_outside_spec_directory")
+        void shouldRejectRefsOutsideSpecDirectory() throws IOException {
+            // Given
+            File spec = writeSpec("../outside.yaml#/Secret");
+
+            // When
+            RuntimeException exception = assertThrows(RuntimeException.class, () -> new SwaggerConverter().parse(spec));
+
+            // Then
+            assertTrue(exception.getMessage().contains("../outside.yaml"));
+        }
+
+        @Test
+        @DisplayName("should_report_missing_external_file")
+        void shouldReportMissingExternalFile() throws IOException {
+            // Given
+            File spec = writeSpec("./missing.yaml#/Order");
+
+            // When
+            RuntimeException exception = assertThrows(RuntimeException.class, () -> new SwaggerConverter().parse(spec));
+
+            // Then
+            assertTrue(exception.getMessage().contains("missing.yaml"));
+        }
+
+        @Test
+        @DisplayName("should_load_each_external_file_once")
+        void shouldLoadEachExternalFileOnce() throws IOException {
+            // Given
+            Files.writeString(tempDir.resolve("common.yaml"), """
+                Money:
+                  type: object
+                  properties:
+                    amount:
+                      type: number
+                """);
+            String spec = """
+                refA:
+                  $ref: './common.yaml#/Money'
+                refB:
+                  $ref: 'common.yaml#/Money'
+                refC:
+                  $ref: './nested/../common.yaml'
+                """;
+            Path main = tempDir.resolve("api.yaml");
+            ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
+            ExternalDocumentLoader loader = new ExternalDocumentLoader(tempDir, YamlLimits.defaults());
+            RefIndex refs = new RefIndex(mapper.readTree(spec), main, loader);
+
+            // When
+            RefIndex.Target first = refs.resolve("./common.yaml#/Money");
+            RefIndex.Target second = refs.resolve("common.yaml#/Money");
+
+            // Then
+            assertEquals(1, loader.documentCount());
+            assertEquals(first.key(), second.key());
+            assertSame(first.node(), second.node());
+        }
+
+        private File writeSpec(String responseRef) throws IOException {
+            Path spec = tempDir.resolve("api.yaml");
+            Files.writeString(spec, """
+                swagger: "2.0"
+                info:
+                  title: Order API
+                  version: "1.0"
+                paths:
+                  /orders/{id}:
+                    get:
+                      operationId: getOrder
+                      responses:
+                        200:
+                          schema:
+                            $ref: '%s'
+                """.formatted(responseRef));
+            return spec.toFile();
+        }
+    }
+
+    @Nested
+    @DisplayName("should_stream_operations")
+    class ShouldStreamOperations {
+
+        @TempDir
+        Path tempDir;
+
+        @Test
+        @DisplayName("should_match_tree_conversion")
+        void shouldMatchTreeConversion() throws IOException {
+            // Given
+            Path spec = tempDir.resolve("api.yaml");
+            Files.writeString(spec, SyntheticSpecs.openApi(120, 15));
+            SwaggerConverter converter = new SwaggerConverter();
+            List<Api> expected = converter.parse(spec.toFile()).getApis();
+
+            // When
+            List<Api> streamed = new ArrayList<>();
+            int count = converter.stream(spec.toFile(), streamed::add);
+
+            // Then
+            assertEquals(expected.size(), count);
+            assertEquals(expected, streamed);
+        }
+
+        @Test
+        @DisplayName("should_index_definitions_declared_after_paths")
+        void shouldIndexDefinitionsDeclaredAfterPaths() throws IOException {
+            // Given
+            Path spec = tempDir.resolve("api.yaml");
+            Files.writeString(spec, """
+                swagger: "2.0"
+                paths:
+                  /orders:
+                    get:
+                      operationId: listOrders
+                      responses:
+                        200:
+                          schema:
+                            $ref: '#/definitions/Order'
+                  /orders/{id}:
+                    delete:
+                      operationId: deleteOrder
+                      responses:
+                        200:
+                          description: ok
+                basePath: /v1
+                definitions:
+                  Order:
+                    type: object
+                    properties:
+                      id:
+                        type: string
+                """);
+
+            // When
+            List<Api> apis = new ArrayList<>();
+            try (SwaggerStreamReader reader = new SwaggerConverter().openStream(spec.toFile())) {
+                reader.forEachRemaining(apis::add);
+            }
+
+            // Then
+            assertEquals(List.of("/v1/orders", "/v1/orders/{id}"), apis.stream().map(Api::getPath).toList());
+            assertEquals("id", apis.get(0).getResponse().getFields().get(0).getName());
+        }
+
+        @Test
+        @DisplayName("should_resolve_external_refs_while_streaming")
+        void shouldResolveExternalRefsWhileStreaming() throws IOException {
+            // Given
+            Files.writeString(tempDir.resolve("order.yaml"), """
+                type: object
+                properties:
+                  sku:
+                    type: string
+                """);
+            Path spec = tempDir.resolve("api.yaml");
+            Files.writeString(spec, """
+                swagger: "2.0"
+                paths:
+                  /orders:
+                    get:
+                      operationId: getOrder
+                      responses:
+                        200:
+                          schema:
+                            $ref: './order.yaml'
+                """);
+            SwaggerConverter converter = new SwaggerConverter();
+
+            // When
+            List<Api> apis = new ArrayList<>();
+            converter.stream(spec.toFile(), apis::add);
+
+            // Then
+            assertEquals("sku", apis.get(0).getResponse().getFields().get(0).getName());
+            assertEquals(List.of(tempDir.resolve("order.yaml").toAbsolutePath().normalize()), converter.getExternalDocuments());
+        }
+
+        @Test
+        @DisplayName("should_reject_document_without_paths")
+        void shouldRejectDocumentWithoutPaths() throws IOException {
+            // Given
+            Path spec = tempDir.resolve("api.yaml");
+            Files.writeString(spec, """
+                swagger: "2.0"
+                definitions: {}
+                """);
+
+            // When
+            RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> new SwaggerConverter().stream(spec.toFile(), api -> { }));
+
+            // Then
+            assertTrue(exception.getMessage().contains("未找到 paths 定义"));
+        }
+
+        @Test
+        @DisplayName("should_enforce_operation_limit_across_paths")
+        void shouldEnforceOperationLimitAcrossPaths() throws IOException {
+            // Given
+            Path spec = tempDir.resolve("api.yaml");
+            Files.writeString(spec, SyntheticSpecs.openApi(20, 5));
+            YamlLimits limits = YamlLimits.defaults();
+            limits.setMaxOperations(10);
+            SwaggerConverter converter = new SwaggerConverter();
+            converter.setLimits(limits);
+
+            // When
+            YamlLimitException exception = assertThrows(YamlLimitException.class,
+                () -> converter.stream(spec.toFile(), api -> { }));
+
+            // Then
+            assertEquals(YamlLimits.Limit.OPERATIONS, exception.getLimit());
+        }
+    }
 }
@@ -0,0 +1,187 @@
+package com.apicgen.diff;
+
+import com.apicgen.benchmark.SyntheticSpecs;
+import com.apicgen.converter.SwaggerConverter;
+import com.apicgen.diff.SpecDiff.FieldChange;
+import com.apicgen.diff.SpecDiff.Kind;
+import com.apicgen.diff.SpecDiff.OperationChange;
+import com.apicgen.model.Api;
+import com.apicgen.model.ApiDefinition;
+import com.apicgen.model.ClassDefinition;
+import com.apicgen.model.FieldDefinition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpecDiffTest {
+
+    @Nested
+    @DisplayName("operation 级差异")
+    class ShouldReportOperations {
+
+        @Test
+        @DisplayName("should_be_empty_for_reordered_identical_specs")
+        void shouldBeEmptyForReorderedIdenticalSpecs() {
+            // Given
+            ApiDefinition before = new SwaggerConverter().parse(SyntheticSpecs.openApi(200, 10));
+            ApiDefinition after = new SwaggerConverter().parse(SyntheticSpecs.openApi(200, 10));
+            Collections.reverse(after.getApis());
+
+            // When
+            SpecDiff diff = SpecDiff.compare(before, after);
+
+            // Then
+            assertTrue(diff.isEmpty());
+            assertEquals("0 added, 0 removed, 0 changed" + System.lineSeparator(), diff.format());
+        }
+
+        @Test
+        @DisplayName("should_report_added_and_removed_operations")
+        void shouldReportAddedAndRemovedOperations() {
+            // Given
+            ApiDefinition before = new ApiDefinition(new ArrayList<>(List.of(
+                api("GET", "/users", userRequest()), api("DELETE", "/users/{id}", null))));
+            ApiDefinition after = new ApiDefinition(new ArrayList<>(List.of(
+                api("GET", "/users", userRequest()), api("POST", "/users", userRequest()))));
+
+            // When
+            SpecDiff diff = SpecDiff.compare(before, after);
+
+            // Then
+            assertEquals(List.of(
+                new OperationChange("DELETE /users/{id}", Kind.REMOVED, List.of(), List.of()),
+                new OperationChange("POST /users", Kind.ADDED, List.of(), List.of())), diff.getChanges());
+            assertTrue(diff.format().contains("- DELETE /users/{id}"));
+            assertTrue(diff.format().contains("+ POST /users"));
+        }
+
+        @Test
+        @DisplayName("should_report_operation_attribute_changes")
+        void shouldReportOperationAttributeChanges() {
+            // Given
+            Api before = api("GET", "/users", userRequest());
+            Api after = api("GET", "/users", userRequest());
+            after.setDescription("查询用户");
+
+            // When
+            SpecDiff diff = SpecDiff.compare(new ApiDefinition(List.of(before)), new ApiDefinition(List.of(after)));
+
+            // Then
+            OperationChange change = diff.getChanges().get(0);
+            assertEquals(Kind.CHANGED, change.kind());
+            assertEquals(List.of("description null -> 查询用户"), change.details());
+            assertTrue(change.fields().isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("字段级差异")
+    class ShouldReportFields {
+
+        @Test
+        @DisplayName("should_report_added_removed_and_changed_fields")
+        void shouldReportAddedRemovedAndChangedFields() {
+            // Given
+            ClassDefinition request = userRequest();
+            request.getFields().remove(1);
+            request.getFields().get(0).setType("Long");
+            request.getFields().add(new FieldDefinition("email", "String"));
+
+            // When
+            SpecDiff diff = SpecDiff.compare(
+                new ApiDefinition(List.of(api("POST", "/users", userRequest()))),
+                new ApiDefinition(List.of(api("POST", "/users", request))));
+
+            // Then
+            assertEquals(List.of(
+                new FieldChange("request.id", Kind.CHANGED, "type Integer -> Long"),
+                new FieldChange("request.name", Kind.REMOVED, "String"),
+                new FieldChange("request.email", Kind.ADDED, "String")), diff.getChanges().get(0).fields());
+            assertTrue(diff.format().contains("    ~ request.id: type Integer -> Long"));
+            assertTrue(diff.format().contains("    - request.name (String)"));
+        }
+
+        @Test
+        @DisplayName("should_descend_into_nested_fields")
+        void shouldDescendIntoNestedFields() {
+            // Given
+            ClassDefinition request = userRequest();
+            FieldDefinition address = new FieldDefinition("address", "Address");
+            address.setFields(List.of(new FieldDefinition("street", "String")));
+            request.getFields().add(address);
+            ClassDefinition changed = userRequest();
+            FieldDefinition changedAddress = new FieldDefinition("address", "Address");
+            FieldDefinition street = new FieldDefinition("street", "String");
+            street.setRequired(true);
+            changedAddress.setFields(List.of(street));
+            changed.getFields().add(changedAddress);
+
+            // When
+            SpecDiff diff = SpecDiff.compare(
+                new ApiDefinition(List.of(api("PUT", "/users", request))),
+                new ApiDefinition(List.of(api("PUT", "/users", changed))));
+
+            // Then
+            assertEquals(List.of(new FieldChange("request.address.street", Kind.CHANGED, "required false -> true")),
+                diff.getChanges().get(0).fields());
+        }
+
+        @Test
+        @DisplayName("should_treat_null_class_fields_as_empty")
+        void shouldTreatNullClassFieldsAsEmpty() {
+            // Given
+            ClassDefinition empty = new ClassDefinition("XReq", null);
+            ClassDefinition withField = new ClassDefinition("XReq", new ArrayList<>(List.of(new FieldDefinition("id", "Long"))));
+
+            // When
+            SpecDiff added = SpecDiff.compare(
+                new ApiDefinition(List.of(api("POST", "/x", empty))),
+                new ApiDefinition(List.of(api("POST", "/x", withField))));
+            SpecDiff removed = SpecDiff.compare(
+                new ApiDefinition(List.of(api("POST", "/x", withField))),
+                new ApiDefinition(List.of(api("POST", "/x", empty))));
+
+            // Then
+            assertEquals(List.of(new FieldChange("request.id", Kind.ADDED, "Long")), added.getChanges().get(0).fields());
+            assertEquals(List.of(new FieldChange("request.id", Kind.REMOVED, "Long")), removed.getChanges().get(0).fields());
+        }
+
+        @Test
+        @DisplayName("should_find_single_change_in_large_spec")
+        void shouldFindSingleChangeInLargeSpec() {
+            // Given
+            ApiDefinition before = new SwaggerConverter().parse(SyntheticSpecs.openApi(1000, 20));
+            ApiDefinition after = new SwaggerConverter().parse(SyntheticSpecs.openApi(1000, 20));
+            Api target = after.getApis().get(500);
+            target.getResponse().getFields().get(0).setDescription("changed");
+
+            // When
+            SpecDiff diff = SpecDiff.compare(before, after);
+
+            // Then
+            assertEquals(1, diff.getChanges().size());
+            assertEquals(target.getMethod() + " " + target.getPath(), diff.getChanges().get(0).operation());
+            assertEquals(1, diff.getChanges().get(0).fields().size());
+        }
+    }
+
+    private static ClassDefinition userRequest() {
+        return new ClassDefinition("UserReq", new ArrayList<>(List.of(
+            new FieldDefinition("id", "Integer"), new FieldDefinition("name", "String"))));
+    }
+
+    private static Api api(String method, String path, ClassDefinition request) {
+        Api api = new Api();
+        api.setName("userApi");
+        api.setMethod(Api.HttpMethod.valueOf(method));
+        api.setPath(path);
+        api.setRequest(request);
+        return api;
+    }
+}
@@ -0,0 +1,69 @@
+package com.apicgen.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiIndexTest {
+
+    @Test
+    @DisplayName("should_find_api_by_name_operation_and_path")
+    void shouldFindApiByNameOperationAndPath() {
+        Api list = api("listUsers", "/users", Api.HttpMethod.GET);
+        Api create = api("createUser", "/users", Api.HttpMethod.POST);
+        ApiDefinition definition = new ApiDefinition(new ArrayList<>(List.of(list, create)));
+
+        ApiIndex index = definition.index();
+
+        assertSame(create, index.byName("createUser"));
+        assertEquals(List.of(list), index.operationGroup("/users", Api.HttpMethod.GET));
+        assertEquals(List.of(list, create), index.pathGroup("/users"));
+        assertNull(index.byName("missing"));
+        assertEquals(List.of(), index.pathGroup("/missing"));
+    }
+
+    @Test
+    @DisplayName("should_keep_duplicates_in_order_and_return_first")
+    void shouldKeepDuplicatesInOrderAndReturnFirst() {
+        Api first = api("getUser", "/users/{id}", Api.HttpMethod.GET);
+        Api second = api("getUser", "/users/{id}", Api.HttpMethod.GET);
+
+        ApiIndex index = new ApiDefinition(List.of(first, second)).index();
+
+        assertSame(first, index.byName("getUser"));
+        List<Api> group = index.operationGroup("/users/{id}", Api.HttpMethod.GET);
+        assertSame(first, group.get(0));
+        assertSame(second, group.get(1));
+    }
+
+    @Test
+    @DisplayName("should_rebuild_after_list_mutation_or_invalidate")
+    void shouldRebuildAfterListMutationOrInvalidate() {
+        Api list = api("listUsers", "/users", Api.HttpMethod.GET);
+        ApiDefinition definition = new ApiDefinition(new ArrayList<>(List.of(list)));
+        ApiIndex original = definition.index();
+        assertSame(original, definition.index());
+
+        definition.getApis().add(api("createUser", "/users", Api.HttpMethod.POST));
+        assertNotNull(definition.index().byName("createUser"));
+
+        list.setName("queryUsers");
+        definition.invalidateIndex();
+        assertSame(list, definition.index().byName("queryUsers"));
+
+        definition.setApis(new ArrayList<>());
+        assertNull(definition.index().byName("queryUsers"));
+    }
+
+    private static Api api(String name, String path, Api.HttpMethod method) {
+        Api api = new Api();
+        api.setName(name);
+        api.setPath(path);
+        api.setMethod(method);
+        return api;
+    }
+}
@@ -0,0 +1,87 @@
+package com.apicgen.model;
+
+import com.apicgen.benchmark.SyntheticSpecs;
+import com.apicgen.converter.SwaggerConverter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelFingerprintsTest {
+
+    @Test
+    @DisplayName("should_ignore_field_and_annotation_order")
+    void shouldIgnoreFieldAndAnnotationOrder() {
+        ClassDefinition first = new ClassDefinition("UserReq", new ArrayList<>(List.of(
+            new FieldDefinition("id", "Long"), new FieldDefinition("name", "String"))));
+        ClassDefinition second = new ClassDefinition("UserReq", new ArrayList<>(List.of(
+            new FieldDefinition("name", "String"), new FieldDefinition("id", "Long"))));
+
+        assertEquals(first.fingerprint(), second.fingerprint());
+
+        Api api = api("/users", first);
+        api.setAnnotations(List.of("@Deprecated", "@Audit"));
+        Api reordered = api("/users", second);
+        reordered.setAnnotations(List.of("@Audit", "@Deprecated"));
+
+        assertEquals(api.fingerprint(), reordered.fingerprint());
+    }
+
+    @Test
+    @DisplayName("should_change_when_nested_field_changes")
+    void shouldChangeWhenNestedFieldChanges() {
+        FieldDefinition street = new FieldDefinition("street", "String");
+        FieldDefinition address = new FieldDefinition("address", "Address");
+        address.setFields(List.of(street));
+        ClassDefinition before = new ClassDefinition("UserReq", List.of(address));
+
+        FieldDefinition longStreet = new FieldDefinition("street", "String");
+        ValidationConfig validation = new ValidationConfig();
+        validation.setMaxLength(64);
+        longStreet.setValidation(validation);
+        FieldDefinition changedAddress = new FieldDefinition("address", "Address");
+        changedAddress.setFields(List.of(longStreet));
+        ClassDefinition after = new ClassDefinition("UserReq", List.of(changedAddress));
+
+        assertNotEquals(before.fingerprint(), after.fingerprint());
+
+        ModelFingerprints fingerprints = new ModelFingerprints();
+        assertNotEquals(fingerprints.of(new FieldDefinition("id", "Integer")), fingerprints.of(new FieldDefinition("id", "Long")));
+    }
+
+    @Test
+    @DisplayName("should_not_depend_on_api_order_or_sharing")
+    void shouldNotDependOnApiOrderOrSharing() {
+        ApiDefinition original = new SwaggerConverter().parse(SyntheticSpecs.openApi(50, 6));
+        ApiDefinition reparsed = new SwaggerConverter().parse(SyntheticSpecs.openApi(50, 6));
+        List<Api> reversed = new ArrayList<>(reparsed.getApis());
+        Collections.reverse(reversed);
+
+        assertEquals(original.fingerprint(), new ApiDefinition(reversed).fingerprint());
+    }
+
+    @Test
+    @DisplayName("should_distinguish_null_from_empty_values")
+    void shouldDistinguishNullFromEmptyValues() {
+        FieldDefinition withNull = new FieldDefinition("tags", "List<String>");
+        FieldDefinition withEmpty = new FieldDefinition("tags", "List<String>");
+        withEmpty.setEnumValues(List.of());
+
+        ModelFingerprints fingerprints = new ModelFingerprints();
+
+        assertNotEquals(fingerprints.of(withNull), fingerprints.of(withEmpty));
+    }
+
+    private static Api api(String path, ClassDefinition request) {
+        Api api = new Api();
+        api.setName("createUser");
+        api.setPath(path);
+        api.setMethod(Api.HttpMethod.POST);
+        api.setRequest(request);
+        return api;
+    }
+}
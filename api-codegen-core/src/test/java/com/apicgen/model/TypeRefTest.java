@@ -0,0 +1,74 @@
+package com.apicgen.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TypeRefTest {
+
+    @Test
+    @DisplayName("should_intern_same_type_string")
+    void shouldInternSameTypeString() {
+        assertSame(TypeRef.of("List<String>"), TypeRef.of("List<String>"));
+        assertSame(TypeRef.of("String"), TypeRef.of("List<String>").getArguments().get(0));
+        assertNull(TypeRef.of(null));
+    }
+
+    @Test
+    @DisplayName("should_parse_nested_list")
+    void shouldParseNestedList() {
+        TypeRef typeRef = TypeRef.of("List<List<Long>>");
+
+        assertTrue(typeRef.isList());
+        assertTrue(typeRef.isNestedList());
+        assertEquals("List<Long>", typeRef.getGenericType());
+        TypeRef inner = typeRef.getArguments().get(0);
+        assertTrue(inner.isList());
+        assertFalse(inner.isNestedList());
+        assertTrue(inner.getArguments().get(0).isPrimitive());
+    }
+
+    @Test
+    @DisplayName("should_parse_map_arguments_at_top_level_commas")
+    void shouldParseMapArgumentsAtTopLevelCommas() {
+        TypeRef typeRef = TypeRef.of("Map<String, Map<String, List<Order>>>");
+
+        assertTrue(typeRef.isMap());
+        assertEquals("Map", typeRef.getBaseName());
+        List<TypeRef> arguments = typeRef.getArguments();
+        assertEquals(2, arguments.size());
+        assertEquals("String", arguments.get(0).getName());
+        assertTrue(arguments.get(1).isMap());
+        assertEquals(TypeRef.Kind.OBJECT, arguments.get(1).getArguments().get(1).getArguments().get(0).getKind());
+    }
+
+    @Test
+    @DisplayName("should_strip_quotes_and_whitespace")
+    void shouldStripQuotesAndWhitespace() {
+        TypeRef typeRef = TypeRef.of(" \"String\" ");
+
+        assertTrue(typeRef.isPrimitive());
+        assertEquals("String", typeRef.getName());
+        assertEquals(" \"String\" ", typeRef.getRaw());
+    }
+
+    @Test
+    @DisplayName("should_keep_field_type_checks_in_sync_with_type")
+    void shouldKeepFieldTypeChecksInSyncWithType() {
+        FieldDefinition field = new FieldDefinition("items", "List<List<String>>");
+        assertTrue(field.isNestedListType());
+        assertEquals("List<String>", field.getGenericType());
+
+        field.setType("Order");
+        assertTrue(field.isObjectType());
+        assertFalse(field.isListType());
+        assertNull(field.getGenericType());
+
+        field.setType(null);
+        assertFalse(field.isPrimitiveType());
+        assertNull(field.getTypeRef());
+    }
+}
@@ -0,0 +1,115 @@
+package com.apicgen.model.compact;
+
+import com.apicgen.benchmark.SyntheticSpecs;
+import com.apicgen.converter.SwaggerConverter;
+import com.apicgen.model.ApiDefinition;
+import com.apicgen.model.ClassDefinition;
+import com.apicgen.model.ElementValidationConfig;
+import com.apicgen.model.FieldDefinition;
+import com.apicgen.model.ValidationConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactApiDefinitionTest {
+
+    @Test
+    @DisplayName("should_round_trip_converted_model")
+    void shouldRoundTripConvertedModel() {
+        ApiDefinition original = new SwaggerConverter().parse(SyntheticSpecs.openApi(100, 12));
+
+        ApiDefinition restored = CompactApiDefinition.of(original).toApiDefinition();
+
+        assertEquals(original.getApis(), restored.getApis());
+    }
+
+    @Test
+    @DisplayName("should_keep_shared_nested_fields_shared")
+    void shouldKeepSharedNestedFieldsShared() {
+        List<FieldDefinition> shared = List.of(new FieldDefinition("street", "String"));
+        FieldDefinition home = new FieldDefinition("home", "Address");
+        home.setFields(shared);
+        FieldDefinition office = new FieldDefinition("office", "Address");
+        office.setFields(shared);
+
+        CompactClass compact = CompactClass.of(new ClassDefinition("UserRsp", new ArrayList<>(List.of(home, office))));
+        List<FieldDefinition> restored = compact.toClassDefinition().getFields();
+
+        assertSame(compact.fields().get(0).fields(), compact.fields().get(1).fields());
+        assertSame(restored.get(0).getFields(), restored.get(1).getFields());
+        assertThrows(UnsupportedOperationException.class, () -> restored.get(0).getFields().add(new FieldDefinition()));
+        assertDoesNotThrow(() -> restored.add(new FieldDefinition()));
+    }
+
+    @Test
+    @DisplayName("should_deduplicate_equal_fields_but_restore_fresh_top_level_fields")
+    void shouldDeduplicateEqualFieldsButRestoreFreshTopLevelFields() {
+        ApiDefinition original = new SwaggerConverter().parse(SyntheticSpecs.openApi(20, 2));
+        FieldDefinition first = original.getApis().get(0).getResponse().getFields().get(0);
+        FieldDefinition second = original.getApis().get(2).getResponse().getFields().get(0);
+        assertNotSame(first, second);
+        assertEquals(first, second);
+
+        CompactApiDefinition compact = CompactApiDefinition.of(original);
+        ApiDefinition restored = compact.toApiDefinition();
+
+        assertSame(compact.apis().get(0).response().fields().get(0), compact.apis().get(2).response().fields().get(0));
+        assertNotSame(restored.getApis().get(0).getResponse().getFields().get(0),
+            restored.getApis().get(2).getResponse().getFields().get(0));
+    }
+
+    @Test
+    @DisplayName("should_encode_constraints_with_sentinels")
+    void shouldEncodeConstraintsWithSentinels() {
+        ValidationConfig validation = new ValidationConfig();
+        validation.setMaxLength(32);
+        validation.setMin(0.5);
+        validation.setEmail(false);
+        validation.setPast(true);
+        ElementValidationConfig element = new ElementValidationConfig();
+        element.setPattern("^[a-z]+$");
+        validation.setElementValidation(element);
+
+        Constraints constraints = Constraints.of(validation);
+
+        assertEquals(Constraints.UNSET, constraints.minLength());
+        assertEquals(32, constraints.maxLength());
+        assertTrue(Double.isNaN(constraints.max()));
+        assertFalse(constraints.isEmail());
+        assertTrue(constraints.isPast());
+        assertEquals("^[a-z]+$", constraints.element().pattern());
+        assertEquals(validation, constraints.toValidationConfig());
+    }
+
+    @Test
+    @DisplayName("should_share_empty_constraints")
+    void shouldShareEmptyConstraints() {
+        assertSame(Constraints.NONE, Constraints.of(new ValidationConfig()));
+        assertSame(Constraints.NONE, Constraints.of(new ElementValidationConfig()));
+        assertNull(Constraints.of((ValidationConfig) null));
+        assertEquals(new ValidationConfig(), Constraints.NONE.toValidationConfig());
+    }
+
+    @Test
+    @DisplayName("should_intern_names_and_copy_lists_exactly")
+    void shouldInternNamesAndCopyListsExactly() {
+        String name = new String("orderId");
+        List<Object> enumValues = new ArrayList<>(16);
+        enumValues.add("A");
+        enumValues.add(null);
+
+        CompactField first = new CompactField(name, "String", true, null, null, null, enumValues, "path");
+        CompactField second = new CompactField(new String("orderId"), new String("String"), true, null, null, null, null, "path");
+
+        assertSame(first.name(), second.name());
+        assertSame(first.type(), second.type());
+        assertEquals(List.of("A"), first.enumValues().subList(0, 1));
+        assertNull(first.enumValues().get(1));
+        assertThrows(UnsupportedOperationException.class, () -> first.enumValues().add("B"));
+        assertTrue(first.typeRef().isPrimitive());
+    }
+}
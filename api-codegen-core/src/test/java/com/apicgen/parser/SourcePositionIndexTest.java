@@ -0,0 +1,86 @@
+package com.apicgen.parser;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SourcePositionIndex 单元测试
+ */
+class SourcePositionIndexTest {
+
+    private static final String SPEC = """
+        swagger: "2.0"
+        paths:
+          /users/{id}:
+            get:
+              operationId: getUser
+              parameters:
+                - name: id
+                  in: path
+                - name: verbose
+                  in: query
+        definitions:
+          User:
+            type: object
+            properties:
+              name:
+                type: string
+        """;
+
+    @Test
+    @DisplayName("should_map_object_members_to_key_position")
+    void shouldMapObjectMembersToKeyPosition() throws IOException {
+        // When
+        SourcePositionIndex index = SourcePositionIndex.of(SPEC);
+
+        // Then
+        SourcePositionIndex.SourceRange operation = index.find("paths", "/users/{id}", "get");
+        assertEquals(4, operation.startLine());
+        assertEquals(5, operation.startColumn());
+        assertEquals(10, operation.endLine());
+        assertEquals(16, index.find("definitions", "User", "properties", "name").endLine());
+    }
+
+    @Test
+    @DisplayName("should_map_array_elements_by_index")
+    void shouldMapArrayElementsByIndex() throws IOException {
+        // When
+        SourcePositionIndex index = SourcePositionIndex.of(SPEC);
+
+        // Then
+        assertEquals(9, index.find("paths", "/users/{id}", "get", "parameters", "1").startLine());
+        assertEquals(8, index.get("/paths/~1users~1{id}/get/parameters/0/in").startLine());
+    }
+
+    @Test
+    @DisplayName("should_expose_object_keys_in_source_order")
+    void shouldExposeObjectKeysInSourceOrder() throws IOException {
+        // When
+        SourcePositionIndex index = SourcePositionIndex.of(SPEC);
+
+        // Then
+        assertEquals(List.of("swagger", "paths", "definitions"), index.keys(""));
+        assertEquals(List.of("type", "properties"), index.keys("/definitions/User"));
+        assertEquals(List.of(), index.keys("/missing"));
+        assertNull(index.find("paths", "/orders"));
+    }
+
+    @Test
+    @DisplayName("should_index_json_content")
+    void shouldIndexJsonContent() throws IOException {
+        // Given
+        String json = "{\n  \"paths\": {\n    \"/a\": {\"get\": {}}\n  }\n}";
+
+        // When
+        SourcePositionIndex index = SourcePositionIndex.of(json);
+
+        // Then
+        assertEquals(3, index.find("paths", "/a").startLine());
+        assertEquals(3, index.find("paths", "/a", "get").startLine());
+    }
+}
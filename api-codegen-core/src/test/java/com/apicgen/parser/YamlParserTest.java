@@ -1,13 +1,26 @@
 package com.apicgen.parser;
 
+import com.apicgen.benchmark.SyntheticSpecs;
 import com.apicgen.model.*;
+import com.apicgen.util.FieldTypeInference;
+import com.apicgen.util.SpecMappers;
+import com.apicgen.util.YamlLimitException;
+import com.apicgen.util.YamlLimits;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -753,6 +766,618 @@ class YamlParserTest {
         }
     }
 
+    @Nested
+    @DisplayName("should_stream_apis_one_by_one")
+    class ShouldStreamApisOneByOne {
+
+        /**
+         * 测试场景：流式读取自定义格式文件
+         * 预期结果：逐个返回的 API 与一次性解析结果一致
+         * 实际结果：名称顺序和字段数量完全相同
+         */
+        @Test
+        @DisplayName("should_stream_same_apis_as_full_parse")
+        void shouldStreamSameApisAsFullParse() throws IOException {
+            // Given
+            File yamlFile = new File(TEST_YAML_DIR, "valid-all-types.yaml");
+            ApiDefinition expected = YamlParser.parse(yamlFile);
+
+            // When
+            List<Api> streamed;
+            try (Stream<Api> apis = YamlParser.stream(yamlFile)) {
+                streamed = apis.collect(Collectors.toList());
+            }
+
+            // Then
+            assertEquals(expected.getApis(), streamed);
+        }
+
+        /**
+         * 测试场景：apis 前后存在其他顶层 key，且描述中包含 openapi: 字样
+         * 预期结果：按顶层 key 识别为自定义格式，其他 key 被跳过
+         * 实际结果：返回 2 个 API
+         */
+        @Test
+        @DisplayName("should_skip_unrelated_top_level_keys")
+        void shouldSkipUnrelatedTopLevelKeys(@TempDir Path tempDir) throws IOException {
+            // Given
+            Path yamlFile = tempDir.resolve("custom.yaml");
+            Files.writeString(yamlFile, """
+                meta:
+                  owner: platform
+                apis:
+                  - name: firstApi
+                    path: /api/first
+                    method: GET
+                    description: "mirrors openapi: spec"
+                  -
+                  - name: secondApi
+                    path: /api/second
+                    method: POST
+                trailer: ignored
+                """);
+
+            // When
+            List<String> names = new ArrayList<>();
+            try (ApiStreamReader reader = YamlParser.iterate(yamlFile.toFile())) {
+                reader.forEachRemaining(api -> names.add(api.getName()));
+            }
+
+            // Then
+            assertEquals(List.of("firstApi", "secondApi"), names);
+        }
+
+        /**
+         * 测试场景：流式读取 Swagger 文件
+         * 预期结果：自动转换后逐个返回
+         * 实际结果：返回 5 个 API
+         */
+        @Test
+        @DisplayName("should_stream_swagger_file")
+        void shouldStreamSwaggerFile() throws IOException {
+            // Given
+            File yamlFile = new File(TEST_YAML_DIR, "swagger-example.yaml");
+
+            // When
+            long count;
+            try (Stream<Api> apis = YamlParser.stream(yamlFile)) {
+                count = apis.count();
+            }
+
+            // Then
+            assertEquals(YamlParser.parse(yamlFile).getApis().size(), count);
+        }
+
+        /**
+         * 测试场景：带解析选项流式读取
+         * 预期结果：类型推断词表与资源上限同样生效
+         * 实际结果：无类型参数按用户词典推断，超出别名上限时抛出 YamlLimitException
+         */
+        @Test
+        @DisplayName("should_stream_with_parser_options")
+        void shouldStreamWithParserOptions(@TempDir Path tempDir) throws IOException {
+            // Given
+            Path swaggerFile = tempDir.resolve("swagger.yaml");
+            Files.writeString(swaggerFile, """
+                openapi: "3.0.0"
+                info:
+                  title: Order API
+                  version: "1.0"
+                paths:
+                  /orders:
+                    get:
+                      operationId: listOrders
+                      parameters:
+                        - name: sku
+                          in: query
+                      responses:
+                        200:
+                          description: Success
+                """);
+            FieldTypeInference.Dictionary dictionary = new FieldTypeInference.Dictionary();
+            dictionary.setNames(Map.of("sku", "Long"));
+            ParserOptions options = new ParserOptions();
+            options.setTypeInference(FieldTypeInference.defaults().with(dictionary));
+            StringBuilder aliases = new StringBuilder("apis:\n  - name: a0\n    description: &desc shared\n");
+            for (int i = 1; i <= YamlLimits.defaults().getMaxAliases() + 1; i++) {
+                aliases.append("  - name: a").append(i).append("\n    description: *desc\n");
+            }
+            Path customFile = tempDir.resolve("custom.yaml");
+            Files.writeString(customFile, aliases);
+            ParserOptions limited = new ParserOptions();
+            limited.setLimits(YamlLimits.defaults());
+
+            // When
+            List<Api> apis;
+            try (Stream<Api> stream = YamlParser.stream(swaggerFile.toFile(), options)) {
+                apis = stream.toList();
+            }
+
+            // Then
+            assertEquals("Long", apis.get(0).getRequest().getFields().get(0).getType());
+            assertThrows(YamlLimitException.class, () -> {
+                try (Stream<Api> stream = YamlParser.stream(customFile.toFile(), limited)) {
+                    stream.count();
+                }
+            });
+        }
+
+        /**
+         * 测试场景：文件中没有 apis 字段
+         * 预期结果：打开流时抛出 IOException
+         * 实际结果：提示 apis field is null
+         */
+        @Test
+        @DisplayName("should_throw_exception_when_apis_missing")
+        void shouldThrowExceptionWhenApisMissing(@TempDir Path tempDir) throws IOException {
+            // Given
+            Path yamlFile = tempDir.resolve("empty.yaml");
+            Files.writeString(yamlFile, "meta: value\n");
+
+            // When & Then
+            IOException e = assertThrows(IOException.class, () -> YamlParser.iterate(yamlFile.toFile()));
+            assertTrue(e.getMessage().contains("apis field is null"));
+        }
+
+        /**
+         * 测试场景：某个 API 的 method 非法
+         * 预期结果：读取到该元素时抛出带友好提示的 UncheckedIOException
+         * 实际结果：前一个元素正常返回
+         */
+        @Test
+        @DisplayName("should_report_invalid_element_lazily")
+        void shouldReportInvalidElementLazily(@TempDir Path tempDir) throws IOException {
+            // Given
+            Path yamlFile = tempDir.resolve("invalid.yaml");
+            Files.writeString(yamlFile, """
+                apis:
+                  - name: okApi
+                    path: /api/ok
+                    method: GET
+                  - name: badApi
+                    path: /api/bad
+                    method: FETCH
+                """);
+
+            // When & Then
+            try (ApiStreamReader reader = YamlParser.iterate(yamlFile.toFile())) {
+                assertEquals("okApi", reader.next().getName());
+                UncheckedIOException e = assertThrows(UncheckedIOException.class, reader::next);
+                assertTrue(e.getCause().getMessage().contains("method 必须是以下之一"));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("should_reuse_binary_snapshot")
+    class ShouldReuseBinarySnapshot {
+
+        @TempDir
+        Path tempDir;
+
+        private ParserOptions snapshotOptions() {
+            ParserOptions options = new ParserOptions();
+            options.setSnapshot(true);
+            options.setSnapshotDirectory(tempDir.resolve("cache").toFile());
+            return options;
+        }
+
+        @Test
+        @DisplayName("should_round_trip_all_types_through_snapshot")
+        void shouldRoundTripAllTypesThroughSnapshot() throws IOException {
+            // Given
+            File yamlFile = new File(TEST_YAML_DIR, "valid-all-types.yaml");
+            ApiDefinition expected = YamlParser.parse(yamlFile);
+
+            // When
+            ApiDefinition cold = YamlParser.parse(yamlFile, snapshotOptions());
+            ApiDefinition warm = YamlParser.parse(yamlFile, snapshotOptions());
+
+            // Then
+            assertEquals(expected, cold);
+            assertEquals(expected, warm);
+            assertNotSame(cold, warm);
+            assertTrue(Files.exists(ApiSnapshot.locate(yamlFile, tempDir.resolve("cache").toFile())));
+        }
+
+        @Test
+        @DisplayName("should_read_snapshot_instead_of_yaml_when_source_unchanged")
+        void shouldReadSnapshotInsteadOfYamlWhenSourceUnchanged() throws IOException {
+            // Given
+            Path yamlFile = tempDir.resolve("api.yaml");
+            Files.writeString(yamlFile, """
+                apis:
+                  - name: getUser
+                    path: /api/user
+                    method: GET
+                """);
+            YamlParser.parse(yamlFile.toFile(), snapshotOptions());
+            Path snapshot = ApiSnapshot.locate(yamlFile.toFile(), tempDir.resolve("cache").toFile());
+            String key = ApiSnapshot.key(Files.readAllBytes(yamlFile), snapshotOptions());
+            ApiDefinition marked = new ApiDefinition(new ArrayList<>(List.of(new Api())));
+            marked.getApis().get(0).setName("fromSnapshot");
+            ApiSnapshot.write(snapshot, key, List.of(), marked);
+
+            // When
+            ApiDefinition apiDefinition = YamlParser.parse(yamlFile.toFile(), snapshotOptions());
+
+            // Then
+            assertEquals("fromSnapshot", apiDefinition.getApis().get(0).getName());
+        }
+
+        @Test
+        @DisplayName("should_invalidate_snapshot_written_by_other_tool_version")
+        void shouldInvalidateSnapshotWrittenByOtherToolVersion() throws IOException {
+            // Given - 旧版本工具写入的快照
+            Path yamlFile = tempDir.resolve("api.yaml");
+            Files.writeString(yamlFile, """
+                apis:
+                  - name: getUser
+                    path: /api/user
+                    method: GET
+                """);
+            byte[] source = Files.readAllBytes(yamlFile);
+            String oldKey = ApiSnapshot.key(source, snapshotOptions(), "0.9.0");
+            Path snapshot = ApiSnapshot.locate(yamlFile.toFile(), tempDir.resolve("cache").toFile());
+            ApiDefinition marked = new ApiDefinition(new ArrayList<>(List.of(new Api())));
+            marked.getApis().get(0).setName("fromOldTool");
+            ApiSnapshot.write(snapshot, oldKey, List.of(), marked);
+
+            // When
+            ApiDefinition apiDefinition = YamlParser.parse(yamlFile.toFile(), snapshotOptions());
+
+            // Then
+            assertNotEquals(oldKey, ApiSnapshot.key(source, snapshotOptions()));
+            assertEquals("getUser", apiDefinition.getApis().get(0).getName());
+            assertFalse(ApiSnapshot.TOOL_VERSION.isEmpty());
+        }
+
+        @Test
+        @DisplayName("should_check_document_length_before_reading_snapshot")
+        void shouldCheckDocumentLengthBeforeReadingSnapshot() throws IOException {
+            // Given - 不限制上限时写入的有效快照
+            Path yamlFile = tempDir.resolve("api.yaml");
+            Files.writeString(yamlFile, "apis: []\n# " + "x".repeat(2048));
+            YamlParser.parse(yamlFile.toFile(), snapshotOptions());
+            ParserOptions limited = snapshotOptions();
+            limited.getLimits().setMaxDocumentLength(1024);
+
+            // When
+            YamlLimitException exception = assertThrows(YamlLimitException.class, () -> YamlParser.parse(yamlFile.toFile(), limited));
+
+            // Then
+            assertEquals(YamlLimits.Limit.DOCUMENT_LENGTH, exception.getLimit());
+        }
+
+        @Test
+        @DisplayName("should_not_reuse_snapshot_written_under_other_limits")
+        void shouldNotReuseSnapshotWrittenUnderOtherLimits() throws IOException {
+            // Given - 别名数量超出默认上限的文档，先在不限制上限时写入快照
+            StringBuilder yaml = new StringBuilder("apis:\n  - name: a0\n    description: &desc shared\n");
+            for (int i = 1; i <= YamlLimits.defaults().getMaxAliases() + 1; i++) {
+                yaml.append("  - name: a").append(i).append("\n    description: *desc\n");
+            }
+            Path yamlFile = tempDir.resolve("api.yaml");
+            Files.writeString(yamlFile, yaml);
+            YamlParser.parse(yamlFile.toFile(), snapshotOptions());
+            ParserOptions limited = snapshotOptions();
+            limited.setLimits(YamlLimits.defaults());
+
+            // When
+            YamlLimitException exception = assertThrows(YamlLimitException.class, () -> YamlParser.parse(yamlFile.toFile(), limited));
+
+            // Then
+            assertEquals(YamlLimits.Limit.ALIASES, exception.getLimit());
+            assertNotEquals(ApiSnapshot.key(yamlFile, snapshotOptions()), ApiSnapshot.key(yamlFile, limited));
+            assertEquals(ApiSnapshot.key(Files.readAllBytes(yamlFile), snapshotOptions()), ApiSnapshot.key(yamlFile, snapshotOptions()));
+        }
+
+        @Test
+        @DisplayName("should_invalidate_snapshot_when_source_changes")
+        void shouldInvalidateSnapshotWhenSourceChanges() throws IOException {
+            // Given
+            Path yamlFile = tempDir.resolve("api.yaml");
+            Files.writeString(yamlFile, """
+                apis:
+                  - name: getUser
+                    path: /api/user
+                    method: GET
+                """);
+            YamlParser.parse(yamlFile.toFile(), snapshotOptions());
+            Files.writeString(yamlFile, """
+                apis:
+                  - name: getOrder
+                    path: /api/order
+                    method: GET
+                """);
+
+            // When
+            ApiDefinition apiDefinition = YamlParser.parse(yamlFile.toFile(), snapshotOptions());
+
+            // Then
+            assertEquals("getOrder", apiDefinition.getApis().get(0).getName());
+        }
+
+        @Test
+        @DisplayName("should_invalidate_snapshot_when_external_ref_changes")
+        void shouldInvalidateSnapshotWhenExternalRefChanges() throws IOException {
+            // Given
+            Path schema = tempDir.resolve("user.yaml");
+            Files.writeString(schema, """
+                type: object
+                properties:
+                  name:
+                    type: string
+                """);
+            Path yamlFile = tempDir.resolve("swagger.yaml");
+            Files.writeString(yamlFile, """
+                swagger: "2.0"
+                info:
+                  title: User API
+                  version: "1.0"
+                paths:
+                  /users:
+                    get:
+                      operationId: getUser
+                      responses:
+                        200:
+                          schema:
+                            $ref: './user.yaml'
+                """);
+            YamlParser.parse(yamlFile.toFile(), snapshotOptions());
+            Files.writeString(schema, """
+                type: object
+                properties:
+                  nickname:
+                    type: string
+                """);
+
+            // When
+            ApiDefinition apiDefinition = YamlParser.parse(yamlFile.toFile(), snapshotOptions());
+
+            // Then
+            assertEquals("nickname", apiDefinition.getApis().get(0).getResponse().getFields().get(0).getName());
+        }
+
+        @Test
+        @DisplayName("should_ignore_corrupted_snapshot")
+        void shouldIgnoreCorruptedSnapshot() throws IOException {
+            // Given
+            File yamlFile = new File(TEST_YAML_DIR, "valid-all-types.yaml");
+            Path snapshot = ApiSnapshot.locate(yamlFile, tempDir.resolve("cache").toFile());
+            Files.createDirectories(snapshot.getParent());
+            Files.write(snapshot, new byte[]{0x41, 0x43, 0x47, 0x53, 1, 0, 9});
+
+            // When
+            ApiDefinition apiDefinition = YamlParser.parse(yamlFile, snapshotOptions());
+
+            // Then
+            assertEquals(YamlParser.parse(yamlFile), apiDefinition);
+        }
+    }
+
+    @Nested
+    @DisplayName("should_parse_json_content")
+    class ShouldParseJsonContent {
+
+        private static final String SWAGGER = """
+            swagger: "2.0"
+            info:
+              title: User API
+              version: "1.0"
+            paths:
+              /users/{id}:
+                get:
+                  operationId: getUser
+                  parameters:
+                    - name: id
+                      in: path
+                      type: integer
+                  responses:
+                    200:
+                      schema:
+                        type: object
+                        properties:
+                          name:
+                            type: string
+            """;
+
+        @TempDir
+        Path tempDir;
+
+        @Test
+        @DisplayName("should_parse_json_swagger_same_as_yaml")
+        void shouldParseJsonSwaggerSameAsYaml() throws IOException {
+            // Given
+            String json = toJson(SWAGGER);
+            Path jsonFile = tempDir.resolve("swagger.json");
+            Files.writeString(jsonFile, json);
+
+            // When
+            ApiDefinition fromContent = YamlParser.parse(json);
+            ApiDefinition fromFile = YamlParser.parse(jsonFile.toFile());
+
+            // Then
+            ApiDefinition expected = YamlParser.parse(SWAGGER);
+            assertEquals(expected, fromContent);
+            assertEquals(expected, fromFile);
+        }
+
+        @Test
+        @DisplayName("should_parse_json_custom_format_same_as_yaml")
+        void shouldParseJsonCustomFormatSameAsYaml() throws IOException {
+            // Given
+            File yamlFile = new File(TEST_YAML_DIR, "valid-all-types.yaml");
+            Path jsonFile = tempDir.resolve("custom.json");
+            Files.writeString(jsonFile, "\uFEFF\n  " + toJson(Files.readString(yamlFile.toPath())));
+
+            // When
+            ApiDefinition apiDefinition = YamlParser.parse(jsonFile.toFile());
+
+            // Then
+            assertEquals(YamlParser.parse(yamlFile), apiDefinition);
+            try (ApiStreamReader reader = YamlParser.iterate(jsonFile.toFile())) {
+                assertEquals(apiDefinition.getApis(), reader.stream().toList());
+            }
+        }
+
+        @Test
+        @DisplayName("should_fall_back_to_yaml_for_flow_style_yaml")
+        void shouldFallBackToYamlForFlowStyleYaml() throws IOException {
+            // Given
+            String flowYaml = """
+                { swagger: "2.0", # flow style with comment
+                  paths: { /ping: { get: { operationId: ping } } } }
+                """;
+
+            // When
+            ApiDefinition apiDefinition = YamlParser.parse(flowYaml);
+
+            // Then
+            assertEquals("/ping", apiDefinition.getApis().get(0).getPath());
+        }
+
+        @Test
+        @DisplayName("should_detect_json_by_first_non_whitespace_character")
+        void shouldDetectJsonByFirstNonWhitespaceCharacter() {
+            // Then
+            assertTrue(SpecMappers.isJson("\uFEFF \n\t{\"a\": 1}"));
+            assertTrue(SpecMappers.isJson("[1, 2]"));
+            assertFalse(SpecMappers.isJson("a: {b: 1}"));
+            assertFalse(SpecMappers.isJson("  "));
+            assertSame(SpecMappers.json(), SpecMappers.forContent("{}"));
+            assertSame(SpecMappers.yaml(), SpecMappers.forContent("swagger: '2.0'"));
+        }
+
+        private String toJson(String yaml) throws IOException {
+            return SpecMappers.json().writerWithDefaultPrettyPrinter()
+                .writeValueAsString(SpecMappers.yaml().readTree(yaml));
+        }
+    }
+
+    @Nested
+    @DisplayName("should_enforce_resource_limits")
+    class ShouldEnforceResourceLimits {
+
+        @Test
+        @DisplayName("should_stop_at_alias_limit")
+        void shouldStopAtAliasLimit() {
+            // Given
+            String yamlContent = """
+                apis:
+                  - name: a
+                    description: &desc shared
+                  - name: b
+                    description: *desc
+                  - name: c
+                    description: *desc
+                  - name: d
+                    description: *desc
+                """;
+            ParserOptions options = new ParserOptions();
+            options.getLimits().setMaxAliases(2);
+
+            // When
+            YamlLimitException exception = assertThrows(YamlLimitException.class, () -> YamlParser.parse(yamlContent, options));
+
+            // Then
+            assertEquals(YamlLimits.Limit.ALIASES, exception.getLimit());
+            assertEquals(2, exception.getMax());
+            assertEquals(9, exception.getLine());
+        }
+
+        @Test
+        @DisplayName("should_stop_at_nesting_depth_limit")
+        void shouldStopAtNestingDepthLimit() {
+            // Given
+            String yamlContent = "swagger: \"2.0\"\npaths: {}\nx-deep: " + "[".repeat(100) + "]".repeat(100);
+            ParserOptions options = new ParserOptions();
+            options.setLimits(YamlLimits.defaults());
+
+            // When
+            YamlLimitException exception = assertThrows(YamlLimitException.class, () -> YamlParser.parse(yamlContent, options));
+
+            // Then
+            assertEquals(YamlLimits.Limit.NESTING_DEPTH, exception.getLimit());
+            assertEquals(YamlLimits.defaults().getMaxNestingDepth() + 1, exception.getActual());
+        }
+
+        @Test
+        @DisplayName("should_reject_document_over_length_limit")
+        void shouldRejectDocumentOverLengthLimit(@TempDir Path tempDir) throws IOException {
+            // Given
+            Path yamlFile = tempDir.resolve("large.yaml");
+            Files.writeString(yamlFile, "apis: []\n# " + "x".repeat(2048));
+            ParserOptions options = new ParserOptions();
+            options.getLimits().setMaxDocumentLength(1024);
+
+            // When
+            YamlLimitException exception = assertThrows(YamlLimitException.class, () -> YamlParser.parse(yamlFile.toFile(), options));
+
+            // Then
+            assertEquals(YamlLimits.Limit.DOCUMENT_LENGTH, exception.getLimit());
+            assertTrue(exception.getMessage().contains("文档长度"));
+        }
+
+        @Test
+        @DisplayName("should_limit_operations_and_fields_per_class")
+        void shouldLimitOperationsAndFieldsPerClass() {
+            // Given
+            String swaggerContent = SyntheticSpecs.openApi(20, 2);
+            ParserOptions operationLimit = new ParserOptions();
+            operationLimit.getLimits().setMaxOperations(10);
+            ParserOptions fieldLimit = new ParserOptions();
+            fieldLimit.getLimits().setMaxFieldsPerClass(1);
+
+            // When
+            YamlLimitException operations = assertThrows(YamlLimitException.class, () -> YamlParser.parse(swaggerContent, operationLimit));
+            YamlLimitException fields = assertThrows(YamlLimitException.class, () -> YamlParser.parse(swaggerContent, fieldLimit));
+
+            // Then
+            assertEquals(YamlLimits.Limit.OPERATIONS, operations.getLimit());
+            assertEquals(YamlLimits.Limit.FIELDS_PER_CLASS, fields.getLimit());
+        }
+
+        @Test
+        @DisplayName("should_not_limit_by_default_and_parse_limit_settings")
+        void shouldNotLimitByDefaultAndParseLimitSettings() throws IOException {
+            // Given - 别名引用次数超过默认上限 50 的文档
+            StringBuilder yamlContent = new StringBuilder("apis:\n  - name: a0\n    description: &desc shared\n");
+            for (int i = 1; i <= YamlLimits.defaults().getMaxAliases() + 1; i++) {
+                yamlContent.append("  - name: a").append(i).append("\n    description: *desc\n");
+            }
+
+            // When
+            ApiDefinition apiDefinition = YamlParser.parse(yamlContent.toString());
+            YamlLimits limits = YamlLimits.parse("maxDocumentLength=67108864, maxOperations=0");
+
+            // Then
+            assertEquals(YamlLimits.defaults().getMaxAliases() + 2, apiDefinition.getApis().size());
+            assertEquals(YamlLimits.unlimited(), ParserOptions.defaults().getLimits());
+            assertEquals(67_108_864L, limits.getMaxDocumentLength());
+            assertEquals(0, limits.getMaxOperations());
+            assertEquals(YamlLimits.defaults().getMaxFieldsPerClass(), limits.getMaxFieldsPerClass());
+            assertEquals(YamlLimits.defaults(), YamlLimits.parse(""));
+            assertThrows(IllegalArgumentException.class, () -> YamlLimits.parse("maxDepth=3"));
+            assertThrows(IllegalArgumentException.class, () -> YamlLimits.parse("maxOperations=many"));
+        }
+
+        @Test
+        @DisplayName("should_accept_everything_when_unlimited")
+        void shouldAcceptEverythingWhenUnlimited() throws IOException {
+            // Given
+            String swaggerContent = SyntheticSpecs.openApi(20, 2);
+            ParserOptions options = new ParserOptions();
+            options.setLimits(YamlLimits.unlimited());
+
+            // When
+            ApiDefinition apiDefinition = YamlParser.parse(swaggerContent, options);
+
+            // Then
+            assertEquals(YamlParser.parse(swaggerContent), apiDefinition);
+        }
+    }
+
     /**
      * 辅助方法：根据字段名获取字段定义
      */
@@ -762,4 +1387,127 @@ class YamlParserTest {
             .findFirst()
             .orElseThrow(() -> new AssertionError("Field not found: " + name));
     }
+
+    @Nested
+    @DisplayName("should_parse_split_chunks_concurrently")
+    class ShouldParseSplitChunksConcurrently {
+
+        @TempDir
+        Path tempDir;
+
+        private ParserOptions splitOptions() {
+            ParserOptions options = new ParserOptions();
+            options.setParallelism(4);
+            options.setSplitParse(true);
+            return options;
+        }
+
+        @Test
+        @DisplayName("should_match_sequential_swagger_parse")
+        void shouldMatchSequentialSwaggerParse() throws IOException {
+            // Given
+            Path spec = tempDir.resolve("api.yaml");
+            Files.writeString(spec, SyntheticSpecs.openApi(200, 20));
+            ApiDefinition expected = YamlParser.parse(spec.toFile());
+
+            // When
+            ApiDefinition actual = YamlParser.parse(spec.toFile(), splitOptions());
+
+            // Then
+            assertEquals(expected.getApis(), actual.getApis());
+        }
+
+        @Test
+        @DisplayName("should_match_sequential_custom_parse")
+        void shouldMatchSequentialCustomParse() throws IOException {
+            // Given
+            File yamlFile = new File(TEST_YAML_DIR, "valid-all-types.yaml");
+            ApiDefinition expected = YamlParser.parse(yamlFile);
+
+            // When
+            ApiDefinition actual = YamlParser.parse(yamlFile, splitOptions());
+
+            // Then
+            assertEquals(expected.getApis(), actual.getApis());
+        }
+
+        @Test
+        @DisplayName("should_split_paths_at_top_level_keys")
+        void shouldSplitPathsAtTopLevelKeys() {
+            // Given
+            String content = """
+                openapi: 3.0.0
+                paths:
+                  /a:
+                    get:
+                      operationId: a
+                  # comment between paths
+                  /b:
+                    get:
+                      operationId: b
+                  /c:
+                    get:
+                      operationId: c
+                components:
+                  schemas: {}
+                """;
+
+            // When
+            SplitYamlParser.Split split = SplitYamlParser.split(content, "paths", 2);
+
+            // Then
+            assertNotNull(split);
+            assertEquals(3, split.chunks().size());
+            assertTrue(split.chunks().stream().allMatch(chunk -> chunk.startsWith("paths:\n")));
+            assertTrue(split.chunks().get(2).contains("/c:"));
+            assertEquals("openapi: 3.0.0\npaths: {}\ncomponents:\n  schemas: {}\n\n", split.skeleton());
+        }
+
+        @Test
+        @DisplayName("should_refuse_to_split_flow_style_and_anchors")
+        void shouldRefuseToSplitFlowStyleAndAnchors() {
+            // Given
+            String flowStyle = "swagger: \"2.0\"\npaths: {/a: {get: {}}, /b: {get: {}}}\n";
+            String anchors = """
+                apis:
+                  - name: a
+                    description: &desc shared
+                  - name: b
+                    description: *desc
+                """;
+            String multiDocument = "apis:\n  - name: a\n  - name: b\n---\napis: []\n";
+
+            // When / Then
+            assertNull(SplitYamlParser.split(flowStyle, "paths", 4));
+            assertNull(SplitYamlParser.split(anchors, "apis", 4));
+            assertNull(SplitYamlParser.split(multiDocument, "apis", 4));
+            assertNull(SplitYamlParser.split("{\"apis\": []}", "apis", 4));
+        }
+
+        @Test
+        @DisplayName("should_fall_back_to_sequential_parse")
+        void shouldFallBackToSequentialParse() throws IOException {
+            // Given
+            Path spec = tempDir.resolve("api.yaml");
+            Files.writeString(spec, """
+                apis:
+                  - name: a
+                    path: /a
+                    method: GET
+                    description: &desc shared
+                  - name: b
+                    path: /b
+                    method: GET
+                    description: *desc
+                """);
+
+            ApiDefinition expected = YamlParser.parse(spec.toFile());
+
+            // When
+            ApiDefinition actual = YamlParser.parse(spec.toFile(), splitOptions());
+
+            // Then
+            assertEquals(expected.getApis(), actual.getApis());
+        }
+    }
 }
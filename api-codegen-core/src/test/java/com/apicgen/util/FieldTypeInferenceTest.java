@@ -0,0 +1,176 @@
+package com.apicgen.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FieldTypeInference 单元测试
+ */
+class FieldTypeInferenceTest {
+
+    private final FieldTypeInference inference = FieldTypeInference.defaults();
+
+    @Test
+    @DisplayName("should_infer_exact_names_ignoring_case_and_separators")
+    void shouldInferExactNamesIgnoringCaseAndSeparators() {
+        assertEquals("Double", inference.infer("Price"));
+        assertEquals("Integer", inference.infer("page_size"));
+        assertEquals("Integer", inference.infer("PAGESIZE"));
+        assertEquals("String", inference.infer("e_mail"));
+        assertEquals("LocalDateTime", inference.infer("created_at"));
+        assertEquals("LocalDateTime", inference.infer("createdAt"));
+    }
+
+    @Test
+    @DisplayName("should_infer_id_by_parameter_location")
+    void shouldInferIdByParameterLocation() {
+        assertEquals("Integer", inference.infer("id", "query"));
+        assertEquals("Integer", inference.infer("_id"));
+        assertEquals("Long", inference.infer("id", "path"));
+        // 内置词表不按 id 后缀推断
+        assertEquals("String", inference.infer("userId", "query"));
+        assertEquals("String", inference.infer("order_id", "path"));
+    }
+
+    @Test
+    @DisplayName("should_reproduce_legacy_converter_results")
+    void shouldReproduceLegacyConverterResults() {
+        // 早期 SwaggerConverter 正则链的结果，决定生成的方法签名
+        assertEquals("LocalDate", inference.infer("time"));
+        assertEquals("LocalDate", inference.infer("date"));
+        assertEquals("LocalDateTime", inference.infer("deletedAt"));
+        assertEquals("String", inference.infer("startTime"));
+        assertEquals("String", inference.infer("startDate"));
+        assertEquals("String", inference.infer("birthday"));
+        assertEquals("String", inference.infer("totalCount"));
+        assertEquals("String", inference.infer("balance"));
+        assertEquals("Integer", inference.infer("size"));
+        assertEquals("Double", inference.infer("level"));
+        // is/has 等按名称开头匹配，其后为结尾或字母
+        assertEquals("Boolean", inference.infer("isActive"));
+        assertEquals("Boolean", inference.infer("hasMore"));
+        assertEquals("Boolean", inference.infer("activeFlag"));
+        assertEquals("Boolean", inference.infer("deletedTime"));
+        assertEquals("Boolean", inference.infer("issue"));
+        assertEquals("Boolean", inference.infer("isbn"));
+        assertEquals("Boolean", inference.infer("canonical"));
+        assertEquals("String", inference.infer("is1"));
+        assertEquals("String", inference.infer("paid"));
+    }
+
+    @Test
+    @DisplayName("should_match_tokens_with_opt_in_dictionary")
+    void shouldMatchTokensWithOptInDictionary() throws IOException {
+        // When
+        FieldTypeInference tokens = FieldTypeInference.load(new File("../docs/type-dictionary-tokens.yaml"));
+
+        // Then
+        assertEquals("Long", tokens.infer("id", "query"));
+        assertEquals("Long", tokens.infer("userId", "query"));
+        assertEquals("Long", tokens.infer("order_id"));
+        assertEquals("LocalDateTime", tokens.infer("startTime"));
+        assertEquals("LocalDateTime", tokens.infer("time"));
+        assertEquals("LocalDate", tokens.infer("startDate"));
+        assertEquals("LocalDate", tokens.infer("birthday"));
+        assertEquals("Integer", tokens.infer("totalCount"));
+        assertEquals("Double", tokens.infer("salary"));
+        assertEquals("Boolean", tokens.infer("has_more"));
+        assertEquals("Boolean", tokens.infer("activeFlag"));
+        assertEquals("LocalDateTime", tokens.infer("deletedAt"));
+        // 前缀只按分词匹配，不截取单词内部
+        assertEquals("String", tokens.infer("issue"));
+        assertEquals("String", tokens.infer("isbn"));
+        assertEquals("String", tokens.infer("canonical"));
+    }
+
+    @Test
+    @DisplayName("should_remove_builtin_entries_with_empty_values")
+    void shouldRemoveBuiltinEntriesWithEmptyValues() {
+        // Given
+        FieldTypeInference.Dictionary dictionary = new FieldTypeInference.Dictionary();
+        Map<String, String> startsWith = new HashMap<>();
+        startsWith.put("is", null);
+        dictionary.setStartsWith(startsWith);
+        dictionary.setNames(Map.of("id", ""));
+
+        // When
+        FieldTypeInference custom = inference.with(dictionary);
+
+        // Then
+        assertEquals("String", custom.infer("issue"));
+        assertEquals("String", custom.infer("id", "query"));
+        assertEquals("Long", custom.infer("id", "path"));
+        assertEquals("Boolean", custom.infer("hasMore"));
+        assertNotEquals(inference.fingerprint(), custom.fingerprint());
+    }
+
+    @Test
+    @DisplayName("should_default_to_string")
+    void shouldDefaultToString() {
+        assertEquals("String", inference.infer(null));
+        assertEquals("String", inference.infer(" "));
+        assertEquals("String", inference.infer("description"));
+    }
+
+    @Test
+    @DisplayName("should_detect_ambiguous_names")
+    void shouldDetectAmbiguousNames() {
+        assertTrue(inference.isAmbiguous("data"));
+        assertTrue(inference.isAmbiguous("Payload"));
+        assertFalse(inference.isAmbiguous("userData"));
+    }
+
+    @Test
+    @DisplayName("should_merge_user_dictionary_over_defaults")
+    void shouldMergeUserDictionaryOverDefaults(@TempDir Path tempDir) throws IOException {
+        // Given
+        Path dictionary = tempDir.resolve("types.yaml");
+        Files.writeString(dictionary, """
+            names:
+              sku: String
+              id: Long
+            suffixes:
+              ts: LocalDateTime
+            prefixes:
+              allow: Boolean
+            ambiguous:
+              - extra
+            """);
+
+        // When
+        FieldTypeInference custom = FieldTypeInference.load(dictionary.toFile());
+
+        // Then
+        assertEquals("Long", custom.infer("id"));
+        assertEquals("LocalDateTime", custom.infer("updatedTs"));
+        assertEquals("Boolean", custom.infer("allowRetry"));
+        assertTrue(custom.isAmbiguous("extra"));
+        assertEquals("Double", custom.infer("price"));
+        assertEquals("Integer", inference.infer("id"));
+    }
+
+    @Test
+    @DisplayName("should_return_new_instance_when_merging")
+    void shouldReturnNewInstanceWhenMerging() {
+        // Given
+        FieldTypeInference.Dictionary dictionary = new FieldTypeInference.Dictionary();
+        dictionary.setNames(Map.of("Weight", "Double"));
+
+        // When
+        FieldTypeInference custom = inference.with(dictionary);
+
+        // Then
+        assertEquals("Double", custom.infer("weight"));
+        assertEquals("String", inference.infer("weight"));
+    }
+}
@@ -0,0 +1,120 @@
+package com.apicgen.validator;
+
+import com.apicgen.benchmark.SyntheticSpecs;
+import com.apicgen.converter.SwaggerConverter;
+import com.apicgen.model.Api;
+import com.apicgen.model.ApiDefinition;
+import com.apicgen.model.FieldDefinition;
+import com.apicgen.util.FieldTypeInference;
+import com.apicgen.validator.ValidationAnalyzer.AnalysisItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * IncrementalAnalysis 单元测试
+ *
+ * 测试场景：
+ * - 文档未变化时复用全部 API 的结果
+ * - 只重新分析内容变化的 API，结果与完整执行一致
+ * - 字段顺序变化、API 位置变化、重复 API 的处理
+ */
+class IncrementalAnalysisTest {
+
+    private final RuleEngine engine = RuleEngine.withDefaultRules(FieldTypeInference.defaults());
+    private IncrementalAnalysis analysis;
+    private ApiDefinition apiDefinition;
+
+    @BeforeEach
+    void setUp() {
+        analysis = new IncrementalAnalysis(engine);
+        apiDefinition = new SwaggerConverter().parse(SyntheticSpecs.openApi(20, 5));
+        apiDefinition.getApis().get(3).getRequest().getFields().add(new FieldDefinition("email", null));
+        analysis.update(apiDefinition);
+    }
+
+    @Test
+    @DisplayName("should_reuse_all_results_when_document_unchanged")
+    void shouldReuseAllResultsWhenDocumentUnchanged() {
+        // When
+        RuleReport report = analysis.update(apiDefinition);
+
+        // Then
+        assertEquals(20, analysis.getReusedCount());
+        assertEquals(0, analysis.getRecomputedCount());
+        assertSameAsFullRun(report);
+    }
+
+    @Test
+    @DisplayName("should_recompute_only_changed_api")
+    void shouldRecomputeOnlyChangedApi() {
+        // Given
+        apiDefinition.getApis().get(7).getResponse().getFields().add(new FieldDefinition("phone", null));
+
+        // When
+        RuleReport report = analysis.update(apiDefinition);
+
+        // Then
+        assertEquals(1, analysis.getRecomputedCount());
+        assertEquals(19, analysis.getReusedCount());
+        assertSameAsFullRun(report);
+    }
+
+    @Test
+    @DisplayName("should_recompute_api_when_fields_reordered")
+    void shouldRecomputeApiWhenFieldsReordered() {
+        // Given
+        Collections.reverse(apiDefinition.getApis().get(3).getRequest().getFields());
+
+        // When
+        RuleReport report = analysis.update(apiDefinition);
+
+        // Then
+        assertEquals(1, analysis.getRecomputedCount());
+        assertSameAsFullRun(report);
+    }
+
+    @Test
+    @DisplayName("should_relocate_error_paths_when_api_moves")
+    void shouldRelocateErrorPathsWhenApiMoves() {
+        // Given
+        apiDefinition.getApis().remove(0);
+
+        // When
+        RuleReport report = analysis.update(apiDefinition);
+
+        // Then
+        assertEquals(0, analysis.getRecomputedCount());
+        assertTrue(report.getErrors().stream().anyMatch(e -> e.getField().startsWith("apis[2].request")));
+        assertSameAsFullRun(report);
+    }
+
+    @Test
+    @DisplayName("should_rerun_cross_api_rules_for_duplicates")
+    void shouldRerunCrossApiRulesForDuplicates() {
+        // Given
+        Api copy = new SwaggerConverter().parse(SyntheticSpecs.openApi(20, 5)).getApis().get(5);
+        apiDefinition.getApis().add(copy);
+
+        // When
+        RuleReport report = analysis.update(apiDefinition);
+
+        // Then
+        assertEquals(0, analysis.getRecomputedCount());
+        assertEquals(21, analysis.getReusedCount());
+        assertTrue(report.getErrors().stream().anyMatch(e -> e.getMessage().contains("重复")));
+        assertSameAsFullRun(report);
+    }
+
+    private void assertSameAsFullRun(RuleReport report) {
+        RuleReport full = engine.run(apiDefinition);
+        assertEquals(full.getErrors(), report.getErrors());
+        assertEquals(full.getItems().stream().map(AnalysisItem::toString).toList(),
+            report.getItems().stream().map(AnalysisItem::toString).toList());
+        assertEquals(full.summary().getErrorCount(), report.summary().getErrorCount());
+    }
+}
@@ -0,0 +1,259 @@
+package com.apicgen.validator;
+
+import com.apicgen.model.Api;
+import com.apicgen.model.ApiDefinition;
+import com.apicgen.model.ClassDefinition;
+import com.apicgen.model.ElementValidationConfig;
+import com.apicgen.model.FieldDefinition;
+import com.apicgen.model.ValidationConfig;
+import com.apicgen.validator.ValidationAnalyzer.AnalysisItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PayloadLimitRules / PayloadLimits 单元测试
+ *
+ * 测试场景：
+ * - 请求 List、String 与嵌套列表的上限检查
+ * - 响应列表的分页检查
+ * - 对象嵌套深度检查
+ * - 阈值解析、关闭规则以及与 ValidationAnalyzer 共用一次遍历
+ */
+class PayloadLimitRulesTest {
+
+    @Nested
+    @DisplayName("should_check_request_bounds")
+    class ShouldCheckRequestBounds {
+
+        @Test
+        @DisplayName("should_report_list_without_or_above_max_size")
+        void shouldReportListWithoutOrAboveMaxSize() {
+            // Given
+            FieldDefinition ids = new FieldDefinition("ids", "List<Long>");
+            FieldDefinition tags = new FieldDefinition("tags", "List<Long>");
+            tags.setValidation(sizeValidation(5000));
+            FieldDefinition codes = new FieldDefinition("codes", "List<Long>");
+            codes.setValidation(sizeValidation(100));
+
+            // When
+            List<AnalysisItem> items = run(request(ids, tags, codes), response());
+
+            // Then
+            assertEquals(List.of("ids", "tags"), items.stream().map(AnalysisItem::getFieldName).toList());
+            assertTrue(items.get(0).getIssue().contains("缺少 maxSize"), items.get(0).getIssue());
+            assertTrue(items.get(1).getIssue().contains("5000 > 1000"), items.get(1).getIssue());
+            assertTrue(items.stream().allMatch(i -> i.getSeverity() == AnalysisItem.Severity.ERROR));
+        }
+
+        @Test
+        @DisplayName("should_report_string_without_or_above_max_length")
+        void shouldReportStringWithoutOrAboveMaxLength() {
+            // Given
+            FieldDefinition name = new FieldDefinition("name", "String");
+            FieldDefinition content = new FieldDefinition("content", "String");
+            ValidationConfig large = new ValidationConfig();
+            large.setMaxLength(10_000_000);
+            content.setValidation(large);
+            FieldDefinition id = new FieldDefinition("id", "String");
+            id.setIn("path");
+            FieldDefinition labels = new FieldDefinition("labels", "List<String>");
+            labels.setValidation(sizeValidation(10));
+            labels.getValidation().setElementValidation(null);
+
+            // When
+            List<AnalysisItem> items = run(request(name, content, id, labels), response());
+
+            // Then
+            assertEquals(List.of("name", "content", "labels"), items.stream().map(AnalysisItem::getFieldName).toList());
+            assertTrue(items.get(1).getIssue().contains("10000000 > 65536"), items.get(1).getIssue());
+            assertTrue(items.get(2).getIssue().contains("elementValidation.maxLength"), items.get(2).getIssue());
+        }
+
+        @Test
+        @DisplayName("should_report_unbounded_or_oversized_nested_lists")
+        void shouldReportUnboundedOrOversizedNestedLists() {
+            // Given - List<List<T>> 缺少内层上限；列表元素对象中的列表各层乘积 500 * 100 超过 10000
+            FieldDefinition matrix = new FieldDefinition("matrix", "List<List<Integer>>");
+            matrix.setValidation(sizeValidation(10));
+            FieldDefinition lines = new FieldDefinition("lines", "List<Long>");
+            lines.setValidation(sizeValidation(100));
+            FieldDefinition orders = new FieldDefinition("orders", "List<Order>");
+            orders.setValidation(sizeValidation(500));
+            orders.setFields(new ArrayList<>(List.of(lines)));
+
+            // When
+            List<AnalysisItem> items = run(request(matrix, orders), response());
+
+            // Then
+            assertEquals(2, items.size(), items.toString());
+            assertTrue(items.get(0).getIssue().contains("嵌套列表内层缺少 maxSize"), items.get(0).getIssue());
+            assertEquals("lines", items.get(1).getFieldName());
+            assertEquals("CreateReq.orders", items.get(1).getClassName());
+            assertTrue(items.get(1).getIssue().contains("50000 > 10000"), items.get(1).getIssue());
+        }
+    }
+
+    @Nested
+    @DisplayName("should_require_pagination_for_response_lists")
+    class ShouldRequirePaginationForResponseLists {
+
+        @Test
+        @DisplayName("should_report_unbounded_response_list_without_pagination")
+        void shouldReportUnboundedResponseListWithoutPagination() {
+            // Given
+            FieldDefinition records = new FieldDefinition("records", "List<Record>");
+            records.setFields(new ArrayList<>(List.of(new FieldDefinition("items", "List<Long>"))));
+
+            // When
+            List<AnalysisItem> items = run(request(), response(records));
+
+            // Then - 只报告最外层的响应列表
+            assertEquals(1, items.size(), items.toString());
+            assertEquals("response", items.get(0).getLocation());
+            assertEquals("records", items.get(0).getFieldName());
+        }
+
+        @Test
+        @DisplayName("should_accept_paginated_or_bounded_response_list")
+        void shouldAcceptPaginatedOrBoundedResponseList() {
+            // Given
+            FieldDefinition pageSize = new FieldDefinition("PageSize", "Integer");
+            FieldDefinition page = new FieldDefinition("page", "Integer");
+            FieldDefinition pageQuery = new FieldDefinition("pageQuery", "PageQuery");
+            pageQuery.setFields(new ArrayList<>(List.of(page)));
+            FieldDefinition bounded = new FieldDefinition("records", "List<Long>");
+            bounded.setValidation(sizeValidation(50));
+
+            // When / Then
+            assertEquals(List.of(), run(request(pageSize), response(new FieldDefinition("records", "List<Long>"))));
+            assertEquals(List.of(), run(request(pageQuery), response(new FieldDefinition("records", "List<Long>"))));
+            assertEquals(List.of(), run(request(), response(bounded)));
+        }
+    }
+
+    @Nested
+    @DisplayName("should_limit_nesting_depth")
+    class ShouldLimitNestingDepth {
+
+        @Test
+        @DisplayName("should_report_each_deep_branch_once")
+        void shouldReportEachDeepBranchOnce() {
+            // Given - level1 ... level7 逐层嵌套，默认上限 5 层
+            FieldDefinition current = new FieldDefinition("level7", "Integer");
+            for (int level = 6; level >= 1; level--) {
+                FieldDefinition parent = new FieldDefinition("level" + level, "Level" + level);
+                parent.setFields(new ArrayList<>(List.of(current)));
+                current = parent;
+            }
+
+            // When
+            List<AnalysisItem> items = run(request(), response(current));
+
+            // Then
+            assertEquals(1, items.size(), items.toString());
+            assertEquals("level5", items.get(0).getFieldName());
+            assertTrue(items.get(0).getIssue().contains("超过 5 层"), items.get(0).getIssue());
+        }
+    }
+
+    @Nested
+    @DisplayName("should_configure_thresholds")
+    class ShouldConfigureThresholds {
+
+        @Test
+        @DisplayName("should_parse_thresholds_and_disable_rules")
+        void shouldParseThresholdsAndDisableRules() {
+            // Given
+            PayloadLimits limits = PayloadLimits.parse("maxListSize=10, maxStringLength=0,paginationParameters=from|count");
+            FieldDefinition ids = new FieldDefinition("ids", "List<Long>");
+            ids.setValidation(sizeValidation(20));
+            FieldDefinition from = new FieldDefinition("from", "Integer");
+
+            // When
+            List<AnalysisItem> items = run(new PayloadLimitRules(limits),
+                request(ids, new FieldDefinition("name", "String"), from), response(new FieldDefinition("rows", "List<Long>")));
+
+            // Then - String 规则已关闭，请求有分页参数 from
+            assertEquals(10, limits.getMaxListSize());
+            assertEquals(10_000, limits.getMaxNestedListElements());
+            assertEquals(1, items.size(), items.toString());
+            assertTrue(items.get(0).getIssue().contains("20 > 10"), items.get(0).getIssue());
+        }
+
+        @Test
+        @DisplayName("should_reject_unknown_or_invalid_thresholds")
+        void shouldRejectUnknownOrInvalidThresholds() {
+            // When / Then
+            assertThrows(IllegalArgumentException.class, () -> PayloadLimits.parse("maxDepth=3"));
+            assertThrows(IllegalArgumentException.class, () -> PayloadLimits.parse("maxListSize=many"));
+            assertThrows(IllegalArgumentException.class, () -> PayloadLimits.parse("maxListSize"));
+            assertEquals(PayloadLimits.defaults(), PayloadLimits.parse(" "));
+        }
+
+        @Test
+        @DisplayName("should_share_traversal_with_validation_analyzer")
+        void shouldShareTraversalWithValidationAnalyzer() {
+            // Given
+            RuleEngine engine = new ValidationAnalyzer().register(new RuleEngine());
+            new PayloadLimitRules().register(engine);
+            ApiDefinition apiDefinition = definition(request(new FieldDefinition("ids", "List<Long>")), response());
+
+            // When
+            RuleReport report = engine.run(apiDefinition);
+
+            // Then - DFX-008 建议（WARNING）与 DFX-023 错误各一条
+            assertEquals(2, report.getItems().size(), report.getItems().toString());
+            assertEquals(1, PayloadLimitRules.violations(report));
+            assertEquals(1, report.summary().getErrorCount());
+        }
+    }
+
+    private static List<AnalysisItem> run(ClassDefinition request, ClassDefinition response) {
+        return run(new PayloadLimitRules(), request, response);
+    }
+
+    private static List<AnalysisItem> run(PayloadLimitRules rules, ClassDefinition request, ClassDefinition response) {
+        return rules.register(new RuleEngine()).run(definition(request, response)).getItems();
+    }
+
+    private static ApiDefinition definition(ClassDefinition request, ClassDefinition response) {
+        Api api = new Api();
+        api.setName("create");
+        api.setPath("/items");
+        api.setMethod(Api.HttpMethod.POST);
+        api.setRequest(request);
+        api.setResponse(response);
+        ApiDefinition apiDefinition = new ApiDefinition();
+        apiDefinition.setApis(new ArrayList<>(List.of(api)));
+        return apiDefinition;
+    }
+
+    private static ClassDefinition request(FieldDefinition... fields) {
+        return classDefinition("CreateReq", fields);
+    }
+
+    private static ClassDefinition response(FieldDefinition... fields) {
+        return classDefinition("CreateRsp", fields);
+    }
+
+    private static ClassDefinition classDefinition(String className, FieldDefinition... fields) {
+        ClassDefinition classDefinition = new ClassDefinition();
+        classDefinition.setClassName(className);
+        classDefinition.setFields(new ArrayList<>(List.of(fields)));
+        return classDefinition;
+    }
+
+    private static ValidationConfig sizeValidation(int maxSize) {
+        ValidationConfig validation = new ValidationConfig();
+        validation.setMaxSize(maxSize);
+        validation.setElementValidation(new ElementValidationConfig());
+        validation.getElementValidation().setMaxLength(64);
+        return validation;
+    }
+}
@@ -0,0 +1,272 @@
+package com.apicgen.validator;
+
+import com.apicgen.model.Api;
+import com.apicgen.model.ApiDefinition;
+import com.apicgen.model.ClassDefinition;
+import com.apicgen.model.ElementValidationConfig;
+import com.apicgen.model.FieldDefinition;
+import com.apicgen.model.ValidationConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RegexSafety / RegexSafetyRules 单元测试
+ *
+ * 测试场景：
+ * - 无法编译的 pattern
+ * - 指数级回溯（嵌套量词、分支重叠）与多项式级回溯（相邻重叠量词）的静态检测
+ * - 常见安全写法不误报，改写建议本身安全
+ * - 限时模糊测试兜底静态检测遗漏的情况
+ * - 通过 ApiValidator 报告 DFX-022 校验错误
+ */
+class RegexSafetyTest {
+
+    private final RegexSafety safety = new RegexSafety();
+
+    @Nested
+    @DisplayName("should_detect_unsafe_patterns")
+    class ShouldDetectUnsafePatterns {
+
+        @Test
+        @DisplayName("should_report_pattern_that_does_not_compile")
+        void shouldReportPatternThatDoesNotCompile() {
+            // When
+            List<RegexSafety.Finding> findings = safety.check("^[a-z+$");
+
+            // Then
+            assertEquals(1, findings.size());
+            assertEquals(RegexSafety.Kind.SYNTAX, findings.get(0).kind());
+        }
+
+        @Test
+        @DisplayName("should_report_nested_quantifiers_with_possessive_rewrite")
+        void shouldReportNestedQuantifiersWithPossessiveRewrite() {
+            // When
+            RegexSafety.Finding nested = single("^(a+)+$");
+            RegexSafety.Finding optionalSeparator = single("^(\\w+\\s?)*$");
+
+            // Then
+            assertEquals(RegexSafety.Kind.EXPONENTIAL, nested.kind());
+            assertEquals("(a+)+", nested.construct());
+            assertEquals("^(a++)+$", nested.rewrite());
+            assertEquals("^(\\w++\\s?)*$", optionalSeparator.rewrite());
+        }
+
+        @Test
+        @DisplayName("should_not_suggest_possessive_rewrite_that_changes_matches")
+        void shouldNotSuggestPossessiveRewriteThatChangesMatches() {
+            // When
+            RegexSafety.Finding finding = single("^([a-z0-9]+-?)*[a-z0-9]+$");
+
+            // Then
+            assertEquals(RegexSafety.Kind.EXPONENTIAL, finding.kind());
+            assertNull(finding.rewrite(), "内层量词之后的 [a-z0-9]+ 需要相同字符，不能改为占有量词");
+        }
+
+        @Test
+        @DisplayName("should_report_overlapping_alternation_with_atomic_rewrite")
+        void shouldReportOverlappingAlternationWithAtomicRewrite() {
+            // When
+            RegexSafety.Finding finding = single("^(\\w|\\d)+$");
+
+            // Then
+            assertEquals(RegexSafety.Kind.EXPONENTIAL, finding.kind());
+            assertEquals("^((?>\\w|\\d))+$", finding.rewrite());
+        }
+
+        @Test
+        @DisplayName("should_report_adjacent_overlapping_quantifiers")
+        void shouldReportAdjacentOverlappingQuantifiers() {
+            // When
+            RegexSafety.Finding merged = single("^\\d+\\d+$");
+            RegexSafety.Finding separated = single("^.*a.*$");
+
+            // Then
+            assertEquals(RegexSafety.Kind.POLYNOMIAL, merged.kind());
+            assertEquals("^\\d{2,}$", merged.rewrite());
+            assertEquals(RegexSafety.Kind.POLYNOMIAL, separated.kind());
+            assertNull(separated.rewrite());
+        }
+    }
+
+    @Nested
+    @DisplayName("should_accept_safe_patterns")
+    class ShouldAcceptSafePatterns {
+
+        @Test
+        @DisplayName("should_not_report_common_patterns")
+        void shouldNotReportCommonPatterns() {
+            // Given
+            List<String> patterns = List.of(
+                "^1[3-9]\\d{9}$",
+                "^[a-zA-Z0-9_]+$",
+                "^[A-Z]{3}$",
+                "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$",
+                "^(\\d+\\.)*\\d+$",
+                "^([A-Z][a-z]+)+$",
+                "^[\\u4e00-\\u9fa5]+$",
+                "(a++)+",
+                "(?>a+)+b"
+            );
+
+            // When / Then
+            for (String pattern : patterns) {
+                assertEquals(List.of(), safety.check(pattern), pattern);
+            }
+        }
+
+        @Test
+        @DisplayName("should_accept_suggested_rewrites")
+        void shouldAcceptSuggestedRewrites() {
+            // Given
+            List<String> unsafe = List.of("^(a+)+$", "^(\\w+\\s?)*$", "^(\\w|\\d)+$", "^\\d+\\d+$", "(a+?)+");
+
+            // When / Then
+            for (String pattern : unsafe) {
+                String rewrite = single(pattern).rewrite();
+                assertNotNull(rewrite, pattern);
+                assertEquals(List.of(), safety.check(rewrite), rewrite);
+            }
+        }
+
+        @Test
+        @DisplayName("should_cache_results_by_pattern")
+        void shouldCacheResultsByPattern() {
+            // When / Then
+            assertSame(safety.check("^(a+)+$"), safety.check("^(a+)+$"));
+            assertEquals(List.of(), safety.check(null));
+        }
+    }
+
+    @Nested
+    @DisplayName("should_fuzz_with_time_budget")
+    class ShouldFuzzWithTimeBudget {
+
+        @Test
+        @DisplayName("should_report_timeout_missed_by_static_detection")
+        void shouldReportTimeoutMissedByStaticDetection() {
+            // Given - 大小写不敏感时 a+ 与 A+ 可匹配相同字符，静态检测不比较大小写
+            String pattern = "^(?i)a+A+$";
+
+            // When
+            List<RegexSafety.Finding> staticOnly = safety.check(pattern);
+            List<RegexSafety.Finding> fuzzed = new RegexSafety(5).check(pattern);
+
+            // Then
+            assertEquals(List.of(), staticOnly);
+            assertEquals(1, fuzzed.size());
+            assertEquals(RegexSafety.Kind.TIMEOUT, fuzzed.get(0).kind());
+        }
+
+        @Test
+        @DisplayName("should_not_report_timeout_for_linear_patterns")
+        void shouldNotReportTimeoutForLinearPatterns() {
+            // When / Then
+            RegexSafety fuzzing = new RegexSafety(200);
+            assertEquals(List.of(), fuzzing.check("^[a-zA-Z0-9_]+$"));
+            assertEquals(List.of(), fuzzing.check("^(\\d+\\.)*\\d+$"));
+        }
+    }
+
+    @Nested
+    @DisplayName("should_report_through_validator")
+    class ShouldReportThroughValidator {
+
+        @Test
+        @DisplayName("should_report_dfx_022_for_nested_and_element_patterns")
+        void shouldReportDfx022ForNestedAndElementPatterns() {
+            // Given
+            ValidationConfig validation = new ValidationConfig();
+            validation.setPattern("^(a+)+$");
+            FieldDefinition code = new FieldDefinition("code", "String");
+            code.setValidation(validation);
+
+            ValidationConfig listValidation = new ValidationConfig();
+            listValidation.setElementValidation(new ElementValidationConfig());
+            listValidation.getElementValidation().setPattern("^\\d+\\d+$");
+            FieldDefinition tags = new FieldDefinition("tags", "List<String>");
+            tags.setValidation(listValidation);
+
+            FieldDefinition address = new FieldDefinition("address", "Address");
+            address.setFields(new ArrayList<>(List.of(code)));
+
+            ClassDefinition request = new ClassDefinition();
+            request.setClassName("CreateReq");
+            request.setFields(new ArrayList<>(List.of(tags, address)));
+            ClassDefinition response = new ClassDefinition();
+            response.setClassName("CreateRsp");
+            response.setFields(new ArrayList<>());
+
+            Api api = new Api();
+            api.setName("create");
+            api.setPath("/items");
+            api.setMethod(Api.HttpMethod.POST);
+            api.setRequest(request);
+            api.setResponse(response);
+            ApiDefinition apiDefinition = new ApiDefinition();
+            apiDefinition.setApis(new ArrayList<>(List.of(api)));
+
+            // When
+            RuleReport report = new ApiValidator().register(new RuleEngine()).run(apiDefinition);
+
+            // Then - 指数级回溯是校验错误，相邻量词的多项式级回溯只是分析结果
+            List<ValidationError> errors = report.getErrors().stream()
+                .filter(e -> e.getMessage().startsWith(RegexSafety.RULE_CODE))
+                .toList();
+            assertEquals(1, errors.size(), errors.toString());
+            assertEquals("apis[0].request.fields[1].fields[0].validation.pattern", errors.get(0).getField());
+            assertTrue(errors.get(0).getSuggestion().contains("^(a++)+$"), errors.get(0).getSuggestion());
+            List<ValidationAnalyzer.AnalysisItem> items = report.getItems().stream()
+                .filter(item -> item.getIssue().startsWith(RegexSafety.RULE_CODE))
+                .toList();
+            assertEquals(1, items.size(), items.toString());
+            assertEquals("tags", items.get(0).getFieldName());
+            assertEquals(ValidationAnalyzer.AnalysisItem.Severity.WARNING, items.get(0).getSeverity());
+            assertTrue(items.get(0).getIssue().contains("elementValidation.pattern ^\\d+\\d+$"), items.get(0).getIssue());
+            assertTrue(items.get(0).getSuggestion().contains("^\\d{2,}$"), items.get(0).getSuggestion());
+            assertTrue(new ApiValidator().validate(apiDefinition).getErrors().stream()
+                .noneMatch(e -> e.getField().endsWith("elementValidation.pattern")));
+        }
+
+        @Test
+        @DisplayName("should_list_only_dfx_022_errors")
+        void shouldListOnlyDfx022Errors() {
+            // Given - 重复 API 的校验错误与正则安全错误在同一报告中
+            ValidationConfig validation = new ValidationConfig();
+            validation.setPattern("^(a+)+$");
+            FieldDefinition code = new FieldDefinition("code", "String");
+            code.setValidation(validation);
+            Api api = new Api();
+            api.setName("create");
+            api.setPath("/items");
+            api.setMethod(Api.HttpMethod.POST);
+            api.setRequest(new ClassDefinition("CreateReq", new ArrayList<>(List.of(code))));
+            Api duplicate = new Api();
+            duplicate.setName("createAgain");
+            duplicate.setPath("/items");
+            duplicate.setMethod(Api.HttpMethod.POST);
+            ApiDefinition apiDefinition = new ApiDefinition(new ArrayList<>(List.of(api, duplicate)));
+
+            // When
+            RuleReport report = new ApiValidator().register(new RuleEngine()).run(apiDefinition);
+            List<ValidationError> errors = RegexSafetyRules.errors(report);
+
+            // Then
+            assertTrue(report.getErrors().size() > errors.size(), report.getErrors().toString());
+            assertEquals(1, errors.size(), errors.toString());
+            assertEquals("apis[0].request.fields[0].validation.pattern", errors.get(0).getField());
+        }
+    }
+
+    private RegexSafety.Finding single(String pattern) {
+        List<RegexSafety.Finding> findings = safety.check(pattern);
+        assertEquals(1, findings.size(), pattern + " -> " + findings);
+        return findings.get(0);
+    }
+}
@@ -0,0 +1,211 @@
+package com.apicgen.validator;
+
+import com.apicgen.benchmark.SyntheticSpecs;
+import com.apicgen.converter.SwaggerConverter;
+import com.apicgen.model.Api;
+import com.apicgen.model.ApiDefinition;
+import com.apicgen.model.ClassDefinition;
+import com.apicgen.model.FieldDefinition;
+import com.apicgen.util.FieldTypeInference;
+import com.apicgen.validator.ValidationAnalyzer.AnalysisItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RuleEngine 单元测试
+ *
+ * 测试场景：
+ * - 校验与分析规则共用一次遍历，结果与分别执行一致
+ * - 报告中的严重级别计数
+ * - 并行执行结果与顺序执行一致，引擎可被多个线程同时调用
+ * - 遍历位置（路径、类名、深度）
+ */
+class RuleEngineTest {
+
+    @Nested
+    @DisplayName("should_match_separate_validator_and_analyzer_runs")
+    class ShouldMatchSeparateRuns {
+
+        @Test
+        @DisplayName("should_produce_same_errors_and_items_in_one_pass")
+        void shouldProduceSameErrorsAndItemsInOnePass() {
+            // Given
+            ApiDefinition apiDefinition = new SwaggerConverter().parse(SyntheticSpecs.openApi(200, 10));
+            apiDefinition.getApis().add(apiDefinition.getApis().get(0));
+            apiDefinition.getApis().get(1).getRequest().getFields().add(new FieldDefinition("email", null));
+
+            // When
+            RuleReport report = RuleEngine.withDefaultRules(FieldTypeInference.defaults()).run(apiDefinition);
+
+            // Then
+            ValidationResult validation = new ApiValidator().validate(apiDefinition);
+            List<AnalysisItem> items = new ValidationAnalyzer().analyze(apiDefinition);
+            assertFalse(validation.getErrors().isEmpty());
+            assertEquals(validation.getErrors(), report.getErrors());
+            assertEquals(items.stream().map(AnalysisItem::toString).toList(),
+                report.getItems().stream().map(AnalysisItem::toString).toList());
+        }
+
+        @Test
+        @DisplayName("should_count_severities_while_reporting")
+        void shouldCountSeveritiesWhileReporting() {
+            // Given
+            ApiDefinition apiDefinition = new SwaggerConverter().parse(SyntheticSpecs.openApi(50, 5));
+            ValidationAnalyzer analyzer = new ValidationAnalyzer();
+
+            // When
+            RuleReport report = analyzer.register(new RuleEngine()).run(apiDefinition);
+
+            // Then
+            ValidationAnalyzer.AnalysisSummary summary = analyzer.summarize(apiDefinition);
+            assertEquals(summary.getTotalCount(), report.getItems().size());
+            assertEquals(summary.getErrorCount(), report.count(AnalysisItem.Severity.ERROR));
+            assertEquals(summary.getWarningCount(), report.summary().getWarningCount());
+            assertEquals(report.getItems().stream().filter(i -> i.getSeverity() == AnalysisItem.Severity.INFO).count(),
+                report.summary().getInfoCount());
+        }
+
+        @Test
+        @DisplayName("should_report_empty_definition_without_traversal")
+        void shouldReportEmptyDefinitionWithoutTraversal() {
+            // When
+            RuleReport report = RuleEngine.withDefaultRules(FieldTypeInference.defaults()).run(null);
+
+            // Then
+            assertEquals(1, report.getErrors().size());
+            assertEquals("api", report.getErrors().get(0).getField());
+            assertTrue(report.getItems().isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("should_run_in_parallel_deterministically")
+    class ShouldRunInParallel {
+
+        @Test
+        @DisplayName("should_merge_parallel_results_in_api_order")
+        void shouldMergeParallelResultsInApiOrder() {
+            // Given
+            ApiDefinition apiDefinition = new SwaggerConverter().parse(SyntheticSpecs.openApi(500, 20));
+            apiDefinition.getApis().add(apiDefinition.getApis().get(3));
+            apiDefinition.getApis().get(250).getRequest().getFields().add(new FieldDefinition("phone", null));
+            RuleEngine sequential = RuleEngine.withDefaultRules(FieldTypeInference.defaults());
+            RuleEngine parallel = RuleEngine.withDefaultRules(FieldTypeInference.defaults());
+            parallel.setParallelism(4);
+
+            // When
+            RuleReport expected = sequential.run(apiDefinition);
+            RuleReport actual = parallel.run(apiDefinition);
+
+            // Then
+            assertEquals(expected.getErrors(), actual.getErrors());
+            assertEquals(expected.getItems().stream().map(AnalysisItem::toString).toList(),
+                actual.getItems().stream().map(AnalysisItem::toString).toList());
+            for (AnalysisItem.Severity severity : AnalysisItem.Severity.values()) {
+                assertEquals(expected.count(severity), actual.count(severity));
+            }
+            assertEquals(new ApiValidator().validate(apiDefinition).getErrors(),
+                new ApiValidator().validate(apiDefinition, 4).getErrors());
+        }
+
+        @Test
+        @DisplayName("should_be_reentrant_across_threads")
+        void shouldBeReentrantAcrossThreads() throws Exception {
+            // Given
+            ApiDefinition first = new SwaggerConverter().parse(SyntheticSpecs.openApi(100, 5));
+            ApiDefinition second = new ApiDefinition(new ArrayList<>(first.getApis().subList(0, 10)));
+            second.getApis().add(second.getApis().get(0));
+            ApiValidator validator = new ApiValidator();
+            ValidationResult firstExpected = validator.validate(first);
+            ValidationResult secondExpected = validator.validate(second);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+
+            try {
+                // When
+                List<Future<ValidationResult>> results = new ArrayList<>();
+                for (int i = 0; i < 40; i++) {
+                    ApiDefinition target = i % 2 == 0 ? first : second;
+                    results.add(executor.submit(() -> validator.validate(target)));
+                }
+
+                // Then
+                for (int i = 0; i < results.size(); i++) {
+                    assertEquals(i % 2 == 0 ? firstExpected : secondExpected, results.get(i).get());
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("should_expose_traversal_position_to_rules")
+    class ShouldExposeTraversalPosition {
+
+        @Test
+        @DisplayName("should_visit_each_node_once_in_pre_order")
+        void shouldVisitEachNodeOnceInPreOrder() {
+            // Given
+            FieldDefinition street = new FieldDefinition("street", "String");
+            FieldDefinition address = new FieldDefinition("address", "Address");
+            address.setFields(List.of(street));
+            Api api = new Api();
+            api.setName("createUser");
+            api.setRequest(new ClassDefinition("UserReq", List.of(new FieldDefinition("id", "Long"), address)));
+            api.setResponse(new ClassDefinition("UserRsp", List.of(new FieldDefinition("ok", "Boolean"))));
+            List<String> visits = new ArrayList<>();
+
+            // When
+            new RuleEngine()
+                .onApi((node, context) -> visits.add("api " + context.apiPath()))
+                .onClass((node, context) -> visits.add("class " + context.classPath()))
+                .onField((node, context) -> visits.add("field " + context.fieldPath() + " " + context.className() + " " + context.depth()))
+                .onValidation((node, context) -> visits.add("validation " + context.field().getName()))
+                .run(new ApiDefinition(List.of(api)));
+
+            // Then
+            assertEquals(List.of(
+                "api apis[0]",
+                "class apis[0].request",
+                "field apis[0].request.fields[0] UserReq 0",
+                "validation id",
+                "field apis[0].request.fields[1] UserReq 0",
+                "validation address",
+                "field apis[0].request.fields[1].fields[0] UserReq.address 1",
+                "validation street",
+                "class apis[0].response",
+                "field apis[0].response.fields[0] UserRsp 0",
+                "validation ok"), visits);
+        }
+
+        @Test
+        @DisplayName("should_collect_custom_rule_reports")
+        void shouldCollectCustomRuleReports() {
+            // Given
+            RuleEngine engine = new RuleEngine().onField((field, context) -> {
+                if (field.getName().length() > 4) {
+                    context.report(new ValidationError(context.fieldPath(), "字段名过长"));
+                }
+            });
+            Api api = new Api();
+            api.setRequest(new ClassDefinition("Req", List.of(new FieldDefinition("id", "Long"), new FieldDefinition("userName", "String"))));
+
+            // When
+            RuleReport report = engine.run(new ApiDefinition(List.of(api)));
+
+            // Then
+            assertEquals(1, engine.ruleCount(RuleEngine.NodeKind.FIELD));
+            assertEquals(List.of(new ValidationError("apis[0].request.fields[1]", "字段名过长")), report.getErrors());
+            assertFalse(report.toValidationResult().isValid());
+        }
+    }
+}
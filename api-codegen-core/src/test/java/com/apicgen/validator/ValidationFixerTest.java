@@ -844,6 +844,135 @@ class ValidationFixerTest {
         }
     }
 
+    @Nested
+    @DisplayName("should_fix_nested_fields")
+    class ShouldFixNestedFields {
+
+        /**
+         * 测试场景：嵌套字段与顶层字段同名
+         * 预期结果：嵌套字段的问题按 "类名.外层字段" 修复，顶层字段的修复不作用于同名嵌套字段
+         */
+        @Test
+        @DisplayName("should_fix_nested_field_by_enclosing_class_name")
+        void shouldFixNestedFieldByEnclosingClassName() throws IOException {
+            // Given
+            String yamlContent = """
+                apis:
+                  - name: createUser
+                    path: /api/users
+                    method: POST
+                    request:
+                      className: CreateUserReq
+                      fields:
+                        - name: title
+                          type: String
+                          validation:
+                            minLength: 2
+                        - name: address
+                          type: Address
+                          fields:
+                            - name: title
+                              type: String
+                              validation:
+                                minLength: 2
+                                maxLength: 20
+                            - name: code
+                              type: String
+                    response:
+                      className: CreateUserRsp
+                      fields:
+                        - name: userId
+                          type: Long
+                """;
+            ApiDefinition apiDefinition = YamlParser.parse(yamlContent);
+            List<ValidationAnalyzer.AnalysisItem> issues = new ValidationAnalyzer().analyze(apiDefinition);
+
+            // When
+            ApiDefinition fixed = YamlParser.parse(fixer.fix(apiDefinition, issues));
+
+            // Then
+            List<FieldDefinition> fields = fixed.getApis().get(0).getRequest().getFields();
+            FieldDefinition nestedTitle = fields.get(1).getFields().get(0);
+            FieldDefinition nestedCode = fields.get(1).getFields().get(1);
+            assertEquals(255, fields.get(0).getValidation().getMaxLength(), "顶层 title 补齐 maxLength");
+            assertEquals(20, nestedTitle.getValidation().getMaxLength(), "同名嵌套字段不应套用顶层字段的修复");
+            assertEquals(1, nestedCode.getValidation().getMinLength(), "嵌套字段的问题应被修复");
+            assertEquals(255, nestedCode.getValidation().getMaxLength(), "嵌套字段的问题应被修复");
+        }
+
+        /**
+         * 测试场景：两个 operation 引用同一个 schema，只修复其中一个
+         * 预期结果：被修复的引用处补齐校验，另一个引用处与解析结果中的共享子树保持不变
+         */
+        @Test
+        @DisplayName("should_not_leak_fix_into_sibling_ref")
+        void shouldNotLeakFixIntoSiblingRef() throws IOException {
+            // Given
+            String swaggerContent = """
+                openapi: 3.0.0
+                info:
+                  title: User API
+                  version: "1.0"
+                paths:
+                  /users:
+                    post:
+                      operationId: createUser
+                      requestBody:
+                        content:
+                          application/json:
+                            schema:
+                              $ref: '#/components/schemas/User'
+                    put:
+                      operationId: updateUser
+                      requestBody:
+                        content:
+                          application/json:
+                            schema:
+                              $ref: '#/components/schemas/User'
+                components:
+                  schemas:
+                    Address:
+                      type: object
+                      properties:
+                        city:
+                          type: string
+                          minLength: 1
+                    User:
+                      type: object
+                      properties:
+                        name:
+                          type: string
+                          minLength: 1
+                        address:
+                          $ref: '#/components/schemas/Address'
+                """;
+            ApiDefinition apiDefinition = YamlParser.parse(swaggerContent);
+            List<ValidationAnalyzer.AnalysisItem> issues = new ValidationAnalyzer().analyze(apiDefinition).stream()
+                .filter(issue -> "createUser".equals(issue.getApiName()))
+                .toList();
+            List<FieldDefinition> createFields = apiDefinition.getApis().get(0).getRequest().getFields();
+            List<FieldDefinition> updateFields = apiDefinition.getApis().get(1).getRequest().getFields();
+
+            // When
+            ApiDefinition fixed = YamlParser.parse(fixer.fix(apiDefinition, issues));
+
+            // Then - 修复结果
+            List<FieldDefinition> fixedCreate = fixed.getApis().get(0).getRequest().getFields();
+            List<FieldDefinition> fixedUpdate = fixed.getApis().get(1).getRequest().getFields();
+            assertEquals(255, fixedCreate.get(0).getValidation().getMaxLength());
+            assertEquals(255, fixedCreate.get(1).getFields().get(0).getValidation().getMaxLength());
+            assertNull(fixedUpdate.get(0).getValidation().getMaxLength(), "未修复的引用处不应被修改");
+            assertNull(fixedUpdate.get(1).getFields().get(0).getValidation().getMaxLength(), "未修复的引用处不应被修改");
+            assertEquals("body", fixedUpdate.get(0).getIn());
+
+            // Then - 解析结果：顶层校验配置各自独立，共享的嵌套子树未被修改
+            assertNotSame(createFields.get(0).getValidation(), updateFields.get(0).getValidation());
+            assertNull(createFields.get(0).getValidation().getMaxLength());
+            assertSame(createFields.get(1).getFields(), updateFields.get(1).getFields());
+            assertNull(updateFields.get(1).getFields().get(0).getValidation().getMaxLength());
+        }
+    }
+
     @Nested
     @DisplayName("should_fix_complex_api")
     class ShouldFixComplexApi {
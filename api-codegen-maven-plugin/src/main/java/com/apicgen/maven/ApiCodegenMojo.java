@@ -5,12 +5,22 @@ import com.apicgen.generator.CodeGenerator;
 import com.apicgen.generator.CodeGeneratorFactory;
 import com.apicgen.model.Api;
 import com.apicgen.model.ApiDefinition;
+import com.apicgen.parser.ParserOptions;
 import com.apicgen.parser.YamlParser;
 import com.apicgen.util.CodeGenUtil;
+import com.apicgen.util.FieldTypeInference;
+import com.apicgen.util.YamlLimits;
 import com.apicgen.validator.ApiValidator;
+import com.apicgen.validator.PayloadLimitRules;
+import com.apicgen.validator.PayloadLimits;
+import com.apicgen.validator.RegexSafety;
+import com.apicgen.validator.RegexSafetyRules;
+import com.apicgen.validator.RuleEngine;
+import com.apicgen.validator.RuleReport;
 import com.apicgen.validator.ValidationAnalyzer;
 import com.apicgen.validator.ValidationAnalyzer.AnalysisItem;
 import com.apicgen.validator.ValidationAnalyzer.AnalysisSummary;
+import com.apicgen.validator.ValidationError;
 import com.apicgen.validator.ValidationFixer;
 import com.apicgen.validator.ValidationResult;
 import org.apache.maven.plugin.AbstractMojo;
@@ -111,6 +121,68 @@ public class ApiCodegenMojo extends AbstractMojo {
     @Parameter(property = "autoFix", defaultValue = "false")
     private boolean autoFix;
 
+    /**
+     * Swagger/OpenAPI 转换与规则校验的并行度，小于等于 1 时顺序执行。
+     */
+    @Parameter(property = "parallelism", defaultValue = "1")
+    private int parallelism;
+
+    /**
+     * 实验性：把 paths/apis 切成片段并发解析（需 parallelism 大于 1），无法安全切分时自动退回顺序解析。
+     */
+    @Parameter(property = "splitParse", defaultValue = "false")
+    private boolean splitParse;
+
+    /**
+     * 字段名类型推断的用户词典 YAML 文件，与内置词表合并；未配置时只使用内置词表。
+     */
+    @Parameter(property = "typeDictionary")
+    private File typeDictionary;
+
+    /**
+     * 是否使用二进制解析快照：规格文件、工具版本与解析选项均未变化时跳过 YAML 解析。
+     */
+    @Parameter(property = "snapshot", defaultValue = "false")
+    private boolean snapshot;
+
+    /**
+     * 解析快照目录。
+     */
+    @Parameter(property = "snapshotDirectory", defaultValue = "${project.build.directory}/api-codegen")
+    private File snapshotDirectory;
+
+    /**
+     * 校验与分析（analyze/autoFix）时对 validation.pattern 做限时模糊测试的单次匹配预算（毫秒），单次匹配超时即报告 DFX-022；0 表示只做静态检测。
+     */
+    @Parameter(property = "regexFuzzMillis", defaultValue = "0")
+    private long regexFuzzMillis;
+
+    /**
+     * 是否执行 DFX-023 载荷上限检查（无界 List/String、嵌套列表、未分页的响应列表、过深嵌套），存在问题时构建失败；
+     * 开启 analyze/autoFix 时随分析一起执行，否则在校验之前单独执行。
+     */
+    @Parameter(property = "payloadLimits", defaultValue = "false")
+    private boolean payloadLimits;
+
+    /**
+     * 载荷上限阈值，如 {@code maxListSize=500,maxStringLength=4096,paginationParameters=page|limit}；未配置的阈值使用默认值。
+     */
+    @Parameter(property = "payloadLimitThresholds")
+    private String payloadLimitThresholds;
+
+    /**
+     * 是否对规格文件启用 DFX-021 文档资源上限（长度、别名、嵌套深度、operation 数量、单个类的字段数），超限时构建失败；
+     * 默认不限制，适合可信的大规格文件。
+     */
+    @Parameter(property = "yamlLimits", defaultValue = "false")
+    private boolean yamlLimits;
+
+    /**
+     * 文档资源上限，如 {@code maxDocumentLength=67108864,maxOperations=20000}；未配置的上限使用默认值。
+     */
+    @Parameter(property = "yamlLimitThresholds")
+    private String yamlLimitThresholds;
+
     @Override
     public void execute() throws MojoExecutionException {
         logInfo("========================================");
@@ -128,12 +200,29 @@ public class ApiCodegenMojo extends AbstractMojo {
             if (!yamlFileObj.exists()) {
                 throw new MojoExecutionException("YAML 文件不存在: " + yamlFile);
             }
-            ApiDefinition apiDefinition = YamlParser.parse(yamlFileObj);
+            ParserOptions parserOptions = ParserOptions.defaults();
+            parserOptions.setParallelism(parallelism);
+            parserOptions.setSplitParse(splitParse);
+            if (typeDictionary != null) {
+                parserOptions.setTypeInference(FieldTypeInference.load(typeDictionary));
+            }
+            parserOptions.setSnapshot(snapshot);
+            parserOptions.setSnapshotDirectory(snapshotDirectory);
+            if (yamlLimits) {
+                parserOptions.setLimits(parseYamlLimits());
+            }
+            ApiDefinition apiDefinition = YamlParser.parse(yamlFileObj, parserOptions);
             logInfo("解析到 " + apiDefinition.getApis().size() + " 个 API");
+            PayloadLimits limits = payloadLimits ? parsePayloadLimits() : null;
 
             // 3. 分析校验规则
             if (analyze || autoFix) {
-                runValidationAnalysis(apiDefinition, autoFix, yamlFileObj);
+                long violations = runValidationAnalysis(apiDefinition, autoFix, yamlFileObj,
+                    parserOptions.getTypeInference(), limits);
+                if (violations > 0) {
+                    throw new MojoExecutionException("载荷上限检查未通过: " + violations + " 个 "
+                        + PayloadLimitRules.RULE_CODE + " 问题");
+                }
                 if (autoFix) {
                     logInfo("自动修复完成，退出");
                     return;
@@ -143,9 +232,13 @@ public class ApiCodegenMojo extends AbstractMojo {
                 }
             }
 
-            // 4. 校验 API 定义
+            // 4. 载荷上限检查与 API 定义校验
+            if (limits != null) {
+                checkPayloadLimits(apiDefinition, limits);
+            }
             ApiValidator validator = new ApiValidator();
-            ValidationResult validationResult = validator.validate(apiDefinition);
+            validator.setRegexFuzzMillis(regexFuzzMillis);
+            ValidationResult validationResult = validator.validate(apiDefinition, parallelism);
             if (!validationResult.isValid()) {
                 logSevere("YAML 校验失败:\n" + validationResult.getErrorMessage());
                 throw new MojoExecutionException("YAML 校验失败");
@@ -173,18 +266,41 @@ public class ApiCodegenMojo extends AbstractMojo {
      * @param apiDefinition 已解析的 API 定义对象，不负责空值兜底
      * @param autoFix true 表示执行自动修复并尝试写回原 YAML；false 仅输出分析结果
      * @param yamlFile 原始 YAML 文件，用于 autoFix 回写与失败兜底文件输出
+     * @param typeInference 字段缺少类型时用于推断类型的词表
+     * @param limits 载荷上限阈值；为 null 时不执行 DFX-023 规则
+     * @return DFX-023 问题数
      */
-    private void runValidationAnalysis(ApiDefinition apiDefinition, boolean autoFix, File yamlFile) {
+    private long runValidationAnalysis(ApiDefinition apiDefinition, boolean autoFix, File yamlFile,
+                                       FieldTypeInference typeInference, PayloadLimits limits) {
         logInfo("========================================");
         logInfo("校验规则分析");
         logInfo("========================================");
 
-        ValidationAnalyzer analyzer = new ValidationAnalyzer();
-        AnalysisSummary summary = analyzer.summarize(apiDefinition);
+        // 一次遍历同时得到问题列表与各级别计数
+        RuleEngine engine = new ValidationAnalyzer(typeInference).register(new RuleEngine());
+        new RegexSafetyRules(new RegexSafety(regexFuzzMillis)).register(engine);
+        if (limits != null) {
+            new PayloadLimitRules(limits).register(engine);
+        }
+        engine.setParallelism(parallelism);
+        RuleReport report = engine.run(apiDefinition);
+        AnalysisSummary summary = report.summary();
+        long violations = PayloadLimitRules.violations(report);
+
+        // 正则安全错误会阻止代码生成，且不能自动修复；多项式级回溯的警告随下面的问题列表输出
+        List<ValidationError> regexErrors = RegexSafetyRules.errors(report);
+        if (!regexErrors.isEmpty()) {
+            logSevere("正则安全（" + RegexSafety.RULE_CODE + "）:");
+            for (ValidationError error : regexErrors) {
+                logSevere("  [ERROR] " + error.getField() + ": " + error.getMessage() + " - " + error.getSuggestion());
+            }
+        }
 
         if (!summary.hasIssues()) {
-            logInfo("未发现校验问题，做得很好！");
-            return;
+            if (regexErrors.isEmpty()) {
+                logInfo("未发现校验问题，做得很好！");
+            }
+            return violations;
         }
 
         // 打印摘要
@@ -195,8 +311,7 @@ public class ApiCodegenMojo extends AbstractMojo {
         logInfo("  总计:   " + summary.getTotalCount());
         logInfo("");
 
-        // 获取详细分析结果
-        List<AnalysisItem> issues = analyzer.analyze(apiDefinition);
+        List<AnalysisItem> issues = report.getItems();
 
         // 按严重程度打印问题
         logInfo("问题列表:");
@@ -236,6 +351,58 @@ public class ApiCodegenMojo extends AbstractMojo {
             logInfo("  mvn api-codegen:generate -DautoFix=true");
             logInfo("========================================");
         }
+        return violations;
+    }
+
+    /**
+     * 解析载荷上限阈值。
+     *
+     * @return 阈值对象，未配置 payloadLimitThresholds 时为默认阈值
+     * @throws MojoExecutionException 阈值名未知或数值无效时抛出
+     */
+    private PayloadLimits parsePayloadLimits() throws MojoExecutionException {
+        try {
+            return PayloadLimits.parse(payloadLimitThresholds);
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException("载荷上限阈值无效: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 解析文档资源上限。
+     *
+     * @return 上限对象，未配置 yamlLimitThresholds 时为默认上限
+     * @throws MojoExecutionException 上限名未知或数值无效时抛出
+     */
+    private YamlLimits parseYamlLimits() throws MojoExecutionException {
+        try {
+            return YamlLimits.parse(yamlLimitThresholds);
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException("文档资源上限无效: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 单独执行 DFX-023 载荷上限规则，存在问题时逐条输出并使构建失败。
+     *
+     * @param apiDefinition 已解析的 API 定义
+     * @param limits 载荷上限阈值
+     * @throws MojoExecutionException 存在载荷上限问题时抛出
+     */
+    private void checkPayloadLimits(ApiDefinition apiDefinition, PayloadLimits limits) throws MojoExecutionException {
+        RuleEngine engine = new PayloadLimitRules(limits).register(new RuleEngine());
+        engine.setParallelism(parallelism);
+        List<AnalysisItem> issues = engine.run(apiDefinition).getItems();
+        if (issues.isEmpty()) {
+            logInfo("载荷上限检查通过");
+            return;
+        }
+        logSevere("载荷上限检查未通过（" + PayloadLimitRules.RULE_CODE + "）:");
+        for (AnalysisItem issue : issues) {
+            logSevere("  " + issue);
+        }
+        throw new MojoExecutionException("载荷上限检查未通过: " + issues.size() + " 个 "
+            + PayloadLimitRules.RULE_CODE + " 问题");
     }
 
     /**